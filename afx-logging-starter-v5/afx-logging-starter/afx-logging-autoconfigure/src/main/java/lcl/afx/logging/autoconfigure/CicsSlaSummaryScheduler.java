@@ -0,0 +1,60 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.metrics.CicsSlaRecorder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Émet périodiquement le résumé SLA des transactions CICS, sur un thread
+ * démon dédié : indépendant de {@code @EnableScheduling} et du
+ * {@code TaskScheduler} de l'application. Un dernier résumé est émis à l'arrêt.
+ * Intervalle nul : aucun résumé.
+ */
+class CicsSlaSummaryScheduler implements InitializingBean, DisposableBean {
+
+    private final CicsSlaRecorder recorder;
+    private final Duration interval;
+    private ScheduledExecutorService executor;
+
+    CicsSlaSummaryScheduler(CicsSlaRecorder recorder, Duration interval) {
+        this.recorder = recorder;
+        this.interval = interval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "afx-cics-sla-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toMillis();
+        executor.scheduleAtFixedRate(this::logSummary, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void logSummary() {
+        try {
+            recorder.logSummary();
+        } catch (RuntimeException e) {
+            // une exception annulerait les exécutions suivantes
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        logSummary();
+    }
+}
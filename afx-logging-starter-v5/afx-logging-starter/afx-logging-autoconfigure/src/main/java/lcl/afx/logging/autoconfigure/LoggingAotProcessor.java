@@ -0,0 +1,85 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.annotation.LogApi;
+import lcl.afx.logging.annotation.LogCics;
+import lcl.afx.logging.annotation.LogDatabase;
+import lcl.afx.logging.annotation.LogFlow;
+import lcl.afx.logging.annotation.LogValidation;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Processeur AOT : enregistre au build les types métier journalisés par les aspects.
+ *
+ * <p>Les paramètres et retours des méthodes annotées sont sérialisés en JSON
+ * par {@code LogHelper} ; les retours {@link LogCics} sont en plus lus champ par
+ * champ ({@code importantFields}). Ces types ne sont connus que de
+ * l'application : ils sont découverts en parcourant les beans.</p>
+ */
+class LoggingAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    private static final List<Class<? extends Annotation>> ANNOTATIONS =
+        List.of(LogFlow.class, LogValidation.class, LogDatabase.class, LogCics.class, LogApi.class);
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Set<Type> bindingTypes = new LinkedHashSet<>();
+        Set<Class<?>> cicsResults = new LinkedHashSet<>();
+
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> userType = ClassUtils.getUserClass(beanType);
+            boolean annotatedClass = ANNOTATIONS.stream()
+                .anyMatch(annotation -> AnnotatedElementUtils.hasAnnotation(userType, annotation));
+            ReflectionUtils.doWithMethods(userType, method -> {
+                if (annotatedClass || isAnnotated(method)) {
+                    bindingTypes.add(method.getGenericReturnType());
+                    bindingTypes.addAll(List.of(method.getGenericParameterTypes()));
+                }
+                if (AnnotatedElementUtils.hasAnnotation(method, LogCics.class)) {
+                    cicsResults.add(method.getReturnType());
+                }
+            }, ReflectionUtils.USER_DECLARED_METHODS);
+        }
+
+        if (bindingTypes.isEmpty()) {
+            return null;
+        }
+        return (generationContext, code) -> {
+            ReflectionHints reflection = generationContext.getRuntimeHints().reflection();
+            BindingReflectionHintsRegistrar registrar = new BindingReflectionHintsRegistrar();
+            bindingTypes.forEach(type -> registrar.registerReflectionHints(reflection, type));
+            for (Class<?> result : cicsResults) {
+                for (Class<?> type = result; type != null && type != Object.class; type = type.getSuperclass()) {
+                    reflection.registerType(type, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+                }
+            }
+        };
+    }
+
+    private static boolean isAnnotated(Method method) {
+        for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+            if (AnnotatedElementUtils.hasAnnotation(method, annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
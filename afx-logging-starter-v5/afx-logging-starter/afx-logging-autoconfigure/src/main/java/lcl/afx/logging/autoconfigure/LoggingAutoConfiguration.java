@@ -1,14 +1,27 @@
 package lcl.afx.logging.autoconfigure;
 
+import lcl.afx.logging.annotation.*;
 import lcl.afx.logging.aspect.*;
 import lcl.afx.logging.masking.DataMasker;
+import lcl.afx.logging.metrics.CicsMetricsBinder;
+import lcl.afx.logging.metrics.CicsSlaRecorder;
+import lcl.afx.logging.outbound.FeignOutboundLogging;
+import lcl.afx.logging.outbound.OutboundLogInterceptor;
+import lcl.afx.logging.util.BoundedJsonSerializer;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Auto-configuration pour l'enchaînement logique des logs.
@@ -16,6 +29,7 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 @AutoConfiguration
 @EnableConfigurationProperties(LoggingProperties.class)
 @EnableAspectJAutoProxy
+@ImportRuntimeHints(LoggingRuntimeHints.class)
 @ConditionalOnProperty(prefix = "afx.logging", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class LoggingAutoConfiguration {
 
@@ -29,6 +43,7 @@ public class LoggingAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
     @ConditionalOnProperty(prefix = "afx.logging.flow", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(OnAnnotationIndexCondition.Absent.class)
     public LogFlowAspect logFlowAspect() {
         return new LogFlowAspect();
     }
@@ -37,6 +52,7 @@ public class LoggingAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
     @ConditionalOnProperty(prefix = "afx.logging.validation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(OnAnnotationIndexCondition.Absent.class)
     public LogValidationAspect logValidationAspect() {
         return new LogValidationAspect();
     }
@@ -45,23 +61,211 @@ public class LoggingAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
     @ConditionalOnProperty(prefix = "afx.logging.database", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public LogDatabaseAspect logDatabaseAspect() {
-        return new LogDatabaseAspect();
+    @Conditional(OnAnnotationIndexCondition.Absent.class)
+    public LogDatabaseAspect logDatabaseAspect(LoggingProperties properties) {
+        return databaseAspect(properties);
     }
 
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
     @ConditionalOnProperty(prefix = "afx.logging.cics", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public LogCicsAspect logCicsAspect() {
-        return new LogCicsAspect();
+    @Conditional(OnAnnotationIndexCondition.Absent.class)
+    public LogCicsAspect logCicsAspect(LoggingProperties properties, ObjectProvider<CicsSlaRecorder> cicsSlaRecorder) {
+        return cicsAspect(properties, cicsSlaRecorder.getIfAvailable());
     }
 
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
     @ConditionalOnProperty(prefix = "afx.logging.api", name = "enabled", havingValue = "true", matchIfMissing = true)
-    public LogApiAspect logApiAspect() {
-        return new LogApiAspect();
+    @Conditional(OnAnnotationIndexCondition.Absent.class)
+    public LogApiAspect logApiAspect(LoggingProperties properties) {
+        return apiAspect(properties);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // INDEX (afx-logging-processor)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Index présent : les aspects ne sont pas déclarés comme beans, leurs
+     * advices sont appliqués aux seules méthodes listées dans
+     * {@code META-INF/afx-logging.index}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
+    @Conditional(OnAnnotationIndexCondition.class)
+    public AnnotationIndex afxLoggingAnnotationIndex() {
+        return AnnotationIndex.load(getClass().getClassLoader());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(LogFlowAspect.class)
+    @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
+    @ConditionalOnProperty(prefix = "afx.logging.flow", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(OnAnnotationIndexCondition.class)
+    public Advisor logFlowAdvisor(AnnotationIndex afxLoggingAnnotationIndex) {
+        return afxLoggingAnnotationIndex.advisor(LogFlow.class.getName(), new LogFlowAspect()::logFlow);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(LogValidationAspect.class)
+    @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
+    @ConditionalOnProperty(prefix = "afx.logging.validation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(OnAnnotationIndexCondition.class)
+    public Advisor logValidationAdvisor(AnnotationIndex afxLoggingAnnotationIndex) {
+        return afxLoggingAnnotationIndex.advisor(LogValidation.class.getName(), new LogValidationAspect()::logValidation);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(LogDatabaseAspect.class)
+    @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
+    @ConditionalOnProperty(prefix = "afx.logging.database", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(OnAnnotationIndexCondition.class)
+    public Advisor logDatabaseAdvisor(AnnotationIndex afxLoggingAnnotationIndex, LoggingProperties properties) {
+        return afxLoggingAnnotationIndex.advisor(LogDatabase.class.getName(), databaseAspect(properties)::logDatabase);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(LogCicsAspect.class)
+    @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
+    @ConditionalOnProperty(prefix = "afx.logging.cics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(OnAnnotationIndexCondition.class)
+    public Advisor logCicsAdvisor(AnnotationIndex afxLoggingAnnotationIndex, LoggingProperties properties,
+                                  ObjectProvider<CicsSlaRecorder> cicsSlaRecorder) {
+        return afxLoggingAnnotationIndex.advisor(LogCics.class.getName(),
+            cicsAspect(properties, cicsSlaRecorder.getIfAvailable())::logCics);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(LogApiAspect.class)
+    @ConditionalOnClass(name = "org.aspectj.lang.annotation.Aspect")
+    @ConditionalOnProperty(prefix = "afx.logging.api", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Conditional(OnAnnotationIndexCondition.class)
+    public Advisor logApiAdvisor(AnnotationIndex afxLoggingAnnotationIndex, LoggingProperties properties) {
+        return afxLoggingAnnotationIndex.advisor(LogApi.class.getName(), apiAspect(properties)::logApi);
+    }
+
+    private static LogApiAspect apiAspect(LoggingProperties properties) {
+        LogApiAspect aspect = new LogApiAspect();
+        aspect.setWireLogging(properties.getApi().getMode() == LoggingProperties.Api.Mode.WIRE);
+        LoggingProperties.Jfr jfr = properties.getJfr();
+        aspect.setJfrEvents(jfr.isEnabled());
+        aspect.setErrorsAndSlowOnly(jfr.getTextLogs() == LoggingProperties.Jfr.TextLogs.ERRORS_AND_SLOW);
+        aspect.setSlowThresholdMs(jfr.getSlowThresholdMs());
+        return aspect;
+    }
+
+    private static LogCicsAspect cicsAspect(LoggingProperties properties, CicsSlaRecorder slaRecorder) {
+        LogCicsAspect aspect = new LogCicsAspect();
+        aspect.setSlaRecorder(slaRecorder);
+        aspect.setReturnCodeField(properties.getCics().getReturnCodeField());
+        LoggingProperties.Jfr jfr = properties.getJfr();
+        aspect.setJfrEvents(jfr.isEnabled());
+        aspect.setErrorsAndSlowOnly(jfr.getTextLogs() == LoggingProperties.Jfr.TextLogs.ERRORS_AND_SLOW);
+        aspect.setSlowThresholdMs(jfr.getSlowThresholdMs());
+        return aspect;
+    }
+
+    private static LogDatabaseAspect databaseAspect(LoggingProperties properties) {
+        LoggingProperties.Database database = properties.getDatabase();
+        LogDatabaseAspect aspect = new LogDatabaseAspect();
+        aspect.setSerializer(new BoundedJsonSerializer(database.getMaxBytes(), database.getMaxElements(),
+            database.getMaxDepth(), database.getMaxStringLength()));
+        LoggingProperties.Jfr jfr = properties.getJfr();
+        aspect.setJfrEvents(jfr.isEnabled());
+        aspect.setErrorsAndSlowOnly(jfr.getTextLogs() == LoggingProperties.Jfr.TextLogs.ERRORS_AND_SLOW);
+        aspect.setSlowThresholdMs(jfr.getSlowThresholdMs());
+        return aspect;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // SLA CICS (afx.logging.cics.sla-enabled)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "afx.logging.cics", name = {"enabled", "sla-enabled"}, havingValue = "true", matchIfMissing = true)
+    public CicsSlaRecorder cicsSlaRecorder(LoggingProperties properties) {
+        LoggingProperties.Cics cics = properties.getCics();
+        CicsSlaRecorder recorder = new CicsSlaRecorder();
+        recorder.setDefaultSlaMs(cics.getDefaultSlaMs());
+        recorder.setSlaMs(cics.getSla());
+        recorder.setMaxReturnCodes(cics.getMaxReturnCodes());
+        return recorder;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "afx.logging.cics", name = {"enabled", "sla-enabled"}, havingValue = "true", matchIfMissing = true)
+    CicsSlaSummaryScheduler cicsSlaSummaryScheduler(CicsSlaRecorder cicsSlaRecorder, LoggingProperties properties) {
+        return new CicsSlaSummaryScheduler(cicsSlaRecorder, properties.getCics().getSummaryInterval());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(prefix = "afx.logging.cics", name = {"enabled", "sla-enabled"}, havingValue = "true", matchIfMissing = true)
+    static class CicsMetricsConfiguration {
+
+        /**
+         * Détecté par Spring Boot Actuator et lié au {@code MeterRegistry}.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public CicsMetricsBinder cicsMetricsBinder(CicsSlaRecorder cicsSlaRecorder) {
+            return new CicsMetricsBinder(cicsSlaRecorder);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CLIENTS HTTP (afx.logging.api.mode=wire)
+    // Classes imbriquées : types optionnels (spring-web, feign) hors signatures de la classe principale
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.http.client.ClientHttpRequestInterceptor")
+    @ConditionalOnProperty(prefix = "afx.logging.api", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class ClientHttpOutboundConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "afx.logging.api", name = "mode", havingValue = "wire")
+        public OutboundLogInterceptor outboundLogInterceptor(LoggingProperties properties) {
+            OutboundLogInterceptor interceptor = new OutboundLogInterceptor();
+            interceptor.setMaxBodyBytes(properties.getApi().getMaxBodyBytes());
+            interceptor.setLogAllOutbound(properties.getApi().isLogAllOutbound());
+            return interceptor;
+        }
+
+        @Bean
+        @ConditionalOnClass(name = "org.springframework.web.client.RestTemplate")
+        @ConditionalOnProperty(prefix = "afx.logging.api", name = "mode", havingValue = "wire")
+        public RestTemplateCustomizer afxOutboundRestTemplateCustomizer(OutboundLogInterceptor outboundLogInterceptor) {
+            return restTemplate -> restTemplate.getInterceptors().add(outboundLogInterceptor);
+        }
+
+        @Bean
+        @ConditionalOnClass(name = "org.springframework.web.client.RestClient")
+        @ConditionalOnProperty(prefix = "afx.logging.api", name = "mode", havingValue = "wire")
+        public RestClientCustomizer afxOutboundRestClientCustomizer(OutboundLogInterceptor outboundLogInterceptor) {
+            return builder -> builder.requestInterceptor(outboundLogInterceptor);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "feign.Capability")
+    @ConditionalOnProperty(prefix = "afx.logging.api", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class FeignOutboundConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "afx.logging.api", name = "mode", havingValue = "wire")
+        public FeignOutboundLogging feignOutboundLogging(LoggingProperties properties) {
+            FeignOutboundLogging capability = new FeignOutboundLogging();
+            capability.setMaxBodyBytes(properties.getApi().getMaxBodyBytes());
+            capability.setLogAllOutbound(properties.getApi().isLogAllOutbound());
+            return capability;
+        }
     }
 }
@@ -2,6 +2,10 @@ package lcl.afx.logging.autoconfigure;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Propriétés de configuration pour l'enchaînement des logs.
  */
@@ -15,6 +19,8 @@ public class LoggingProperties {
     private Database database = new Database();
     private Cics cics = new Cics();
     private Api api = new Api();
+    private Index index = new Index();
+    private Jfr jfr = new Jfr();
 
     // Getters et Setters
     public boolean isEnabled() { return enabled; }
@@ -35,6 +41,12 @@ public class LoggingProperties {
     public Api getApi() { return api; }
     public void setApi(Api api) { this.api = api; }
 
+    public Index getIndex() { return index; }
+    public void setIndex(Index index) { this.index = index; }
+
+    public Jfr getJfr() { return jfr; }
+    public void setJfr(Jfr jfr) { this.jfr = jfr; }
+
     public static class Flow {
         private boolean enabled = true;
         public boolean isEnabled() { return enabled; }
@@ -47,21 +59,102 @@ public class LoggingProperties {
         public void setEnabled(boolean enabled) { this.enabled = enabled; }
     }
 
+    /**
+     * Rendu des paramètres et résultats borné (BoundedJsonSerializer).
+     */
     public static class Database {
         private boolean enabled = true;
+        private int maxBytes = 4096;
+        private int maxElements = 20;
+        private int maxDepth = 5;
+        private int maxStringLength = 256;
         public boolean isEnabled() { return enabled; }
         public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getMaxBytes() { return maxBytes; }
+        public void setMaxBytes(int maxBytes) { this.maxBytes = maxBytes; }
+        public int getMaxElements() { return maxElements; }
+        public void setMaxElements(int maxElements) { this.maxElements = maxElements; }
+        public int getMaxDepth() { return maxDepth; }
+        public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+        public int getMaxStringLength() { return maxStringLength; }
+        public void setMaxStringLength(int maxStringLength) { this.maxStringLength = maxStringLength; }
     }
 
+    /**
+     * SLA en ms par transaction (sla.KEXX=200), sinon defaultSlaMs ;
+     * summaryInterval à 0 : pas de résumé périodique.
+     */
     public static class Cics {
         private boolean enabled = true;
+        private boolean slaEnabled = true;
+        private long defaultSlaMs = 1000;
+        private Map<String, Long> sla = new HashMap<>();
+        private String returnCodeField = "codeRetour";
+        private int maxReturnCodes = 50;
+        private Duration summaryInterval = Duration.ofMinutes(1);
         public boolean isEnabled() { return enabled; }
         public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public boolean isSlaEnabled() { return slaEnabled; }
+        public void setSlaEnabled(boolean slaEnabled) { this.slaEnabled = slaEnabled; }
+        public long getDefaultSlaMs() { return defaultSlaMs; }
+        public void setDefaultSlaMs(long defaultSlaMs) { this.defaultSlaMs = defaultSlaMs; }
+        public Map<String, Long> getSla() { return sla; }
+        public void setSla(Map<String, Long> sla) { this.sla = sla; }
+        public String getReturnCodeField() { return returnCodeField; }
+        public void setReturnCodeField(String returnCodeField) { this.returnCodeField = returnCodeField; }
+        public int getMaxReturnCodes() { return maxReturnCodes; }
+        public void setMaxReturnCodes(int maxReturnCodes) { this.maxReturnCodes = maxReturnCodes; }
+        public Duration getSummaryInterval() { return summaryInterval; }
+        public void setSummaryInterval(Duration summaryInterval) { this.summaryInterval = summaryInterval; }
     }
 
+    /**
+     * aspect : logs déduits de la méthode @LogApi ; wire : émis par les intercepteurs
+     * RestTemplate / RestClient / Feign, hors @LogApi seulement si logAllOutbound.
+     */
     public static class Api {
         private boolean enabled = true;
+        private Mode mode = Mode.ASPECT;
+        private int maxBodyBytes = 2048;
+        private boolean logAllOutbound = false;
         public boolean isEnabled() { return enabled; }
         public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+        public int getMaxBodyBytes() { return maxBodyBytes; }
+        public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+        public boolean isLogAllOutbound() { return logAllOutbound; }
+        public void setLogAllOutbound(boolean logAllOutbound) { this.logAllOutbound = logAllOutbound; }
+
+        public enum Mode { WIRE, ASPECT }
+    }
+
+    /**
+     * Index META-INF/afx-logging.index (afx-logging-processor), sur activation explicite :
+     * seules les classes compilées avec le processor sont alors interceptées.
+     */
+    public static class Index {
+        private boolean enabled = false;
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    }
+
+    /**
+     * enabled : événement JFR lcl.afx.Operation par appel @LogDatabase / @LogCics / @LogApi ;
+     * textLogs errors-and-slow : logs texte limités aux erreurs et aux appels
+     * au-delà de slowThresholdMs (SLA de la transaction pour CICS).
+     */
+    public static class Jfr {
+        private boolean enabled = false;
+        private TextLogs textLogs = TextLogs.ALL;
+        private long slowThresholdMs = 1000;
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public TextLogs getTextLogs() { return textLogs; }
+        public void setTextLogs(TextLogs textLogs) { this.textLogs = textLogs; }
+        public long getSlowThresholdMs() { return slowThresholdMs; }
+        public void setSlowThresholdMs(long slowThresholdMs) { this.slowThresholdMs = slowThresholdMs; }
+
+        public enum TextLogs { ALL, ERRORS_AND_SLOW }
     }
 }
@@ -0,0 +1,53 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.annotation.LogApi;
+import lcl.afx.logging.annotation.LogCics;
+import lcl.afx.logging.annotation.LogDatabase;
+import lcl.afx.logging.annotation.LogFlow;
+import lcl.afx.logging.annotation.LogValidation;
+import lcl.afx.logging.aspect.LogApiAspect;
+import lcl.afx.logging.aspect.LogCicsAspect;
+import lcl.afx.logging.aspect.LogDatabaseAspect;
+import lcl.afx.logging.aspect.LogFlowAspect;
+import lcl.afx.logging.aspect.LogValidationAspect;
+import lcl.afx.logging.jfr.OperationEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Hints GraalVM native-image pour les aspects et annotations du starter.
+ *
+ * <p>Les méthodes d'advice sont invoquées par réflexion par Spring AOP ; les
+ * types métier journalisés sont enregistrés par {@link LoggingAotProcessor}.</p>
+ */
+public class LoggingRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Aspects : pointcuts et advices résolus par réflexion
+        for (Class<?> aspect : new Class<?>[] {LogFlowAspect.class, LogValidationAspect.class,
+                LogDatabaseAspect.class, LogCicsAspect.class, LogApiAspect.class}) {
+            hints.reflection().registerType(aspect,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        // Annotations lues à l'exécution (attributs)
+        for (Class<?> annotation : new Class<?>[] {LogFlow.class, LogValidation.class,
+                LogDatabase.class, LogCics.class, LogApi.class}) {
+            hints.reflection().registerType(annotation, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // Index des méthodes annotées (afx-logging-processor)
+        hints.resources().registerPattern(AnnotationIndex.LOCATION);
+
+        // Événement JFR : champs lus par réflexion à l'enregistrement (--enable-monitoring=jfr)
+        hints.reflection().registerType(OperationEvent.class, MemberCategory.DECLARED_FIELDS);
+
+        // LazyLoadingGuard : API Hibernate résolues par réflexion, si présentes
+        for (String type : new String[] {"org.hibernate.Hibernate", "org.hibernate.proxy.HibernateProxy",
+                "org.hibernate.proxy.LazyInitializer", "org.hibernate.collection.spi.PersistentCollection"}) {
+            hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package lcl.afx.logging.autoconfigure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Vrai si {@code afx.logging.index.enabled=true} et qu'un {@link AnnotationIndex}
+ * est présent sur le classpath. Désactivé par défaut : l'index ne couvre que les
+ * classes compilées avec le processor, son usage doit être un choix explicite.
+ */
+class OnAnnotationIndexCondition extends SpringBootCondition {
+
+    static final String PROPERTY = "afx.logging.index.enabled";
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        ConditionMessage.Builder message = ConditionMessage.forCondition("AFX logging index");
+        if (!context.getEnvironment().getProperty(PROPERTY, Boolean.class, false)) {
+            return ConditionOutcome.noMatch(message.because(PROPERTY + " non activé"));
+        }
+        if (!AnnotationIndex.isPresent(context.getClassLoader())) {
+            return ConditionOutcome.noMatch(message.didNotFind("resource").items(AnnotationIndex.LOCATION));
+        }
+        return ConditionOutcome.match(message.found("resource").items(AnnotationIndex.LOCATION));
+    }
+
+    /**
+     * Inverse : index désactivé ou absent, les aspects résolvent leurs expressions AspectJ.
+     */
+    static class Absent extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return ConditionOutcome.inverse(new OnAnnotationIndexCondition().getMatchOutcome(context, metadata));
+        }
+    }
+}
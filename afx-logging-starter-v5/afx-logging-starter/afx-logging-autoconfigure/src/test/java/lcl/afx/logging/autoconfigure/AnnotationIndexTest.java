@@ -0,0 +1,159 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.annotation.LogCics;
+import lcl.afx.logging.annotation.LogFlow;
+import lcl.afx.logging.processor.LoggingIndexProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.Pointcut;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index produit par {@link LoggingIndexProcessor} sur des sources compilées
+ * pendant le test, puis relu par {@link AnnotationIndex}.
+ */
+class AnnotationIndexTest {
+
+    private static final String LOG_FLOW = LogFlow.class.getName();
+    private static final String LOG_CICS = LogCics.class.getName();
+
+    @TempDir
+    Path output;
+
+    private URLClassLoader classLoader;
+    private AnnotationIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        compile(Map.of(
+            "com.acme.Accounts", """
+                package com.acme;
+                public interface Accounts {
+                    String get(long id);
+                }
+                """,
+            "com.acme.AccountController", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                @LogFlow
+                public class AccountController implements Accounts {
+                    public String get(long id) { return null; }
+                    public void search(String[] ibans, java.util.Map<String, ?> filters) {}
+                }
+                """,
+            "com.acme.CicsGateway", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                public class CicsGateway {
+                    @LogCics("TX01")
+                    public String call(String commarea) { return commarea; }
+                    public String call(byte[] commarea) { return null; }
+                    public static class Batch {
+                        @LogCics("TX02")
+                        public void run(Batch previous, int... codes) {}
+                    }
+                }
+                """,
+            "com.acme.Plain", """
+                package com.acme;
+                public class Plain { public void run() {} }
+                """));
+        classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+        index = AnnotationIndex.load(classLoader);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        classLoader.close();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CLÉS (processor ↔ runtime)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void runtimeKeysMatchGeneratedIndex() throws Exception {
+        Class<?> controller = type("com.acme.AccountController");
+        Class<?> gateway = type("com.acme.CicsGateway");
+        Class<?> batch = type("com.acme.CicsGateway$Batch");
+
+        assertThat(AnnotationIndex.isPresent(classLoader)).isTrue();
+        assertThat(index.contains(LOG_FLOW, controller.getMethod("get", long.class))).isTrue();
+        assertThat(index.contains(LOG_FLOW, controller.getMethod("search", String[].class, Map.class))).isTrue();
+        assertThat(index.contains(LOG_CICS, gateway.getMethod("call", String.class))).isTrue();
+        assertThat(index.contains(LOG_CICS, gateway.getMethod("call", byte[].class))).isFalse();
+        assertThat(index.contains(LOG_CICS, batch.getMethod("run", batch, int[].class))).isTrue();
+        assertThat(index.contains(LOG_FLOW, gateway.getMethod("call", String.class))).isFalse();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // POINTCUT
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void pointcutFiltersClassesAndMethods() throws Exception {
+        Pointcut flow = index.pointcut(LOG_FLOW);
+        Pointcut cics = index.pointcut(LOG_CICS);
+        Class<?> controller = type("com.acme.AccountController");
+        Class<?> gateway = type("com.acme.CicsGateway");
+
+        assertThat(flow.getClassFilter().matches(controller)).isTrue();
+        assertThat(flow.getClassFilter().matches(gateway)).isFalse();
+        assertThat(cics.getClassFilter().matches(gateway)).isTrue();
+        assertThat(cics.getClassFilter().matches(type("com.acme.Plain"))).isFalse();
+
+        // Appel par l'interface : méthode la plus spécifique de la cible
+        Method viaInterface = type("com.acme.Accounts").getMethod("get", long.class);
+        assertThat(flow.getMethodMatcher().matches(viaInterface, controller)).isTrue();
+        assertThat(cics.getMethodMatcher().matches(gateway.getMethod("call", byte[].class), gateway)).isFalse();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private Class<?> type(String name) throws ClassNotFoundException {
+        return Class.forName(name, false, classLoader);
+    }
+
+    private void compile(Map<String, String> sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> units = new ArrayList<>();
+        sources.forEach((name, code) -> units.add(
+            new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return code;
+                }
+            }));
+        // Annotations du starter (le classpath de surefire n'est pas celui de la JVM)
+        String annotations = Path.of(LogFlow.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                List.of("-d", output.toString(), "-classpath", annotations), null, units);
+            task.setProcessors(List.of(new LoggingIndexProcessor()));
+            assertThat(task.call()).as("%s", diagnostics.getDiagnostics()).isTrue();
+        }
+    }
+}
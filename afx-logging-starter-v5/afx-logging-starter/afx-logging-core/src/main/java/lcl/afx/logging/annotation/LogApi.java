@@ -12,6 +12,10 @@ import java.lang.annotation.*;
  *   <li>"[API][POST /url] [REPONSE] 200 {...}"</li>
  *   <li>"[API] InfosImportantes: service=..., statut=..., tempsReponseMs=..."</li>
  * </ul>
+ *
+ * En mode wire ({@code afx.logging.api.mode=wire}, défaut), ces logs sont
+ * émis par l'intercepteur du client HTTP pour chaque requête réellement
+ * envoyée ; l'annotation ne fournit que le nom du service.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -0,0 +1,148 @@
+package lcl.afx.logging.aspect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Plan de lecture des {@code importantFields} d'un type de retour
+ * {@code @LogCics}, compilé une fois par couple (classe, liste de champs).
+ *
+ * <p>Chaque champ est résolu en {@link MethodHandle} : champ déclaré dans la
+ * hiérarchie, sinon accesseur de record {@code xxx()} ou getter public
+ * {@code getXxx()}. Un champ introuvable est mémorisé comme absent et n'est
+ * plus recherché. Le gain tient à la suppression des recherches et des
+ * exceptions à chaque appel, pas à l'inlining : les handles sont portés par
+ * des champs d'instance et ne sont donc pas des constantes pour le JIT ; un
+ * appel reste comparable à un {@code Method.invoke}. Pas de
+ * {@code LambdaMetafactory} : les lambdas générées à l'exécution ne sont pas
+ * supportées par native-image, les MethodHandles le sont (champs déclarés par
+ * {@code LoggingAotProcessor}).</p>
+ *
+ * <p>Aucun cache global : le plan est conservé par son appelant
+ * ({@link LogCicsAspect}, par méthode), et disparaît avec lui. Un cache statique
+ * ({@code ClassValue}) retiendrait, depuis une classe d'un class loader parent,
+ * les handles et donc le class loader de l'application.</p>
+ */
+public final class FieldAccessorPlan {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final Class<?> type;
+    private final String[] names;
+    /**
+     * null : ni champ ni getter (résultat négatif en cache)
+     */
+    private final MethodHandle[] getters;
+
+    private FieldAccessorPlan(Class<?> type, String[] names) {
+        this.type = type;
+        this.names = names;
+        this.getters = new MethodHandle[names.length];
+        for (int i = 0; i < names.length; i++) {
+            getters[i] = resolve(type, names[i]);
+        }
+    }
+
+    /**
+     * Compile le plan de la classe pour la liste de champs (à conserver par l'appelant).
+     */
+    public static FieldAccessorPlan of(Class<?> type, String[] names) {
+        return new FieldAccessorPlan(type, names.clone());
+    }
+
+    /**
+     * Vrai si le plan a été compilé pour cette classe exacte.
+     */
+    public boolean isFor(Class<?> candidate) {
+        return type == candidate;
+    }
+
+    /**
+     * Valeurs non nulles des champs, dans l'ordre demandé. Une exception levée
+     * par un getter écarte le champ, comme une valeur nulle.
+     */
+    public Map<String, Object> extract(Object target) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < getters.length; i++) {
+            MethodHandle getter = getters[i];
+            if (getter == null) {
+                continue;
+            }
+            try {
+                Object value = (Object) getter.invokeExact(target);
+                if (value != null) {
+                    result.put(names[i], value);
+                }
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable ignored) {
+                // getter en échec : champ omis
+            }
+        }
+        return result;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // RÉSOLUTION (une fois par plan)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static MethodHandle resolve(Class<?> type, String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Field field = findField(type, name);
+        if (field != null && field.trySetAccessible()) {
+            try {
+                return adapt(lookup.unreflectGetter(field), Modifier.isStatic(field.getModifiers()));
+            } catch (IllegalAccessException ignored) {
+                // module non ouvert : essai du getter
+            }
+        }
+        String getterName = type.isRecord()
+            ? name
+            : "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            Method getter = type.getMethod(getterName);
+            if (getter.getParameterCount() == 0 && getter.trySetAccessible()) {
+                return adapt(lookup.unreflect(getter), Modifier.isStatic(getter.getModifiers()));
+            }
+        } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            // ni champ ni getter
+        }
+        return null;
+    }
+
+    /**
+     * Signature commune {@code (Object)Object} ; membre statique : cible ignorée.
+     */
+    private static MethodHandle adapt(MethodHandle handle, boolean isStatic) {
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(GETTER);
+    }
+
+    private static Field findField(Class<?> clazz, String name) {
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldAccessorPlan[" + type.getName() + " " + Arrays.toString(names) + "]";
+    }
+}
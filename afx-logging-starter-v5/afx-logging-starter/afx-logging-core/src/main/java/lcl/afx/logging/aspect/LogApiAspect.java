@@ -1,6 +1,8 @@
 package lcl.afx.logging.aspect;
 
 import lcl.afx.logging.annotation.LogApi;
+import lcl.afx.logging.jfr.OperationEvent;
+import lcl.afx.logging.outbound.ApiCallContext;
 import lcl.afx.logging.util.LogHelper;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
@@ -13,10 +15,25 @@ import java.lang.reflect.Method;
 
 /**
  * Aspect pour l'étape 6: Appel REST (API) externe.
+ *
+ * <p>Mode aspect (défaut) : les logs sont déduits des paramètres et du
+ * retour de la méthode annotée. Mode wire : l'aspect attache seulement le nom
+ * du service au thread ; les logs sont émis par les intercepteurs des clients
+ * HTTP ({@link lcl.afx.logging.outbound.OutboundLogInterceptor},
+ * {@link lcl.afx.logging.outbound.FeignOutboundLogging}) avec la méthode,
+ * l'URL, le statut et les corps réels.</p>
+ *
+ * <p>En mode erreurs et lenteurs seules, les deux modes se limitent à une
+ * ligne ERROR ou SLOW émise par l'aspect.</p>
  */
 @Aspect
 public class LogApiAspect {
 
+    private boolean wireLogging;
+    private boolean jfrEvents;
+    private boolean errorsAndSlowOnly;
+    private long slowThresholdMs = 1000;
+
     @Around("@annotation(lcl.afx.logging.annotation.LogApi)")
     public Object logApi(ProceedingJoinPoint joinPoint) throws Throwable {
 
@@ -26,8 +43,34 @@ public class LogApiAspect {
 
         Logger log = LoggerFactory.getLogger(joinPoint.getTarget().getClass());
         String serviceName = annotation.value();
+
         LogHelper.ApiLogHelper helper = LogHelper.api(log, serviceName);
 
+        if (wireLogging || errorsAndSlowOnly) {
+            long startTime = System.nanoTime();
+            OperationEvent event = jfrEvents ? OperationEvent.start() : null;
+            ApiCallContext previous = ApiCallContext.enter(serviceName, method.getName(), log, !errorsAndSlowOnly);
+            try {
+                Object result = joinPoint.proceed();
+                long timeMs = (System.nanoTime() - startTime) / 1_000_000;
+                boolean slow = timeMs > slowThresholdMs;
+                OperationEvent.finish(event, OperationEvent.API, serviceName, method.getName(),
+                    slow ? OperationEvent.SLOW : OperationEvent.OK);
+                if (errorsAndSlowOnly && slow) {
+                    helper.slow(method.getName(), timeMs, slowThresholdMs);
+                }
+                return result;
+            } catch (Exception e) {
+                OperationEvent.finish(event, OperationEvent.API, serviceName, method.getName(), OperationEvent.ERROR);
+                if (errorsAndSlowOnly) {
+                    helper.failed(method.getName(), (System.nanoTime() - startTime) / 1_000_000, e.getMessage());
+                }
+                throw e;
+            } finally {
+                ApiCallContext.restore(previous);
+            }
+        }
+
         Object[] args = joinPoint.getArgs();
         String[] paramNames = signature.getParameterNames();
 
@@ -37,6 +80,7 @@ public class LogApiAspect {
         Object requestBody = extractBody(args, paramNames);
 
         long startTime = System.nanoTime();
+        OperationEvent event = jfrEvents ? OperationEvent.start() : null;
 
         try {
             // ═══════════════════════════════════════════════════════════════════
@@ -59,6 +103,8 @@ public class LogApiAspect {
 
             long timeMs = (System.nanoTime() - startTime) / 1_000_000;
             int status = extractStatus(result);
+            OperationEvent.finish(event, OperationEvent.API, serviceName, method.getName(),
+                timeMs > slowThresholdMs ? OperationEvent.SLOW : OperationEvent.OK);
 
             // ═══════════════════════════════════════════════════════════════════
             // LOG 3: [API][POST /url] [REPONSE] statut + body
@@ -76,6 +122,7 @@ public class LogApiAspect {
 
         } catch (Exception e) {
             long timeMs = (System.nanoTime() - startTime) / 1_000_000;
+            OperationEvent.finish(event, OperationEvent.API, serviceName, method.getName(), OperationEvent.ERROR);
             helper.error(httpMethod, url, e.getMessage());
             helper.infos(500, timeMs, e.getMessage());
             throw e;
@@ -153,4 +200,46 @@ public class LogApiAspect {
         }
         return result;
     }
+
+    /**
+     * true : logs émis par les intercepteurs HTTP ; false : déduits de la méthode.
+     */
+    public void setWireLogging(boolean wireLogging) {
+        this.wireLogging = wireLogging;
+    }
+
+    public boolean isWireLogging() {
+        return wireLogging;
+    }
+
+    /**
+     * Émet un {@link OperationEvent} JFR par appel.
+     */
+    public void setJfrEvents(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+    }
+
+    public boolean isJfrEvents() {
+        return jfrEvents;
+    }
+
+    /**
+     * Logs texte limités aux erreurs et aux appels au-delà de slowThresholdMs
+     * (intercepteurs HTTP muets pour les appels {@code @LogApi}).
+     */
+    public void setErrorsAndSlowOnly(boolean errorsAndSlowOnly) {
+        this.errorsAndSlowOnly = errorsAndSlowOnly;
+    }
+
+    public boolean isErrorsAndSlowOnly() {
+        return errorsAndSlowOnly;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
 }
@@ -1,6 +1,8 @@
 package lcl.afx.logging.aspect;
 
 import lcl.afx.logging.annotation.LogCics;
+import lcl.afx.logging.jfr.OperationEvent;
+import lcl.afx.logging.metrics.CicsSlaRecorder;
 import lcl.afx.logging.util.LogHelper;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
@@ -9,10 +11,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Aspect pour l'étape 5: Appel Transaction CICS.
@@ -20,6 +21,22 @@ import java.util.Map;
 @Aspect
 public class LogCicsAspect {
 
+    /**
+     * Dernier plan utilisé par méthode (type de retour généralement unique)
+     */
+    private final Map<Method, FieldAccessorPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Plan d'accès au code retour, quand il ne fait pas partie des importantFields
+     */
+    private final Map<Method, FieldAccessorPlan> returnCodePlans = new ConcurrentHashMap<>();
+
+    private CicsSlaRecorder slaRecorder;
+    private String returnCodeField = "codeRetour";
+    private boolean jfrEvents;
+    private boolean errorsAndSlowOnly;
+    private long slowThresholdMs = 1000;
+
     @Around("@annotation(lcl.afx.logging.annotation.LogCics)")
     public Object logCics(ProceedingJoinPoint joinPoint) throws Throwable {
 
@@ -33,20 +50,23 @@ public class LogCicsAspect {
 
         Object[] args = joinPoint.getArgs();
         long startTime = System.nanoTime();
+        OperationEvent event = jfrEvents ? OperationEvent.start() : null;
 
         try {
-            // ═══════════════════════════════════════════════════════════════════
-            // LOG 1: [KEXX] Context
-            // ═══════════════════════════════════════════════════════════════════
-            String correlationId = MDC.get("corrId");
-            String userId = MDC.get("usrId");
-            helper.context(correlationId, userId);
-
-            // ═══════════════════════════════════════════════════════════════════
-            // LOG 2: [KEXX] input
-            // ═══════════════════════════════════════════════════════════════════
-            if (args != null && args.length > 0) {
-                helper.input(args[0]);
+            if (!errorsAndSlowOnly) {
+                // ═══════════════════════════════════════════════════════════════
+                // LOG 1: [KEXX] Context
+                // ═══════════════════════════════════════════════════════════════
+                String correlationId = MDC.get("corrId");
+                String userId = MDC.get("usrId");
+                helper.context(correlationId, userId);
+
+                // ═══════════════════════════════════════════════════════════════
+                // LOG 2: [KEXX] input
+                // ═══════════════════════════════════════════════════════════════
+                if (args != null && args.length > 0) {
+                    helper.input(args[0]);
+                }
             }
 
             // ═══════════════════════════════════════════════════════════════════
@@ -54,72 +74,136 @@ public class LogCicsAspect {
             // ═══════════════════════════════════════════════════════════════════
             Object result = joinPoint.proceed();
 
-            long timeMs = (System.nanoTime() - startTime) / 1_000_000;
+            long elapsed = System.nanoTime() - startTime;
+            long timeMs = elapsed / 1_000_000;
+            // Seuil de lenteur : SLA de la transaction si l'agrégation est active
+            long thresholdMs = slaRecorder != null ? slaRecorder.getSlaMs(txName) : slowThresholdMs;
+            boolean slow = timeMs > thresholdMs;
+            OperationEvent.finish(event, OperationEvent.CICS, txName,
+                slow ? OperationEvent.SLOW : OperationEvent.OK);
+
+            Map<String, Object> infos = null;
+            if (errorsAndSlowOnly) {
+                if (slow) {
+                    helper.slow(timeMs, thresholdMs);
+                }
+            } else {
+                // ═══════════════════════════════════════════════════════════════
+                // LOG 3: [KEXX] output
+                // ═══════════════════════════════════════════════════════════════
+                // Commarea en entrée / sortie souvent modifiée par l'appel : rendu
+                // du pré-appel non réutilisable, d'où l'absence de RenderMemo
+                if (result != null) {
+                    helper.output(result);
+                }
 
-            // ═══════════════════════════════════════════════════════════════════
-            // LOG 3: [KEXX] output
-            // ═══════════════════════════════════════════════════════════════════
-            if (result != null) {
-                helper.output(result);
+                // ═══════════════════════════════════════════════════════════════
+                // LOG 4: [KEXX] InfosImportantes
+                // ═══════════════════════════════════════════════════════════════
+                if (result != null) {
+                    infos = extractFields(method, annotation, result);
+                    infos.put("executionTimeMs", timeMs);
+                    helper.infos(infos);
+                }
             }
 
-            // ═══════════════════════════════════════════════════════════════════
-            // LOG 4: [KEXX] InfosImportantes
-            // ═══════════════════════════════════════════════════════════════════
-            if (result != null) {
-                Map<String, Object> infos = extractFields(result, annotation.importantFields());
-                infos.put("executionTimeMs", timeMs);
-                helper.infos(infos);
+            if (slaRecorder != null) {
+                slaRecorder.record(txName, elapsed, returnCode(method, result, infos));
             }
 
             return result;
 
         } catch (Exception e) {
-            long timeMs = (System.nanoTime() - startTime) / 1_000_000;
-            helper.error(e.getMessage(), timeMs);
+            long elapsed = System.nanoTime() - startTime;
+            OperationEvent.finish(event, OperationEvent.CICS, txName, OperationEvent.ERROR);
+            helper.error(e.getMessage(), elapsed / 1_000_000);
+            if (slaRecorder != null) {
+                slaRecorder.recordFailure(txName, elapsed);
+            }
             throw e;
         }
     }
 
-    private Map<String, Object> extractFields(Object obj, String[] fieldNames) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        if (obj == null || fieldNames == null) return result;
-
-        Class<?> clazz = obj.getClass();
-        for (String fieldName : fieldNames) {
-            try {
-                Field field = findField(clazz, fieldName);
-                if (field != null) {
-                    field.setAccessible(true);
-                    Object value = field.get(obj);
-                    if (value != null) {
-                        result.put(fieldName, value);
-                    }
-                } else {
-                    // Try getter
-                    String getterName = "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
-                    try {
-                        Method getter = clazz.getMethod(getterName);
-                        Object value = getter.invoke(obj);
-                        if (value != null) {
-                            result.put(fieldName, value);
-                        }
-                    } catch (NoSuchMethodException ignored) {}
-                }
-            } catch (Exception ignored) {}
+    /**
+     * Code retour de la commarea : repris des InfosImportantes s'il y figure.
+     *
+     * @param infos InfosImportantes, ou null si elles n'ont pas été journalisées
+     */
+    private String returnCode(Method method, Object result, Map<String, Object> infos) {
+        if (result == null) {
+            return null;
         }
-        return result;
+        Object code = infos != null ? infos.get(returnCodeField) : null;
+        if (code == null) {
+            FieldAccessorPlan plan = returnCodePlans.get(method);
+            if (plan == null || !plan.isFor(result.getClass())) {
+                plan = FieldAccessorPlan.of(result.getClass(), new String[]{returnCodeField});
+                returnCodePlans.put(method, plan);
+            }
+            code = plan.extract(result).get(returnCodeField);
+        }
+        return code != null ? code.toString().trim() : null;
     }
 
-    private Field findField(Class<?> clazz, String fieldName) {
-        Class<?> current = clazz;
-        while (current != null && current != Object.class) {
-            try {
-                return current.getDeclaredField(fieldName);
-            } catch (NoSuchFieldException e) {
-                current = current.getSuperclass();
-            }
+    private Map<String, Object> extractFields(Method method, LogCics annotation, Object result) {
+        FieldAccessorPlan plan = plans.get(method);
+        if (plan == null || !plan.isFor(result.getClass())) {
+            plan = FieldAccessorPlan.of(result.getClass(), annotation.importantFields());
+            plans.put(method, plan);
         }
-        return null;
+        return plan.extract(result);
+    }
+
+    /**
+     * Agrégation SLA par transaction (null : désactivée).
+     */
+    public void setSlaRecorder(CicsSlaRecorder slaRecorder) {
+        this.slaRecorder = slaRecorder;
+    }
+
+    public CicsSlaRecorder getSlaRecorder() {
+        return slaRecorder;
+    }
+
+    /**
+     * Champ de la commarea de sortie portant le code retour.
+     */
+    public void setReturnCodeField(String returnCodeField) {
+        this.returnCodeField = returnCodeField;
+    }
+
+    public String getReturnCodeField() {
+        return returnCodeField;
+    }
+
+    /**
+     * Émet un {@link OperationEvent} JFR par appel.
+     */
+    public void setJfrEvents(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+    }
+
+    public boolean isJfrEvents() {
+        return jfrEvents;
+    }
+
+    /**
+     * Logs texte limités aux erreurs et aux appels lents (au-delà du SLA de la
+     * transaction, sinon de slowThresholdMs).
+     */
+    public void setErrorsAndSlowOnly(boolean errorsAndSlowOnly) {
+        this.errorsAndSlowOnly = errorsAndSlowOnly;
+    }
+
+    public boolean isErrorsAndSlowOnly() {
+        return errorsAndSlowOnly;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
     }
 }
@@ -1,6 +1,8 @@
 package lcl.afx.logging.aspect;
 
 import lcl.afx.logging.annotation.LogDatabase;
+import lcl.afx.logging.jfr.OperationEvent;
+import lcl.afx.logging.util.BoundedJsonSerializer;
 import lcl.afx.logging.util.LogHelper;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
@@ -19,6 +21,15 @@ import java.util.Map;
 @Aspect
 public class LogDatabaseAspect {
 
+    /**
+     * Rendu borné des paramètres et résultats (entités, pages, graphes)
+     */
+    private BoundedJsonSerializer serializer = new BoundedJsonSerializer();
+
+    private boolean jfrEvents;
+    private boolean errorsAndSlowOnly;
+    private long slowThresholdMs = 1000;
+
     @Around("@annotation(lcl.afx.logging.annotation.LogDatabase)")
     public Object logDatabase(ProceedingJoinPoint joinPoint) throws Throwable {
 
@@ -37,16 +48,19 @@ public class LogDatabaseAspect {
         String[] paramNames = signature.getParameterNames();
 
         long startTime = System.nanoTime();
+        OperationEvent event = jfrEvents ? OperationEvent.start() : null;
 
         try {
-            // [DB] operation params={...}
-            if (annotation.logParams() && args != null && args.length > 0) {
+            // [DB] operation params={...} (map construite seulement si INFO actif),
+            // sauf en mode erreurs et lenteurs seules
+            if (!errorsAndSlowOnly && annotation.logParams() && args != null && args.length > 0
+                    && log.isInfoEnabled()) {
                 Map<String, Object> params = new LinkedHashMap<>();
                 for (int i = 0; i < args.length && i < paramNames.length; i++) {
                     params.put(paramNames[i], args[i]);
                 }
-                helper.start(operation, params);
-            } else {
+                helper.start(operation, LogHelper.json(params, serializer));
+            } else if (!errorsAndSlowOnly) {
                 helper.start(operation);
             }
 
@@ -54,15 +68,22 @@ public class LogDatabaseAspect {
             Object result = joinPoint.proceed();
 
             long timeMs = (System.nanoTime() - startTime) / 1_000_000;
+            boolean slow = timeMs > slowThresholdMs;
+            OperationEvent.finish(event, OperationEvent.DATABASE, operation,
+                slow ? OperationEvent.SLOW : OperationEvent.OK);
 
             // [DB] operation Success
-            if (annotation.logResult()) {
+            if (errorsAndSlowOnly) {
+                if (slow) {
+                    helper.slow(operation, timeMs, slowThresholdMs);
+                }
+            } else if (annotation.logResult()) {
                 if (result instanceof Collection) {
                     helper.success(operation, timeMs, ((Collection<?>) result).size());
                 } else if (result instanceof Integer || result instanceof Long) {
                     helper.success(operation, timeMs, ((Number) result).intValue());
                 } else {
-                    helper.success(operation, timeMs, result);
+                    helper.success(operation, timeMs, LogHelper.json(result, serializer));
                 }
             }
 
@@ -70,8 +91,47 @@ public class LogDatabaseAspect {
 
         } catch (Exception e) {
             long timeMs = (System.nanoTime() - startTime) / 1_000_000;
+            OperationEvent.finish(event, OperationEvent.DATABASE, operation, OperationEvent.ERROR);
             helper.failed(operation, timeMs, e.getMessage());
             throw e;
         }
     }
+
+    public BoundedJsonSerializer getSerializer() {
+        return serializer;
+    }
+
+    public void setSerializer(BoundedJsonSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    /**
+     * Émet un {@link OperationEvent} JFR par appel.
+     */
+    public void setJfrEvents(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+    }
+
+    public boolean isJfrEvents() {
+        return jfrEvents;
+    }
+
+    /**
+     * Logs texte limités aux erreurs et aux appels au-delà de slowThresholdMs.
+     */
+    public void setErrorsAndSlowOnly(boolean errorsAndSlowOnly) {
+        this.errorsAndSlowOnly = errorsAndSlowOnly;
+    }
+
+    public boolean isErrorsAndSlowOnly() {
+        return errorsAndSlowOnly;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
 }
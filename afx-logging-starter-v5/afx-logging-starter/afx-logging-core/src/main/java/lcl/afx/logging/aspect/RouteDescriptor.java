@@ -0,0 +1,191 @@
+package lcl.afx.logging.aspect;
+
+import lcl.afx.logging.annotation.LogFlow;
+import lcl.afx.logging.util.LogHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Métadonnées d'une méthode {@code @LogFlow}, résolues une fois par couple
+ * classe cible / méthode : logger, méthode HTTP, gabarit d'URL, index du
+ * {@code @RequestBody} et options de l'annotation.
+ *
+ * <p>Les mappings sont lus en annotations fusionnées : {@code @GetMapping},
+ * {@code @PostMapping}… et les alias {@code path} / {@code value} sont pris
+ * en compte. Plusieurs chemins ou méthodes HTTP sont joints par {@code |}.</p>
+ */
+public final class RouteDescriptor {
+
+    /**
+     * Attributs posés par Spring MVC (HandlerMapping, spring-webmvc optionnel)
+     */
+    static final String BEST_MATCHING_PATTERN = "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
+    static final String BEST_MATCHING_HANDLER = "org.springframework.web.servlet.HandlerMapping.bestMatchingHandler";
+
+    private static final ClassValue<Map<Method, RouteDescriptor>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<Method, RouteDescriptor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Method handlerMethod;
+    private final Logger logger;
+    private final LogHelper.ControllerLogHelper helper;
+    private final String controllerName;
+    private final String httpMethod;
+    private final String urlTemplate;
+    private final int bodyIndex;
+    private final boolean logRequest;
+    private final boolean logResponse;
+    private final boolean logEndRequest;
+
+    private RouteDescriptor(Method method, Class<?> targetClass) {
+        this.handlerMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        this.logger = LoggerFactory.getLogger(targetClass);
+        this.helper = LogHelper.controller(logger);
+        this.controllerName = targetClass.getSimpleName();
+
+        RequestMapping methodMapping = AnnotatedElementUtils.findMergedAnnotation(handlerMethod, RequestMapping.class);
+        RequestMapping classMapping = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequestMapping.class);
+        this.httpMethod = httpMethod(methodMapping);
+        this.urlTemplate = urlTemplate(classMapping, methodMapping);
+        this.bodyIndex = bodyIndex(handlerMethod.getParameterAnnotations());
+
+        LogFlow annotation = handlerMethod.getAnnotation(LogFlow.class);
+        if (annotation == null) {
+            annotation = targetClass.getAnnotation(LogFlow.class);
+        }
+        this.logRequest = annotation == null || annotation.logRequest();
+        this.logResponse = annotation == null || annotation.logResponse();
+        this.logEndRequest = annotation == null || annotation.logEndRequest();
+    }
+
+    /**
+     * Descripteur en cache pour la méthode appelée sur la classe cible.
+     */
+    public static RouteDescriptor of(Method method, Class<?> targetClass) {
+        return CACHE.get(targetClass).computeIfAbsent(method, m -> new RouteDescriptor(m, targetClass));
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // RÉSOLUTION (une fois par méthode)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static String httpMethod(RequestMapping mapping) {
+        if (mapping == null || mapping.method().length == 0) {
+            return "HTTP";
+        }
+        StringJoiner methods = new StringJoiner("|");
+        for (RequestMethod method : mapping.method()) {
+            methods.add(method.name());
+        }
+        return methods.toString();
+    }
+
+    /**
+     * Chemins de la classe × chemins de la méthode.
+     */
+    private static String urlTemplate(RequestMapping classMapping, RequestMapping methodMapping) {
+        List<String> urls = new ArrayList<>();
+        for (String prefix : paths(classMapping)) {
+            for (String path : paths(methodMapping)) {
+                String url = prefix + path;
+                urls.add(url.isEmpty() ? "/" : url);
+            }
+        }
+        return String.join("|", urls);
+    }
+
+    private static String[] paths(RequestMapping mapping) {
+        return mapping != null && mapping.path().length > 0 ? mapping.path() : new String[] {""};
+    }
+
+    private static int bodyIndex(Annotation[][] parameterAnnotations) {
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof RequestBody) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PAR APPEL
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Pattern réellement retenu par Spring MVC pour la requête courante si
+     * cette méthode en est le handler, sinon le gabarit déclaré.
+     */
+    public String url() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(BEST_MATCHING_HANDLER, RequestAttributes.SCOPE_REQUEST)
+                    instanceof HandlerMethod handler
+                && handler.getMethod().equals(handlerMethod)) {
+            Object pattern = attributes.getAttribute(BEST_MATCHING_PATTERN, RequestAttributes.SCOPE_REQUEST);
+            if (pattern != null) {
+                return pattern.toString();
+            }
+        }
+        return urlTemplate;
+    }
+
+    /**
+     * Argument {@code @RequestBody}, ou null.
+     */
+    public Object requestBody(Object[] args) {
+        return bodyIndex >= 0 && args != null && bodyIndex < args.length ? args[bodyIndex] : null;
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    public LogHelper.ControllerLogHelper getHelper() {
+        return helper;
+    }
+
+    public String getControllerName() {
+        return controllerName;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getUrlTemplate() {
+        return urlTemplate;
+    }
+
+    public boolean isLogRequest() {
+        return logRequest;
+    }
+
+    public boolean isLogResponse() {
+        return logResponse;
+    }
+
+    public boolean isLogEndRequest() {
+        return logEndRequest;
+    }
+}
@@ -0,0 +1,97 @@
+package lcl.afx.logging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.slf4j.MDC;
+
+/**
+ * Événement JFR d'un appel {@code @LogDatabase}, {@code @LogCics} ou
+ * {@code @LogApi} : type, opération, durée, résultat et correlation ID.
+ *
+ * <p>Hors enregistrement JFR, {@code begin} / {@code end} / {@code shouldCommit}
+ * sont sans effet : le coût se limite à une allocation de courte durée.
+ * Les champs, dont le correlation ID lu dans le MDC, ne sont renseignés que
+ * si l'événement est enregistré (seuil JFR franchi).</p>
+ *
+ * <pre>
+ * jcmd &lt;pid&gt; JFR.start name=afx settings=profile duration=10m filename=afx.jfr
+ * jfr print --events lcl.afx.Operation afx.jfr
+ * </pre>
+ */
+@Name("lcl.afx.Operation")
+@Label("AFX Operation")
+@Category({"AFX", "Logging"})
+@Description("Appel d'une méthode @LogDatabase, @LogCics ou @LogApi")
+@StackTrace(false)
+public class OperationEvent extends Event {
+
+    public static final String DATABASE = "DATABASE";
+    public static final String CICS = "CICS";
+    public static final String API = "API";
+
+    public static final String OK = "OK";
+    public static final String SLOW = "SLOW";
+    public static final String ERROR = "ERROR";
+
+    @Label("Type")
+    String type;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Correlation ID")
+    String correlationId;
+
+    /**
+     * Démarre la mesure d'un appel.
+     */
+    public static OperationEvent start() {
+        OperationEvent event = new OperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termine la mesure et enregistre l'événement si JFR le retient.
+     *
+     * @param event événement de {@link #start()}, ou null (événements désactivés)
+     */
+    public static void finish(OperationEvent event, String type, String operation, String outcome) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.operation = operation;
+            event.outcome = outcome;
+            event.correlationId = MDC.get("corrId");
+            event.commit();
+        }
+    }
+
+    /**
+     * Variante {@code @LogApi} : opération {@code service.méthode}, concaténée
+     * seulement si l'événement est enregistré.
+     */
+    public static void finish(OperationEvent event, String type, String service, String method, String outcome) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.operation = service + "." + method;
+            event.outcome = outcome;
+            event.correlationId = MDC.get("corrId");
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package lcl.afx.logging.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expose les statistiques de {@link CicsSlaRecorder} à Micrometer.
+ *
+ * <p>Meters par transaction :</p>
+ * <ul>
+ *   <li>{@code afx.cics.transactions} : nombre et durée totale des appels</li>
+ *   <li>{@code afx.cics.transactions.max} et {@code .percentile} (phi=0.5, 0.95, 0.99)</li>
+ *   <li>{@code afx.cics.sla} : SLA configurée ; {@code afx.cics.sla.breaches} : appels au-delà</li>
+ *   <li>{@code afx.cics.errors} : appels terminés par une exception</li>
+ *   <li>{@code afx.cics.return.codes} : appels par {@code codeRetour}</li>
+ * </ul>
+ *
+ * <p>Les meters lisent les compteurs existants : l'enregistrement d'un appel
+ * ne passe jamais par Micrometer.</p>
+ */
+public class CicsMetricsBinder implements MeterBinder {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final CicsSlaRecorder recorder;
+
+    public CicsMetricsBinder(CicsSlaRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        recorder.setNewStatsListener(stats -> register(registry, stats));
+        recorder.setNewReturnCodeListener((stats, code) -> registerReturnCode(registry, stats, code));
+        for (CicsTransactionStats stats : recorder.getStats()) {
+            register(registry, stats);
+            for (String code : stats.getReturnCodes()) {
+                registerReturnCode(registry, stats, code);
+            }
+        }
+    }
+
+    private void register(MeterRegistry registry, CicsTransactionStats stats) {
+        Tags tags = Tags.of("transaction", stats.getTransaction());
+        LatencyHistogram latency = stats.getLatency();
+
+        FunctionTimer.builder("afx.cics.transactions", latency,
+                LatencyHistogram::getCount, LatencyHistogram::getTotalNanos, TimeUnit.NANOSECONDS)
+            .description("Appels de transactions CICS")
+            .tags(tags)
+            .register(registry);
+
+        TimeGauge.builder("afx.cics.transactions.max", latency, TimeUnit.NANOSECONDS,
+                LatencyHistogram::getMaxNanos)
+            .tags(tags)
+            .register(registry);
+
+        for (double percentile : PERCENTILES) {
+            TimeGauge.builder("afx.cics.transactions.percentile", latency, TimeUnit.NANOSECONDS,
+                    h -> h.getPercentileNanos(percentile))
+                .tags(tags)
+                .tag("phi", String.valueOf(percentile))
+                .register(registry);
+        }
+
+        TimeGauge.builder("afx.cics.sla", stats, TimeUnit.MILLISECONDS, CicsTransactionStats::getSlaMs)
+            .tags(tags)
+            .register(registry);
+
+        FunctionCounter.builder("afx.cics.sla.breaches", stats, CicsTransactionStats::getSlaBreaches)
+            .description("Appels CICS au-delà de la SLA")
+            .tags(tags)
+            .register(registry);
+
+        FunctionCounter.builder("afx.cics.errors", stats, CicsTransactionStats::getErrors)
+            .tags(tags)
+            .register(registry);
+    }
+
+    private void registerReturnCode(MeterRegistry registry, CicsTransactionStats stats, String code) {
+        FunctionCounter.builder("afx.cics.return.codes", stats, s -> s.getReturnCodeCount(code))
+            .tags("transaction", stats.getTransaction(), "code", code)
+            .register(registry);
+    }
+}
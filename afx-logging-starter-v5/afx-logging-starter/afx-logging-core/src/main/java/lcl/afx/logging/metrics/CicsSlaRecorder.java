@@ -0,0 +1,177 @@
+package lcl.afx.logging.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Agrège par transaction {@code @LogCics} la latence, les dépassements de SLA
+ * et les appels par {@code codeRetour}, en mémoire fixe.
+ *
+ * <p>Alimenté par {@code LogCicsAspect}. Les statistiques sont exposées à
+ * Micrometer par {@link CicsMetricsBinder} ; {@link #logSummary()}, appelé
+ * périodiquement, émet une ligne par transaction active sur la période :</p>
+ *
+ * <pre>
+ * ◆ CICS SLA [KEXX] période=60s appels=1520 erreurs=2 p50=12ms p95=80ms p99=250ms sla=200ms dépassements=14 (0.9%) codeRetour={00=1500, 12=18, EXCEPTION=2}
+ * </pre>
+ */
+public class CicsSlaRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(CicsSlaRecorder.class);
+
+    private final ConcurrentHashMap<String, CicsTransactionStats> stats = new ConcurrentHashMap<>();
+    private volatile Consumer<CicsTransactionStats> newStatsListener;
+    private volatile BiConsumer<CicsTransactionStats, String> newReturnCodeListener;
+    private long lastSummaryNanos = System.nanoTime();
+
+    // Configuration
+    private long defaultSlaMs = 1000L;
+    private Map<String, Long> slaMs = Collections.emptyMap();
+    private int maxReturnCodes = 50;
+
+    /**
+     * Enregistre un appel terminé normalement.
+     *
+     * @param codeRetour code retour de la commarea, ou null si absent
+     */
+    public void record(String transaction, long nanos, String codeRetour) {
+        record(transaction, nanos, codeRetour, false);
+    }
+
+    /**
+     * Enregistre un appel terminé par une exception.
+     */
+    public void recordFailure(String transaction, long nanos) {
+        record(transaction, nanos, CicsTransactionStats.EXCEPTION_CODE, true);
+    }
+
+    private void record(String transaction, long nanos, String codeRetour, boolean failed) {
+        CicsTransactionStats tx = statsFor(transaction);
+        String newCode = tx.record(nanos, codeRetour, failed);
+        BiConsumer<CicsTransactionStats, String> listener = newReturnCodeListener;
+        if (newCode != null && listener != null) {
+            listener.accept(tx, newCode);
+        }
+    }
+
+    private CicsTransactionStats statsFor(String transaction) {
+        CicsTransactionStats existing = stats.get(transaction);
+        if (existing != null) {
+            return existing;
+        }
+        boolean[] created = new boolean[1];
+        CicsTransactionStats result = stats.computeIfAbsent(transaction, k -> {
+            created[0] = true;
+            return new CicsTransactionStats(k, getSlaMs(k), maxReturnCodes);
+        });
+        Consumer<CicsTransactionStats> listener = newStatsListener;
+        if (created[0] && listener != null) {
+            listener.accept(result);
+        }
+        return result;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // RÉSUMÉ PÉRIODIQUE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Une ligne par transaction appelée depuis le résumé précédent (WARN si la
+     * SLA a été dépassée).
+     */
+    public synchronized void logSummary() {
+        long now = System.nanoTime();
+        long seconds = Math.round((now - lastSummaryNanos) / 1e9);
+        lastSummaryNanos = now;
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        for (CicsTransactionStats tx : stats.values()) {
+            CicsTransactionStats.Period period = tx.nextPeriod();
+            if (period.calls() == 0) {
+                continue;
+            }
+            Object[] args = {tx.getTransaction(), seconds, period.calls(), period.errors(),
+                period.p50Nanos() / 1_000_000, period.p95Nanos() / 1_000_000, period.p99Nanos() / 1_000_000,
+                tx.getSlaMs(), period.slaBreaches(),
+                String.format(Locale.ROOT, "%.1f", 100.0 * period.slaBreaches() / period.calls()),
+                period.returnCodes()};
+            String format = "◆ CICS SLA [{}] période={}s appels={} erreurs={} p50={}ms p95={}ms p99={}ms "
+                + "sla={}ms dépassements={} ({}%) codeRetour={}";
+            if (period.slaBreaches() > 0) {
+                log.warn(format, args);
+            } else {
+                log.info(format, args);
+            }
+        }
+    }
+
+    /**
+     * Statistiques par transaction (vue vivante).
+     */
+    public Collection<CicsTransactionStats> getStats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    /**
+     * Notifié à chaque nouvelle transaction (enregistrement des meters).
+     */
+    public void setNewStatsListener(Consumer<CicsTransactionStats> newStatsListener) {
+        this.newStatsListener = newStatsListener;
+    }
+
+    /**
+     * Notifié au premier appel d'une transaction avec un nouveau code retour.
+     */
+    public void setNewReturnCodeListener(BiConsumer<CicsTransactionStats, String> newReturnCodeListener) {
+        this.newReturnCodeListener = newReturnCodeListener;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // Setters pour configuration
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * SLA des transactions sans SLA propre.
+     */
+    public void setDefaultSlaMs(long defaultSlaMs) {
+        this.defaultSlaMs = defaultSlaMs;
+    }
+
+    /**
+     * SLA par nom de transaction, prioritaires sur la SLA par défaut. Lues à
+     * la création des statistiques d'une transaction (premier appel).
+     */
+    public void setSlaMs(Map<String, Long> slaMs) {
+        this.slaMs = slaMs != null ? Map.copyOf(slaMs) : Collections.emptyMap();
+    }
+
+    public void setMaxReturnCodes(int maxReturnCodes) {
+        this.maxReturnCodes = maxReturnCodes;
+    }
+
+    // Getters
+    public long getDefaultSlaMs() {
+        return defaultSlaMs;
+    }
+
+    public Map<String, Long> getSlaMs() {
+        return slaMs;
+    }
+
+    public long getSlaMs(String transaction) {
+        return slaMs.getOrDefault(transaction, defaultSlaMs);
+    }
+
+    public int getMaxReturnCodes() {
+        return maxReturnCodes;
+    }
+}
@@ -0,0 +1,164 @@
+package lcl.afx.logging.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques cumulées d'une transaction CICS : latences, dépassements de
+ * SLA, erreurs et appels par {@code codeRetour}.
+ *
+ * <p>Empreinte fixe : un histogramme de 128 compteurs et au plus
+ * {@code maxReturnCodes} codes retour distincts, les suivants étant regroupés
+ * sous {@link #OVERFLOW_CODE}.</p>
+ */
+public final class CicsTransactionStats {
+
+    /**
+     * Code enregistré pour un appel terminé par une exception.
+     */
+    public static final String EXCEPTION_CODE = "EXCEPTION";
+
+    /**
+     * Code enregistré quand la commarea ne porte pas de code retour.
+     */
+    public static final String NO_CODE = "NONE";
+
+    /**
+     * Code utilisé une fois {@code maxReturnCodes} atteint (borne de cardinalité).
+     */
+    public static final String OVERFLOW_CODE = "OTHER";
+
+    private final String transaction;
+    private final long slaMs;
+    private final int maxReturnCodes;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder slaBreaches = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> returnCodes = new ConcurrentHashMap<>();
+
+    // État du dernier résumé périodique (thread du résumé uniquement)
+    private long[] lastBuckets = new long[LatencyHistogram.BUCKETS];
+    private long lastBreaches;
+    private long lastErrors;
+    private Map<String, Long> lastReturnCodes = Collections.emptyMap();
+
+    CicsTransactionStats(String transaction, long slaMs, int maxReturnCodes) {
+        this.transaction = transaction;
+        this.slaMs = slaMs;
+        this.maxReturnCodes = maxReturnCodes;
+    }
+
+    /**
+     * @return le code retour compté, si c'est sa première occurrence ; sinon null
+     */
+    String record(long nanos, String codeRetour, boolean failed) {
+        latency.record(nanos);
+        if (nanos / 1_000_000 > slaMs) {
+            slaBreaches.increment();
+        }
+        if (failed) {
+            errors.increment();
+        }
+        String code = codeRetour != null ? codeRetour : NO_CODE;
+        LongAdder counter = returnCodes.get(code);
+        if (counter != null) {
+            counter.increment();
+            return null;
+        }
+        if (returnCodes.size() >= maxReturnCodes) {
+            code = OVERFLOW_CODE;
+        }
+        boolean[] created = new boolean[1];
+        returnCodes.computeIfAbsent(code, k -> {
+            created[0] = true;
+            return new LongAdder();
+        }).increment();
+        return created[0] ? code : null;
+    }
+
+    public String getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * SLA de la transaction, en millisecondes.
+     */
+    public long getSlaMs() {
+        return slaMs;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getSlaBreaches() {
+        return slaBreaches.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public Set<String> getReturnCodes() {
+        return Collections.unmodifiableSet(returnCodes.keySet());
+    }
+
+    public long getReturnCodeCount(String code) {
+        LongAdder counter = returnCodes.get(code);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PÉRIODE (résumé périodique)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Appels enregistrés depuis la période précédente, puis début d'une
+     * nouvelle période. Réservé à un seul thread (le résumé périodique).
+     */
+    Period nextPeriod() {
+        long[] buckets = latency.snapshot();
+        long[] delta = new long[buckets.length];
+        long calls = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            delta[i] = buckets[i] - lastBuckets[i];
+            calls += delta[i];
+        }
+        long breaches = getSlaBreaches();
+        long errorCount = getErrors();
+        Map<String, Long> codes = new TreeMap<>();
+        returnCodes.forEach((code, counter) -> codes.put(code, counter.sum()));
+
+        Map<String, Long> codeDeltas = new TreeMap<>();
+        codes.forEach((code, count) -> {
+            long n = count - lastReturnCodes.getOrDefault(code, 0L);
+            if (n > 0) {
+                codeDeltas.put(code, n);
+            }
+        });
+        Period period = new Period(calls, errorCount - lastErrors, breaches - lastBreaches,
+            LatencyHistogram.percentileNanos(delta, 0.5),
+            LatencyHistogram.percentileNanos(delta, 0.95),
+            LatencyHistogram.percentileNanos(delta, 0.99),
+            codeDeltas);
+
+        lastBuckets = buckets;
+        lastBreaches = breaches;
+        lastErrors = errorCount;
+        lastReturnCodes = codes;
+        return period;
+    }
+
+    /**
+     * Appels d'une période ; percentiles approchés par borne haute de bucket.
+     */
+    record Period(long calls, long errors, long slaBreaches,
+                  long p50Nanos, long p95Nanos, long p99Nanos,
+                  Map<String, Long> returnCodes) {
+    }
+}
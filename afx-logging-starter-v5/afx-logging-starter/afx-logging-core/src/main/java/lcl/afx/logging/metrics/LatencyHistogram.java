@@ -0,0 +1,122 @@
+package lcl.afx.logging.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de latences sans verrou, à buckets logarithmiques.
+ *
+ * <p>Chaque puissance de 2 (en microsecondes) est découpée en 4 sous-buckets :
+ * l'erreur relative sur un percentile est inférieure à 25 %, pour une empreinte
+ * fixe de 128 compteurs (jusqu'à ~2 h). L'enregistrement est un simple
+ * incrément atomique, sans allocation.</p>
+ */
+public final class LatencyHistogram {
+
+    static final int BUCKETS = 128;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Enregistre une durée.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(nanos / 1_000));
+        count.increment();
+        totalNanos.add(nanos);
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMean(TimeUnit unit) {
+        long n = getCount();
+        return n == 0 ? 0.0 : (double) getTotalNanos() / n / unit.toNanos(1);
+    }
+
+    /**
+     * Percentile approché (borne haute du bucket), en nanosecondes.
+     *
+     * @param quantile entre 0 et 1 (ex: 0.99)
+     */
+    public long getPercentileNanos(double quantile) {
+        return Math.min(percentileNanos(snapshot(), quantile), getMaxNanos());
+    }
+
+    /**
+     * Copie des compteurs par bucket, pour un percentile sur une période
+     * (différence de deux copies, voir {@link #percentileNanos}).
+     */
+    public long[] snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Percentile approché (borne haute du bucket) d'une copie de compteurs.
+     */
+    public static long percentileNanos(long[] snapshot, double quantile) {
+        long total = 0;
+        for (long n : snapshot) {
+            total += n;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return upperBoundMicros(i) * 1_000;
+            }
+        }
+        return upperBoundMicros(snapshot.length - 1) * 1_000;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // BUCKETS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    static int bucketIndex(long micros) {
+        if (micros < 4) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (exponent - 2)) & 3);
+        return Math.min((exponent - 1) * 4 + sub, BUCKETS - 1);
+    }
+
+    static long upperBoundMicros(int index) {
+        if (index < 4) {
+            return index + 1;
+        }
+        int exponent = index / 4 + 1;
+        int sub = index % 4;
+        return (5L + sub) << (exponent - 2);
+    }
+}
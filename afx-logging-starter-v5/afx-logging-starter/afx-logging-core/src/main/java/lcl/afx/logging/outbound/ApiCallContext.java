@@ -0,0 +1,84 @@
+package lcl.afx.logging.outbound;
+
+import org.slf4j.Logger;
+
+/**
+ * Appel {@code @LogApi} en cours sur le thread : nom du service, opération
+ * et logger de la classe appelante, lus par les intercepteurs HTTP sortants.
+ * Sans {@code wireLogs}, les intercepteurs laissent passer l'appel sans le
+ * journaliser (erreurs et lenteurs journalisées par l'aspect).
+ *
+ * <pre>
+ * ApiCallContext previous = ApiCallContext.enter("risk-api", "evaluate", log);
+ * try {
+ *     // appels RestTemplate / RestClient / Feign
+ * } finally {
+ *     ApiCallContext.restore(previous);
+ * }
+ * </pre>
+ */
+public final class ApiCallContext {
+
+    private static final ThreadLocal<ApiCallContext> CURRENT = new ThreadLocal<>();
+
+    private final String serviceName;
+    private final String operation;
+    private final Logger logger;
+    private final boolean wireLogs;
+
+    private ApiCallContext(String serviceName, String operation, Logger logger, boolean wireLogs) {
+        this.serviceName = serviceName;
+        this.operation = operation;
+        this.logger = logger;
+        this.wireLogs = wireLogs;
+    }
+
+    /**
+     * Attache le service au thread courant.
+     *
+     * @return contexte précédent, à passer à {@link #restore}
+     */
+    public static ApiCallContext enter(String serviceName, String operation, Logger logger) {
+        return enter(serviceName, operation, logger, true);
+    }
+
+    /**
+     * @param wireLogs false : échanges HTTP non journalisés par les intercepteurs
+     */
+    public static ApiCallContext enter(String serviceName, String operation, Logger logger, boolean wireLogs) {
+        ApiCallContext previous = CURRENT.get();
+        CURRENT.set(new ApiCallContext(serviceName, operation, logger, wireLogs));
+        return previous;
+    }
+
+    public static void restore(ApiCallContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Appel en cours, ou null hors {@code @LogApi}.
+     */
+    public static ApiCallContext current() {
+        return CURRENT.get();
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    public boolean isWireLogs() {
+        return wireLogs;
+    }
+}
@@ -0,0 +1,65 @@
+package lcl.afx.logging.outbound;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Flux de réponse recopiant au fil de la lecture le début du corps dans un
+ * {@link WireBody} : le corps n'est jamais mis en tampon en entier ni relu.
+ * La ligne de log est émise à la fermeture.
+ */
+final class CapturingInputStream extends FilterInputStream {
+
+    private final WireBody body;
+    private final Runnable onClose;
+    private boolean closed;
+
+    CapturingInputStream(InputStream in, WireBody body, Runnable onClose) {
+        super(in);
+        this.body = body;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            body.append(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int count = in.read(buffer, offset, length);
+        if (count > 0) {
+            body.append(buffer, offset, count);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        body.skipped(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            in.close();
+        } finally {
+            if (!closed) {
+                closed = true;
+                onClose.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package lcl.afx.logging.outbound;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+
+/**
+ * {@link Capability} Feign journalisant l'appel réellement émis (étape 6),
+ * comme {@link OutboundLogInterceptor} : le gabarit d'URL est celui de la
+ * méthode du client ({@code /accounts/{id}}), le service celui du
+ * {@code @LogApi} en cours. Hors {@code @LogApi}, l'appel n'est journalisé
+ * qu'avec {@code logAllOutbound} (service : le nom du client Feign).
+ *
+ * <p>Détectée automatiquement par Spring Cloud OpenFeign si présente dans le
+ * contexte Spring.</p>
+ */
+public class FeignOutboundLogging implements Capability {
+
+    private int maxBodyBytes = 2048;
+    private boolean logAllOutbound;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> execute(client, request, options);
+    }
+
+    private Response execute(Client client, Request request, Request.Options options) throws IOException {
+        ApiCallContext call = ApiCallContext.current();
+        if (!OutboundExchange.isLogged(call, logAllOutbound)) {
+            return client.execute(request, options);
+        }
+
+        OutboundExchange exchange = OutboundExchange.begin(call, clientName(request), request.httpMethod().name(),
+            route(request), WireBody.of(request.body(), maxBodyBytes, contentType(request.headers().get("Content-Type"))));
+        Response response;
+        try {
+            response = client.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            exchange.failed(e);
+            throw e;
+        }
+        exchange.received(response.status());
+
+        Response.Body body = response.body();
+        if (body == null) {
+            exchange.complete(WireBody.of(null, 0, null));
+            return response;
+        }
+        WireBody captured = WireBody.capture(maxBodyBytes, contentType(response.headers().get("Content-Type")));
+        return response.toBuilder()
+            .body(new CapturingInputStream(body.asInputStream(), captured, () -> exchange.complete(captured)),
+                body.length())
+            .build();
+    }
+
+    /**
+     * Gabarit déclaré sur la méthode du client, sinon chemin normalisé.
+     */
+    private static String route(Request request) {
+        RequestTemplate template = request.requestTemplate();
+        MethodMetadata metadata = template != null ? template.methodMetadata() : null;
+        if (metadata != null && metadata.template() != null) {
+            return RouteTemplates.pathOfTemplate(metadata.template().url());
+        }
+        try {
+            return RouteTemplates.normalize(URI.create(request.url()).getRawPath());
+        } catch (IllegalArgumentException e) {
+            return RouteTemplates.normalize(request.url());
+        }
+    }
+
+    private static String clientName(Request request) {
+        RequestTemplate template = request.requestTemplate();
+        Target<?> target = template != null ? template.feignTarget() : null;
+        return target != null ? target.name() : null;
+    }
+
+    private static String contentType(Collection<String> values) {
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    /**
+     * Taille maximale journalisée d'un corps de requête ou de réponse.
+     */
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * true : journalise aussi les appels passés hors {@code @LogApi}.
+     */
+    public void setLogAllOutbound(boolean logAllOutbound) {
+        this.logAllOutbound = logAllOutbound;
+    }
+
+    public boolean isLogAllOutbound() {
+        return logAllOutbound;
+    }
+}
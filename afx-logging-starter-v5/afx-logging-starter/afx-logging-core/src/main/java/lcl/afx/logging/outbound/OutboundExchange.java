@@ -0,0 +1,99 @@
+package lcl.afx.logging.outbound;
+
+import lcl.afx.logging.util.LogHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Lignes [API] d'un appel HTTP sortant, communes aux intercepteurs Spring et
+ * Feign : Context et REQUETE à l'envoi, REPONSE et InfosImportantes à la
+ * fermeture du corps de réponse (latence mesurée à la réception des headers).
+ */
+final class OutboundExchange {
+
+    /**
+     * Logger des appels passés hors {@code @LogApi} (si {@code log-all-outbound})
+     */
+    static final Logger OUTBOUND_LOG = LoggerFactory.getLogger("lcl.afx.logging.outbound");
+
+    /**
+     * Statut journalisé quand aucune réponse n'a été reçue
+     */
+    static final int NO_RESPONSE = 0;
+
+    private final LogHelper.ApiLogHelper helper;
+    private final String httpMethod;
+    private final String route;
+    private final long start;
+    private int status = NO_RESPONSE;
+    private long timeMs;
+    private boolean completed;
+
+    private OutboundExchange(LogHelper.ApiLogHelper helper, String httpMethod, String route) {
+        this.helper = helper;
+        this.httpMethod = httpMethod;
+        this.route = route;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Logger de l'appel : celui de la classe {@code @LogApi}, sinon le logger
+     * des appels sortants.
+     */
+    static Logger logger(ApiCallContext call) {
+        return call != null ? call.getLogger() : OUTBOUND_LOG;
+    }
+
+    /**
+     * L'échange doit-il être journalisé (INFO actif, appel {@code @LogApi}
+     * hors mode erreurs et lenteurs seules, ou appel hors {@code @LogApi}
+     * si {@code logAllOutbound}) ?
+     */
+    static boolean isLogged(ApiCallContext call, boolean logAllOutbound) {
+        return (call != null ? call.isWireLogs() : logAllOutbound) && logger(call).isInfoEnabled();
+    }
+
+    /**
+     * Logs 1 et 2, puis démarrage du chronomètre.
+     *
+     * @param defaultService nom de service hors {@code @LogApi} (client Feign, hôte)
+     */
+    static OutboundExchange begin(ApiCallContext call, String defaultService, String httpMethod,
+                                  String route, WireBody requestBody) {
+        String service = call != null ? call.getServiceName() : defaultService;
+        LogHelper.ApiLogHelper helper = LogHelper.api(logger(call), service != null ? service : "unknown");
+        helper.context(call != null ? call.getOperation() : route, MDC.get("corrId"));
+        if (!requestBody.isEmpty()) {
+            helper.wireRequest(httpMethod, route, requestBody);
+        }
+        return new OutboundExchange(helper, httpMethod, route);
+    }
+
+    /**
+     * Headers de réponse reçus.
+     */
+    void received(int status) {
+        this.status = status;
+        this.timeMs = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Logs 3 et 4, une seule fois (fermeture du flux puis de la réponse).
+     */
+    void complete(WireBody responseBody) {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        helper.wireResponse(httpMethod, route, status, responseBody);
+        helper.infos(status, timeMs);
+    }
+
+    void failed(Exception e) {
+        completed = true;
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        helper.error(httpMethod, route, e.getMessage());
+        helper.infos(status, elapsed, e.getMessage());
+    }
+}
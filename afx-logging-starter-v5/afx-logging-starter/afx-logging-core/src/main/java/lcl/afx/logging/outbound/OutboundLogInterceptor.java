@@ -0,0 +1,137 @@
+package lcl.afx.logging.outbound;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Intercepteur RestTemplate / RestClient journalisant l'appel réellement
+ * émis (étape 6) : méthode HTTP, gabarit d'URL, statut, latence et corps
+ * tronqués et masqués. Seuls les appels passés dans un {@code @LogApi} sont
+ * journalisés, sauf {@code logAllOutbound} (service : l'hôte appelé).
+ *
+ * <p>Le corps de réponse n'est pas mis en tampon : ses premiers octets sont
+ * recopiés pendant que le client le lit, et les lignes REPONSE /
+ * InfosImportantes sont émises à la fermeture de la réponse.</p>
+ *
+ * <pre>
+ * RestClient.builder().requestInterceptor(interceptor).build();
+ * </pre>
+ */
+public class OutboundLogInterceptor implements ClientHttpRequestInterceptor {
+
+    private int maxBodyBytes = 2048;
+    private boolean logAllOutbound;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        ApiCallContext call = ApiCallContext.current();
+        if (!OutboundExchange.isLogged(call, logAllOutbound)) {
+            return execution.execute(request, body);
+        }
+
+        URI uri = request.getURI();
+        String httpMethod = request.getMethod().name();
+        OutboundExchange exchange = OutboundExchange.begin(call, uri.getHost(), httpMethod, route(request),
+            WireBody.of(body, maxBodyBytes, contentType(request.getHeaders())));
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            exchange.received(response.getStatusCode().value());
+            return new LoggedResponse(response, exchange, maxBodyBytes);
+        } catch (IOException | RuntimeException e) {
+            exchange.failed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Chemin normalisé ({@code /accounts/{id}}) : Spring 6.1 n'expose pas le
+     * gabarit d'URI aux intercepteurs.
+     */
+    private static String route(HttpRequest request) {
+        return RouteTemplates.normalize(request.getURI().getRawPath());
+    }
+
+    private static String contentType(HttpHeaders headers) {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    /**
+     * Taille maximale journalisée d'un corps de requête ou de réponse.
+     */
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * true : journalise aussi les appels passés hors {@code @LogApi}.
+     */
+    public void setLogAllOutbound(boolean logAllOutbound) {
+        this.logAllOutbound = logAllOutbound;
+    }
+
+    public boolean isLogAllOutbound() {
+        return logAllOutbound;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // RÉPONSE (corps lu en flux)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static final class LoggedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final OutboundExchange exchange;
+        private final WireBody body;
+        private InputStream stream;
+
+        LoggedResponse(ClientHttpResponse delegate, OutboundExchange exchange, int maxBodyBytes) {
+            this.delegate = delegate;
+            this.exchange = exchange;
+            this.body = WireBody.capture(maxBodyBytes, contentType(delegate.getHeaders()));
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (stream == null) {
+                stream = new CapturingInputStream(delegate.getBody(), body, () -> exchange.complete(body));
+            }
+            return stream;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                exchange.complete(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package lcl.afx.logging.outbound;
+
+import lcl.afx.logging.util.LogHelper;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Corps HTTP tel qu'il passe sur le fil : seuls les {@code max} premiers
+ * octets sont conservés, le total est compté. Décodé et masqué uniquement
+ * quand la ligne de log est formatée, et au plus une fois.
+ *
+ * <p>Corps non textuel (image, PDF, flux binaire) : seuls la taille et le
+ * type sont journalisés.</p>
+ */
+final class WireBody {
+
+    // Longueur maximale d'une donnée sensible coupée à retirer (IBAN = 34 caractères)
+    private static final int MAX_TRIMMED_TOKEN = 40;
+
+    private final byte[] captured;
+    private final boolean textual;
+    private final String contentType;
+    private int length;
+    private long total;
+    private String rendered;
+
+    private WireBody(byte[] captured, int length, long total, String contentType) {
+        this.captured = captured;
+        this.length = length;
+        this.total = total;
+        this.contentType = contentType;
+        this.textual = isTextual(contentType);
+    }
+
+    /**
+     * Corps de requête déjà en mémoire : le tableau est référencé, pas copié.
+     */
+    static WireBody of(byte[] body, int max, String contentType) {
+        int total = body != null ? body.length : 0;
+        return new WireBody(body != null ? body : new byte[0], Math.min(total, max), total, contentType);
+    }
+
+    /**
+     * Tampon de capture d'un corps lu en flux (au plus {@code max} octets).
+     */
+    static WireBody capture(int max, String contentType) {
+        return new WireBody(isTextual(contentType) ? new byte[max] : new byte[0], 0, 0, contentType);
+    }
+
+    void append(byte[] buffer, int offset, int count) {
+        int room = captured.length - length;
+        if (room > 0) {
+            int copied = Math.min(room, count);
+            System.arraycopy(buffer, offset, captured, length, copied);
+            length += copied;
+        }
+        total += count;
+    }
+
+    void append(int b) {
+        if (length < captured.length) {
+            captured[length++] = (byte) b;
+        }
+        total++;
+    }
+
+    void skipped(long count) {
+        total += count;
+    }
+
+    boolean isEmpty() {
+        return total == 0;
+    }
+
+    @Override
+    public String toString() {
+        String text = rendered;
+        if (text == null) {
+            text = render();
+            rendered = text;
+        }
+        return text;
+    }
+
+    private String render() {
+        if (total == 0) {
+            return "";
+        }
+        if (!textual) {
+            return "<" + total + " octets " + contentType + ">";
+        }
+        // Corps tronqué : le dernier jeton peut être un IBAN ou une carte coupé
+        // que les motifs de masquage ne reconnaîtraient plus, il est retiré
+        int end = length;
+        if (total > length) {
+            int floor = Math.max(0, length - MAX_TRIMMED_TOKEN);
+            while (end > floor && isTokenByte(captured[end - 1])) {
+                end--;
+            }
+        }
+        String text = LogHelper.mask(new String(captured, 0, end, charset(contentType)));
+        return total > length ? text + "…(" + total + " octets)" : text;
+    }
+
+    private static boolean isTokenByte(byte b) {
+        return (b >= '0' && b <= '9') || (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z')
+            || b == '-' || b == ' ' || (b & 0x80) != 0;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CONTENT-TYPE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Texte, JSON, XML, formulaire ; type absent : supposé textuel.
+     */
+    static boolean isTextual(String contentType) {
+        if (contentType == null || contentType.isEmpty()) {
+            return true;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+            || type.contains("x-www-form-urlencoded") || type.contains("graphql");
+    }
+
+    private static Charset charset(String contentType) {
+        int index = contentType != null ? contentType.toLowerCase(Locale.ROOT).indexOf("charset=") : -1;
+        if (index < 0) {
+            return StandardCharsets.UTF_8;
+        }
+        int end = contentType.indexOf(';', index);
+        String name = contentType.substring(index + 8, end < 0 ? contentType.length() : end).trim().replace("\"", "");
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
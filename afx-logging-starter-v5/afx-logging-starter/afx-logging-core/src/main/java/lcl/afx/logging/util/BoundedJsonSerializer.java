@@ -0,0 +1,471 @@
+package lcl.afx.logging.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.type.ArrayType;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.BaseStream;
+
+/**
+ * Sérialiseur JSON borné pour les résultats volumineux (entités, pages,
+ * listes) : taille totale, éléments par collection, profondeur et longueur
+ * des chaînes sont plafonnées.
+ *
+ * <p>L'écriture s'arrête dès que le budget est atteint : les collections, les
+ * tableaux et les maps ne sont parcourus que sur leurs {@code maxElements}
+ * premiers éléments (suivis du total), les objets au-delà de
+ * {@code maxDepth} sont remplacés par {@code "{…}"}, et le générateur
+ * interrompt la sérialisation au premier jeton qui dépasse {@code maxBytes}.
+ * Les {@code Stream} et {@code Iterator} ne sont jamais consommés.</p>
+ *
+ * <p>Chaque chaîne est masquée avant d'être tronquée, puis le JSON complet
+ * est masqué comme par {@link LogHelper#toJson(Object)}. Taille comptée en
+ * caractères (égale aux octets UTF-8 pour l'ASCII).</p>
+ */
+public final class BoundedJsonSerializer {
+
+    public static final int DEFAULT_MAX_BYTES = 4096;
+    public static final int DEFAULT_MAX_ELEMENTS = 20;
+    public static final int DEFAULT_MAX_DEPTH = 5;
+    public static final int DEFAULT_MAX_STRING_LENGTH = 256;
+
+    private final int maxBytes;
+    private final int maxElements;
+    private final int maxDepth;
+    private final int maxStringLength;
+    private final ObjectMapper mapper;
+
+    public BoundedJsonSerializer() {
+        this(DEFAULT_MAX_BYTES, DEFAULT_MAX_ELEMENTS, DEFAULT_MAX_DEPTH, DEFAULT_MAX_STRING_LENGTH);
+    }
+
+    public BoundedJsonSerializer(int maxBytes, int maxElements, int maxDepth, int maxStringLength) {
+        if (maxBytes <= 0 || maxElements < 0 || maxDepth <= 0 || maxStringLength <= 0) {
+            throw new IllegalArgumentException("Limites invalides : maxBytes=" + maxBytes
+                + ", maxElements=" + maxElements + ", maxDepth=" + maxDepth
+                + ", maxStringLength=" + maxStringLength);
+        }
+        this.maxBytes = maxBytes;
+        this.maxElements = maxElements;
+        this.maxDepth = maxDepth;
+        this.maxStringLength = maxStringLength;
+        SimpleModule module = new SimpleModule("afx-bounded");
+        module.setSerializerModifier(new BoundedModifier());
+        module.addSerializer(BaseStream.class, UNCONSUMED);
+        module.addSerializer(Iterator.class, UNCONSUMED);
+        this.mapper = LogHelper.mapper().copy().registerModule(module);
+    }
+
+    /**
+     * JSON masqué, au plus {@code maxBytes} caractères (plus le dernier jeton
+     * et le marqueur de troncature).
+     */
+    public String serialize(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        StringWriter out = new StringWriter(Math.min(maxBytes, 512));
+        BudgetGenerator generator = null;
+        try {
+            generator = new BudgetGenerator(mapper.getFactory().createGenerator(out), out);
+            mapper.writeValue(generator, value);
+            generator.flush();
+        } catch (IOException | RuntimeException e) {
+            if (generator == null || !generator.exhausted) {
+                // Échec de sérialisation : toString borné, comme LogHelper.toJson
+                return truncate(LogHelper.mask(String.valueOf(value)), maxBytes);
+            }
+            try {
+                generator.flush();
+            } catch (IOException ignored) {
+                // contenu déjà écrit conservé
+            }
+            out.write("…(tronqué à " + maxBytes + " caractères)");
+        }
+        return LogHelper.mask(out.toString());
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getMaxElements() {
+        return maxElements;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxStringLength() {
+        return maxStringLength;
+    }
+
+    private static String truncate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max) + "…";
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // BUDGET (jeton par jeton)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static final class BudgetExceededException extends IOException {
+        BudgetExceededException() {
+            super("budget JSON atteint", null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Vérifie le budget avant chaque jeton ; le jeton en cours est toujours
+     * écrit en entier (pas de valeur coupée avant masquage).
+     */
+    private final class BudgetGenerator extends JsonGeneratorDelegate {
+
+        private final StringWriter out;
+        private boolean exhausted;
+
+        BudgetGenerator(JsonGenerator delegate, StringWriter out) {
+            super(delegate, false);
+            this.out = out;
+        }
+
+        private void check() throws IOException {
+            if (exhausted || out.getBuffer().length() + delegate.getOutputBuffered() >= maxBytes) {
+                exhausted = true;
+                throw new BudgetExceededException();
+            }
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            check();
+            delegate.writeString(text != null && text.length() > maxStringLength
+                ? truncate(LogHelper.mask(text), maxStringLength) : text);
+        }
+
+        /**
+         * Marqueur du sérialiseur ("…(N éléments)", "&lt;N octets&gt;") :
+         * budget vérifié, jamais tronqué à {@code maxStringLength}.
+         */
+        void writeMarker(String marker) throws IOException {
+            check();
+            delegate.writeString(marker);
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            writeString(new String(text, offset, len));
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException { check(); delegate.writeString(text); }
+
+        @Override
+        public void writeFieldName(String name) throws IOException { check(); delegate.writeFieldName(name); }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException { check(); delegate.writeFieldName(name); }
+
+        @Override
+        public void writeStartArray() throws IOException { check(); delegate.writeStartArray(); }
+
+        @Override
+        public void writeStartArray(Object forValue) throws IOException { check(); delegate.writeStartArray(forValue); }
+
+        @Override
+        public void writeStartArray(Object forValue, int size) throws IOException { check(); delegate.writeStartArray(forValue, size); }
+
+        @Override
+        public void writeStartObject() throws IOException { check(); delegate.writeStartObject(); }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException { check(); delegate.writeStartObject(forValue); }
+
+        @Override
+        public void writeStartObject(Object forValue, int size) throws IOException { check(); delegate.writeStartObject(forValue, size); }
+
+        @Override
+        public void writeNumber(short v) throws IOException { check(); delegate.writeNumber(v); }
+
+        @Override
+        public void writeNumber(int v) throws IOException { check(); delegate.writeNumber(v); }
+
+        @Override
+        public void writeNumber(long v) throws IOException { check(); delegate.writeNumber(v); }
+
+        @Override
+        public void writeNumber(BigInteger v) throws IOException { check(); delegate.writeNumber(v); }
+
+        @Override
+        public void writeNumber(double v) throws IOException { check(); delegate.writeNumber(v); }
+
+        @Override
+        public void writeNumber(float v) throws IOException { check(); delegate.writeNumber(v); }
+
+        @Override
+        public void writeNumber(BigDecimal v) throws IOException { check(); delegate.writeNumber(v); }
+
+        @Override
+        public void writeNumber(String encodedValue) throws IOException { check(); delegate.writeNumber(encodedValue); }
+
+        @Override
+        public void writeBoolean(boolean state) throws IOException { check(); delegate.writeBoolean(state); }
+
+        @Override
+        public void writeNull() throws IOException { check(); delegate.writeNull(); }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PLAFONDS (collections, tableaux, maps, profondeur)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Stream / Iterator : type seul, sans consommer les éléments.
+     */
+    private static final JsonSerializer<Object> UNCONSUMED = new JsonSerializer<>() {
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeMarker(gen, "<" + value.getClass().getSimpleName() + ">");
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSer) throws IOException {
+            serialize(value, gen, provider);
+        }
+    };
+
+    private static void writeMarker(JsonGenerator gen, String marker) throws IOException {
+        if (gen instanceof BudgetGenerator budget) {
+            budget.writeMarker(marker);
+        } else {
+            gen.writeString(marker);
+        }
+    }
+
+    private enum Kind { BEAN, COLLECTION, ARRAY, MAP }
+
+    /**
+     * Nombre de conteneurs ouverts (getNestingDepth() non renseigné avant
+     * jackson-core 2.16).
+     */
+    private static int depth(JsonGenerator gen) {
+        int depth = 0;
+        for (JsonStreamContext context = gen.getOutputContext(); context.getParent() != null; context = context.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private final class BoundedModifier extends BeanSerializerModifier {
+
+        @Override
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+            return serializer instanceof BeanSerializerBase ? new BoundedValueSerializer(serializer, Kind.BEAN) : serializer;
+        }
+
+        @Override
+        public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType,
+                                                            BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            return new BoundedValueSerializer(serializer, Kind.COLLECTION);
+        }
+
+        @Override
+        public JsonSerializer<?> modifyArraySerializer(SerializationConfig config, ArrayType valueType,
+                                                       BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            return new BoundedValueSerializer(serializer, Kind.ARRAY);
+        }
+
+        @Override
+        public JsonSerializer<?> modifyMapSerializer(SerializationConfig config, MapType valueType,
+                                                     BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            return new BoundedValueSerializer(serializer, Kind.MAP);
+        }
+    }
+
+    private final class BoundedValueSerializer extends JsonSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+        private final Kind kind;
+
+        @SuppressWarnings("unchecked")
+        BoundedValueSerializer(JsonSerializer<?> delegate, Kind kind) {
+            this.delegate = (JsonSerializer<Object>) delegate;
+            this.kind = kind;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (writeMarkerInstead(value, gen)) {
+                return;
+            }
+            if (withinLimits(value)) {
+                delegate.serialize(value, gen, provider);
+            } else if (kind == Kind.MAP) {
+                gen.writeStartObject(value);
+                writeEntries((Map<?, ?>) value, gen, provider);
+                gen.writeEndObject();
+            } else {
+                gen.writeStartArray(value);
+                writeElements(value, gen, provider);
+                gen.writeEndArray();
+            }
+        }
+
+        /**
+         * Types polymorphes ({@code @JsonTypeInfo}, typage par défaut) : mêmes
+         * plafonds, identifiant de type écrit autour du contenu tronqué.
+         */
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSer) throws IOException {
+            if (writeMarkerInstead(value, gen)) {
+                return;
+            }
+            if (withinLimits(value)) {
+                delegate.serializeWithType(value, gen, provider, typeSer);
+                return;
+            }
+            WritableTypeId typeId = typeSer.writeTypePrefix(gen,
+                typeSer.typeId(value, kind == Kind.MAP ? JsonToken.START_OBJECT : JsonToken.START_ARRAY));
+            if (kind == Kind.MAP) {
+                writeEntries((Map<?, ?>) value, gen, provider);
+            } else {
+                writeElements(value, gen, provider);
+            }
+            typeSer.writeTypeSuffix(gen, typeId);
+        }
+
+        /**
+         * Profondeur dépassée ou {@code byte[]} : marqueur à la place de la valeur.
+         */
+        private boolean writeMarkerInstead(Object value, JsonGenerator gen) throws IOException {
+            if (depth(gen) >= maxDepth) {
+                writeMarker(gen, kind == Kind.COLLECTION || kind == Kind.ARRAY ? "[…]" : "{…}");
+                return true;
+            }
+            if (value instanceof byte[] bytes) {
+                writeMarker(gen, "<" + bytes.length + " octets>");
+                return true;
+            }
+            return false;
+        }
+
+        private boolean withinLimits(Object value) {
+            return switch (kind) {
+                case BEAN -> true;
+                // size() chargerait une collection persistante paresseuse
+                case COLLECTION -> !LazyLoadingGuard.isInitialized(value) || ((Collection<?>) value).size() <= maxElements;
+                case ARRAY -> Array.getLength(value) <= maxElements;
+                case MAP -> !LazyLoadingGuard.isInitialized(value) || ((Map<?, ?>) value).size() <= maxElements;
+            };
+        }
+
+        /**
+         * {@code maxElements} premiers éléments, puis le total.
+         */
+        private void writeElements(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Iterator<?> elements = kind == Kind.ARRAY ? arrayIterator(value) : ((Collection<?>) value).iterator();
+            int total = kind == Kind.ARRAY ? Array.getLength(value) : ((Collection<?>) value).size();
+            for (int i = 0; i < maxElements && elements.hasNext(); i++) {
+                provider.defaultSerializeValue(elements.next(), gen);
+            }
+            writeMarker(gen, "…(" + total + " éléments)");
+        }
+
+        private void writeEntries(Map<?, ?> map, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+            for (int i = 0; i < maxElements && entries.hasNext(); i++) {
+                Map.Entry<?, ?> entry = entries.next();
+                gen.writeFieldName(String.valueOf(entry.getKey()));
+                provider.defaultSerializeValue(entry.getValue(), gen);
+            }
+            gen.writeFieldName("…");
+            writeMarker(gen, map.size() + " entrées");
+        }
+
+        private Iterator<Object> arrayIterator(Object array) {
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < Array.getLength(array);
+                }
+
+                @Override
+                public Object next() {
+                    return Array.get(array, index++);
+                }
+            };
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public boolean usesObjectId() {
+            return delegate.usesObjectId();
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                JsonSerializer<?> serializer = contextual.createContextual(provider, property);
+                if (serializer != delegate) {
+                    return new BoundedValueSerializer(serializer, kind);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+    }
+}
@@ -8,6 +8,10 @@ import lcl.afx.logging.masking.DataMasker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Utilitaire pour logger avec masquage automatique et format structuré.
  * 
@@ -24,11 +28,19 @@ public class LogHelper {
     private static final DataMasker masker = new DataMasker();
     private static final ObjectMapper mapper;
 
+    /**
+     * Helpers sans état : une instance par Logger (et par transaction / service),
+     * réutilisée d'un appel à l'autre.
+     */
+    private static final Map<Logger, LoggerHelpers> HELPERS = new ConcurrentHashMap<>();
+
     static {
         mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        // Entités JPA : proxies et collections non chargés laissés tels quels
+        mapper.registerModule(LazyLoadingGuard.module());
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -36,23 +48,42 @@ public class LogHelper {
     // ══════════════════════════════════════════════════════════════════════════
 
     public static ControllerLogHelper controller(Logger log) {
-        return new ControllerLogHelper(log);
+        return helpers(log).controller;
     }
 
     public static ValidationLogHelper validation(Logger log) {
-        return new ValidationLogHelper(log);
+        return helpers(log).validation;
     }
 
     public static DatabaseLogHelper database(Logger log) {
-        return new DatabaseLogHelper(log);
+        return helpers(log).database;
     }
 
     public static CicsLogHelper cics(Logger log, String transactionName) {
-        return new CicsLogHelper(log, transactionName);
+        return helpers(log).cics.computeIfAbsent(transactionName, tx -> new CicsLogHelper(log, tx));
     }
 
     public static ApiLogHelper api(Logger log, String serviceName) {
-        return new ApiLogHelper(log, serviceName);
+        return helpers(log).api.computeIfAbsent(serviceName, service -> new ApiLogHelper(log, service));
+    }
+
+    private static LoggerHelpers helpers(Logger log) {
+        LoggerHelpers helpers = HELPERS.get(log);
+        return helpers != null ? helpers : HELPERS.computeIfAbsent(log, LoggerHelpers::new);
+    }
+
+    private static final class LoggerHelpers {
+        final ControllerLogHelper controller;
+        final ValidationLogHelper validation;
+        final DatabaseLogHelper database;
+        final Map<String, CicsLogHelper> cics = new ConcurrentHashMap<>();
+        final Map<String, ApiLogHelper> api = new ConcurrentHashMap<>();
+
+        LoggerHelpers(Logger log) {
+            this.controller = new ControllerLogHelper(log);
+            this.validation = new ValidationLogHelper(log);
+            this.database = new DatabaseLogHelper(log);
+        }
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -63,6 +94,23 @@ public class LogHelper {
         return masker.mask(input);
     }
 
+    /**
+     * Argument de log rendu en JSON masqué seulement si un appender formate
+     * le message, et au plus une fois. Logback formate sur le thread appelant
+     * (y compris AsyncAppender) : le contenu est celui de l'objet au moment du log.
+     */
+    public static Object json(Object obj) {
+        // Déjà différé (RenderMemo) : rendu partagé
+        return obj instanceof LazyJson ? obj : new LazyJson(obj, null);
+    }
+
+    /**
+     * Comme {@link #json(Object)}, rendu borné par le sérialiseur donné.
+     */
+    public static Object json(Object obj, BoundedJsonSerializer serializer) {
+        return obj instanceof LazyJson ? obj : new LazyJson(obj, serializer);
+    }
+
     public static String toJson(Object obj) {
         if (obj == null) return "null";
         try {
@@ -72,6 +120,68 @@ public class LogHelper {
         }
     }
 
+    /**
+     * ObjectMapper de base, copié par {@link BoundedJsonSerializer}.
+     */
+    static ObjectMapper mapper() {
+        return mapper;
+    }
+
+    private static final class LazyJson {
+        private final Object value;
+        private final BoundedJsonSerializer serializer;
+        private String rendered;
+
+        LazyJson(Object value, BoundedJsonSerializer serializer) {
+            this.value = value;
+            this.serializer = serializer;
+        }
+
+        @Override
+        public String toString() {
+            // Course bénigne : au pire deux rendus identiques, String immuable
+            String json = rendered;
+            if (json == null) {
+                json = serializer != null ? serializer.serialize(value) : toJson(value);
+                rendered = json;
+            }
+            return json;
+        }
+    }
+
+    /**
+     * Rendus JSON d'une invocation d'aspect : un même objet (par identité)
+     * référencé par plusieurs lignes n'est sérialisé et masqué qu'une fois.
+     * Non thread-safe, à ne pas conserver au-delà de l'invocation.
+     */
+    public static final class RenderMemo {
+        private Object[] keys = new Object[2];
+        private Object[] values = new Object[2];
+        private int size;
+
+        /**
+         * Argument de log différé, partagé pour un même objet.
+         */
+        public Object json(Object obj) {
+            if (obj == null) {
+                return LogHelper.json(null);
+            }
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == obj) {
+                    return values[i];
+                }
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            Object lazy = new LazyJson(obj, null);
+            keys[size] = obj;
+            values[size++] = lazy;
+            return lazy;
+        }
+    }
+
     // ══════════════════════════════════════════════════════════════════════════
     // CONTROLLER LOG HELPER (étapes 1, 2, 7, 8, 9)
     // ══════════════════════════════════════════════════════════════════════════
@@ -90,12 +200,12 @@ public class LogHelper {
 
         /** Étape 2: Log de la requête métier */
         public void request(Object body) {
-            log.info("Request: {}", toJson(body));
+            log.info("Request: {}", json(body));
         }
 
         /** Étape 7: Réponse API client */
         public void response(Object body) {
-            log.info("Response: {}", toJson(body));
+            log.info("Response: {}", json(body));
         }
 
         /** Étape 8: Fin du contrôleur */
@@ -105,7 +215,7 @@ public class LogHelper {
 
         /** Étape 9: Fin de la requête métier */
         public void endRequest(Object body) {
-            log.info("END Request: {}", toJson(body));
+            log.info("END Request: {}", json(body));
         }
     }
 
@@ -145,7 +255,7 @@ public class LogHelper {
         }
 
         public void start(String operation, Object params) {
-            log.info("[DB] {} params={}", operation, toJson(params));
+            log.info("[DB] {} params={}", operation, json(params));
         }
 
         public void start(String operation) {
@@ -153,7 +263,7 @@ public class LogHelper {
         }
 
         public void success(String operation, long timeMs, Object result) {
-            log.info("[DB] {} Success (time={}ms) result={}", operation, timeMs, toJson(result));
+            log.info("[DB] {} Success (time={}ms) result={}", operation, timeMs, json(result));
         }
 
         public void success(String operation, long timeMs, int rowCount) {
@@ -163,6 +273,10 @@ public class LogHelper {
         public void failed(String operation, long timeMs, String error) {
             log.error("[DB] {} Failed (time={}ms): {}", operation, timeMs, mask(error));
         }
+
+        public void slow(String operation, long timeMs, long thresholdMs) {
+            log.warn("[DB] {} SLOW (time={}ms > {}ms)", operation, timeMs, thresholdMs);
+        }
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -185,12 +299,12 @@ public class LogHelper {
 
         /** Log 2: Input */
         public void input(Object commarea) {
-            log.info("[{}] input: {}Commarea.Input {}", txName, txName, toJson(commarea));
+            log.info("[{}] input: {}Commarea.Input {}", txName, txName, json(commarea));
         }
 
         /** Log 3: Output */
         public void output(Object commarea) {
-            log.info("[{}] output: {}Commarea.Output {}", txName, txName, toJson(commarea));
+            log.info("[{}] output: {}Commarea.Output {}", txName, txName, json(commarea));
         }
 
         /** Log 4: InfosImportantes */
@@ -200,12 +314,16 @@ public class LogHelper {
         }
 
         public void infos(Object infos) {
-            log.info("[{}] InfosImportantes: {}", txName, toJson(infos));
+            log.info("[{}] InfosImportantes: {}", txName, json(infos));
         }
 
         public void error(String error, long timeMs) {
             log.error("[{}] Error: {} (time={}ms)", txName, mask(error), timeMs);
         }
+
+        public void slow(long timeMs, long thresholdMs) {
+            log.warn("[{}] SLOW (time={}ms > {}ms)", txName, timeMs, thresholdMs);
+        }
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -229,12 +347,22 @@ public class LogHelper {
 
         /** Log 2: Requête */
         public void request(String httpMethod, String url, Object body) {
-            log.info("[API][{} {}] [REQUETE] {}", httpMethod, url, toJson(body));
+            log.info("[API][{} {}] [REQUETE] {}", httpMethod, url, json(body));
         }
 
         /** Log 3: Réponse */
         public void response(String httpMethod, String url, int status, Object body) {
-            log.info("[API][{} {}] [REPONSE] {} {}", httpMethod, url, status, toJson(body));
+            log.info("[API][{} {}] [REPONSE] {} {}", httpMethod, url, status, json(body));
+        }
+
+        /** Log 2 (client HTTP) : corps tel qu'émis, déjà tronqué et masqué au formatage */
+        public void wireRequest(String httpMethod, String url, Object wireBody) {
+            log.info("[API][{} {}] [REQUETE] {}", httpMethod, url, wireBody);
+        }
+
+        /** Log 3 (client HTTP) : statut réel et corps tel que reçu */
+        public void wireResponse(String httpMethod, String url, int status, Object wireBody) {
+            log.info("[API][{} {}] [REPONSE] {} {}", httpMethod, url, status, wireBody);
         }
 
         /** Log 4: InfosImportantes */
@@ -251,5 +379,16 @@ public class LogHelper {
         public void error(String httpMethod, String url, String error) {
             log.error("[API][{} {}] [REPONSE] ERROR {}", httpMethod, url, mask(error));
         }
+
+        /** Appel en erreur, sans détail HTTP (logs limités aux erreurs et lenteurs) */
+        public void failed(String operation, long timeMs, String error) {
+            log.error("[API] ERROR: service={}, operation={}, tempsReponseMs={}, erreur={}",
+                serviceName, operation, timeMs, mask(error));
+        }
+
+        public void slow(String operation, long timeMs, long thresholdMs) {
+            log.warn("[API] SLOW: service={}, operation={}, tempsReponseMs={} > {}ms",
+                serviceName, operation, timeMs, thresholdMs);
+        }
     }
 }
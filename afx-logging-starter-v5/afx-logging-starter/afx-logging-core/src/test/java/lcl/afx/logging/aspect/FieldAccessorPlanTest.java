@@ -0,0 +1,97 @@
+package lcl.afx.logging.aspect;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class FieldAccessorPlanTest {
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // RÉSOLUTION DES CHAMPS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void readsRecordComponents() {
+        FieldAccessorPlan plan = FieldAccessorPlan.of(Virement.class, new String[]{"codeRetour", "montant"});
+
+        assertThat(plan.extract(new Virement("00", 150L)))
+            .containsExactly(entry("codeRetour", "00"), entry("montant", 150L));
+    }
+
+    @Test
+    void readsInheritedPrivateFields() {
+        FieldAccessorPlan plan = FieldAccessorPlan.of(ReponseCompte.class, new String[]{"codeRetour", "numeroCompte"});
+
+        assertThat(plan.extract(new ReponseCompte("04", "FR76-001")))
+            .containsExactly(entry("codeRetour", "04"), entry("numeroCompte", "FR76-001"));
+    }
+
+    @Test
+    void fallsBackToPublicGetter() {
+        FieldAccessorPlan plan = FieldAccessorPlan.of(ReponseCompte.class, new String[]{"libelle"});
+
+        assertThat(plan.extract(new ReponseCompte("00", "FR76-001")))
+            .containsExactly(entry("libelle", "compte FR76-001"));
+    }
+
+    @Test
+    void skipsMissingNullAndFailingFields() {
+        FieldAccessorPlan plan = FieldAccessorPlan.of(ReponseCompte.class,
+            new String[]{"inconnu", "codeRetour", "solde", ""});
+
+        Map<String, Object> values = plan.extract(new ReponseCompte(null, "FR76-001"));
+
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    void keepsRequestedOrder() {
+        FieldAccessorPlan plan = FieldAccessorPlan.of(ReponseCompte.class, new String[]{"numeroCompte", "codeRetour"});
+
+        assertThat(plan.extract(new ReponseCompte("00", "FR76-001")).keySet())
+            .containsExactly("numeroCompte", "codeRetour");
+    }
+
+    @Test
+    void planIsBoundToExactClass() {
+        FieldAccessorPlan plan = FieldAccessorPlan.of(ReponseCompte.class, new String[]{"codeRetour"});
+
+        assertThat(plan.isFor(ReponseCompte.class)).isTrue();
+        assertThat(plan.isFor(ReponseCics.class)).isFalse();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // FIXTURES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    record Virement(String codeRetour, Long montant) {
+    }
+
+    static class ReponseCics {
+        private final String codeRetour;
+
+        ReponseCics(String codeRetour) {
+            this.codeRetour = codeRetour;
+        }
+    }
+
+    public static class ReponseCompte extends ReponseCics {
+        private final String numeroCompte;
+
+        ReponseCompte(String codeRetour, String numeroCompte) {
+            super(codeRetour);
+            this.numeroCompte = numeroCompte;
+        }
+
+        public String getLibelle() {
+            return "compte " + numeroCompte;
+        }
+
+        public Long getSolde() {
+            throw new IllegalStateException("solde indisponible");
+        }
+    }
+}
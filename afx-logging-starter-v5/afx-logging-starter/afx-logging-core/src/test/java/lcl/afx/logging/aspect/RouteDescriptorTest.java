@@ -0,0 +1,123 @@
+package lcl.afx.logging.aspect;
+
+import lcl.afx.logging.annotation.LogFlow;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteDescriptorTest {
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // MAPPINGS FUSIONNÉS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void joinsSeveralPathsOfMergedGetMapping() throws Exception {
+        RouteDescriptor route = route("find", String.class);
+
+        assertThat(route.getHttpMethod()).isEqualTo("GET");
+        assertThat(route.getUrlTemplate()).isEqualTo("/api/accounts/{id}|/api/accounts/by-iban/{iban}"
+            + "|/v2/accounts/{id}|/v2/accounts/by-iban/{iban}");
+        assertThat(route.getControllerName()).isEqualTo("AccountController");
+    }
+
+    @Test
+    void combinesClassAndMethodPaths() throws Exception {
+        RouteDescriptor route = route("transfer", String.class, TransferRequest.class);
+
+        assertThat(route.getHttpMethod()).isEqualTo("POST");
+        assertThat(route.getUrlTemplate()).isEqualTo("/api/accounts/{id}/transfers|/v2/accounts/{id}/transfers");
+    }
+
+    @Test
+    void joinsSeveralHttpMethods() throws Exception {
+        RouteDescriptor route = route("ping");
+
+        assertThat(route.getHttpMethod()).isEqualTo("GET|HEAD");
+        assertThat(route.getUrlTemplate()).isEqualTo("/api/accounts|/v2/accounts");
+    }
+
+    @Test
+    void fallsBackWithoutMapping() throws Exception {
+        RouteDescriptor route = route("internal");
+
+        assertThat(route.getHttpMethod()).isEqualTo("HTTP");
+        assertThat(route.getUrlTemplate()).isEqualTo("/api/accounts|/v2/accounts");
+        // Hors requête : gabarit déclaré
+        assertThat(route.url()).isEqualTo(route.getUrlTemplate());
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // BODY, OPTIONS ET CACHE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void locatesRequestBody() throws Exception {
+        TransferRequest body = new TransferRequest();
+
+        assertThat(route("transfer", String.class, TransferRequest.class).requestBody(new Object[]{"42", body}))
+            .isSameAs(body);
+        assertThat(route("find", String.class).requestBody(new Object[]{"42"})).isNull();
+    }
+
+    @Test
+    void readsLogFlowOptionsFromMethodThenClass() throws Exception {
+        RouteDescriptor find = route("find", String.class);
+        RouteDescriptor transfer = route("transfer", String.class, TransferRequest.class);
+
+        assertThat(find.isLogRequest()).isTrue();
+        assertThat(find.isLogResponse()).isFalse();
+        assertThat(transfer.isLogResponse()).isTrue();
+        assertThat(transfer.isLogRequest()).isFalse();
+    }
+
+    @Test
+    void cachesDescriptorPerTargetClassAndMethod() throws Exception {
+        Method method = AccountController.class.getMethod("find", String.class);
+
+        assertThat(RouteDescriptor.of(method, AccountController.class))
+            .isSameAs(RouteDescriptor.of(method, AccountController.class));
+    }
+
+    private static RouteDescriptor route(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return RouteDescriptor.of(AccountController.class.getMethod(name, parameterTypes), AccountController.class);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // FIXTURES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    static class TransferRequest {
+    }
+
+    @LogFlow(logResponse = false)
+    @RequestMapping({"/api/accounts", "/v2/accounts"})
+    static class AccountController {
+
+        @GetMapping(path = {"/{id}", "/by-iban/{iban}"})
+        public String find(@PathVariable String id) {
+            return id;
+        }
+
+        @LogFlow(logRequest = false)
+        @PostMapping("/{id}/transfers")
+        public String transfer(@PathVariable String id, @RequestBody TransferRequest request) {
+            return id;
+        }
+
+        @RequestMapping(method = {RequestMethod.GET, RequestMethod.HEAD})
+        public void ping() {
+        }
+
+        public void internal() {
+        }
+    }
+}
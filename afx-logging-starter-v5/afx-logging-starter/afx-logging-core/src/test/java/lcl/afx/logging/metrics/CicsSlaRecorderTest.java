@@ -0,0 +1,118 @@
+package lcl.afx.logging.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CicsSlaRecorderTest {
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // DÉPASSEMENTS DE SLA
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void countsSlaBreachesAgainstPerTransactionOrDefaultSla() {
+        CicsSlaRecorder recorder = new CicsSlaRecorder();
+        recorder.setDefaultSlaMs(100);
+        recorder.setSlaMs(Map.of("KEXX", 200L));
+
+        // KEXX : SLA propre de 200 ms
+        recorder.record("KEXX", ms(150), "00");
+        recorder.record("KEXX", ms(200), "00");
+        recorder.record("KEXX", ms(250), "00");
+        // KVIR : SLA par défaut de 100 ms
+        recorder.record("KVIR", ms(150), "00");
+
+        CicsTransactionStats kexx = stats(recorder, "KEXX");
+        CicsTransactionStats kvir = stats(recorder, "KVIR");
+        assertThat(kexx.getSlaMs()).isEqualTo(200);
+        assertThat(kexx.getSlaBreaches()).isEqualTo(1);
+        assertThat(kvir.getSlaMs()).isEqualTo(100);
+        assertThat(kvir.getSlaBreaches()).isEqualTo(1);
+    }
+
+    @Test
+    void periodReportsOnlyCallsSincePreviousSummary() {
+        CicsSlaRecorder recorder = new CicsSlaRecorder();
+        recorder.setDefaultSlaMs(100);
+        recorder.record("KEXX", ms(500), "00");
+        recorder.record("KEXX", ms(10), "12");
+        recorder.recordFailure("KEXX", ms(300));
+
+        CicsTransactionStats kexx = stats(recorder, "KEXX");
+        CicsTransactionStats.Period first = kexx.nextPeriod();
+        assertThat(first.calls()).isEqualTo(3);
+        assertThat(first.errors()).isEqualTo(1);
+        assertThat(first.slaBreaches()).isEqualTo(2);
+        assertThat(first.returnCodes())
+            .containsExactlyInAnyOrderEntriesOf(Map.of("00", 1L, "12", 1L, CicsTransactionStats.EXCEPTION_CODE, 1L));
+
+        recorder.record("KEXX", ms(20), "00");
+        CicsTransactionStats.Period second = kexx.nextPeriod();
+        assertThat(second.calls()).isEqualTo(1);
+        assertThat(second.errors()).isZero();
+        assertThat(second.slaBreaches()).isZero();
+        assertThat(second.returnCodes()).containsExactly(Map.entry("00", 1L));
+
+        assertThat(kexx.nextPeriod().calls()).isZero();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CODES RETOUR ET LISTENERS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void notifiesNewTransactionsAndReturnCodesOnce() {
+        CicsSlaRecorder recorder = new CicsSlaRecorder();
+        List<String> newStats = new ArrayList<>();
+        List<String> newCodes = new ArrayList<>();
+        recorder.setNewStatsListener(tx -> newStats.add(tx.getTransaction()));
+        recorder.setNewReturnCodeListener((tx, code) -> newCodes.add(tx.getTransaction() + "=" + code));
+
+        recorder.record("KEXX", ms(1), "00");
+        recorder.record("KEXX", ms(1), "00");
+        recorder.record("KEXX", ms(1), null);
+        recorder.recordFailure("KVIR", ms(1));
+
+        assertThat(newStats).containsExactly("KEXX", "KVIR");
+        assertThat(newCodes).containsExactly(
+            "KEXX=00", "KEXX=" + CicsTransactionStats.NO_CODE, "KVIR=" + CicsTransactionStats.EXCEPTION_CODE);
+        assertThat(stats(recorder, "KEXX").getReturnCodeCount("00")).isEqualTo(2);
+    }
+
+    @Test
+    void groupsReturnCodesBeyondLimitUnderOverflowCode() {
+        CicsSlaRecorder recorder = new CicsSlaRecorder();
+        recorder.setMaxReturnCodes(2);
+
+        recorder.record("KEXX", ms(1), "00");
+        recorder.record("KEXX", ms(1), "04");
+        recorder.record("KEXX", ms(1), "08");
+        recorder.record("KEXX", ms(1), "12");
+
+        CicsTransactionStats kexx = stats(recorder, "KEXX");
+        assertThat(kexx.getReturnCodes())
+            .containsExactlyInAnyOrder("00", "04", CicsTransactionStats.OVERFLOW_CODE);
+        assertThat(kexx.getReturnCodeCount(CicsTransactionStats.OVERFLOW_CODE)).isEqualTo(2);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static CicsTransactionStats stats(CicsSlaRecorder recorder, String transaction) {
+        return recorder.getStats().stream()
+            .filter(tx -> tx.getTransaction().equals(transaction))
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,72 @@
+package lcl.afx.logging.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // BUCKETS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void bucketsAreContiguousWithBoundedRelativeError() {
+        for (long micros = 0; micros < 1_000_000; micros += 1 + micros / 7) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            long upper = LatencyHistogram.upperBoundMicros(index);
+            long lower = index == 0 ? 0 : LatencyHistogram.upperBoundMicros(index - 1);
+
+            assertThat(micros).as("bucket %d de %d µs", index, micros).isGreaterThanOrEqualTo(lower).isLessThan(upper);
+            assertThat(upper - lower).isLessThanOrEqualTo(Math.max(1, lower / 4));
+        }
+    }
+
+    @Test
+    void clampsHugeValuesToLastBucket() {
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE / 1_000)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PERCENTILES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void percentilesStayWithinBucketErrorAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getPercentileNanos(0.99)).isZero();
+
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMaxNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(histogram.getPercentileNanos(0.50))
+            .isBetween(TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(63));
+        assertThat(histogram.getPercentileNanos(0.99)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void snapshotDifferenceGivesPeriodPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(TimeUnit.SECONDS.toNanos(2));
+        }
+        long[] before = histogram.snapshot();
+
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        long[] period = histogram.snapshot();
+        for (int i = 0; i < period.length; i++) {
+            period[i] -= before[i];
+        }
+
+        assertThat(LatencyHistogram.percentileNanos(period, 0.99))
+            .isBetween(TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MICROSECONDS.toNanos(1250));
+        assertThat(LatencyHistogram.percentileNanos(new long[LatencyHistogram.BUCKETS], 0.99)).isZero();
+    }
+}
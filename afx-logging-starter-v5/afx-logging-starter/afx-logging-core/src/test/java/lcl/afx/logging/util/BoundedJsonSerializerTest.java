@@ -0,0 +1,158 @@
+package lcl.afx.logging.util;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedJsonSerializerTest {
+
+    private final BoundedJsonSerializer serializer = new BoundedJsonSerializer(4096, 3, 3, 10);
+
+    public static class Account {
+        private final String id;
+        private final List<Integer> operations;
+
+        Account(String id, List<Integer> operations) {
+            this.id = id;
+            this.operations = operations;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public List<Integer> getOperations() {
+            return operations;
+        }
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
+    public static class Node {
+        public Node child;
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+        public Object payload;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // VALEURS SOUS LES PLAFONDS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void serializesSmallValuesUnchanged() {
+        assertThat(serializer.serialize(null)).isEqualTo("null");
+        assertThat(serializer.serialize(List.of(1, 2, 3))).isEqualTo("[1,2,3]");
+        assertThat(serializer.serialize(new Account("A1", List.of(7)))).isEqualTo("{\"id\":\"A1\",\"operations\":[7]}");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PLAFONDS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void writesFirstElementsThenTotal() {
+        List<Integer> operations = IntStream.range(0, 1000).boxed().toList();
+
+        assertThat(serializer.serialize(operations)).isEqualTo("[0,1,2,\"…(1000 éléments)\"]");
+        assertThat(serializer.serialize(new int[] {5, 6, 7, 8})).isEqualTo("[5,6,7,\"…(4 éléments)\"]");
+        assertThat(serializer.serialize(new Account("A1", operations)))
+            .isEqualTo("{\"id\":\"A1\",\"operations\":[0,1,2,\"…(1000 éléments)\"]}");
+    }
+
+    @Test
+    void writesFirstEntriesThenMapSize() {
+        Map<String, Integer> balances = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            balances.put("k" + i, i);
+        }
+
+        assertThat(serializer.serialize(balances)).isEqualTo("{\"k0\":0,\"k1\":1,\"k2\":2,\"…\":\"5 entrées\"}");
+    }
+
+    @Test
+    void replacesObjectsBeyondMaxDepth() {
+        Map<String, Object> nested = Map.of("a", Map.of("b", Map.of("c", Map.of("d", 1))));
+
+        assertThat(serializer.serialize(nested)).isEqualTo("{\"a\":{\"b\":{\"c\":\"{…}\"}}}");
+        assertThat(serializer.serialize(List.of(List.of(List.of(List.of(1)))))).isEqualTo("[[[\"[…]\"]]]");
+    }
+
+    @Test
+    void appliesLimitsToPolymorphicValues() {
+        Node root = new Node();
+        root.payload = IntStream.range(0, 1000).boxed().toList();
+        Node node = root;
+        for (int i = 0; i < 5; i++) {
+            node.child = new Node();
+            node = node.child;
+        }
+
+        String json = new BoundedJsonSerializer(4096, 3, 3, 256).serialize(root);
+
+        assertThat(json).startsWith("{\"@type\":\"BoundedJsonSerializerTest$Node\",\"child\":{\"@type\"")
+            .contains("[0,1,2,\"…(1000 éléments)\"]")
+            .contains("\"{…}\"")
+            .doesNotContain("3,4");
+    }
+
+    @Test
+    void truncatesLongStrings() {
+        assertThat(serializer.serialize(List.of("abcdefghijklmnop"))).isEqualTo("[\"abcdefghij…\"]");
+    }
+
+    @Test
+    void replacesByteArraysWithTheirSize() {
+        assertThat(serializer.serialize(Map.of("pdf", new byte[2048]))).isEqualTo("{\"pdf\":\"<2048 octets>\"}");
+    }
+
+    @Test
+    void neverConsumesStreamsOrIterators() {
+        Stream<Integer> infinite = Stream.iterate(0, i -> i + 1);
+        List<Integer> source = new ArrayList<>(List.of(1, 2));
+
+        assertThat(serializer.serialize(infinite)).startsWith("\"<").endsWith(">\"");
+        assertThat(serializer.serialize(source.iterator())).startsWith("\"<").endsWith(">\"");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // BUDGET / MASQUAGE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void stopsWritingAtMaxBytes() {
+        BoundedJsonSerializer small = new BoundedJsonSerializer(50, 1000, 5, 256);
+
+        String json = small.serialize(IntStream.range(0, 1000).boxed().toList());
+
+        assertThat(json).startsWith("[0,1,2,").endsWith("…(tronqué à 50 caractères)");
+        assertThat(json.length()).isLessThan(50 + "…(tronqué à 50 caractères)".length() + 5);
+    }
+
+    @Test
+    void masksSensitiveValues() {
+        BoundedJsonSerializer wide = new BoundedJsonSerializer();
+
+        String json = wide.serialize(Map.of("iban", "FR7630006000011234567890189"));
+
+        assertThat(json).doesNotContain("FR7630006000011234567890189").contains("FR76");
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThatThrownBy(() -> new BoundedJsonSerializer(0, 20, 5, 256))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedJsonSerializer(4096, -1, 5, 256))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BoundedJsonSerializer(4096, 20, 0, 256))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,186 @@
+package lcl.afx.logging.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyLoadingGuardTest {
+
+    private static SessionFactory sessionFactory;
+
+    // maxElements = 1 : la taille d'une collection non chargée ne doit pas être lue
+    private final BoundedJsonSerializer serializer = new BoundedJsonSerializer(4096, 1, 5, 256);
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Client.class)
+            .addAnnotatedClass(Compte.class)
+            .setProperty(AvailableSettings.URL, "jdbc:h2:mem:lazy;DB_CLOSE_DELAY=-1")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+            .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            Client client = new Client(1L, "Dupont");
+            session.persist(client);
+            session.persist(new Compte(10L, "courant", client));
+            session.persist(new Compte(11L, "livret", client));
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PROXIES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void writesUninitializedProxyAsIdWithoutSelect() {
+        try (Session session = sessionFactory.openSession()) {
+            Compte compte = session.get(Compte.class, 10L);
+            assertThat(Hibernate.isInitialized(compte.getTitulaire())).isFalse();
+
+            long statements = statements();
+            String json = serializer.serialize(compte);
+
+            assertThat(json).isEqualTo("{\"id\":10,\"libelle\":\"courant\",\"titulaire\":1}");
+            assertThat(statements()).isEqualTo(statements);
+            assertThat(Hibernate.isInitialized(compte.getTitulaire())).isFalse();
+        }
+    }
+
+    @Test
+    void writesInitializedProxyAsEntity() {
+        try (Session session = sessionFactory.openSession()) {
+            Client client = session.getReference(Client.class, 1L);
+            assertThat(serializer.serialize(client)).isEqualTo("1");
+
+            Hibernate.initialize(client);
+
+            assertThat(serializer.serialize(client))
+                .isEqualTo("{\"id\":1,\"nom\":\"Dupont\",\"comptes\":\"<lazy>\"}");
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COLLECTIONS PERSISTANTES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void writesUninitializedCollectionAsLazyWithoutSelect() {
+        try (Session session = sessionFactory.openSession()) {
+            Client client = session.get(Client.class, 1L);
+            assertThat(Hibernate.isInitialized(client.getComptes())).isFalse();
+
+            long statements = statements();
+            String json = serializer.serialize(client);
+
+            assertThat(json).isEqualTo("{\"id\":1,\"nom\":\"Dupont\",\"comptes\":\"<lazy>\"}");
+            assertThat(statements()).isEqualTo(statements);
+            assertThat(Hibernate.isInitialized(client.getComptes())).isFalse();
+        }
+    }
+
+    @Test
+    void boundsInitializedCollection() {
+        try (Session session = sessionFactory.openSession()) {
+            Client client = session.get(Client.class, 1L);
+            Hibernate.initialize(client.getComptes());
+
+            assertThat(serializer.serialize(client.getComptes()))
+                .startsWith("[{\"id\":1")
+                .endsWith(",\"…(2 éléments)\"]");
+        }
+    }
+
+    private static long statements() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ENTITÉS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Entity(name = "Client")
+    public static class Client {
+        @Id
+        private Long id;
+        private String nom;
+        @OneToMany(mappedBy = "titulaire", fetch = FetchType.LAZY)
+        private List<Compte> comptes = new ArrayList<>();
+
+        protected Client() {
+        }
+
+        Client(Long id, String nom) {
+            this.id = id;
+            this.nom = nom;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getNom() {
+            return nom;
+        }
+
+        public List<Compte> getComptes() {
+            return comptes;
+        }
+    }
+
+    @Entity(name = "Compte")
+    public static class Compte {
+        @Id
+        private Long id;
+        private String libelle;
+        @ManyToOne(fetch = FetchType.LAZY)
+        // Relation bidirectionnelle : pas de retour vers la collection une fois chargée
+        @JsonIgnoreProperties("comptes")
+        private Client titulaire;
+
+        protected Compte() {
+        }
+
+        Compte(Long id, String libelle, Client titulaire) {
+            this.id = id;
+            this.libelle = libelle;
+            this.titulaire = titulaire;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getLibelle() {
+            return libelle;
+        }
+
+        public Client getTitulaire() {
+            return titulaire;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package lcl.afx.logging.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingIndexProcessorTest {
+
+    private static final String LOG_FLOW = "lcl.afx.logging.annotation.LogFlow=";
+    private static final String LOG_CICS = "lcl.afx.logging.annotation.LogCics=";
+
+    /**
+     * Annotations du starter, redéclarées pour compiler les fixtures sans dépendance
+     */
+    static final Map<String, String> ANNOTATIONS = Map.of(
+        "lcl.afx.logging.annotation.LogFlow", """
+            package lcl.afx.logging.annotation;
+            import java.lang.annotation.*;
+            @Retention(RetentionPolicy.RUNTIME)
+            @Target({ElementType.METHOD, ElementType.TYPE})
+            public @interface LogFlow {
+            }
+            """,
+        "lcl.afx.logging.annotation.LogCics", """
+            package lcl.afx.logging.annotation;
+            import java.lang.annotation.*;
+            @Retention(RetentionPolicy.RUNTIME)
+            @Target(ElementType.METHOD)
+            public @interface LogCics {
+                String value();
+            }
+            """);
+
+    @TempDir
+    Path output;
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // INDEX GÉNÉRÉ
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void indexesAnnotatedMethodsAndClasses() throws IOException {
+        compile(output, Map.of(
+            "com.acme.AccountController", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                @LogFlow
+                public class AccountController {
+                    public String get(long id) { return null; }
+                    public void search(String[] ibans, java.util.Map<String, ?> filters) {}
+                    void internal() {}
+                }
+                """,
+            "com.acme.CicsGateway", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                public class CicsGateway {
+                    @LogCics("TX01")
+                    public String call(String commarea) { return commarea; }
+                    @LogCics("TX02")
+                    protected <T extends CharSequence> T callTyped(T commarea) { return commarea; }
+                    @LogFlow
+                    void notPublic() {}
+                    @LogFlow
+                    public void flow(int... codes) {}
+                }
+                """));
+
+        assertThat(index(output)).containsExactly(
+            LOG_CICS + "com.acme.CicsGateway#call(java.lang.String)",
+            LOG_CICS + "com.acme.CicsGateway#callTyped(java.lang.CharSequence)",
+            LOG_FLOW + "com.acme.AccountController#get(long)",
+            LOG_FLOW + "com.acme.AccountController#search(java.lang.String[],java.util.Map)",
+            LOG_FLOW + "com.acme.CicsGateway#flow(int[])");
+    }
+
+    @Test
+    void writesEmptyIndexForModuleWithoutAnnotations() throws IOException {
+        compile(output, Map.of(
+            "com.acme.Plain", "package com.acme; public class Plain { public void run() {} }"));
+
+        assertThat(index(output)).isEmpty();
+    }
+
+    @Test
+    void mergesPreviousIndexOnIncrementalBuild() throws IOException {
+        compile(output, Map.of(
+            "com.acme.A", """
+                package com.acme;
+                public class A { @lcl.afx.logging.annotation.LogCics("TX01") public void a() {} }
+                """,
+            "com.acme.B", """
+                package com.acme;
+                public class B { @lcl.afx.logging.annotation.LogCics("TX02") public void b() {} }
+                """));
+
+        // Recompilation de B seul, sans annotation : A conservée, B retirée
+        compile(output, Map.of(
+            "com.acme.B", "package com.acme; public class B { public void b() {} }"));
+
+        assertThat(index(output)).containsExactly(LOG_CICS + "com.acme.A#a()");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COMPILATION DES FIXTURES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Compile les sources (et les annotations) vers {@code output} avec le processor.
+     */
+    static void compile(Path output, Map<String, String> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> units = new ArrayList<>();
+        sources.forEach((name, code) -> units.add(source(name, code)));
+        ANNOTATIONS.forEach((name, code) -> {
+            if (!Files.exists(output.resolve(name.replace('.', '/') + ".class"))) {
+                units.add(source(name, code));
+            }
+        });
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                List.of("-d", output.toString(), "-classpath", output.toString()), null, units);
+            task.setProcessors(List.of(new LoggingIndexProcessor()));
+            assertThat(task.call()).as("%s", diagnostics.getDiagnostics()).isTrue();
+        }
+    }
+
+    static List<String> index(Path output) throws IOException {
+        return Files.readAllLines(output.resolve(LoggingIndexProcessor.INDEX_LOCATION)).stream()
+            .filter(line -> !line.startsWith("#"))
+            .toList();
+    }
+
+    private static JavaFileObject source(String name, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,216 @@
+package lcl.afx.logging.autoconfigure;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index des méthodes annotées, généré à la compilation par
+ * {@code afx-logging-processor} dans {@code META-INF/afx-logging.index}.
+ *
+ * <p>Remplace l'évaluation des expressions AspectJ par une recherche dans
+ * une table : les beans absents de l'index sont écartés dès le
+ * {@link ClassFilter}, sans introspection de leurs méthodes.</p>
+ *
+ * <p>Activé par {@code afx.logging.index.enabled=true}. Seules les classes
+ * compilées avec le processor sont indexées : un module non indexé n'est
+ * alors pas intercepté.</p>
+ */
+public final class AnnotationIndex {
+
+    /**
+     * Emplacement des index (un par jar / répertoire de classes)
+     */
+    public static final String LOCATION = "META-INF/afx-logging.index";
+
+    /**
+     * annotation → classe (nom binaire) → clés des méthodes
+     */
+    private final Map<String, Map<String, Set<String>>> entries;
+
+    private AnnotationIndex(Map<String, Map<String, Set<String>>> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Vrai si au moins un index est présent sur le classpath.
+     */
+    public static boolean isPresent(ClassLoader classLoader) {
+        try {
+            return classLoader(classLoader).getResources(LOCATION).hasMoreElements();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fusionne tous les index du classpath.
+     */
+    public static AnnotationIndex load(ClassLoader classLoader) {
+        Map<String, Map<String, Set<String>>> entries = new HashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader(classLoader).getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                read(resources.nextElement(), entries);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture impossible de " + LOCATION, e);
+        }
+        return new AnnotationIndex(entries);
+    }
+
+    private static void read(URL resource, Map<String, Map<String, Set<String>>> entries) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // <annotation>=<classe>#<méthode>(<paramètres>)
+                int eq = line.indexOf('=');
+                int hash = line.indexOf('#', eq + 1);
+                if (line.isBlank() || line.startsWith("#") || eq < 0 || hash < 0) {
+                    continue;
+                }
+                entries.computeIfAbsent(line.substring(0, eq), a -> new HashMap<>())
+                    .computeIfAbsent(line.substring(eq + 1, hash), c -> new HashSet<>())
+                    .add(line.substring(hash + 1));
+            }
+        }
+    }
+
+    private static ClassLoader classLoader(ClassLoader classLoader) {
+        return classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader();
+    }
+
+    /**
+     * Clé d'une méthode, identique à celle écrite par le processor :
+     * {@code nom(type1,type2[])}, types en nom canonique.
+     */
+    public static String methodKey(Method method) {
+        StringBuilder key = new StringBuilder(method.getName()).append('(');
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(typeName(types[i]));
+        }
+        return key.append(')').toString();
+    }
+
+    private static String typeName(Class<?> type) {
+        if (type.isArray()) {
+            return typeName(type.getComponentType()) + "[]";
+        }
+        // Classes anonymes / locales : pas de nom canonique, jamais indexées
+        String name = type.getCanonicalName();
+        return name != null ? name : type.getName();
+    }
+
+    /**
+     * Vrai si la méthode est indexée pour l'annotation.
+     */
+    public boolean contains(String annotation, Method method) {
+        Set<String> methods = entries.getOrDefault(annotation, Map.of())
+            .get(method.getDeclaringClass().getName());
+        return methods != null && methods.contains(methodKey(method));
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // POINTCUT / ADVISOR
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Pointcut des méthodes indexées pour l'annotation.
+     */
+    public Pointcut pointcut(String annotation) {
+        return new IndexPointcut(annotation, entries.getOrDefault(annotation, Map.of()).keySet());
+    }
+
+    /**
+     * Advisor appliquant un advice {@code @Around} existant aux méthodes
+     * indexées, sans passer par l'expression AspectJ de l'aspect.
+     */
+    public Advisor advisor(String annotation, AroundAdvice advice) {
+        MethodInterceptor interceptor = invocation -> advice.around(
+            new MethodInvocationProceedingJoinPoint((ProxyMethodInvocation) invocation));
+        return new DefaultPointcutAdvisor(pointcut(annotation), interceptor);
+    }
+
+    /**
+     * Méthode {@code @Around} d'un aspect ({@code aspect::logPaymentOperation}).
+     */
+    @FunctionalInterface
+    public interface AroundAdvice {
+        Object around(ProceedingJoinPoint joinPoint) throws Throwable;
+    }
+
+    private final class IndexPointcut extends StaticMethodMatcherPointcut implements ClassFilter {
+
+        private final String annotation;
+        private final Set<String> classes;
+
+        IndexPointcut(String annotation, Set<String> classes) {
+            this.annotation = annotation;
+            this.classes = classes;
+            setClassFilter(this);
+        }
+
+        /**
+         * Classe du bean, ses superclasses ou ses interfaces indexées.
+         */
+        @Override
+        public boolean matches(Class<?> clazz) {
+            if (classes.isEmpty()) {
+                return false;
+            }
+            for (Class<?> type = ClassUtils.getUserClass(clazz); type != null; type = type.getSuperclass()) {
+                if (classes.contains(type.getName())) {
+                    return true;
+                }
+            }
+            for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(clazz)) {
+                if (classes.contains(type.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Méthode de la classe cible, puis méthode d'interface (même repli
+         * que {@code AspectJExpressionPointcut}).
+         */
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+            return contains(annotation, specificMethod)
+                || (specificMethod != method && contains(annotation, method));
+        }
+
+        @Override
+        public String toString() {
+            return "AnnotationIndex.pointcut(" + annotation + ", " + classes.size() + " classes)";
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.jdbc.InstrumentedDataSource;
+import lcl.afx.logging.jdbc.SqlShapes;
+import lcl.afx.logging.masking.DataMasker;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * Enveloppe chaque bean {@link DataSource} dans un {@link InstrumentedDataSource}.
+ *
+ * <p>Les propriétés et le masqueur sont résolus au premier {@code DataSource}
+ * rencontré, et non à la création du post-processor : ils restent ainsi
+ * soumis à tous les post-processors du contexte. Le cache des formes SQL
+ * (détection N+1) est partagé entre les sources enveloppées.</p>
+ */
+class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<LoggingProperties> properties;
+    private final ObjectProvider<DataMasker> dataMasker;
+    private SqlShapes sqlShapes;
+
+    InstrumentedDataSourcePostProcessor(ObjectProvider<LoggingProperties> properties,
+                                        ObjectProvider<DataMasker> dataMasker) {
+        this.properties = properties;
+        this.dataMasker = dataMasker;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof InstrumentedDataSource) {
+            return bean;
+        }
+        LoggingProperties.JdbcProperties jdbc = properties.getObject().getJdbc();
+        if (jdbc.getExcludedBeans().contains(beanName)) {
+            return bean;
+        }
+        InstrumentedDataSource instrumented = new InstrumentedDataSource(dataSource, dataMasker.getIfAvailable());
+        instrumented.setSlowStatementThresholdMs(jdbc.getSlowStatementThresholdMs());
+        instrumented.setMaxSqlLength(jdbc.getMaxSqlLength());
+        instrumented.setNPlusOneThreshold(jdbc.getNPlusOneThreshold());
+        if (sqlShapes == null) {
+            sqlShapes = new SqlShapes(jdbc.getMaxSqlShapes(), jdbc.getMaxSqlLength());
+        }
+        instrumented.setSqlShapes(sqlShapes);
+        return instrumented;
+    }
+}
@@ -0,0 +1,60 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.annotation.NoLogging;
+import lcl.afx.logging.annotation.PaymentLog;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Processeur AOT : enregistre au build les types métier journalisés par
+ * {@code @PaymentLog}.
+ *
+ * <p>Paramètres et résultats sont sérialisés en JSON (Jackson) pour être
+ * masqués ; ces types ne sont connus que de l'application et sont découverts
+ * en parcourant les beans.</p>
+ */
+class LoggingAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Set<Type> bindingTypes = new LinkedHashSet<>();
+
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            Class<?> userType = ClassUtils.getUserClass(beanType);
+            boolean annotatedClass = AnnotatedElementUtils.hasAnnotation(userType, PaymentLog.class);
+            ReflectionUtils.doWithMethods(userType, method -> {
+                boolean loggable = AnnotatedElementUtils.hasAnnotation(method, PaymentLog.class)
+                    || (annotatedClass && Modifier.isPublic(method.getModifiers()));
+                if (loggable && !AnnotatedElementUtils.hasAnnotation(method, NoLogging.class)) {
+                    bindingTypes.add(method.getGenericReturnType());
+                    bindingTypes.addAll(List.of(method.getGenericParameterTypes()));
+                }
+            }, ReflectionUtils.USER_DECLARED_METHODS);
+        }
+
+        if (bindingTypes.isEmpty()) {
+            return null;
+        }
+        return (generationContext, code) -> {
+            ReflectionHints reflection = generationContext.getRuntimeHints().reflection();
+            BindingReflectionHintsRegistrar registrar = new BindingReflectionHintsRegistrar();
+            bindingTypes.forEach(type -> registrar.registerReflectionHints(reflection, type));
+        };
+    }
+}
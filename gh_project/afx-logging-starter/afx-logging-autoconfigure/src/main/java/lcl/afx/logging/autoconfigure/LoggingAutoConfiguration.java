@@ -1,23 +1,54 @@
 package lcl.afx.logging.autoconfigure;
 
+import lcl.afx.logging.annotation.PaymentLog;
+import lcl.afx.logging.aspect.OperationLogger;
 import lcl.afx.logging.aspect.PaymentLoggingAspect;
+import lcl.afx.logging.async.MdcTaskDecorator;
+import lcl.afx.logging.control.LoggingControl;
+import lcl.afx.logging.control.LoggingSettings;
+import lcl.afx.logging.filter.BodyCaptureFilter;
+import lcl.afx.logging.filter.CidrMatcher;
 import lcl.afx.logging.filter.CorrelationIdFilter;
+import lcl.afx.logging.filter.CorrelationIdWebFilter;
 import lcl.afx.logging.masking.DataMasker;
+import lcl.afx.logging.metrics.OutboundCallRecorder;
+import lcl.afx.logging.metrics.OutboundMetricsBinder;
 import lcl.afx.logging.propagation.FeignCorrelationInterceptor;
 import lcl.afx.logging.propagation.RestClientCorrelationInterceptor;
 import lcl.afx.logging.propagation.RestTemplateCorrelationInterceptor;
 import lcl.afx.logging.propagation.WebClientCorrelationFilter;
+import lcl.afx.logging.span.LogSpanExporter;
+import lcl.afx.logging.span.OtlpJsonFileSpanExporter;
+import lcl.afx.logging.span.SpanExporter;
+import lcl.afx.logging.tail.TailCaptureFilter;
+import lcl.afx.logging.user.HeaderUserIdResolver;
+import lcl.afx.logging.user.JwtClaimUserIdResolver;
+import lcl.afx.logging.user.ReactiveUserIdResolver;
+import lcl.afx.logging.user.UserIdResolver;
+import lcl.afx.logging.weaving.PaymentLoggingWeavingAspect;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Auto-configuration Spring Boot pour le logging centralisé.
@@ -27,6 +58,7 @@ import org.springframework.core.Ordered;
  */
 @AutoConfiguration
 @EnableConfigurationProperties(LoggingProperties.class)
+@ImportRuntimeHints(LoggingRuntimeHints.class)
 @ConditionalOnProperty(prefix = "afx.logging", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class LoggingAutoConfiguration {
 
@@ -44,7 +76,56 @@ public class LoggingAutoConfiguration {
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "afx.logging.masking", name = "enabled", havingValue = "true", matchIfMissing = true)
     public DataMasker dataMasker() {
-        return new DataMasker();
+        DataMasker dataMasker = new DataMasker();
+        // Layouts Logback : mêmes règles et même pilotage que les payloads de l'aspect
+        DataMasker.share(dataMasker);
+        return dataMasker;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // MESURE DES APPELS SORTANTS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "afx.logging.outbound", name = "enabled", havingValue = "true")
+    public OutboundCallRecorder outboundCallRecorder() {
+        LoggingProperties.OutboundProperties outbound = properties.getOutbound();
+        OutboundCallRecorder recorder = new OutboundCallRecorder();
+        recorder.setSlowThresholdMs(outbound.getSlowThresholdMs());
+        recorder.setHostSlowThresholdsMs(outbound.getSlowThresholds());
+        recorder.setMaxRoutes(outbound.getMaxRoutes());
+        return recorder;
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(prefix = "afx.logging.outbound", name = "enabled", havingValue = "true")
+    public class OutboundMetricsAutoConfiguration {
+
+        /**
+         * Détecté par Spring Boot Actuator et lié au {@code MeterRegistry}.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public OutboundMetricsBinder outboundMetricsBinder(OutboundCallRecorder recorder) {
+            return new OutboundMetricsBinder(recorder);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // INSTRUMENTATION JDBC
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Statique : un post-processor est créé avant les autres beans de la configuration.
+     */
+    @Bean
+    @ConditionalOnClass(name = "javax.sql.DataSource")
+    @ConditionalOnProperty(prefix = "afx.logging.jdbc", name = "enabled", havingValue = "true")
+    static InstrumentedDataSourcePostProcessor instrumentedDataSourcePostProcessor(
+            ObjectProvider<LoggingProperties> properties, ObjectProvider<DataMasker> dataMasker) {
+        return new InstrumentedDataSourcePostProcessor(properties, dataMasker);
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -59,10 +140,33 @@ public class LoggingAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public CorrelationIdFilter correlationIdFilter() {
+        public UserIdResolver userIdResolver() {
+            LoggingProperties.CorrelationProperties correlation = properties.getCorrelation();
+            return switch (correlation.getUserIdSource()) {
+                case SECURITY -> UserIdResolver.springSecurityIfPresent();
+                case HEADER -> new HeaderUserIdResolver(correlation.getUserIdHeader());
+                case JWT_CLAIM -> new JwtClaimUserIdResolver(correlation.getUserIdClaim());
+                case NONE -> UserIdResolver.NONE;
+            };
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CorrelationIdFilter correlationIdFilter(UserIdResolver userIdResolver) {
             CorrelationIdFilter filter = new CorrelationIdFilter();
             filter.setCorrelationIdHeader(properties.getCorrelation().getHeaderName());
             filter.setGenerateIfMissing(properties.getCorrelation().isGenerateIfMissing());
+            filter.setUserIdResolver(userIdResolver);
+            filter.setTrustedProxies(CidrMatcher.compile(properties.getCorrelation().getTrustedProxies()));
+            filter.setDigestEnabled(properties.getDigest().isEnabled());
+            filter.setDigestCapacity(properties.getDigest().getCapacity());
+            filter.setTraceparentEnabled(properties.getPropagation().isTraceparent());
+            LoggingProperties.TailProperties tail = properties.getTail();
+            filter.setTailEnabled(tail.isEnabled()
+                && ClassUtils.isPresent("ch.qos.logback.classic.LoggerContext", getClass().getClassLoader()));
+            filter.setTailCapacity(tail.getCapacity());
+            filter.setTailSlowThresholdMs(tail.getSlowThresholdMs());
+            filter.setJdbcEnabled(properties.getJdbc().isEnabled());
             return filter;
         }
 
@@ -76,6 +180,90 @@ public class LoggingAutoConfiguration {
             registration.setName("correlationIdFilter");
             return registration;
         }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "afx.logging.body-capture", name = "enabled", havingValue = "true")
+        public BodyCaptureFilter bodyCaptureFilter(ObjectProvider<DataMasker> dataMasker) {
+            LoggingProperties.BodyCaptureProperties bodyCapture = properties.getBodyCapture();
+            BodyCaptureFilter filter = new BodyCaptureFilter(dataMasker.getIfAvailable());
+            filter.setMaxBytes(bodyCapture.getMaxBytes());
+            filter.setIncludeRequest(bodyCapture.isIncludeRequest());
+            filter.setIncludeResponse(bodyCapture.isIncludeResponse());
+            return filter;
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "afx.logging.body-capture", name = "enabled", havingValue = "true")
+        public FilterRegistrationBean<BodyCaptureFilter> bodyCaptureFilterRegistration(
+                BodyCaptureFilter filter) {
+            FilterRegistrationBean<BodyCaptureFilter> registration = new FilterRegistrationBean<>();
+            registration.setFilter(filter);
+            registration.addUrlPatterns("/*");
+            // Juste après CorrelationIdFilter : l'événement porte le contexte MDC
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+            registration.setName("bodyCaptureFilter");
+            return registration;
+        }
+
+        /**
+         * Capture Logback des événements retenus par requête (vidés par
+         * {@link CorrelationIdFilter} en cas d'échec ou de lenteur).
+         */
+        @Configuration
+        @ConditionalOnClass(name = "ch.qos.logback.classic.LoggerContext")
+        @ConditionalOnProperty(prefix = "afx.logging.tail", name = "enabled", havingValue = "true")
+        public class TailCaptureConfiguration {
+
+            @Bean(destroyMethod = "uninstall")
+            @ConditionalOnMissingBean
+            public TailCaptureFilter tailCaptureFilter() {
+                LoggingProperties.TailProperties tail = properties.getTail();
+                TailCaptureFilter filter = new TailCaptureFilter();
+                filter.setLevel(tail.getLevel());
+                filter.setLoggers(tail.getLoggers());
+                filter.setIncludeCallerData(tail.isIncludeCallerData());
+                filter.install();
+                return filter;
+            }
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CORRELATION ID FILTER (WebFlux)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnClass(name = "org.springframework.web.server.WebFilter")
+    @ConditionalOnProperty(prefix = "afx.logging.correlation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public class ReactiveAutoConfiguration {
+
+        /**
+         * SECURITY n'a pas d'équivalent synchrone en WebFlux : pas de user ID.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveUserIdResolver reactiveUserIdResolver() {
+            LoggingProperties.CorrelationProperties correlation = properties.getCorrelation();
+            return switch (correlation.getUserIdSource()) {
+                case HEADER -> ReactiveUserIdResolver.header(correlation.getUserIdHeader());
+                case JWT_CLAIM -> ReactiveUserIdResolver.jwtClaim(correlation.getUserIdClaim());
+                case SECURITY, NONE -> ReactiveUserIdResolver.NONE;
+            };
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CorrelationIdWebFilter correlationIdWebFilter(ReactiveUserIdResolver reactiveUserIdResolver) {
+            CorrelationIdWebFilter filter = new CorrelationIdWebFilter();
+            filter.setCorrelationIdHeader(properties.getCorrelation().getHeaderName());
+            filter.setGenerateIfMissing(properties.getCorrelation().isGenerateIfMissing());
+            filter.setUserIdResolver(reactiveUserIdResolver);
+            filter.setTrustedProxies(CidrMatcher.compile(properties.getCorrelation().getTrustedProxies()));
+            filter.setTraceparentEnabled(properties.getPropagation().isTraceparent());
+            return filter;
+        }
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -90,10 +278,135 @@ public class LoggingAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public PaymentLoggingAspect paymentLoggingAspect(DataMasker dataMasker) {
-            PaymentLoggingAspect aspect = new PaymentLoggingAspect(dataMasker);
-            aspect.setDefaultPerformanceThresholdMs(properties.getAspect().getPerformanceThresholdMs());
-            return aspect;
+        @ConditionalOnProperty(prefix = "afx.logging.span", name = "otlp-file")
+        public OtlpJsonFileSpanExporter otlpJsonFileSpanExporter() {
+            LoggingProperties.SpanProperties span = properties.getSpan();
+            return new OtlpJsonFileSpanExporter(Path.of(span.getOtlpFile()),
+                properties.getServiceName(), span.getQueueCapacity());
+        }
+
+        /**
+         * Réglages de démarrage issus des propriétés, modifiables ensuite à chaud.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public LoggingControl loggingControl(DataMasker dataMasker) {
+            LoggingProperties.AspectProperties aspect = properties.getAspect();
+            LoggingSettings settings = LoggingSettings.DEFAULTS
+                .withEntryExitEnabled(aspect.isEntryExitEnabled())
+                .withPayloadMode(aspect.getPayloadMode())
+                .withSamplingRate(aspect.getSamplingRate());
+            for (String operation : aspect.getDisabledOperations()) {
+                settings = settings.withOperationEnabled(operation, false);
+            }
+            for (Map.Entry<String, Double> rate : aspect.getSamplingRates().entrySet()) {
+                settings = settings.withOperationSamplingRate(rate.getKey(), rate.getValue());
+            }
+            LoggingControl control = new LoggingControl(settings, dataMasker);
+            control.setMaskingWritable(properties.getControl().isMaskingWritable());
+            return control;
+        }
+
+        /**
+         * Cœur du logging, partagé par les modes proxy et compile-time.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public OperationLogger operationLogger(DataMasker dataMasker, LoggingControl loggingControl,
+                                               ObjectProvider<OtlpJsonFileSpanExporter> otlpExporter) {
+            OperationLogger operationLogger = new OperationLogger(dataMasker);
+            operationLogger.setDefaultPerformanceThresholdMs(properties.getAspect().getPerformanceThresholdMs());
+            operationLogger.setControl(loggingControl);
+            operationLogger.setJfrEvents(properties.getJfr().isEnabled());
+            operationLogger.setJdbcEnabled(properties.getJdbc().isEnabled());
+
+            List<SpanExporter> exporters = new ArrayList<>();
+            if (properties.getSpan().isLogEnabled()) {
+                exporters.add(new LogSpanExporter());
+            }
+            otlpExporter.ifAvailable(exporters::add);
+            operationLogger.setSpanExporter(SpanExporter.composite(exporters));
+            return operationLogger;
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "afx.logging.aspect", name = "mode", havingValue = "proxy", matchIfMissing = true)
+        @Conditional(OnAnnotationIndexCondition.Absent.class)
+        public PaymentLoggingAspect paymentLoggingAspect(OperationLogger operationLogger) {
+            return new PaymentLoggingAspect(operationLogger);
+        }
+
+        /**
+         * Mode proxy avec index (afx-logging-processor) : l'aspect n'est pas
+         * déclaré comme bean, son advice est appliqué aux seules méthodes
+         * listées dans {@code META-INF/afx-logging.index}.
+         */
+        @Bean
+        @ConditionalOnMissingBean(PaymentLoggingAspect.class)
+        @ConditionalOnProperty(prefix = "afx.logging.aspect", name = "mode", havingValue = "proxy", matchIfMissing = true)
+        @Conditional(OnAnnotationIndexCondition.class)
+        public Advisor paymentLoggingIndexAdvisor(OperationLogger operationLogger) {
+            PaymentLoggingAspect aspect = new PaymentLoggingAspect(operationLogger);
+            return AnnotationIndex.load(getClass().getClassLoader())
+                .advisor(PaymentLog.class.getName(), aspect::logPaymentOperation);
+        }
+
+        @Configuration
+        @ConditionalOnClass(name = "lcl.afx.logging.weaving.PaymentLoggingWeavingAspect")
+        @ConditionalOnProperty(prefix = "afx.logging.aspect", name = "mode", havingValue = "compile-time")
+        public class CompileTimeWeavingConfiguration {
+
+            /**
+             * L'aspect tissé est un singleton AspectJ, hors du contexte Spring :
+             * il reçoit l'{@link OperationLogger} configuré une fois le contexte prêt.
+             */
+            @Bean
+            public SmartInitializingSingleton paymentLoggingWeavingAspectInitializer(OperationLogger operationLogger) {
+                return () -> PaymentLoggingWeavingAspect.setOperationLogger(operationLogger);
+            }
+        }
+
+        @Configuration
+        @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+        @ConditionalOnProperty(prefix = "afx.logging.control", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public class ControlEndpointConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public LoggingControlEndpoint loggingControlEndpoint(LoggingControl loggingControl) {
+                return new LoggingControlEndpoint(loggingControl);
+            }
+        }
+
+        @Configuration
+        @ConditionalOnMissingClass("org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+        @ConditionalOnProperty(prefix = "afx.logging.control", name = "enabled", havingValue = "true", matchIfMissing = true)
+        public class ControlMBeanConfiguration {
+
+            @Bean
+            LoggingControlMBeanRegistrar loggingControlMBeanRegistrar(LoggingControl loggingControl) throws Exception {
+                return new LoggingControlMBeanRegistrar(loggingControl, properties.getControl().getJmxObjectName());
+            }
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PROPAGATION : @Async / Executors (MDC)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.core.task.TaskDecorator")
+    @ConditionalOnProperty(prefix = "afx.logging.propagation", name = "async", havingValue = "true", matchIfMissing = true)
+    public class AsyncAutoConfiguration {
+
+        /**
+         * Détecté par Spring Boot et appliqué à l'executor {@code @Async} par défaut.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public MdcTaskDecorator mdcTaskDecorator() {
+            return new MdcTaskDecorator();
         }
     }
 
@@ -108,8 +421,11 @@ public class LoggingAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public RestTemplateCorrelationInterceptor restTemplateCorrelationInterceptor() {
-            return new RestTemplateCorrelationInterceptor();
+        public RestTemplateCorrelationInterceptor restTemplateCorrelationInterceptor(
+                ObjectProvider<OutboundCallRecorder> recorder) {
+            RestTemplateCorrelationInterceptor interceptor = new RestTemplateCorrelationInterceptor();
+            interceptor.setRecorder(recorder.getIfAvailable());
+            return interceptor;
         }
     }
 
@@ -124,8 +440,11 @@ public class LoggingAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public RestClientCorrelationInterceptor restClientCorrelationInterceptor() {
-            return new RestClientCorrelationInterceptor();
+        public RestClientCorrelationInterceptor restClientCorrelationInterceptor(
+                ObjectProvider<OutboundCallRecorder> recorder) {
+            RestClientCorrelationInterceptor interceptor = new RestClientCorrelationInterceptor();
+            interceptor.setRecorder(recorder.getIfAvailable());
+            return interceptor;
         }
     }
 
@@ -140,8 +459,11 @@ public class LoggingAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public WebClientCorrelationFilter webClientCorrelationFilter() {
-            return WebClientCorrelationFilter.create();
+        public WebClientCorrelationFilter webClientCorrelationFilter(
+                ObjectProvider<OutboundCallRecorder> recorder) {
+            WebClientCorrelationFilter filter = WebClientCorrelationFilter.create();
+            filter.setRecorder(recorder.getIfAvailable());
+            return filter;
         }
     }
 
@@ -156,8 +478,11 @@ public class LoggingAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public FeignCorrelationInterceptor feignCorrelationInterceptor() {
-            return new FeignCorrelationInterceptor();
+        public FeignCorrelationInterceptor feignCorrelationInterceptor(
+                ObjectProvider<OutboundCallRecorder> recorder) {
+            FeignCorrelationInterceptor interceptor = new FeignCorrelationInterceptor();
+            interceptor.setRecorder(recorder.getIfAvailable());
+            return interceptor;
         }
     }
 }
@@ -0,0 +1,121 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.control.LoggingControl;
+import lcl.afx.logging.control.LoggingSettings;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoint Actuator {@code afxlogging} : pilotage à chaud de l'aspect
+ * {@code @PaymentLog} et du masquage.
+ *
+ * <pre>
+ * GET    /actuator/afxlogging                                   réglages courants
+ * POST   /actuator/afxlogging  {"payloadMode":"ALWAYS"}         réglages globaux
+ * POST   /actuator/afxlogging/SEPA_TRANSFER {"samplingRate":1}  réglages d'une opération
+ * DELETE /actuator/afxlogging                                   retour aux propriétés
+ * </pre>
+ *
+ * <p>Les niveaux des loggers restent pilotés par l'endpoint standard
+ * {@code loggers}. À exposer explicitement
+ * ({@code management.endpoints.web.exposure.include=afxlogging}).
+ * {@code maskingEnabled} n'est modifiable qu'avec
+ * {@code afx.logging.control.masking-writable=true} (sinon 400).</p>
+ */
+@Endpoint(id = "afxlogging")
+public class LoggingControlEndpoint {
+
+    private final LoggingControl control;
+
+    public LoggingControlEndpoint(LoggingControl control) {
+        this.control = control;
+    }
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        LoggingSettings settings = control.getSettings();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", settings.isEnabled());
+        result.put("entryExitEnabled", settings.isEntryExitEnabled());
+        result.put("payloadMode", settings.getPayloadMode());
+        result.put("samplingRate", settings.getSamplingRate());
+        result.put("samplingRates", settings.getOperationSamplingRates());
+        result.put("disabledOperations", settings.getDisabledOperations());
+        result.put("maskingEnabled", control.isMaskingEnabled());
+        result.put("maskingRules", Arrays.asList(control.getMaskingRules()));
+        return result;
+    }
+
+    /**
+     * Modifie les réglages globaux ; les champs absents sont conservés.
+     * Les réglages de l'aspect sont publiés en un seul instantané.
+     */
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Boolean entryExitEnabled,
+                                         @Nullable LoggingSettings.PayloadMode payloadMode,
+                                         @Nullable Double samplingRate, @Nullable Boolean maskingEnabled) {
+        // Refus avant toute modification : pas de changement partiel
+        if (maskingEnabled != null && !control.isMaskingWritable()) {
+            throw new InvalidEndpointRequestException("Masking is read-only",
+                "maskingEnabled requiert afx.logging.control.masking-writable=true");
+        }
+        control.update(s -> {
+            LoggingSettings updated = s;
+            if (enabled != null) {
+                updated = updated.withEnabled(enabled);
+            }
+            if (entryExitEnabled != null) {
+                updated = updated.withEntryExitEnabled(entryExitEnabled);
+            }
+            if (payloadMode != null) {
+                updated = updated.withPayloadMode(payloadMode);
+            }
+            if (samplingRate != null) {
+                updated = updated.withSamplingRate(samplingRate);
+            }
+            return updated;
+        });
+        if (maskingEnabled != null) {
+            control.setMaskingEnabled(maskingEnabled);
+        }
+        return settings();
+    }
+
+    /**
+     * Active ou coupe une opération, et fixe son taux d'échantillonnage
+     * (négatif : retour au taux par défaut).
+     */
+    @WriteOperation
+    public Map<String, Object> configureOperation(@Selector String operation, @Nullable Boolean enabled,
+                                                  @Nullable Double samplingRate) {
+        control.update(s -> {
+            LoggingSettings updated = s;
+            if (enabled != null) {
+                updated = updated.withOperationEnabled(operation, enabled);
+            }
+            if (samplingRate != null) {
+                updated = updated.withOperationSamplingRate(operation, samplingRate < 0 ? null : samplingRate);
+            }
+            return updated;
+        });
+        return settings();
+    }
+
+    /**
+     * Revient aux réglages de démarrage.
+     */
+    @DeleteOperation
+    public Map<String, Object> reset() {
+        control.reset();
+        return settings();
+    }
+}
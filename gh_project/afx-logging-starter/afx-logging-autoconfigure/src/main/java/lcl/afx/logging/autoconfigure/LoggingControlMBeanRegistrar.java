@@ -0,0 +1,43 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.control.LoggingControl;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Enregistre {@link LoggingControl} comme MBean standard quand Actuator est
+ * absent. Indépendant de {@code spring.jmx.enabled} : aucun
+ * {@code MBeanExporter} n'est déclaré, celui de Spring Boot reste intact.
+ */
+class LoggingControlMBeanRegistrar implements InitializingBean, DisposableBean {
+
+    private final LoggingControl control;
+    private final ObjectName objectName;
+
+    LoggingControlMBeanRegistrar(LoggingControl control, String objectName) throws Exception {
+        this.control = control;
+        this.objectName = new ObjectName(objectName);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        // Redémarrage à chaud (devtools) : l'ancienne instance est remplacée
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        server.registerMBean(control, objectName);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+}
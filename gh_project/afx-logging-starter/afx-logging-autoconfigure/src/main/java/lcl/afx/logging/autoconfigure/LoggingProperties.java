@@ -1,7 +1,16 @@
 package lcl.afx.logging.autoconfigure;
 
+import lcl.afx.logging.control.LoggingControl;
+import lcl.afx.logging.control.LoggingSettings;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Propriétés de configuration pour le logging centralisé.
  * 
@@ -14,16 +23,69 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  *       enabled: true
  *     aspect:
  *       enabled: true
+ *       mode: proxy
  *       performance-threshold-ms: 1000
+ *       entry-exit-enabled: true
+ *       payload-mode: annotation
+ *       sampling-rate: 1.0
+ *       sampling-rates:
+ *         CHECK_IBAN: 0.1
+ *       disabled-operations: HEALTH_PING
+ *     control:
+ *       enabled: true
+ *       masking-writable: false
+ *       jmx-object-name: lcl.afx.logging:type=LoggingControl
+ *     digest:
+ *       enabled: false
+ *       capacity: 32
+ *     tail:
+ *       enabled: false
+ *       capacity: 256
+ *       slow-threshold-ms: 1000
+ *       level: DEBUG
+ *       loggers: lcl.afx.logging, com.acme.payment
+ *       include-caller-data: false
+ *     jfr:
+ *       enabled: false
+ *     index:
+ *       enabled: false
+ *     span:
+ *       log-enabled: false
+ *       otlp-file: /var/log/app/spans.jsonl
+ *       queue-capacity: 8192
  *     correlation:
  *       enabled: true
  *       header-name: X-Correlation-ID
  *       generate-if-missing: true
+ *       user-id-source: security
+ *       user-id-header: X-User-ID
+ *       user-id-claim: sub
+ *       trusted-proxies: 10.0.0.0/8, 172.16.0.0/12, fc00::/7
+ *     body-capture:
+ *       enabled: false
+ *       max-bytes: 4096
+ *       include-request: true
+ *       include-response: true
  *     propagation:
  *       rest-template: true
  *       rest-client: true
  *       web-client: true
  *       feign: true
+ *       async: true
+ *       traceparent: false
+ *     outbound:
+ *       enabled: false
+ *       slow-threshold-ms: 1000
+ *       slow-thresholds:
+ *         core-banking: 3000
+ *       max-routes: 500
+ *     jdbc:
+ *       enabled: false
+ *       slow-statement-threshold-ms: 500
+ *       max-sql-length: 1000
+ *       n-plus-one-threshold: 10
+ *       max-sql-shapes: 2048
+ *       excluded-beans: reportingDataSource
  * </pre>
  */
 @ConfigurationProperties(prefix = "afx.logging")
@@ -49,16 +111,61 @@ public class LoggingProperties {
      */
     private AspectProperties aspect = new AspectProperties();
 
+    /**
+     * Configuration du pilotage à chaud (endpoint Actuator / MBean).
+     */
+    private ControlProperties control = new ControlProperties();
+
+    /**
+     * Configuration du DIGEST par requête.
+     */
+    private DigestProperties digest = new DigestProperties();
+
+    /**
+     * Configuration de la capture des événements DEBUG par requête.
+     */
+    private TailProperties tail = new TailProperties();
+
+    /**
+     * Configuration des événements JFR @PaymentLog.
+     */
+    private JfrProperties jfr = new JfrProperties();
+
+    /**
+     * Configuration de l'index des méthodes @PaymentLog (afx-logging-processor).
+     */
+    private IndexProperties index = new IndexProperties();
+
+    /**
+     * Configuration des spans @PaymentLog.
+     */
+    private SpanProperties span = new SpanProperties();
+
     /**
      * Configuration du correlation ID.
      */
     private CorrelationProperties correlation = new CorrelationProperties();
 
+    /**
+     * Configuration de la capture des bodies HTTP.
+     */
+    private BodyCaptureProperties bodyCapture = new BodyCaptureProperties();
+
     /**
      * Configuration de la propagation inter-services.
      */
     private PropagationProperties propagation = new PropagationProperties();
 
+    /**
+     * Configuration de la mesure des appels sortants.
+     */
+    private OutboundProperties outbound = new OutboundProperties();
+
+    /**
+     * Configuration de l'instrumentation JDBC.
+     */
+    private JdbcProperties jdbc = new JdbcProperties();
+
     // ══════════════════════════════════════════════════════════════════════════
     // CLASSES IMBRIQUÉES
     // ══════════════════════════════════════════════════════════════════════════
@@ -84,11 +191,41 @@ public class LoggingProperties {
          */
         private boolean enabled = true;
 
+        /**
+         * Mode d'interception : proxy (Spring AOP) ou compile-time (afx-logging-weaving tissé par ajc).
+         */
+        private AspectMode mode = AspectMode.PROXY;
+
         /**
          * Seuil de performance par défaut (ms).
          */
         private long performanceThresholdMs = 1000L;
 
+        /**
+         * Logs ENTRY/EXIT par opération (désactivables quand le DIGEST suffit).
+         */
+        private boolean entryExitEnabled = true;
+
+        /**
+         * Journalisation des paramètres et résultats (annotation, always, never).
+         */
+        private LoggingSettings.PayloadMode payloadMode = LoggingSettings.PayloadMode.ANNOTATION;
+
+        /**
+         * Taux d'échantillonnage des logs ENTRY/EXIT, entre 0 et 1 (SLOW, ERROR et AUDIT toujours émis).
+         */
+        private double samplingRate = 1.0;
+
+        /**
+         * Taux d'échantillonnage par opération.
+         */
+        private Map<String, Double> samplingRates = new LinkedHashMap<>();
+
+        /**
+         * Opérations non interceptées.
+         */
+        private List<String> disabledOperations = new ArrayList<>();
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -97,6 +234,14 @@ public class LoggingProperties {
             this.enabled = enabled;
         }
 
+        public AspectMode getMode() {
+            return mode;
+        }
+
+        public void setMode(AspectMode mode) {
+            this.mode = mode;
+        }
+
         public long getPerformanceThresholdMs() {
             return performanceThresholdMs;
         }
@@ -104,6 +249,277 @@ public class LoggingProperties {
         public void setPerformanceThresholdMs(long performanceThresholdMs) {
             this.performanceThresholdMs = performanceThresholdMs;
         }
+
+        public boolean isEntryExitEnabled() {
+            return entryExitEnabled;
+        }
+
+        public void setEntryExitEnabled(boolean entryExitEnabled) {
+            this.entryExitEnabled = entryExitEnabled;
+        }
+
+        public LoggingSettings.PayloadMode getPayloadMode() {
+            return payloadMode;
+        }
+
+        public void setPayloadMode(LoggingSettings.PayloadMode payloadMode) {
+            this.payloadMode = payloadMode;
+        }
+
+        public double getSamplingRate() {
+            return samplingRate;
+        }
+
+        public void setSamplingRate(double samplingRate) {
+            this.samplingRate = samplingRate;
+        }
+
+        public Map<String, Double> getSamplingRates() {
+            return samplingRates;
+        }
+
+        public void setSamplingRates(Map<String, Double> samplingRates) {
+            this.samplingRates = samplingRates;
+        }
+
+        public List<String> getDisabledOperations() {
+            return disabledOperations;
+        }
+
+        public void setDisabledOperations(List<String> disabledOperations) {
+            this.disabledOperations = disabledOperations;
+        }
+    }
+
+    /**
+     * Modes d'interception des méthodes @PaymentLog.
+     */
+    public enum AspectMode {
+        PROXY, COMPILE_TIME
+    }
+
+    public static class ControlProperties {
+        /**
+         * Expose le pilotage à chaud : endpoint Actuator "afxlogging", ou MBean sans Actuator.
+         */
+        private boolean enabled = true;
+
+        /**
+         * ObjectName du MBean enregistré quand Actuator est absent.
+         */
+        private String jmxObjectName = LoggingControl.OBJECT_NAME;
+
+        /**
+         * Autorise la désactivation du masquage et l'ajout / retrait de règles à
+         * chaud (endpoint, MBean). Faux par défaut : masquage en lecture seule.
+         */
+        private boolean maskingWritable = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isMaskingWritable() {
+            return maskingWritable;
+        }
+
+        public void setMaskingWritable(boolean maskingWritable) {
+            this.maskingWritable = maskingWritable;
+        }
+
+        public String getJmxObjectName() {
+            return jmxObjectName;
+        }
+
+        public void setJmxObjectName(String jmxObjectName) {
+            this.jmxObjectName = jmxObjectName;
+        }
+    }
+
+    public static class DigestProperties {
+        /**
+         * Émet un événement DIGEST par requête (opérations @PaymentLog, durées, résultats).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Nombre maximal d'opérations détaillées par requête (les suivantes sont comptées).
+         */
+        private int capacity = 32;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    public static class JfrProperties {
+        /**
+         * Émet un événement JFR lcl.afx.PaymentOperation par opération @PaymentLog
+         * (enregistré seulement pendant un enregistrement JFR).
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class IndexProperties {
+        /**
+         * Mode proxy : n'intercepte que les méthodes listées dans META-INF/afx-logging.index.
+         * Toutes les classes @PaymentLog doivent alors être compilées avec afx-logging-processor.
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class TailProperties {
+        /**
+         * Retient les événements sous le niveau des loggers pendant chaque
+         * requête et ne les émet que si elle échoue ou dépasse son seuil (Logback).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Nombre maximal d'événements retenus par requête (les plus anciens sont remplacés).
+         */
+        private int capacity = 256;
+
+        /**
+         * Durée au-delà de laquelle une requête réussie émet ses événements (ms).
+         */
+        private long slowThresholdMs = 1000L;
+
+        /**
+         * Niveau minimal des événements retenus.
+         */
+        private String level = "DEBUG";
+
+        /**
+         * Préfixes des loggers dont les événements sont retenus (vide : tous).
+         */
+        private List<String> loggers = new ArrayList<>(List.of("lcl.afx.logging"));
+
+        /**
+         * Résout l'appelant (classe, méthode, ligne) de chaque événement retenu, à la capture.
+         */
+        private boolean includeCallerData = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getSlowThresholdMs() {
+            return slowThresholdMs;
+        }
+
+        public void setSlowThresholdMs(long slowThresholdMs) {
+            this.slowThresholdMs = slowThresholdMs;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public void setLevel(String level) {
+            this.level = level;
+        }
+
+        public List<String> getLoggers() {
+            return loggers;
+        }
+
+        public void setLoggers(List<String> loggers) {
+            this.loggers = loggers;
+        }
+
+        public boolean isIncludeCallerData() {
+            return includeCallerData;
+        }
+
+        public void setIncludeCallerData(boolean includeCallerData) {
+            this.includeCallerData = includeCallerData;
+        }
+    }
+
+    public static class SpanProperties {
+        /**
+         * Émet une ligne SPAN compacte par opération (id, parent, temps total et propre).
+         */
+        private boolean logEnabled = false;
+
+        /**
+         * Fichier d'export OTLP/JSON des spans (vide : pas d'export).
+         */
+        private String otlpFile;
+
+        /**
+         * Taille de la file d'export OTLP (au-delà, les spans sont abandonnés).
+         */
+        private int queueCapacity = 8192;
+
+        public boolean isLogEnabled() {
+            return logEnabled;
+        }
+
+        public void setLogEnabled(boolean logEnabled) {
+            this.logEnabled = logEnabled;
+        }
+
+        public String getOtlpFile() {
+            return otlpFile;
+        }
+
+        public void setOtlpFile(String otlpFile) {
+            this.otlpFile = otlpFile;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
     }
 
     public static class CorrelationProperties {
@@ -122,6 +538,29 @@ public class LoggingProperties {
          */
         private boolean generateIfMissing = true;
 
+        /**
+         * Source du user ID (security, header, jwt-claim, none).
+         * En WebFlux, security n'est pas supporté et équivaut à none.
+         */
+        private UserIdSource userIdSource = UserIdSource.SECURITY;
+
+        /**
+         * Header lu quand user-id-source=header.
+         */
+        private String userIdHeader = "X-User-ID";
+
+        /**
+         * Claim JWT lu quand user-id-source=jwt-claim.
+         */
+        private String userIdClaim = "sub";
+
+        /**
+         * Proxies de confiance (plages CIDR IPv4/IPv6). Si renseigné, X-Forwarded-For
+         * est parcouru de droite à gauche jusqu'au premier saut non fiable.
+         * Si vide, la première IP de X-Forwarded-For est retenue.
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+
         public boolean isEnabled() {
             return enabled;
         }
@@ -145,6 +584,99 @@ public class LoggingProperties {
         public void setGenerateIfMissing(boolean generateIfMissing) {
             this.generateIfMissing = generateIfMissing;
         }
+
+        public UserIdSource getUserIdSource() {
+            return userIdSource;
+        }
+
+        public void setUserIdSource(UserIdSource userIdSource) {
+            this.userIdSource = userIdSource;
+        }
+
+        public String getUserIdHeader() {
+            return userIdHeader;
+        }
+
+        public void setUserIdHeader(String userIdHeader) {
+            this.userIdHeader = userIdHeader;
+        }
+
+        public String getUserIdClaim() {
+            return userIdClaim;
+        }
+
+        public void setUserIdClaim(String userIdClaim) {
+            this.userIdClaim = userIdClaim;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+    }
+
+    /**
+     * Sources possibles du user ID.
+     */
+    public enum UserIdSource {
+        SECURITY, HEADER, JWT_CLAIM, NONE
+    }
+
+    public static class BodyCaptureProperties {
+        /**
+         * Active la capture des bodies HTTP bruts (désactivée par défaut).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Nombre maximal d'octets capturés par body (le reste est seulement compté).
+         */
+        private int maxBytes = 4096;
+
+        /**
+         * Capture le body de la requête.
+         */
+        private boolean includeRequest = true;
+
+        /**
+         * Capture le body de la réponse.
+         */
+        private boolean includeResponse = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public boolean isIncludeRequest() {
+            return includeRequest;
+        }
+
+        public void setIncludeRequest(boolean includeRequest) {
+            this.includeRequest = includeRequest;
+        }
+
+        public boolean isIncludeResponse() {
+            return includeResponse;
+        }
+
+        public void setIncludeResponse(boolean includeResponse) {
+            this.includeResponse = includeResponse;
+        }
     }
 
     public static class PropagationProperties {
@@ -168,6 +700,16 @@ public class LoggingProperties {
          */
         private boolean feign = true;
 
+        /**
+         * Active la propagation du MDC vers les tâches @Async et executors.
+         */
+        private boolean async = true;
+
+        /**
+         * Ajoute un header W3C traceparent aux appels sortants.
+         */
+        private boolean traceparent = false;
+
         public boolean isRestTemplate() {
             return restTemplate;
         }
@@ -199,6 +741,159 @@ public class LoggingProperties {
         public void setFeign(boolean feign) {
             this.feign = feign;
         }
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public boolean isTraceparent() {
+            return traceparent;
+        }
+
+        public void setTraceparent(boolean traceparent) {
+            this.traceparent = traceparent;
+        }
+    }
+
+    public static class OutboundProperties {
+        /**
+         * Mesure les appels sortants (latence, statut, volumes) dans les intercepteurs.
+         * Désactivé par défaut : lignes SLOW OUTBOUND et meters ajoutés seulement sur demande.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Seuil SLOW par défaut des appels sortants (ms).
+         */
+        private long slowThresholdMs = 1000L;
+
+        /**
+         * Seuils SLOW par hôte ("host" ou "host:port"), en ms.
+         */
+        private Map<String, Long> slowThresholds = new LinkedHashMap<>();
+
+        /**
+         * Nombre maximal de couples hôte / route suivis (au-delà : route "/**").
+         */
+        private int maxRoutes = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getSlowThresholdMs() {
+            return slowThresholdMs;
+        }
+
+        public void setSlowThresholdMs(long slowThresholdMs) {
+            this.slowThresholdMs = slowThresholdMs;
+        }
+
+        public Map<String, Long> getSlowThresholds() {
+            return slowThresholds;
+        }
+
+        public void setSlowThresholds(Map<String, Long> slowThresholds) {
+            this.slowThresholds = slowThresholds;
+        }
+
+        public int getMaxRoutes() {
+            return maxRoutes;
+        }
+
+        public void setMaxRoutes(int maxRoutes) {
+            this.maxRoutes = maxRoutes;
+        }
+    }
+
+    public static class JdbcProperties {
+        /**
+         * Enveloppe les beans DataSource pour mesurer requêtes, lots, lignes
+         * lues et attente du pool (opérations @PaymentLog et DIGEST).
+         */
+        private boolean enabled = false;
+
+        /**
+         * Seuil au-delà duquel une requête est journalisée avec son SQL (ms).
+         */
+        private long slowStatementThresholdMs = 500L;
+
+        /**
+         * Longueur maximale du SQL journalisé.
+         */
+        private int maxSqlLength = 1000;
+
+        /**
+         * Exécutions d'une même forme de requête (littéraux remplacés par ?)
+         * signalées N+1 dans une requête HTTP ou une opération (0 : désactivé).
+         */
+        private int nPlusOneThreshold = 10;
+
+        /**
+         * Nombre maximal de textes SQL distincts dont la forme est mémorisée.
+         */
+        private int maxSqlShapes = 2048;
+
+        /**
+         * Noms des beans DataSource à ne pas envelopper.
+         */
+        private Set<String> excludedBeans = new LinkedHashSet<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getSlowStatementThresholdMs() {
+            return slowStatementThresholdMs;
+        }
+
+        public void setSlowStatementThresholdMs(long slowStatementThresholdMs) {
+            this.slowStatementThresholdMs = slowStatementThresholdMs;
+        }
+
+        public int getMaxSqlLength() {
+            return maxSqlLength;
+        }
+
+        public void setMaxSqlLength(int maxSqlLength) {
+            this.maxSqlLength = maxSqlLength;
+        }
+
+        public int getNPlusOneThreshold() {
+            return nPlusOneThreshold;
+        }
+
+        public void setNPlusOneThreshold(int nPlusOneThreshold) {
+            this.nPlusOneThreshold = nPlusOneThreshold;
+        }
+
+        public int getMaxSqlShapes() {
+            return maxSqlShapes;
+        }
+
+        public void setMaxSqlShapes(int maxSqlShapes) {
+            this.maxSqlShapes = maxSqlShapes;
+        }
+
+        public Set<String> getExcludedBeans() {
+            return excludedBeans;
+        }
+
+        public void setExcludedBeans(Set<String> excludedBeans) {
+            this.excludedBeans = excludedBeans;
+        }
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -237,6 +932,54 @@ public class LoggingProperties {
         this.aspect = aspect;
     }
 
+    public ControlProperties getControl() {
+        return control;
+    }
+
+    public void setControl(ControlProperties control) {
+        this.control = control;
+    }
+
+    public DigestProperties getDigest() {
+        return digest;
+    }
+
+    public void setDigest(DigestProperties digest) {
+        this.digest = digest;
+    }
+
+    public TailProperties getTail() {
+        return tail;
+    }
+
+    public void setTail(TailProperties tail) {
+        this.tail = tail;
+    }
+
+    public JfrProperties getJfr() {
+        return jfr;
+    }
+
+    public void setJfr(JfrProperties jfr) {
+        this.jfr = jfr;
+    }
+
+    public IndexProperties getIndex() {
+        return index;
+    }
+
+    public void setIndex(IndexProperties index) {
+        this.index = index;
+    }
+
+    public SpanProperties getSpan() {
+        return span;
+    }
+
+    public void setSpan(SpanProperties span) {
+        this.span = span;
+    }
+
     public CorrelationProperties getCorrelation() {
         return correlation;
     }
@@ -245,6 +988,14 @@ public class LoggingProperties {
         this.correlation = correlation;
     }
 
+    public BodyCaptureProperties getBodyCapture() {
+        return bodyCapture;
+    }
+
+    public void setBodyCapture(BodyCaptureProperties bodyCapture) {
+        this.bodyCapture = bodyCapture;
+    }
+
     public PropagationProperties getPropagation() {
         return propagation;
     }
@@ -252,4 +1003,20 @@ public class LoggingProperties {
     public void setPropagation(PropagationProperties propagation) {
         this.propagation = propagation;
     }
+
+    public OutboundProperties getOutbound() {
+        return outbound;
+    }
+
+    public void setOutbound(OutboundProperties outbound) {
+        this.outbound = outbound;
+    }
+
+    public JdbcProperties getJdbc() {
+        return jdbc;
+    }
+
+    public void setJdbc(JdbcProperties jdbc) {
+        this.jdbc = jdbc;
+    }
 }
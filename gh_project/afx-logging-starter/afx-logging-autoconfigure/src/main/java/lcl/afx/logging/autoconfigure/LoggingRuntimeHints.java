@@ -0,0 +1,75 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.annotation.NoLogging;
+import lcl.afx.logging.annotation.PaymentLog;
+import lcl.afx.logging.aspect.PaymentLoggingAspect;
+import lcl.afx.logging.control.LoggingControl;
+import lcl.afx.logging.control.LoggingControlMBean;
+import lcl.afx.logging.jfr.OperationEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Hints GraalVM native-image pour l'aspect, les layouts Logback et les
+ * détections de classes optionnelles du starter.
+ *
+ * <p>Les types métier journalisés par {@code @PaymentLog} sont enregistrés
+ * par {@link LoggingAotProcessor}.</p>
+ */
+public class LoggingRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] LOGBACK_COMPONENTS = {
+        "lcl.afx.logging.masking.MaskingJsonLayout",
+        "lcl.afx.logging.masking.MaskingPatternLayout",
+        "lcl.afx.logging.tail.TailCaptureFilter"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Aspect : pointcuts et advice résolus par réflexion
+        hints.reflection().registerType(PaymentLoggingAspect.class,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(PaymentLog.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(NoLogging.class);
+
+        // Index des méthodes annotées (afx-logging-processor)
+        hints.resources().registerPattern(AnnotationIndex.LOCATION);
+
+        // MBean standard : introspection JMX de l'interface
+        hints.reflection().registerType(LoggingControlMBean.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(LoggingControl.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Événement JFR : champs lus par réflexion à l'enregistrement (--enable-monitoring=jfr)
+        hints.reflection().registerType(OperationEvent.class, MemberCategory.DECLARED_FIELDS);
+
+        // Layouts et filtres instanciés par Logback depuis logback.xml (nom de classe + setters)
+        for (String component : LOGBACK_COMPONENTS) {
+            hints.reflection().registerTypeIfPresent(classLoader, component,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // Détections de présence (Class.forName) : MdcSnapshot, UserIdResolver
+        hints.reflection().registerTypeIfPresent(classLoader, "ch.qos.logback.classic.util.LogbackMDCAdapter");
+        hints.reflection().registerTypeIfPresent(classLoader,
+            "org.springframework.security.core.context.SecurityContextHolder");
+
+        // LazyLoadingGuard : API Hibernate résolues par réflexion, si présentes
+        for (String type : new String[] {"org.hibernate.Hibernate", "org.hibernate.proxy.HibernateProxy",
+                "org.hibernate.proxy.LazyInitializer", "org.hibernate.collection.spi.PersistentCollection"}) {
+            hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // InstrumentedDataSource : proxies JDK des objets JDBC
+        for (Class<?> type : new Class<?>[] {Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class}) {
+            hints.proxies().registerJdkProxy(type);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package lcl.afx.logging.autoconfigure;
+
+import lcl.afx.logging.annotation.PaymentLog;
+import lcl.afx.logging.processor.LoggingIndexProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.Pointcut;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index produit par {@link LoggingIndexProcessor} sur des sources compilées
+ * pendant le test, puis relu par {@link AnnotationIndex}.
+ */
+class AnnotationIndexTest {
+
+    private static final String PAYMENT_LOG = PaymentLog.class.getName();
+
+    @TempDir
+    Path output;
+
+    private URLClassLoader classLoader;
+    private AnnotationIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        compile(Map.of(
+            "com.acme.Transfers", """
+                package com.acme;
+                public interface Transfers {
+                    void execute(String iban, long amount);
+                }
+                """,
+            "com.acme.PaymentService", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                import java.util.List;
+                public class PaymentService implements Transfers {
+                    @PaymentLog(operation = "SEPA_TRANSFER")
+                    public void execute(String iban, long amount) {}
+                    public void execute(String iban) {}
+                    @PaymentLog
+                    public <T extends Number> List<T> batch(List<T> items, byte[][] raw, int... flags) { return items; }
+                    public static class Inner {
+                        @PaymentLog
+                        public void nested(Inner other) {}
+                    }
+                }
+                """,
+            "com.acme.CardService", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                @PaymentLog
+                public class CardService {
+                    public void block(String pan) {}
+                    @NoLogging
+                    public void health() {}
+                }
+                """,
+            "com.acme.ExtendedCardService", """
+                package com.acme;
+                public class ExtendedCardService extends CardService {
+                    public void unblock(String pan) {}
+                }
+                """,
+            "com.acme.Plain", """
+                package com.acme;
+                public class Plain { public void run() {} }
+                """));
+        classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+        index = AnnotationIndex.load(classLoader);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        classLoader.close();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CLÉS (processor ↔ runtime)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void runtimeKeysMatchGeneratedIndex() throws Exception {
+        Class<?> service = type("com.acme.PaymentService");
+        Class<?> inner = type("com.acme.PaymentService$Inner");
+
+        assertThat(AnnotationIndex.isPresent(classLoader)).isTrue();
+        assertThat(index.contains(PAYMENT_LOG, service.getMethod("execute", String.class, long.class))).isTrue();
+        assertThat(index.contains(PAYMENT_LOG, service.getMethod("execute", String.class))).isFalse();
+        assertThat(index.contains(PAYMENT_LOG,
+            service.getMethod("batch", List.class, byte[][].class, int[].class))).isTrue();
+        assertThat(index.contains(PAYMENT_LOG, inner.getMethod("nested", inner))).isTrue();
+    }
+
+    @Test
+    void appliesClassLevelRules() throws Exception {
+        Class<?> cards = type("com.acme.CardService");
+
+        assertThat(index.contains(PAYMENT_LOG, cards.getMethod("block", String.class))).isTrue();
+        assertThat(index.contains(PAYMENT_LOG, cards.getMethod("health"))).isFalse();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // POINTCUT
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void pointcutFiltersClassesAndMethods() throws Exception {
+        Pointcut pointcut = index.pointcut(PAYMENT_LOG);
+        Class<?> service = type("com.acme.PaymentService");
+        Class<?> extended = type("com.acme.ExtendedCardService");
+
+        assertThat(pointcut.getClassFilter().matches(service)).isTrue();
+        assertThat(pointcut.getClassFilter().matches(extended)).isTrue();
+        assertThat(pointcut.getClassFilter().matches(type("com.acme.Plain"))).isFalse();
+
+        // Appel par l'interface : méthode la plus spécifique de la cible
+        Method viaInterface = type("com.acme.Transfers").getMethod("execute", String.class, long.class);
+        assertThat(pointcut.getMethodMatcher().matches(viaInterface, service)).isTrue();
+        assertThat(pointcut.getMethodMatcher().matches(service.getMethod("execute", String.class), service)).isFalse();
+        // Méthode héritée indexée, méthode propre à la sous-classe non indexée
+        assertThat(pointcut.getMethodMatcher().matches(extended.getMethod("block", String.class), extended)).isTrue();
+        assertThat(pointcut.getMethodMatcher().matches(extended.getMethod("unblock", String.class), extended)).isFalse();
+    }
+
+    @Test
+    void unknownAnnotationMatchesNothing() throws Exception {
+        Pointcut pointcut = index.pointcut("com.acme.Unknown");
+
+        assertThat(pointcut.getClassFilter().matches(type("com.acme.PaymentService"))).isFalse();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private Class<?> type(String name) throws ClassNotFoundException {
+        return Class.forName(name, false, classLoader);
+    }
+
+    private void compile(Map<String, String> sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> units = new ArrayList<>();
+        sources.forEach((name, code) -> units.add(
+            new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return code;
+                }
+            }));
+        // Annotations du starter (le classpath de surefire n'est pas celui de la JVM)
+        String annotations = Path.of(PaymentLog.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                List.of("-d", output.toString(), "-classpath", annotations), null, units);
+            task.setProcessors(List.of(new LoggingIndexProcessor()));
+            assertThat(task.call()).as("%s", diagnostics.getDiagnostics()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package lcl.afx.logging.benchmark;
+
+import lcl.afx.logging.aspect.OperationLogger;
+import lcl.afx.logging.aspect.PaymentLoggingAspect;
+import lcl.afx.logging.benchmark.woven.WovenPaymentService;
+import lcl.afx.logging.masking.DataMasker;
+import lcl.afx.logging.weaving.PaymentLoggingWeavingAspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût par appel d'une méthode {@code @PaymentLog} triviale : sans aspect,
+ * proxy Spring (CGLIB + {@code PaymentLoggingAspect}) et tissée à la
+ * compilation ({@code PaymentLoggingWeavingAspect}).
+ *
+ * <p>Les deux modes partagent le même {@link OperationLogger} ; ENTRY / EXIT
+ * sont coupés par le niveau de log (logback.xml), seuls l'aspect, le span et
+ * le MDC sont mesurés. Allocation par appel : {@code -prof gc}
+ * ({@code gc.alloc.rate.norm}).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentLoggingBenchmark {
+
+    private static final String IBAN = "FR7630006000011234567890189";
+    private static final BigDecimal AMOUNT = new BigDecimal("150.00");
+
+    private PaymentService direct;
+    private PaymentService proxied;
+    private WovenPaymentService woven;
+
+    @Setup
+    public void setup() {
+        OperationLogger operationLogger = new OperationLogger(new DataMasker());
+
+        direct = new PaymentService();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PaymentService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PaymentLoggingAspect(operationLogger));
+        proxied = factory.getProxy();
+
+        PaymentLoggingWeavingAspect.setOperationLogger(operationLogger);
+        woven = new WovenPaymentService();
+    }
+
+    @Benchmark
+    public String baseline() {
+        return direct.transfer(IBAN, AMOUNT);
+    }
+
+    @Benchmark
+    public String proxy() {
+        return proxied.transfer(IBAN, AMOUNT);
+    }
+
+    @Benchmark
+    public String compileTime() {
+        return woven.transfer(IBAN, AMOUNT);
+    }
+}
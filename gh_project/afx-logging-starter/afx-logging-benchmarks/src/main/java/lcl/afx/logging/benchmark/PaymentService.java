@@ -0,0 +1,16 @@
+package lcl.afx.logging.benchmark;
+
+import lcl.afx.logging.annotation.PaymentLog;
+
+import java.math.BigDecimal;
+
+/**
+ * Cible des modes sans aspect et proxy Spring (hors du package tissé).
+ */
+public class PaymentService {
+
+    @PaymentLog(operation = "SEPA_TRANSFER")
+    public String transfer(String iban, BigDecimal amount) {
+        return amount.signum() > 0 ? iban : null;
+    }
+}
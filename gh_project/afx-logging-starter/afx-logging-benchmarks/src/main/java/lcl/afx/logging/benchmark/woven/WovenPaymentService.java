@@ -0,0 +1,16 @@
+package lcl.afx.logging.benchmark.woven;
+
+import lcl.afx.logging.annotation.PaymentLog;
+
+import java.math.BigDecimal;
+
+/**
+ * Même service que {@code PaymentService}, tissé par ajc (aop-ajc.xml).
+ */
+public class WovenPaymentService {
+
+    @PaymentLog(operation = "SEPA_TRANSFER")
+    public String transfer(String iban, BigDecimal amount) {
+        return amount.signum() > 0 ? iban : null;
+    }
+}
@@ -0,0 +1,65 @@
+package lcl.afx.logging.aspect;
+
+import lcl.afx.logging.annotation.PaymentLog;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+
+/**
+ * Métadonnées résolues une fois par méthode {@code @PaymentLog} :
+ * annotation effective, nom d'opération et noms des paramètres.
+ */
+public final class OperationDescriptor {
+
+    private final PaymentLog annotation;
+    private final String operation;
+    private final String[] paramNames;
+
+    private OperationDescriptor(PaymentLog annotation, String operation, String[] paramNames) {
+        this.annotation = annotation;
+        this.operation = operation;
+        this.paramNames = paramNames;
+    }
+
+    /**
+     * @param paramNames noms connus des paramètres (null : lus par réflexion,
+     *                   {@code argN} si la classe n'est pas compilée avec -parameters)
+     * @return null si ni la méthode ni la classe ne sont annotées
+     */
+    static OperationDescriptor resolve(Method method, Class<?> targetClass, String[] paramNames) {
+        // Priorité à l'annotation sur la méthode, sinon celle de la classe
+        PaymentLog annotation = method.getAnnotation(PaymentLog.class);
+        if (annotation == null) {
+            annotation = targetClass.getAnnotation(PaymentLog.class);
+        }
+        if (annotation == null) {
+            return null;
+        }
+        String operation = annotation.operation().isBlank()
+            ? method.getName().toUpperCase()
+            : annotation.operation();
+        return new OperationDescriptor(annotation, operation,
+            paramNames != null ? paramNames.clone() : parameterNames(method));
+    }
+
+    private static String[] parameterNames(Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            names[i] = parameters[i].getName();
+        }
+        return names;
+    }
+
+    public PaymentLog getAnnotation() {
+        return annotation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    String[] paramNames() {
+        return paramNames;
+    }
+}
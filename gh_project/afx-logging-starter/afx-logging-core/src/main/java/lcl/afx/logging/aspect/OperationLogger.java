@@ -0,0 +1,517 @@
+package lcl.afx.logging.aspect;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lcl.afx.logging.annotation.PaymentLog;
+import lcl.afx.logging.control.LoggingControl;
+import lcl.afx.logging.control.LoggingSettings;
+import lcl.afx.logging.digest.RequestDigest;
+import lcl.afx.logging.jdbc.JdbcActivity;
+import lcl.afx.logging.jdbc.QueryScopes;
+import lcl.afx.logging.jfr.OperationEvent;
+import lcl.afx.logging.masking.DataMasker;
+import lcl.afx.logging.masking.LazyLoadingGuard;
+import lcl.afx.logging.mdc.MdcKeys;
+import lcl.afx.logging.span.SpanData;
+import lcl.afx.logging.span.SpanExporter;
+import lcl.afx.logging.span.SpanStack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cœur du logging des opérations {@code @PaymentLog} : ENTRY, EXIT, SLOW,
+ * ERROR, AUDIT, span et digest.
+ *
+ * <p>Partagé par l'aspect Spring AOP ({@link PaymentLoggingAspect}) et par
+ * l'aspect tissé à la compilation (module {@code afx-logging-weaving}).
+ * Une opération suit le cycle {@link #begin} → {@link #entry} →
+ * {@link #success} ou {@link #failure} ; l'état de l'appel est conservé dans
+ * une pile par thread préallouée, ce qui permet un tissage en advices
+ * before / after sans {@code JoinPoint} ni tableau d'arguments par appel.</p>
+ */
+public class OperationLogger {
+
+    // Nom de logger historique de l'aspect, conservé pour les configurations Logback
+    private static final Logger log = LoggerFactory.getLogger(PaymentLoggingAspect.class);
+    private static final Logger auditLog = LoggerFactory.getLogger("AUDIT");
+
+    private final DataMasker dataMasker;
+    private final ObjectMapper objectMapper;
+    // Descripteur par classe cible / méthode (Boolean.FALSE : méthode non journalisée)
+    private final ClassValue<Map<Method, Object>> descriptors = new ClassValue<>() {
+        @Override
+        protected Map<Method, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private LoggingControl control;
+    private long defaultPerformanceThresholdMs = 1000L;
+    private SpanExporter spanExporter;
+    private boolean jfrEvents;
+    private boolean jdbcEnabled;
+
+    public OperationLogger(DataMasker dataMasker) {
+        this.dataMasker = dataMasker;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        // Entités JPA : proxies et collections non chargés laissés tels quels
+        this.objectMapper.registerModule(LazyLoadingGuard.module());
+        this.control = new LoggingControl(LoggingSettings.DEFAULTS, dataMasker);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CYCLE D'UNE OPÉRATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Métadonnées de la méthode, résolues une seule fois par couple classe / méthode.
+     *
+     * @param paramNames noms des paramètres s'ils sont connus (null : réflexion)
+     * @return null si la méthode n'est pas journalisée
+     */
+    public OperationDescriptor describe(Method method, Class<?> targetClass, String[] paramNames) {
+        Map<Method, Object> cache = descriptors.get(targetClass);
+        Object descriptor = cache.get(method);
+        if (descriptor == null) {
+            OperationDescriptor resolved = OperationDescriptor.resolve(method, targetClass, paramNames);
+            descriptor = resolved != null ? resolved : Boolean.FALSE;
+            cache.put(method, descriptor);
+        }
+        return descriptor instanceof OperationDescriptor resolved ? resolved : null;
+    }
+
+    /**
+     * Démarre l'opération : span (MDC operation / operation_id), digest,
+     * tirage de l'échantillonnage. Doit toujours être suivi de {@link #success}
+     * ou {@link #failure}, même si l'opération est inactive.
+     *
+     * @param descriptor opération à démarrer (null : appel non suivi)
+     * @return false si l'opération est coupée (aucun log n'est alors émis)
+     */
+    public boolean begin(OperationDescriptor descriptor) {
+        Frames frames = Frames.current();
+        if (frames.depth == Frames.MAX_DEPTH) {
+            // Récursion anormale : l'opération n'est pas suivie
+            frames.overflow++;
+            return false;
+        }
+        // Une seule lecture volatile : réglages cohérents pour tout l'appel
+        LoggingSettings settings = control.getSettings();
+        if (descriptor == null || !settings.isOperationEnabled(descriptor.getOperation())) {
+            frames.push(null, null, -1, false, false, false, 0L);
+            return false;
+        }
+        String operation = descriptor.getOperation();
+        PaymentLog annotation = descriptor.getAnnotation();
+        boolean entryExit = settings.sampleEntryExit(operation);
+        boolean logParams = entryExit && settings.logPayload(annotation.logParams())
+            && isLevelEnabled(annotation.entryLevel());
+        boolean logResult = entryExit && settings.logPayload(annotation.logResult());
+
+        String operationId = frames.spans.push(operation);
+        RequestDigest digest = RequestDigest.current();
+        int digestSlot = digest != null ? digest.enter(operation) : -1;
+        if (jdbcEnabled) {
+            frames.jdbc.copyTo(frames.jdbcSnapshots, frames.depth * JdbcActivity.FIELDS);
+            frames.queries.enter(operation);
+        }
+        frames.events[frames.depth] = jfrEvents ? OperationEvent.start() : null;
+        frames.push(descriptor, operationId, digestSlot, entryExit, logParams, logResult, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Les arguments de cette opération peuvent-ils être journalisés ? Évalué
+     * avant {@link #begin}, sans tirage d'échantillonnage : vrai dès que le log
+     * ENTRY, s'il est émis, journalise les paramètres.
+     *
+     * @param descriptor opération (null : appel non suivi)
+     */
+    public boolean mayWantArgs(OperationDescriptor descriptor) {
+        if (descriptor == null) {
+            return false;
+        }
+        LoggingSettings settings = control.getSettings();
+        PaymentLog annotation = descriptor.getAnnotation();
+        return settings.isEntryExitEnabled()
+            && settings.logPayload(annotation.logParams())
+            && isLevelEnabled(annotation.entryLevel());
+    }
+
+    /**
+     * Les arguments sont-ils nécessaires au log ENTRY de l'opération courante ?
+     * Sinon, l'appelant peut passer null à {@link #entry} sans les copier.
+     */
+    public boolean isArgsWanted() {
+        Frames frames = Frames.current();
+        return frames.isActive() && frames.logParams[frames.top()];
+    }
+
+    /**
+     * Log ENTRY de l'opération courante.
+     *
+     * @param args arguments de l'appel, ou null si {@link #isArgsWanted()} est faux
+     */
+    public void entry(Object[] args) {
+        Frames frames = Frames.current();
+        if (!frames.isActive()) {
+            return;
+        }
+        int top = frames.top();
+        if (!frames.entryExit[top]) {
+            return;
+        }
+        OperationDescriptor descriptor = frames.descriptors[top];
+        PaymentLog annotation = descriptor.getAnnotation();
+        if (!isLevelEnabled(annotation.entryLevel())) {
+            return;
+        }
+
+        String operation = descriptor.getOperation();
+        if (frames.logParams[top] && args != null && args.length > 0) {
+            String[] paramNames = descriptor.paramNames();
+            logAtLevel(annotation.entryLevel(),
+                "▶ ENTRY [{}] params={}", operation, new MaskedPayload(() -> {
+                    Map<String, Object> params = new LinkedHashMap<>();
+                    for (int i = 0; i < args.length; i++) {
+                        String name = i < paramNames.length ? paramNames[i] : "arg" + i;
+                        params.put(name, maskObject(args[i]));
+                    }
+                    return serialize(params);
+                }));
+        } else {
+            logAtLevel(annotation.entryLevel(), "▶ ENTRY [{}]", operation);
+        }
+    }
+
+    /**
+     * Termine l'opération courante avec succès : EXIT, SLOW, AUDIT, puis
+     * fermeture du span (MDC de l'opération englobante restauré).
+     */
+    public void success(Object result) {
+        Frames frames = Frames.current();
+        if (!frames.isActive()) {
+            frames.pop();
+            return;
+        }
+        int top = frames.top();
+        OperationDescriptor descriptor = frames.descriptors[top];
+        PaymentLog annotation = descriptor.getAnnotation();
+        String operation = descriptor.getOperation();
+        long executionTimeMs = (System.nanoTime() - frames.startNanos[top]) / 1_000_000;
+        try {
+            String jdbc = jdbcSuffix(frames, top);
+            if (frames.entryExit[top]) {
+                logExit(annotation, operation, frames.logResult[top] ? result : null, executionTimeMs, jdbc);
+            }
+            boolean slow = checkPerformance(annotation, operation, executionTimeMs, jdbc);
+            OperationEvent.finish(frames.events[top], operation, frames.operationIds[top],
+                slow ? OperationEvent.SLOW : OperationEvent.OK);
+            if (annotation.auditEnabled()) {
+                logAudit(operation, frames.operationIds[top], "SUCCESS", executionTimeMs, null);
+            }
+        } finally {
+            end(frames, top, true);
+        }
+    }
+
+    /**
+     * Termine l'opération courante en erreur : ERROR, AUDIT, puis fermeture du span.
+     */
+    public void failure(Throwable error) {
+        Frames frames = Frames.current();
+        if (!frames.isActive()) {
+            frames.pop();
+            return;
+        }
+        int top = frames.top();
+        OperationDescriptor descriptor = frames.descriptors[top];
+        String operation = descriptor.getOperation();
+        long executionTimeMs = (System.nanoTime() - frames.startNanos[top]) / 1_000_000;
+        try {
+            OperationEvent.finish(frames.events[top], operation, frames.operationIds[top], OperationEvent.ERROR);
+            logError(operation, error, executionTimeMs, jdbcSuffix(frames, top));
+            if (descriptor.getAnnotation().auditEnabled()) {
+                logAudit(operation, frames.operationIds[top], "FAILURE", executionTimeMs, error);
+            }
+        } finally {
+            end(frames, top, false);
+        }
+    }
+
+    private void end(Frames frames, int top, boolean success) {
+        int digestSlot = frames.digestSlots[top];
+        // N+1 signalés avant la restauration du MDC englobant
+        if (jdbcEnabled) {
+            frames.queries.exit();
+        }
+        frames.pop();
+        if (digestSlot >= 0) {
+            RequestDigest digest = RequestDigest.current();
+            if (digest != null) {
+                digest.exit(digestSlot, success);
+            }
+        }
+        SpanExporter exporter = spanExporter;
+        SpanData span = frames.spans.pop(success, exporter != null);
+        if (span != null) {
+            exporter.export(span);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // MÉTHODES PRIVÉES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private void logExit(PaymentLog annotation, String operation,
+                         Object result, long timeMs, String jdbc) {
+        if (!isLevelEnabled(annotation.exitLevel())) {
+            return;
+        }
+
+        if (result != null) {
+            logAtLevel(annotation.exitLevel(),
+                "◀ EXIT [{}] time={}ms{} result={}",
+                operation, timeMs, jdbc, new MaskedPayload(() -> String.valueOf(maskObject(result))));
+        } else {
+            logAtLevel(annotation.exitLevel(),
+                "◀ EXIT [{}] time={}ms{}", operation, timeMs, jdbc);
+        }
+    }
+
+    /**
+     * Activité JDBC de l'opération, précédée d'un espace ("" si aucune ou JDBC non instrumenté).
+     */
+    private String jdbcSuffix(Frames frames, int top) {
+        return jdbcEnabled ? frames.jdbcSuffix(top) : "";
+    }
+
+    private void logError(String operation, Throwable e, long timeMs, String jdbc) {
+        String maskedMessage = dataMasker.mask(e.getMessage());
+        log.error("✖ ERROR [{}] time={}ms{} error={}", operation, timeMs, jdbc, maskedMessage, e);
+    }
+
+    private boolean checkPerformance(PaymentLog annotation, String operation, long timeMs, String jdbc) {
+        long threshold = annotation.performanceThresholdMs() > 0
+            ? annotation.performanceThresholdMs()
+            : defaultPerformanceThresholdMs;
+
+        if (timeMs > threshold) {
+            log.warn("⚠ SLOW [{}] {}ms > threshold {}ms{}", operation, timeMs, threshold, jdbc);
+            return true;
+        }
+        return false;
+    }
+
+    private void logAudit(String operation, String operationId, String status,
+                          long timeMs, Throwable e) {
+        Map<String, Object> audit = new LinkedHashMap<>();
+        audit.put("audit_type", "PAYMENT_OPERATION");
+        audit.put("timestamp", Instant.now().toString());
+        audit.put("operation", operation);
+        audit.put("operation_id", operationId);
+        audit.put("parent_operation_id", MDC.get(MdcKeys.PARENT_OPERATION_ID));
+        audit.put("status", status);
+        audit.put("execution_time_ms", timeMs);
+        audit.put("correlation_id", MDC.get(MdcKeys.CORRELATION_ID));
+        audit.put("user_id", MDC.get(MdcKeys.USER_ID));
+        audit.put("client_ip", MDC.get(MdcKeys.CLIENT_IP));
+
+        if (e != null) {
+            audit.put("error_type", e.getClass().getName());
+            audit.put("error_message", dataMasker.mask(e.getMessage()));
+        }
+
+        // Logger AUDIT séparé (fichier différent, rétention longue)
+        auditLog.info("AUDIT: {}", serialize(audit));
+    }
+
+    private Object maskObject(Object obj) {
+        if (obj == null) {
+            return null;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(obj);
+            String masked = dataMasker.mask(json);
+            return objectMapper.readValue(masked, Object.class);
+        } catch (JsonProcessingException e) {
+            return dataMasker.mask(obj.toString());
+        }
+    }
+
+    /**
+     * Paramètres ou résultat masqués au formatage du message seulement : un
+     * événement retenu par le {@code TailBuffer} puis abandonné n'est ni
+     * sérialisé ni masqué.
+     */
+    private record MaskedPayload(Supplier<String> renderer) {
+        @Override
+        public String toString() {
+            return renderer.get();
+        }
+    }
+
+    private String serialize(Object obj) {
+        try {
+            return objectMapper.writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            return obj.toString();
+        }
+    }
+
+    private boolean isLevelEnabled(PaymentLog.LogLevel level) {
+        return switch (level) {
+            case TRACE -> log.isTraceEnabled();
+            case DEBUG -> log.isDebugEnabled();
+            case INFO -> log.isInfoEnabled();
+            case WARN -> log.isWarnEnabled();
+        };
+    }
+
+    private void logAtLevel(PaymentLog.LogLevel level, String format, Object... args) {
+        switch (level) {
+            case TRACE -> log.trace(format, args);
+            case DEBUG -> log.debug(format, args);
+            case INFO -> log.info(format, args);
+            case WARN -> log.warn(format, args);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // Setters pour configuration
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Réglages pilotables à chaud (endpoint Actuator / MBean).
+     */
+    public void setControl(LoggingControl control) {
+        this.control = control;
+    }
+
+    public void setDefaultPerformanceThresholdMs(long defaultPerformanceThresholdMs) {
+        this.defaultPerformanceThresholdMs = defaultPerformanceThresholdMs;
+    }
+
+    /**
+     * Destination des spans terminés (null : aucun export).
+     */
+    public void setSpanExporter(SpanExporter spanExporter) {
+        this.spanExporter = spanExporter;
+    }
+
+    /**
+     * Émet un {@link OperationEvent} JFR par opération (OK, SLOW ou ERROR).
+     */
+    public void setJfrEvents(boolean jfrEvents) {
+        this.jfrEvents = jfrEvents;
+    }
+
+    /**
+     * Suit l'activité JDBC et les N+1 de chaque opération (DataSource instrumentées).
+     * Désactivé : ni copie des compteurs ni portée de requêtes par opération.
+     */
+    public void setJdbcEnabled(boolean jdbcEnabled) {
+        this.jdbcEnabled = jdbcEnabled;
+    }
+
+    public LoggingControl getControl() {
+        return control;
+    }
+
+    public long getDefaultPerformanceThresholdMs() {
+        return defaultPerformanceThresholdMs;
+    }
+
+    public SpanExporter getSpanExporter() {
+        return spanExporter;
+    }
+
+    public boolean isJfrEvents() {
+        return jfrEvents;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PILE DES OPÉRATIONS EN COURS (par thread)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static final class Frames {
+
+        static final int MAX_DEPTH = 64;
+
+        private static final ThreadLocal<Frames> CURRENT = ThreadLocal.withInitial(Frames::new);
+
+        final SpanStack spans = SpanStack.current();
+        final JdbcActivity jdbc = JdbcActivity.current();
+        final QueryScopes queries = QueryScopes.current();
+        final OperationDescriptor[] descriptors = new OperationDescriptor[Frames.MAX_DEPTH];
+        final String[] operationIds = new String[Frames.MAX_DEPTH];
+        final int[] digestSlots = new int[Frames.MAX_DEPTH];
+        final long[] startNanos = new long[Frames.MAX_DEPTH];
+        final OperationEvent[] events = new OperationEvent[Frames.MAX_DEPTH];
+        final boolean[] entryExit = new boolean[Frames.MAX_DEPTH];
+        final boolean[] logParams = new boolean[Frames.MAX_DEPTH];
+        final boolean[] logResult = new boolean[Frames.MAX_DEPTH];
+        // Compteurs JDBC au début de chaque opération (FIELDS valeurs par niveau)
+        final long[] jdbcSnapshots = new long[Frames.MAX_DEPTH * JdbcActivity.FIELDS];
+        int depth;
+        int overflow;
+
+        static Frames current() {
+            return CURRENT.get();
+        }
+
+        /**
+         * Empile une opération (descripteur null : opération coupée, ses
+         * opérations imbriquées restent journalisées).
+         */
+        void push(OperationDescriptor descriptor, String operationId, int digestSlot,
+                  boolean entryExit, boolean logParams, boolean logResult, long startNanos) {
+            descriptors[depth] = descriptor;
+            operationIds[depth] = operationId;
+            digestSlots[depth] = digestSlot;
+            this.entryExit[depth] = entryExit;
+            this.logParams[depth] = logParams;
+            this.logResult[depth] = logResult;
+            this.startNanos[depth] = startNanos;
+            depth++;
+        }
+
+        /**
+         * Activité JDBC de l'opération, précédée d'un espace ("" si aucune).
+         */
+        String jdbcSuffix(int index) {
+            String activity = jdbc.since(jdbcSnapshots, index * JdbcActivity.FIELDS);
+            return activity != null ? " " + activity : "";
+        }
+
+        boolean isActive() {
+            return overflow == 0 && depth > 0 && descriptors[depth - 1] != null;
+        }
+
+        int top() {
+            return depth - 1;
+        }
+
+        void pop() {
+            if (overflow > 0) {
+                overflow--;
+            } else if (depth > 0) {
+                descriptors[--depth] = null;
+                operationIds[depth] = null;
+                events[depth] = null;
+            }
+        }
+    }
+}
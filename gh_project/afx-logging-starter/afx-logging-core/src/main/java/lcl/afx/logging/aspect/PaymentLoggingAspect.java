@@ -1,48 +1,32 @@
 package lcl.afx.logging.aspect;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import lcl.afx.logging.annotation.PaymentLog;
+import lcl.afx.logging.control.LoggingControl;
 import lcl.afx.logging.masking.DataMasker;
-import lcl.afx.logging.mdc.MdcKeys;
+import lcl.afx.logging.span.SpanExporter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
-
-import java.lang.reflect.Method;
-import java.time.Instant;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.UUID;
 
 /**
  * Aspect AOP qui intercepte les méthodes annotées avec @PaymentLog
  * pour générer automatiquement les logs d'entrée, sortie, erreur et audit.
+ *
+ * <p>Mode proxy Spring AOP (par défaut). Le logging lui-même est fait par
+ * {@link OperationLogger}, partagé avec l'aspect tissé à la compilation.</p>
  */
 @Aspect
 public class PaymentLoggingAspect {
 
-    private static final Logger log = LoggerFactory.getLogger(PaymentLoggingAspect.class);
-    private static final Logger auditLog = LoggerFactory.getLogger("AUDIT");
-
-    private final DataMasker dataMasker;
-    private final ObjectMapper objectMapper;
-    private boolean enabled = true;
-    private long defaultPerformanceThresholdMs = 1000L;
+    private final OperationLogger operationLogger;
 
     public PaymentLoggingAspect(DataMasker dataMasker) {
-        this.dataMasker = dataMasker;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        this.objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        this(new OperationLogger(dataMasker));
+    }
+
+    public PaymentLoggingAspect(OperationLogger operationLogger) {
+        this.operationLogger = operationLogger;
     }
 
     // ══════════════════════════════════════════════════════════════════════════
@@ -80,231 +64,95 @@ public class PaymentLoggingAspect {
     @Around("loggableMethods()")
     public Object logPaymentOperation(ProceedingJoinPoint joinPoint) throws Throwable {
 
-        if (!enabled) {
-            return joinPoint.proceed();
-        }
-
         // ──────────────────────────────────────────────────────────────────────
-        // 1. EXTRAIRE LES MÉTADONNÉES
+        // 1. MÉTADONNÉES (résolues une fois par méthode)
         // ──────────────────────────────────────────────────────────────────────
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        Class<?> targetClass = joinPoint.getTarget().getClass();
-
-        PaymentLog annotation = getAnnotation(method, targetClass);
-        if (annotation == null) {
+        OperationDescriptor descriptor = operationLogger.describe(
+            signature.getMethod(), joinPoint.getTarget().getClass(), null);
+        if (descriptor == null) {
             return joinPoint.proceed();
         }
 
-        String operationId = UUID.randomUUID().toString().substring(0, 8);
-        String operation = annotation.operation().isBlank()
-            ? method.getName().toUpperCase()
-            : annotation.operation();
-
         // ──────────────────────────────────────────────────────────────────────
-        // 2. ENRICHIR LE MDC
+        // 2. OUVRIR LE SPAN (MDC operation / operation_id / parent_operation_id)
         // ──────────────────────────────────────────────────────────────────────
-        MDC.put(MdcKeys.OPERATION, operation);
-        MDC.put(MdcKeys.OPERATION_ID, operationId);
-
-        long startTime = System.nanoTime();
+        boolean active = operationLogger.begin(descriptor);
 
+        // ──────────────────────────────────────────────────────────────────────
+        // 3. LOG ENTRY (arguments copiés seulement s'ils sont journalisés),
+        //    VRAIE MÉTHODE, puis EXIT / SLOW / AUDIT ou ERROR / AUDIT
+        //    (le span est fermé et le MDC englobant restauré dans les deux cas)
+        // ──────────────────────────────────────────────────────────────────────
+        Object result;
         try {
-            // ──────────────────────────────────────────────────────────────────
-            // 3. LOG ENTRY
-            // ──────────────────────────────────────────────────────────────────
-            logEntry(annotation, operation, joinPoint.getArgs(), signature.getParameterNames());
-
-            // ──────────────────────────────────────────────────────────────────
-            // 4. EXÉCUTER LA VRAIE MÉTHODE
-            // ──────────────────────────────────────────────────────────────────
-            Object result = joinPoint.proceed();
-
-            // ──────────────────────────────────────────────────────────────────
-            // 5. LOG EXIT
-            // ──────────────────────────────────────────────────────────────────
-            long executionTimeMs = (System.nanoTime() - startTime) / 1_000_000;
-            logExit(annotation, operation, result, executionTimeMs);
-
-            // ──────────────────────────────────────────────────────────────────
-            // 6. VÉRIFIER PERFORMANCE
-            // ──────────────────────────────────────────────────────────────────
-            checkPerformance(annotation, operation, executionTimeMs);
-
-            // ──────────────────────────────────────────────────────────────────
-            // 7. AUDIT TRAIL (si activé)
-            // ──────────────────────────────────────────────────────────────────
-            if (annotation.auditEnabled()) {
-                logAudit(operation, operationId, "SUCCESS", executionTimeMs, null);
+            if (active) {
+                operationLogger.entry(operationLogger.isArgsWanted() ? joinPoint.getArgs() : null);
             }
-
-            return result;
-
-        } catch (Exception e) {
-            // ──────────────────────────────────────────────────────────────────
-            // 8. LOG ERROR
-            // ──────────────────────────────────────────────────────────────────
-            long executionTimeMs = (System.nanoTime() - startTime) / 1_000_000;
-            logError(operation, e, executionTimeMs);
-
-            if (annotation.auditEnabled()) {
-                logAudit(operation, operationId, "FAILURE", executionTimeMs, e);
-            }
-
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            operationLogger.failure(e);
             throw e;
-
-        } finally {
-            // ──────────────────────────────────────────────────────────────────
-            // 9. NETTOYER LE MDC (TOUJOURS)
-            // ──────────────────────────────────────────────────────────────────
-            MDC.remove(MdcKeys.OPERATION);
-            MDC.remove(MdcKeys.OPERATION_ID);
         }
+        operationLogger.success(result);
+        return result;
     }
 
     // ══════════════════════════════════════════════════════════════════════════
-    // MÉTHODES PRIVÉES
+    // Setters pour configuration
     // ══════════════════════════════════════════════════════════════════════════
 
-    private PaymentLog getAnnotation(Method method, Class<?> targetClass) {
-        // Priorité à l'annotation sur la méthode
-        PaymentLog annotation = method.getAnnotation(PaymentLog.class);
-        if (annotation != null) {
-            return annotation;
-        }
-        // Sinon, chercher sur la classe
-        return targetClass.getAnnotation(PaymentLog.class);
-    }
-
-    private void logEntry(PaymentLog annotation, String operation,
-                          Object[] args, String[] paramNames) {
-        if (!isLevelEnabled(annotation.entryLevel())) {
-            return;
-        }
-
-        if (annotation.logParams() && args != null && args.length > 0) {
-            Map<String, Object> params = new LinkedHashMap<>();
-            for (int i = 0; i < args.length; i++) {
-                String name = (paramNames != null && i < paramNames.length)
-                    ? paramNames[i] : "arg" + i;
-                params.put(name, maskObject(args[i]));
-            }
-            logAtLevel(annotation.entryLevel(),
-                "▶ ENTRY [{}] params={}", operation, serialize(params));
-        } else {
-            logAtLevel(annotation.entryLevel(), "▶ ENTRY [{}]", operation);
-        }
-    }
-
-    private void logExit(PaymentLog annotation, String operation,
-                         Object result, long timeMs) {
-        if (!isLevelEnabled(annotation.exitLevel())) {
-            return;
-        }
-
-        if (annotation.logResult() && result != null) {
-            logAtLevel(annotation.exitLevel(),
-                "◀ EXIT [{}] time={}ms result={}",
-                operation, timeMs, maskObject(result));
-        } else {
-            logAtLevel(annotation.exitLevel(),
-                "◀ EXIT [{}] time={}ms", operation, timeMs);
-        }
-    }
-
-    private void logError(String operation, Exception e, long timeMs) {
-        String maskedMessage = dataMasker.mask(e.getMessage());
-        log.error("✖ ERROR [{}] time={}ms error={}", operation, timeMs, maskedMessage, e);
+    public void setEnabled(boolean enabled) {
+        operationLogger.getControl().update(s -> s.withEnabled(enabled));
     }
 
-    private void checkPerformance(PaymentLog annotation, String operation, long timeMs) {
-        long threshold = annotation.performanceThresholdMs() > 0
-            ? annotation.performanceThresholdMs()
-            : defaultPerformanceThresholdMs;
-
-        if (timeMs > threshold) {
-            log.warn("⚠ SLOW [{}] {}ms > threshold {}ms", operation, timeMs, threshold);
-        }
+    public void setDefaultPerformanceThresholdMs(long defaultPerformanceThresholdMs) {
+        operationLogger.setDefaultPerformanceThresholdMs(defaultPerformanceThresholdMs);
     }
 
-    private void logAudit(String operation, String operationId, String status,
-                          long timeMs, Exception e) {
-        Map<String, Object> audit = new LinkedHashMap<>();
-        audit.put("audit_type", "PAYMENT_OPERATION");
-        audit.put("timestamp", Instant.now().toString());
-        audit.put("operation", operation);
-        audit.put("operation_id", operationId);
-        audit.put("status", status);
-        audit.put("execution_time_ms", timeMs);
-        audit.put("correlation_id", MDC.get(MdcKeys.CORRELATION_ID));
-        audit.put("user_id", MDC.get(MdcKeys.USER_ID));
-        audit.put("client_ip", MDC.get(MdcKeys.CLIENT_IP));
-
-        if (e != null) {
-            audit.put("error_type", e.getClass().getName());
-            audit.put("error_message", dataMasker.mask(e.getMessage()));
-        }
-
-        // Logger AUDIT séparé (fichier différent, rétention longue)
-        auditLog.info("AUDIT: {}", serialize(audit));
+    /**
+     * Active les logs ENTRY/EXIT par opération. Peut être désactivé quand le
+     * DIGEST par requête suffit (les logs SLOW, ERROR et AUDIT sont conservés).
+     */
+    public void setEntryExitEnabled(boolean entryExitEnabled) {
+        operationLogger.getControl().update(s -> s.withEntryExitEnabled(entryExitEnabled));
     }
 
-    private Object maskObject(Object obj) {
-        if (obj == null) {
-            return null;
-        }
-        try {
-            String json = objectMapper.writeValueAsString(obj);
-            String masked = dataMasker.mask(json);
-            return objectMapper.readValue(masked, Object.class);
-        } catch (JsonProcessingException e) {
-            return dataMasker.mask(obj.toString());
-        }
+    /**
+     * Réglages pilotables à chaud (endpoint Actuator / MBean).
+     */
+    public void setControl(LoggingControl control) {
+        operationLogger.setControl(control);
     }
 
-    private String serialize(Object obj) {
-        try {
-            return objectMapper.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
-            return obj.toString();
-        }
+    /**
+     * Destination des spans terminés (null : aucun export).
+     */
+    public void setSpanExporter(SpanExporter spanExporter) {
+        operationLogger.setSpanExporter(spanExporter);
     }
 
-    private boolean isLevelEnabled(PaymentLog.LogLevel level) {
-        return switch (level) {
-            case TRACE -> log.isTraceEnabled();
-            case DEBUG -> log.isDebugEnabled();
-            case INFO -> log.isInfoEnabled();
-            case WARN -> log.isWarnEnabled();
-        };
+    public boolean isEnabled() {
+        return operationLogger.getControl().getSettings().isEnabled();
     }
 
-    private void logAtLevel(PaymentLog.LogLevel level, String format, Object... args) {
-        switch (level) {
-            case TRACE -> log.trace(format, args);
-            case DEBUG -> log.debug(format, args);
-            case INFO -> log.info(format, args);
-            case WARN -> log.warn(format, args);
-        }
+    public long getDefaultPerformanceThresholdMs() {
+        return operationLogger.getDefaultPerformanceThresholdMs();
     }
 
-    // ══════════════════════════════════════════════════════════════════════════
-    // Setters pour configuration
-    // ══════════════════════════════════════════════════════════════════════════
-
-    public void setEnabled(boolean enabled) {
-        this.enabled = enabled;
+    public boolean isEntryExitEnabled() {
+        return operationLogger.getControl().getSettings().isEntryExitEnabled();
     }
 
-    public void setDefaultPerformanceThresholdMs(long defaultPerformanceThresholdMs) {
-        this.defaultPerformanceThresholdMs = defaultPerformanceThresholdMs;
+    public LoggingControl getControl() {
+        return operationLogger.getControl();
     }
 
-    public boolean isEnabled() {
-        return enabled;
+    public SpanExporter getSpanExporter() {
+        return operationLogger.getSpanExporter();
     }
 
-    public long getDefaultPerformanceThresholdMs() {
-        return defaultPerformanceThresholdMs;
+    public OperationLogger getOperationLogger() {
+        return operationLogger;
     }
 }
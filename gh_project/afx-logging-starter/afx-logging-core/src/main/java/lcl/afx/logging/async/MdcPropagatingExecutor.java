@@ -0,0 +1,42 @@
+package lcl.afx.logging.async;
+
+import lcl.afx.logging.mdc.MdcSnapshot;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor qui propage le MDC du thread appelant vers les tâches soumises.
+ *
+ * <p>Utile pour les {@code CompletableFuture} et les executors non gérés par Spring:</p>
+ * <pre>
+ * Executor executor = MdcPropagatingExecutor.wrap(Executors.newFixedThreadPool(4));
+ * CompletableFuture.supplyAsync(() -&gt; callCics(request), executor);
+ * </pre>
+ */
+public class MdcPropagatingExecutor implements Executor {
+
+    private final Executor delegate;
+
+    public MdcPropagatingExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(MdcSnapshot.capture().wrap(command));
+    }
+
+    public Executor getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Factory method pour envelopper un executor existant.
+     */
+    public static Executor wrap(Executor delegate) {
+        if (delegate instanceof MdcPropagatingExecutor) {
+            return delegate;
+        }
+        return new MdcPropagatingExecutor(delegate);
+    }
+}
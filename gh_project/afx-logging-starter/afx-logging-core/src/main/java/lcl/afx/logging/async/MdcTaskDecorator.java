@@ -0,0 +1,30 @@
+package lcl.afx.logging.async;
+
+import lcl.afx.logging.mdc.MdcSnapshot;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * {@link TaskDecorator} Spring qui propage le MDC (correlation_id,
+ * transaction_id, ...) vers les tâches {@code @Async} et les executors Spring.
+ *
+ * <p>Le contexte est capturé sous forme d'instantané immuable partagé
+ * ({@link MdcSnapshot}), installé au début de la tâche puis le contexte
+ * précédent du thread est restauré à la fin.</p>
+ *
+ * <p>Utilisation:</p>
+ * <pre>
+ * &#64;Bean
+ * public ThreadPoolTaskExecutor paymentExecutor(MdcTaskDecorator decorator) {
+ *     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+ *     executor.setTaskDecorator(decorator);
+ *     return executor;
+ * }
+ * </pre>
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return MdcSnapshot.capture().wrap(runnable);
+    }
+}
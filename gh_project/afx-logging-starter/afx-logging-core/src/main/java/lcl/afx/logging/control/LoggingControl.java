@@ -0,0 +1,210 @@
+package lcl.afx.logging.control;
+
+import lcl.afx.logging.masking.DataMasker;
+import lcl.afx.logging.masking.DataMasker.MaskingRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Pilotage à chaud de l'aspect {@code @PaymentLog} et du masquage, sans
+ * redémarrage (et donc sans perdre l'état du JIT).
+ *
+ * <p>Les réglages sont publiés sous forme d'instantanés immuables
+ * ({@link LoggingSettings}) dans un champ volatile : le chemin chaud fait une
+ * seule lecture par appel. Les écritures sont rares et sérialisées.</p>
+ *
+ * <p>Exposé par l'endpoint Actuator {@code afxlogging} ou, sans Actuator,
+ * enregistré comme MBean standard sous {@value #OBJECT_NAME}.
+ * Chaque changement est tracé dans les logs.</p>
+ *
+ * <p>Le masquage est en lecture seule par défaut : sa désactivation et
+ * l'ajout / retrait de règles exigent {@link #setMaskingWritable(boolean)}
+ * ({@code afx.logging.control.masking-writable=true}), sinon ces opérations
+ * échouent ({@link IllegalStateException}).</p>
+ */
+public class LoggingControl implements LoggingControlMBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingControl.class);
+
+    public static final String OBJECT_NAME = "lcl.afx.logging:type=LoggingControl";
+
+    private final LoggingSettings initialSettings;
+    private final DataMasker dataMasker;
+    // Règles de démarrage, restaurées par reset()
+    private final List<MaskingRule> initialRules;
+    private volatile LoggingSettings settings;
+    private boolean maskingWritable;
+
+    /**
+     * @param initialSettings réglages de démarrage (restaurés par {@link #reset()})
+     * @param dataMasker      masqueur piloté (null : options de masquage ignorées)
+     */
+    public LoggingControl(LoggingSettings initialSettings, DataMasker dataMasker) {
+        this.initialSettings = initialSettings != null ? initialSettings : LoggingSettings.DEFAULTS;
+        this.dataMasker = dataMasker;
+        this.initialRules = dataMasker != null ? dataMasker.getRules() : List.of();
+        this.settings = this.initialSettings;
+    }
+
+    /**
+     * Réglages courants (une lecture volatile).
+     */
+    public LoggingSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Publie un nouvel instantané calculé à partir du courant.
+     */
+    public synchronized LoggingSettings update(UnaryOperator<LoggingSettings> change) {
+        LoggingSettings updated = change.apply(settings);
+        settings = updated;
+        log.info("⚙ CONTROL {}", updated);
+        return updated;
+    }
+
+    public DataMasker getDataMasker() {
+        return dataMasker;
+    }
+
+    /**
+     * Autorise la désactivation du masquage et la modification de ses règles.
+     */
+    public void setMaskingWritable(boolean maskingWritable) {
+        this.maskingWritable = maskingWritable;
+    }
+
+    public boolean isMaskingWritable() {
+        return maskingWritable;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ATTRIBUTS / OPÉRATIONS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        update(s -> s.withEnabled(enabled));
+    }
+
+    @Override
+    public boolean isEntryExitEnabled() {
+        return settings.isEntryExitEnabled();
+    }
+
+    @Override
+    public void setEntryExitEnabled(boolean entryExitEnabled) {
+        update(s -> s.withEntryExitEnabled(entryExitEnabled));
+    }
+
+    @Override
+    public String getPayloadMode() {
+        return settings.getPayloadMode().name();
+    }
+
+    @Override
+    public void setPayloadMode(String payloadMode) {
+        LoggingSettings.PayloadMode mode = LoggingSettings.PayloadMode.valueOf(payloadMode.trim().toUpperCase());
+        update(s -> s.withPayloadMode(mode));
+    }
+
+    @Override
+    public double getSamplingRate() {
+        return settings.getSamplingRate();
+    }
+
+    @Override
+    public void setSamplingRate(double samplingRate) {
+        update(s -> s.withSamplingRate(samplingRate));
+    }
+
+    @Override
+    public String[] getDisabledOperations() {
+        return settings.getDisabledOperations().stream().sorted().toArray(String[]::new);
+    }
+
+    @Override
+    public void enableOperation(String operation) {
+        update(s -> s.withOperationEnabled(operation, true));
+    }
+
+    @Override
+    public void disableOperation(String operation) {
+        update(s -> s.withOperationEnabled(operation, false));
+    }
+
+    @Override
+    public void setOperationSamplingRate(String operation, double samplingRate) {
+        Double rate = samplingRate < 0 ? null : samplingRate;
+        update(s -> s.withOperationSamplingRate(operation, rate));
+    }
+
+    @Override
+    public boolean isMaskingEnabled() {
+        return dataMasker != null && dataMasker.isEnabled();
+    }
+
+    @Override
+    public void setMaskingEnabled(boolean maskingEnabled) {
+        checkMaskingWritable();
+        if (dataMasker != null) {
+            dataMasker.setEnabled(maskingEnabled);
+            log.warn("⚙ CONTROL masking enabled={}", maskingEnabled);
+        }
+    }
+
+    @Override
+    public String[] getMaskingRules() {
+        if (dataMasker == null) {
+            return new String[0];
+        }
+        return dataMasker.getRules().stream()
+            .map(rule -> rule.pattern().pattern() + " => " + rule.replacement())
+            .toArray(String[]::new);
+    }
+
+    @Override
+    public void addMaskingRule(String regex, String replacement) {
+        checkMaskingWritable();
+        if (dataMasker != null) {
+            dataMasker.addRule(Pattern.compile(regex), replacement);
+            log.info("⚙ CONTROL masking rule added {}", regex);
+        }
+    }
+
+    @Override
+    public boolean removeMaskingRule(String regex) {
+        checkMaskingWritable();
+        boolean removed = dataMasker != null && dataMasker.removeRule(regex);
+        if (removed) {
+            log.warn("⚙ CONTROL masking rule removed {}", regex);
+        }
+        return removed;
+    }
+
+    @Override
+    public void reset() {
+        update(s -> initialSettings);
+        if (dataMasker != null) {
+            dataMasker.setRules(initialRules);
+            dataMasker.setEnabled(true);
+        }
+    }
+
+    private void checkMaskingWritable() {
+        if (!maskingWritable) {
+            log.warn("⚙ CONTROL masking change refused (afx.logging.control.masking-writable=false)");
+            throw new IllegalStateException(
+                "Masquage en lecture seule (afx.logging.control.masking-writable=false)");
+        }
+    }
+}
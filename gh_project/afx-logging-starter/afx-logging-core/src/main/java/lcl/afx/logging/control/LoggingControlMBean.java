@@ -0,0 +1,63 @@
+package lcl.afx.logging.control;
+
+/**
+ * Interface JMX standard de {@link LoggingControl}
+ * (ObjectName par défaut : {@value LoggingControl#OBJECT_NAME}).
+ */
+public interface LoggingControlMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    boolean isEntryExitEnabled();
+
+    void setEntryExitEnabled(boolean entryExitEnabled);
+
+    /**
+     * ANNOTATION, ALWAYS ou NEVER.
+     */
+    String getPayloadMode();
+
+    void setPayloadMode(String payloadMode);
+
+    double getSamplingRate();
+
+    void setSamplingRate(double samplingRate);
+
+    String[] getDisabledOperations();
+
+    void enableOperation(String operation);
+
+    void disableOperation(String operation);
+
+    /**
+     * Taux d'échantillonnage propre à une opération (négatif : taux par défaut).
+     */
+    void setOperationSamplingRate(String operation, double samplingRate);
+
+    boolean isMaskingEnabled();
+
+    /**
+     * Refusé sauf {@code afx.logging.control.masking-writable=true}.
+     */
+    void setMaskingEnabled(boolean maskingEnabled);
+
+    String[] getMaskingRules();
+
+    /**
+     * Refusé sauf {@code afx.logging.control.masking-writable=true}.
+     */
+    void addMaskingRule(String regex, String replacement);
+
+    /**
+     * Refusé sauf {@code afx.logging.control.masking-writable=true}.
+     */
+    boolean removeMaskingRule(String regex);
+
+    /**
+     * Revient aux réglages de démarrage (propriétés {@code afx.logging.*}),
+     * règles de masquage comprises.
+     */
+    void reset();
+}
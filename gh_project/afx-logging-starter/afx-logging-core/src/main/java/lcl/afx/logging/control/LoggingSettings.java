@@ -0,0 +1,190 @@
+package lcl.afx.logging.control;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Réglages de l'aspect {@code @PaymentLog} modifiables à chaud.
+ *
+ * <p>Instance immuable : chaque modification produit une nouvelle instance,
+ * publiée par {@link LoggingControl}. L'aspect lit le réglage courant une
+ * seule fois par appel.</p>
+ */
+public final class LoggingSettings {
+
+    /**
+     * Journalisation des paramètres et résultats.
+     */
+    public enum PayloadMode {
+        /** Suivre {@code logParams} / {@code logResult} de l'annotation. */
+        ANNOTATION,
+        /** Forcer la journalisation (diagnostic d'incident). */
+        ALWAYS,
+        /** Ne jamais journaliser les payloads. */
+        NEVER
+    }
+
+    public static final LoggingSettings DEFAULTS = new LoggingSettings(
+        true, true, PayloadMode.ANNOTATION, 1.0, Set.of(), Map.of());
+
+    private final boolean enabled;
+    private final boolean entryExitEnabled;
+    private final PayloadMode payloadMode;
+    private final double samplingRate;
+    private final Set<String> disabledOperations;
+    private final Map<String, Double> operationSamplingRates;
+
+    private LoggingSettings(boolean enabled, boolean entryExitEnabled, PayloadMode payloadMode,
+                            double samplingRate, Set<String> disabledOperations,
+                            Map<String, Double> operationSamplingRates) {
+        this.enabled = enabled;
+        this.entryExitEnabled = entryExitEnabled;
+        this.payloadMode = payloadMode;
+        this.samplingRate = samplingRate;
+        this.disabledOperations = disabledOperations;
+        this.operationSamplingRates = operationSamplingRates;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CHEMIN CHAUD
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * L'opération est-elle interceptée (aspect actif et opération non coupée) ?
+     */
+    public boolean isOperationEnabled(String operation) {
+        return enabled && (disabledOperations.isEmpty() || !disabledOperations.contains(operation));
+    }
+
+    /**
+     * Tire au sort les logs ENTRY/EXIT de l'opération selon son taux
+     * d'échantillonnage (les logs SLOW, ERROR et AUDIT ne sont jamais échantillonnés).
+     */
+    public boolean sampleEntryExit(String operation) {
+        if (!entryExitEnabled) {
+            return false;
+        }
+        double rate = operationSamplingRates.isEmpty()
+            ? samplingRate
+            : operationSamplingRates.getOrDefault(operation, samplingRate);
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Paramètres ou résultat journalisés, compte tenu du mode payload.
+     *
+     * @param annotationValue {@code logParams} ou {@code logResult} de l'annotation
+     */
+    public boolean logPayload(boolean annotationValue) {
+        return switch (payloadMode) {
+            case ANNOTATION -> annotationValue;
+            case ALWAYS -> true;
+            case NEVER -> false;
+        };
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COPIES MODIFIÉES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    public LoggingSettings withEnabled(boolean enabled) {
+        return new LoggingSettings(enabled, entryExitEnabled, payloadMode, samplingRate,
+            disabledOperations, operationSamplingRates);
+    }
+
+    public LoggingSettings withEntryExitEnabled(boolean entryExitEnabled) {
+        return new LoggingSettings(enabled, entryExitEnabled, payloadMode, samplingRate,
+            disabledOperations, operationSamplingRates);
+    }
+
+    public LoggingSettings withPayloadMode(PayloadMode payloadMode) {
+        return new LoggingSettings(enabled, entryExitEnabled,
+            payloadMode != null ? payloadMode : PayloadMode.ANNOTATION, samplingRate,
+            disabledOperations, operationSamplingRates);
+    }
+
+    /**
+     * @param samplingRate taux par défaut des logs ENTRY/EXIT, entre 0 et 1
+     */
+    public LoggingSettings withSamplingRate(double samplingRate) {
+        return new LoggingSettings(enabled, entryExitEnabled, payloadMode, checkRate(samplingRate),
+            disabledOperations, operationSamplingRates);
+    }
+
+    /**
+     * Active ou coupe l'interception d'une opération.
+     */
+    public LoggingSettings withOperationEnabled(String operation, boolean operationEnabled) {
+        Set<String> disabled = new HashSet<>(disabledOperations);
+        if (operationEnabled) {
+            disabled.remove(operation);
+        } else {
+            disabled.add(operation);
+        }
+        return new LoggingSettings(enabled, entryExitEnabled, payloadMode, samplingRate,
+            Set.copyOf(disabled), operationSamplingRates);
+    }
+
+    /**
+     * Taux d'échantillonnage propre à une opération (null : taux par défaut).
+     */
+    public LoggingSettings withOperationSamplingRate(String operation, Double rate) {
+        Map<String, Double> rates = new HashMap<>(operationSamplingRates);
+        if (rate == null) {
+            rates.remove(operation);
+        } else {
+            rates.put(operation, checkRate(rate));
+        }
+        return new LoggingSettings(enabled, entryExitEnabled, payloadMode, samplingRate,
+            disabledOperations, Map.copyOf(rates));
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // GETTERS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isEntryExitEnabled() {
+        return entryExitEnabled;
+    }
+
+    public PayloadMode getPayloadMode() {
+        return payloadMode;
+    }
+
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    public Set<String> getDisabledOperations() {
+        return disabledOperations;
+    }
+
+    public Map<String, Double> getOperationSamplingRates() {
+        return operationSamplingRates;
+    }
+
+    private static double checkRate(double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Taux d'échantillonnage hors de [0, 1] : " + rate);
+        }
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return "LoggingSettings{enabled=" + enabled + ", entryExitEnabled=" + entryExitEnabled
+            + ", payloadMode=" + payloadMode + ", samplingRate=" + samplingRate
+            + ", disabledOperations=" + disabledOperations
+            + ", operationSamplingRates=" + operationSamplingRates + '}';
+    }
+}
@@ -0,0 +1,162 @@
+package lcl.afx.logging.digest;
+
+import lcl.afx.logging.jdbc.JdbcActivity;
+
+/**
+ * Accumulateur par requête des opérations {@code @PaymentLog} exécutées.
+ *
+ * <p>Créé par {@code CorrelationIdFilter} au début de la requête, alimenté par
+ * {@code PaymentLoggingAspect} (nom, durée, résultat, profondeur d'imbrication)
+ * puis émis en un seul événement DIGEST à la fin de la requête.</p>
+ *
+ * <p>Les tableaux sont préalloués et réutilisés par thread : aucun objet n'est
+ * créé par opération. Au-delà de la capacité, les opérations sont seulement comptées.</p>
+ *
+ * <pre>
+ * ◆ DIGEST POST /api/transfers status=200 time=135ms operations=3 [SEPA_TRANSFER 130ms OK, .CHECK_IBAN 2ms OK, .CALL_CICS 120ms OK]
+ * </pre>
+ *
+ * <p>Avec {@code InstrumentedDataSource}, l'activité JDBC de la requête est ajoutée :</p>
+ *
+ * <pre>
+ * ◆ DIGEST POST /api/transfers status=200 time=135ms operations=3 [...] jdbc[statements=4 time=9ms batches=0(0) rows=2 connections=1 poolWait=0ms slow=0]
+ * </pre>
+ */
+public final class RequestDigest {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private static final ThreadLocal<RequestDigest> POOL = new ThreadLocal<>();
+    private static final ThreadLocal<RequestDigest> CURRENT = new ThreadLocal<>();
+
+    private static final byte RUNNING = 0;
+    private static final byte SUCCESS = 1;
+    private static final byte FAILURE = 2;
+
+    private final String[] names;
+    private final long[] nanos;
+    private final byte[] outcomes;
+    private final byte[] depths;
+    private final JdbcActivity jdbc = JdbcActivity.current();
+    private final long[] jdbcStart = new long[JdbcActivity.FIELDS];
+    private int count;
+    private int dropped;
+    private int depth;
+
+    private RequestDigest(int capacity) {
+        this.names = new String[capacity];
+        this.nanos = new long[capacity];
+        this.outcomes = new byte[capacity];
+        this.depths = new byte[capacity];
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CYCLE DE VIE (CorrelationIdFilter)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Démarre l'accumulation pour la requête du thread courant.
+     */
+    public static RequestDigest begin(int capacity) {
+        RequestDigest digest = POOL.get();
+        if (digest == null || digest.names.length != capacity) {
+            digest = new RequestDigest(Math.max(1, capacity));
+            POOL.set(digest);
+        }
+        digest.count = 0;
+        digest.dropped = 0;
+        digest.depth = 0;
+        digest.jdbc.copyTo(digest.jdbcStart, 0);
+        CURRENT.set(digest);
+        return digest;
+    }
+
+    /**
+     * Digest de la requête en cours sur ce thread, ou null.
+     */
+    public static RequestDigest current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Termine l'accumulation (le digest reste lisible jusqu'au prochain {@link #begin(int)}).
+     */
+    public void end() {
+        CURRENT.remove();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ENREGISTREMENT (PaymentLoggingAspect)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Enregistre le début d'une opération.
+     *
+     * @return l'emplacement à passer à {@link #exit(int, boolean)}, -1 si capacité atteinte
+     */
+    public int enter(String operation) {
+        int currentDepth = depth++;
+        if (count == names.length) {
+            dropped++;
+            return -1;
+        }
+        int slot = count++;
+        names[slot] = operation;
+        depths[slot] = (byte) Math.min(currentDepth, Byte.MAX_VALUE);
+        outcomes[slot] = RUNNING;
+        nanos[slot] = System.nanoTime();
+        return slot;
+    }
+
+    /**
+     * Enregistre la fin d'une opération.
+     */
+    public void exit(int slot, boolean success) {
+        if (depth > 0) {
+            depth--;
+        }
+        if (slot >= 0) {
+            nanos[slot] = System.nanoTime() - nanos[slot];
+            outcomes[slot] = success ? SUCCESS : FAILURE;
+        }
+    }
+
+    public int getOperationCount() {
+        return count + dropped;
+    }
+
+    /**
+     * Activité JDBC du thread depuis {@link #begin(int)}, ou null si aucune.
+     */
+    public String getJdbcActivity() {
+        return jdbc.since(jdbcStart, 0);
+    }
+
+    /**
+     * Rendu compact des opérations (appelé uniquement si l'événement est émis).
+     * Un point par niveau d'imbrication.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(32 + count * 24).append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            for (int d = 0; d < depths[i]; d++) {
+                sb.append('.');
+            }
+            sb.append(names[i]).append(' ');
+            if (outcomes[i] == RUNNING) {
+                sb.append("RUNNING");
+            } else {
+                sb.append(nanos[i] / 1_000_000).append("ms ")
+                  .append(outcomes[i] == SUCCESS ? "OK" : "ERROR");
+            }
+        }
+        if (dropped > 0) {
+            sb.append(count > 0 ? ", " : "").append("+").append(dropped).append(" more");
+        }
+        return sb.append(']').toString();
+    }
+}
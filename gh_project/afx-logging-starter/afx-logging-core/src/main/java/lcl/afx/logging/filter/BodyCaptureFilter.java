@@ -0,0 +1,305 @@
+package lcl.afx.logging.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lcl.afx.logging.masking.DataMasker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtre HTTP optionnel qui capture les bodies bruts de requête et de réponse,
+ * dans la limite d'un plafond d'octets, et émet un seul événement par échange.
+ *
+ * <p>Contrairement à {@code ContentCachingRequestWrapper}, le contenu n'est
+ * jamais bufferisé en entier : les octets sont transmis tels quels à
+ * l'application et seuls les {@code maxBytes} premiers sont recopiés dans une
+ * fenêtre de capture. Le masquage s'applique à cette fenêtre uniquement, au
+ * moment de l'émission de l'événement : jusque-là, au plus {@code maxBytes}
+ * octets par flux sont conservés en clair (voir {@link BoundedCapture}).</p>
+ *
+ * <p>Seuls les contenus textuels (JSON, XML, texte, formulaire) sont capturés ;
+ * les autres (multipart, binaire) sont seulement comptés.</p>
+ *
+ * <p>Doit s'exécuter APRÈS {@link CorrelationIdFilter} pour que l'événement
+ * porte le contexte MDC de la requête.</p>
+ */
+public class BodyCaptureFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BodyCaptureFilter.class);
+
+    private final DataMasker dataMasker;
+
+    // Configuration
+    private int maxBytes = 4096;
+    private boolean includeRequest = true;
+    private boolean includeResponse = true;
+
+    public BodyCaptureFilter(DataMasker dataMasker) {
+        this.dataMasker = dataMasker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+                                    throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CapturingRequest capturingRequest = new CapturingRequest(request,
+            includeRequest && isTextual(request.getContentType()) ? maxBytes : 0);
+        CapturingResponse capturingResponse = new CapturingResponse(response,
+            includeResponse ? maxBytes : 0);
+
+        long startTime = System.nanoTime();
+        try {
+            filterChain.doFilter(capturingRequest, capturingResponse);
+        } finally {
+            capturingResponse.flushWriter();
+            long timeMs = (System.nanoTime() - startTime) / 1_000_000;
+            logExchange(request, response, capturingRequest, capturingResponse, timeMs);
+        }
+    }
+
+    /**
+     * Événement unique et résumé pour l'échange.
+     */
+    private void logExchange(HttpServletRequest request, HttpServletResponse response,
+                             CapturingRequest capturingRequest, CapturingResponse capturingResponse,
+                             long timeMs) {
+        BoundedCapture requestCapture = capturingRequest.capture;
+        BoundedCapture responseCapture = capturingResponse.capture;
+        String responseBody = responseCapture.render(charsetOf(response.getCharacterEncoding()), dataMasker);
+
+        log.info("⇄ HTTP {} {} status={} time={}ms requestBytes={} responseBytes={} requestBody={} responseBody={}",
+            request.getMethod(), request.getRequestURI(), response.getStatus(), timeMs,
+            requestCapture.getTotalBytes(), responseCapture.getTotalBytes(),
+            requestCapture.render(charsetOf(request.getCharacterEncoding()), dataMasker),
+            responseBody);
+    }
+
+    private static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.contains("json") || type.contains("xml") || type.startsWith("text/")
+            || type.startsWith("application/x-www-form-urlencoded");
+    }
+
+    private static Charset charsetOf(String encoding) {
+        if (encoding == null) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (RuntimeException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // WRAPPERS : transmettent les octets et en recopient une fenêtre bornée
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static final class CapturingRequest extends HttpServletRequestWrapper {
+
+        private final BoundedCapture capture;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        CapturingRequest(HttpServletRequest request, int maxBytes) {
+            super(request);
+            this.capture = new BoundedCapture(maxBytes);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new CapturingInputStream(super.getInputStream(), capture);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                    charsetOf(getCharacterEncoding())));
+            }
+            return reader;
+        }
+    }
+
+    private static final class CapturingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final BoundedCapture capture;
+
+        CapturingInputStream(ServletInputStream delegate, BoundedCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                capture.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int count = delegate.read(bytes, offset, length);
+            capture.write(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+
+        private final BoundedCapture capture;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CapturingResponse(HttpServletResponse response, int maxBytes) {
+            super(response);
+            this.capture = new BoundedCapture(maxBytes);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                if (!isTextual(getContentType())) {
+                    capture.stopCapture();
+                }
+                outputStream = new CapturingOutputStream(super.getOutputStream(), capture);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                    charsetOf(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static final class CapturingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final BoundedCapture capture;
+
+        CapturingOutputStream(ServletOutputStream delegate, BoundedCapture capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            capture.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // Setters pour configuration
+    // ══════════════════════════════════════════════════════════════════════════
+
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public void setIncludeRequest(boolean includeRequest) {
+        this.includeRequest = includeRequest;
+    }
+
+    public void setIncludeResponse(boolean includeResponse) {
+        this.includeResponse = includeResponse;
+    }
+
+    // Getters
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public boolean isIncludeRequest() {
+        return includeRequest;
+    }
+
+    public boolean isIncludeResponse() {
+        return includeResponse;
+    }
+}
@@ -0,0 +1,116 @@
+package lcl.afx.logging.filter;
+
+import lcl.afx.logging.masking.DataMasker;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Capture bornée des octets d'un flux HTTP.
+ *
+ * <p>Seuls les {@code maxBytes} premiers octets sont conservés ; les suivants
+ * sont uniquement comptés. Le tampon grandit à la demande jusqu'au plafond :
+ * un upload de plusieurs Mo ne coûte jamais plus de {@code maxBytes} en heap.</p>
+ *
+ * <p>Le masquage n'est PAS incrémental : la fenêtre reste en clair dans le
+ * tampon jusqu'à {@link #render}, car les règles de {@link DataMasker} sont des
+ * expressions régulières qui ont besoin du jeton complet (un PAN peut être
+ * réparti sur plusieurs appels à {@code write}). L'exposition est bornée à
+ * {@code maxBytes} octets par flux, le temps de l'échange ; le tampon n'est
+ * jamais journalisé ni partagé avant masquage.</p>
+ */
+final class BoundedCapture {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Longueur maximale d'une donnée sensible coupée à retirer (IBAN = 34 caractères)
+    private static final int MAX_TRIMMED_TOKEN = 40;
+
+    private int maxBytes;
+    private byte[] buffer;
+    private int length;
+    private long totalBytes;
+
+    BoundedCapture(int maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    void write(int b) {
+        totalBytes++;
+        if (length < maxBytes) {
+            ensureCapacity(length + 1);
+            buffer[length++] = (byte) b;
+        }
+    }
+
+    void write(byte[] bytes, int offset, int count) {
+        if (count <= 0) {
+            return;
+        }
+        totalBytes += count;
+        int kept = Math.min(count, maxBytes - length);
+        if (kept > 0) {
+            ensureCapacity(length + kept);
+            System.arraycopy(bytes, offset, buffer, length, kept);
+            length += kept;
+        }
+    }
+
+    /**
+     * Arrête la recopie (contenu non textuel) : les octets restent comptés.
+     */
+    void stopCapture() {
+        maxBytes = length;
+    }
+
+    long getTotalBytes() {
+        return totalBytes;
+    }
+
+    boolean isTruncated() {
+        return totalBytes > length;
+    }
+
+    /**
+     * Taille du tampon alloué (jamais supérieure à {@code maxBytes}).
+     */
+    int capacity() {
+        return buffer != null ? buffer.length : 0;
+    }
+
+    /**
+     * Rend la fenêtre capturée, masquée.
+     *
+     * <p>En cas de troncature, le dernier jeton alphanumérique (potentiellement
+     * un PAN ou un IBAN coupé que les règles de masquage ne reconnaîtraient plus)
+     * est retiré avant masquage.</p>
+     */
+    String render(Charset charset, DataMasker masker) {
+        if (length == 0) {
+            return "";
+        }
+        int end = length;
+        if (isTruncated()) {
+            int floor = Math.max(0, length - MAX_TRIMMED_TOKEN);
+            while (end > floor && isTokenByte(buffer[end - 1])) {
+                end--;
+            }
+        }
+        String text = new String(buffer, 0, end, charset);
+        String masked = masker != null ? masker.mask(text) : text;
+        return isTruncated() ? masked + "…[truncated]" : masked;
+    }
+
+    private void ensureCapacity(int required) {
+        if (buffer == null) {
+            buffer = new byte[Math.min(maxBytes, Math.max(INITIAL_CAPACITY, required))];
+        } else if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.min(maxBytes, Math.max(buffer.length * 2, required)));
+        }
+    }
+
+    private static boolean isTokenByte(byte b) {
+        return (b >= '0' && b <= '9') || (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z')
+            || b == '-' || b == ' ' || (b & 0x80) != 0;
+    }
+}
@@ -0,0 +1,312 @@
+package lcl.afx.logging.filter;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Ensemble de plages CIDR IPv4/IPv6 compilé en trie binaire de préfixes.
+ *
+ * <p>Compilé une fois au démarrage ; la recherche parse l'adresse directement
+ * dans la chaîne source (sans allocation) puis parcourt au plus 32 (IPv4) ou
+ * 128 (IPv6) nœuds, en s'arrêtant au premier préfixe terminal.</p>
+ *
+ * <pre>
+ * CidrMatcher proxies = CidrMatcher.compile(List.of("10.0.0.0/8", "fc00::/7"));
+ * proxies.matches("10.1.2.3");   // true
+ * </pre>
+ */
+public final class CidrMatcher {
+
+    /**
+     * Matcher vide (aucune adresse de confiance).
+     */
+    public static final CidrMatcher EMPTY = new CidrMatcher();
+
+    private static final int V4_ROOT = 0;
+    private static final int V6_ROOT = 1;
+
+    // children[2n] = fils "0", children[2n + 1] = fils "1" (0 = absent, les racines ne sont jamais des fils)
+    private int[] children = new int[64];
+    private boolean[] terminal = new boolean[32];
+    private int size = 2;
+
+    private CidrMatcher() {
+    }
+
+    /**
+     * Compile une liste de plages CIDR ("10.0.0.0/8", "2001:db8::/32") ou d'adresses seules.
+     *
+     * @throws IllegalArgumentException si une plage est invalide
+     */
+    public static CidrMatcher compile(Collection<String> cidrs) {
+        if (cidrs == null || cidrs.isEmpty()) {
+            return EMPTY;
+        }
+        CidrMatcher matcher = new CidrMatcher();
+        for (String cidr : cidrs) {
+            matcher.add(cidr.trim());
+        }
+        matcher.children = Arrays.copyOf(matcher.children, matcher.size * 2);
+        matcher.terminal = Arrays.copyOf(matcher.terminal, matcher.size);
+        return matcher;
+    }
+
+    public boolean isEmpty() {
+        return size == 2 && !terminal[V4_ROOT] && !terminal[V6_ROOT];
+    }
+
+    public boolean matches(String address) {
+        return address != null && matches(address, 0, address.length());
+    }
+
+    /**
+     * Teste l'adresse contenue dans {@code value[from, to)}.
+     *
+     * @return false si l'adresse n'est pas dans une plage ou n'est pas une adresse IP valide
+     */
+    public boolean matches(CharSequence value, int from, int to) {
+        if (isEmpty()) {
+            return false;
+        }
+        // Adresse entre crochets ("[::1]:8080") ou zone IPv6 ("fe80::1%eth0")
+        if (from < to && value.charAt(from) == '[') {
+            int close = indexOf(value, ']', from, to);
+            if (close < 0) {
+                return false;
+            }
+            from++;
+            to = close;
+        }
+        int zone = indexOf(value, '%', from, to);
+        if (zone >= 0) {
+            to = zone;
+        }
+
+        int colon = indexOf(value, ':', from, to);
+        if (colon < 0 || (indexOf(value, ':', colon + 1, to) < 0 && indexOf(value, '.', from, colon) >= 0)) {
+            // IPv4, éventuellement suivie d'un port ("1.2.3.4:5678")
+            long v4 = parseIpv4(value, from, colon < 0 ? to : colon);
+            return v4 >= 0 && lookup(V4_ROOT, v4 << 32, 0L, 32);
+        }
+        return matchesIpv6(value, from, to);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // TRIE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private boolean lookup(int root, long hi, long lo, int bits) {
+        int node = root;
+        for (int i = 0; i < bits; i++) {
+            if (terminal[node]) {
+                return true;
+            }
+            long word = i < 64 ? hi : lo;
+            int bit = (int) ((word >>> (63 - (i & 63))) & 1L);
+            int next = children[node * 2 + bit];
+            if (next == 0) {
+                return false;
+            }
+            node = next;
+        }
+        return terminal[node];
+    }
+
+    private void add(String cidr) {
+        int slash = cidr.indexOf('/');
+        String address = slash < 0 ? cidr : cidr.substring(0, slash);
+        // Littéral uniquement : InetAddress ne doit jamais faire de résolution DNS
+        if (address.isEmpty() || !address.chars().allMatch(c -> hexDigit((char) c) >= 0 || c == ':' || c == '.')) {
+            throw new IllegalArgumentException("Plage CIDR invalide: " + cidr);
+        }
+        byte[] bytes;
+        try {
+            bytes = InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Plage CIDR invalide: " + cidr, e);
+        }
+        int maxBits = bytes.length * 8;
+        int prefix;
+        try {
+            prefix = slash < 0 ? maxBits : Integer.parseInt(cidr.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Plage CIDR invalide: " + cidr, e);
+        }
+        if (prefix < 0 || prefix > maxBits) {
+            throw new IllegalArgumentException("Plage CIDR invalide: " + cidr);
+        }
+
+        int node = bytes.length == 4 ? V4_ROOT : V6_ROOT;
+        for (int i = 0; i < prefix; i++) {
+            int bit = (bytes[i >> 3] >> (7 - (i & 7))) & 1;
+            int index = node * 2 + bit;
+            if (children[index] == 0) {
+                // newNode() peut réallouer le tableau : l'appeler avant l'affectation
+                int child = newNode();
+                children[index] = child;
+            }
+            node = children[index];
+        }
+        terminal[node] = true;
+    }
+
+    private int newNode() {
+        if (size == terminal.length) {
+            terminal = Arrays.copyOf(terminal, size * 2);
+            children = Arrays.copyOf(children, size * 4);
+        }
+        return size++;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PARSING SANS ALLOCATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Parse une adresse IPv4 pointée, ou -1 si invalide.
+     */
+    static long parseIpv4(CharSequence value, int from, int to) {
+        long result = 0;
+        int octets = 0;
+        int current = -1;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                current = (current < 0 ? 0 : current * 10) + (c - '0');
+                if (current > 255) {
+                    return -1;
+                }
+            } else if (c == '.') {
+                if (current < 0 || octets == 3) {
+                    return -1;
+                }
+                result = (result << 8) | current;
+                octets++;
+                current = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (current < 0 || octets != 3) {
+            return -1;
+        }
+        return (result << 8) | current;
+    }
+
+    private boolean matchesIpv6(CharSequence value, int from, int to) {
+        // Première passe : nombre de groupes avant et après "::"
+        int before = 0;
+        int after = 0;
+        boolean compressed = false;
+        int i = from;
+        if (to - from >= 2 && value.charAt(from) == ':' && value.charAt(from + 1) == ':') {
+            compressed = true;
+            i += 2;
+        }
+        while (i < to) {
+            int end = indexOf(value, ':', i, to);
+            if (end < 0) {
+                end = to;
+            }
+            int groups = indexOf(value, '.', i, end) >= 0 ? 2 : 1;
+            if (compressed) {
+                after += groups;
+            } else {
+                before += groups;
+            }
+            if (end + 1 < to && value.charAt(end + 1) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                end++;
+            }
+            i = end + 1;
+        }
+        int total = before + after;
+        if (total > 8 || (!compressed && total != 8)) {
+            return false;
+        }
+
+        // Deuxième passe : placement des groupes de 16 bits
+        long hi = 0;
+        long lo = 0;
+        int group = 0;
+        i = from;
+        while (i < to) {
+            if (value.charAt(i) == ':') {
+                if (i + 1 < to && value.charAt(i + 1) == ':') {
+                    group = 8 - after;
+                    i += 2;
+                    continue;
+                }
+                i++;
+                continue;
+            }
+            int end = indexOf(value, ':', i, to);
+            if (end < 0) {
+                end = to;
+            }
+            if (indexOf(value, '.', i, end) >= 0) {
+                // IPv4 embarquée ("::ffff:10.0.0.1")
+                long v4 = parseIpv4(value, i, end);
+                if (v4 < 0 || group != 6) {
+                    return false;
+                }
+                lo |= v4;
+                group += 2;
+            } else {
+                int hex = parseHexGroup(value, i, end);
+                if (hex < 0) {
+                    return false;
+                }
+                if (group < 4) {
+                    hi |= ((long) hex) << (48 - group * 16);
+                } else {
+                    lo |= ((long) hex) << (48 - (group - 4) * 16);
+                }
+                group++;
+            }
+            i = end;
+        }
+
+        // IPv4 mappée ("::ffff:a.b.c.d") : tester les plages IPv4
+        if (hi == 0 && (lo >>> 32) == 0xFFFFL) {
+            return lookup(V4_ROOT, lo << 32, 0L, 32);
+        }
+        return lookup(V6_ROOT, hi, lo, 128);
+    }
+
+    private static int parseHexGroup(CharSequence value, int from, int to) {
+        if (to <= from || to - from > 4) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = hexDigit(value.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+    private static int indexOf(CharSequence value, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,97 @@
+package lcl.afx.logging.filter;
+
+/**
+ * Résolution de l'IP client derrière des proxies de confiance.
+ *
+ * <p>Sans proxy de confiance configuré, le comportement historique est conservé
+ * (première entrée de {@code X-Forwarded-For} ou des headers équivalents).</p>
+ *
+ * <p>Avec des proxies de confiance ({@link CidrMatcher}) :</p>
+ * <ul>
+ *   <li>si l'adresse TCP distante n'est pas de confiance, c'est l'IP client</li>
+ *   <li>sinon {@code X-Forwarded-For} est parcouru de droite à gauche, sans
+ *       allocation, jusqu'au premier saut qui n'est pas de confiance</li>
+ *   <li>si tous les sauts sont de confiance, le plus à gauche est retenu</li>
+ * </ul>
+ */
+public final class ClientIpResolver {
+
+    static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    static final String X_REAL_IP = "X-Real-IP";
+
+    /**
+     * Headers lus en mode historique, dans l'ordre de priorité.
+     */
+    static final String[] LEGACY_HEADERS = {
+        X_FORWARDED_FOR,
+        X_REAL_IP,
+        "Proxy-Client-IP",
+        "WL-Proxy-Client-IP",
+        "HTTP_X_FORWARDED_FOR",
+        "HTTP_CLIENT_IP"
+    };
+
+    private final CidrMatcher trustedProxies;
+
+    public ClientIpResolver(CidrMatcher trustedProxies) {
+        this.trustedProxies = trustedProxies != null ? trustedProxies : CidrMatcher.EMPTY;
+    }
+
+    public boolean isTrustedProxyMode() {
+        return !trustedProxies.isEmpty();
+    }
+
+    /**
+     * Résout l'IP client en mode proxies de confiance.
+     *
+     * @param forwardedFor valeur de X-Forwarded-For (peut être null)
+     * @param realIp valeur de X-Real-IP (peut être null)
+     * @param remoteAddr adresse TCP distante
+     */
+    public String resolve(String forwardedFor, String realIp, String remoteAddr) {
+        if (!trustedProxies.matches(remoteAddr)) {
+            return remoteAddr;
+        }
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return isPresent(realIp) ? realIp.trim() : remoteAddr;
+        }
+
+        // Parcours de droite à gauche : [start, end) délimite le saut courant
+        int end = forwardedFor.length();
+        int leftmostStart = -1;
+        int leftmostEnd = -1;
+        while (end > 0) {
+            int comma = forwardedFor.lastIndexOf(',', end - 1);
+            int start = comma + 1;
+            int hopStart = start;
+            int hopEnd = end;
+            while (hopStart < hopEnd && forwardedFor.charAt(hopStart) <= ' ') {
+                hopStart++;
+            }
+            while (hopEnd > hopStart && forwardedFor.charAt(hopEnd - 1) <= ' ') {
+                hopEnd--;
+            }
+            if (hopStart < hopEnd) {
+                if (!trustedProxies.matches(forwardedFor, hopStart, hopEnd)) {
+                    return forwardedFor.substring(hopStart, hopEnd);
+                }
+                leftmostStart = hopStart;
+                leftmostEnd = hopEnd;
+            }
+            end = comma;
+        }
+        return leftmostStart >= 0 ? forwardedFor.substring(leftmostStart, leftmostEnd) : remoteAddr;
+    }
+
+    /**
+     * Première IP d'une valeur de header (comportement historique).
+     */
+    public static String firstHop(String value) {
+        int comma = value.indexOf(',');
+        return comma < 0 ? value : value.substring(0, comma).trim();
+    }
+
+    static boolean isPresent(String ip) {
+        return ip != null && !ip.isBlank() && !"unknown".equalsIgnoreCase(ip);
+    }
+}
@@ -4,7 +4,14 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lcl.afx.logging.digest.RequestDigest;
+import lcl.afx.logging.jdbc.QueryScopes;
+import lcl.afx.logging.mdc.CorrelationContext;
 import lcl.afx.logging.mdc.MdcKeys;
+import lcl.afx.logging.tail.TailBuffer;
+import lcl.afx.logging.user.UserIdResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -21,7 +28,12 @@ import java.util.UUID;
  *   <li>Génère ou lit le correlation ID depuis les headers</li>
  *   <li>Extrait l'IP client (proxy-aware)</li>
  *   <li>Enrichit le MDC avec request_uri, request_method, user_id</li>
+ *   <li>Installe le {@link CorrelationContext} appliqué par les intercepteurs sortants</li>
  *   <li>Propage le correlation ID dans la réponse</li>
+ *   <li>Émet en fin de requête un DIGEST des opérations @PaymentLog (si activé)</li>
+ *   <li>Ouvre la portée de détection N+1 de la requête ({@link QueryScopes}, si JDBC instrumenté)</li>
+ *   <li>Retient les événements DEBUG de la requête ({@link TailBuffer}) et ne
+ *       les émet que si elle échoue ou est lente (si activé)</li>
  * </ul>
  * 
  * <p>S'exécute en premier (HIGHEST_PRECEDENCE) pour que tous les logs
@@ -30,40 +42,125 @@ import java.util.UUID;
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class CorrelationIdFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(CorrelationIdFilter.class);
+
     // Configuration
     private boolean includeClientIp = true;
     private boolean includeRequestUri = true;
     private boolean generateIfMissing = true;
     private String correlationIdHeader = MdcKeys.HEADER_CORRELATION_ID;
+    private UserIdResolver userIdResolver = UserIdResolver.springSecurityIfPresent();
+    private ClientIpResolver clientIpResolver = new ClientIpResolver(CidrMatcher.EMPTY);
+    private boolean digestEnabled = false;
+    private int digestCapacity = RequestDigest.DEFAULT_CAPACITY;
+    private boolean traceparentEnabled = false;
+    private boolean tailEnabled = false;
+    private int tailCapacity = TailBuffer.DEFAULT_CAPACITY;
+    private long tailSlowThresholdMs = 1000L;
+    private boolean jdbcEnabled = false;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain)
                                     throws ServletException, IOException {
+        RequestDigest digest = null;
+        QueryScopes queries = null;
+        TailBuffer tail = null;
+        CorrelationContext previousContext = null;
+        boolean completed = false;
+        long startTime = System.nanoTime();
         try {
             // 1. Enrichir le MDC avec le contexte de la requête
-            setupMdc(request);
+            CorrelationContext context = setupMdc(request);
+            previousContext = context.install();
+            if (digestEnabled) {
+                digest = RequestDigest.begin(digestCapacity);
+            }
+            if (jdbcEnabled) {
+                queries = QueryScopes.current();
+                queries.enter(request.getMethod() + " " + request.getRequestURI());
+            }
+            if (tailEnabled) {
+                tail = TailBuffer.begin(tailCapacity);
+            }
 
             // 2. Propager le correlation ID dans la réponse
-            String correlationId = MDC.get(MdcKeys.CORRELATION_ID);
+            String correlationId = context.getCorrelationId();
             if (correlationId != null) {
                 response.setHeader(correlationIdHeader, correlationId);
             }
 
             // 3. Continuer la chaîne de filtres
             filterChain.doFilter(request, response);
+            completed = true;
 
         } finally {
-            // 4. TOUJOURS nettoyer le MDC (éviter les fuites entre threads)
-            clearMdc();
+            try {
+                // 4. Signaler les N+1, vider le tampon de fin de requête puis émettre
+                //    le DIGEST de la requête (avant le nettoyage du MDC)
+                long timeMs = (System.nanoTime() - startTime) / 1_000_000;
+                if (queries != null) {
+                    queries.exit();
+                }
+                if (tail != null) {
+                    endTail(request, response, tail, completed, timeMs);
+                }
+                if (digest != null) {
+                    digest.end();
+                    logDigest(request, response, digest, timeMs);
+                }
+            } finally {
+                // 5. TOUJOURS nettoyer le MDC (éviter les fuites entre threads),
+                //    même si un appender échoue pendant le vidage
+                clearMdc();
+                CorrelationContext.restore(previousContext);
+            }
+        }
+    }
+
+    /**
+     * Émet un événement unique résumant les opérations de la requête.
+     */
+    private void logDigest(HttpServletRequest request, HttpServletResponse response,
+                           RequestDigest digest, long timeMs) {
+        String jdbc = digest.getJdbcActivity();
+        if (digest.getOperationCount() == 0 && jdbc == null) {
+            return;
+        }
+        log.info("◆ DIGEST {} {} status={} time={}ms operations={} {}{}",
+            request.getMethod(), request.getRequestURI(), response.getStatus(), timeMs,
+            digest.getOperationCount(), digest, jdbc != null ? " " + jdbc : "");
+    }
+
+    /**
+     * Émet les événements retenus si la requête a échoué ou dépassé son seuil,
+     * les abandonne sans les formater sinon.
+     */
+    private void endTail(HttpServletRequest request, HttpServletResponse response,
+                         TailBuffer tail, boolean completed, long timeMs) {
+        tail.end();
+        String reason = !completed ? "EXCEPTION"
+            : response.getStatus() >= 500 ? "STATUS"
+            : tail.isErrorLogged() ? "ERROR"
+            : timeMs > tailSlowThresholdMs ? "SLOW"
+            : null;
+        if (reason == null || tail.getSize() == 0) {
+            tail.discard();
+            return;
         }
+        log.warn("▼ TAIL {} {} status={} time={}ms reason={} events={}{}",
+            request.getMethod(), request.getRequestURI(), response.getStatus(), timeMs, reason,
+            tail.getSize(), tail.getDropped() > 0 ? " dropped=" + tail.getDropped() : "");
+        tail.flush();
     }
 
     /**
      * Configure le MDC avec le contexte de la requête.
+     *
+     * @return le contexte de corrélation à propager
      */
-    private void setupMdc(HttpServletRequest request) {
+    private CorrelationContext setupMdc(HttpServletRequest request) {
         // ══════════════════════════════════════════════════════════════════════
         // Correlation ID : lire des headers ou générer
         // ══════════════════════════════════════════════════════════════════════
@@ -102,69 +199,56 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
         }
 
         // ══════════════════════════════════════════════════════════════════════
-        // User ID (depuis Spring Security si disponible)
+        // User ID (stratégie résolue au démarrage, Spring Security par défaut)
         // ══════════════════════════════════════════════════════════════════════
-        extractUserId();
+        String userId = extractUserId(request);
+
+        // ══════════════════════════════════════════════════════════════════════
+        // Contexte sortant (headers pré-construits, traceparent optionnel)
+        // ══════════════════════════════════════════════════════════════════════
+        String traceparent = traceparentEnabled
+            ? CorrelationContext.traceparent(request.getHeader(MdcKeys.HEADER_TRACEPARENT))
+            : null;
+        return CorrelationContext.of(correlationId,
+            transactionId != null && !transactionId.isBlank() ? transactionId : null,
+            userId, traceparent);
     }
 
     /**
      * Extrait l'IP client en tenant compte des proxies et load balancers.
      */
     private String extractClientIp(HttpServletRequest request) {
-        String[] headers = {
-            "X-Forwarded-For",
-            "X-Real-IP",
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR",
-            "HTTP_CLIENT_IP"
-        };
-
-        for (String header : headers) {
+        if (clientIpResolver.isTrustedProxyMode()) {
+            return clientIpResolver.resolve(
+                request.getHeader(ClientIpResolver.X_FORWARDED_FOR),
+                request.getHeader(ClientIpResolver.X_REAL_IP),
+                request.getRemoteAddr());
+        }
+
+        for (String header : ClientIpResolver.LEGACY_HEADERS) {
             String ip = request.getHeader(header);
-            if (ip != null && !ip.isBlank() && !"unknown".equalsIgnoreCase(ip)) {
+            if (ClientIpResolver.isPresent(ip)) {
                 // X-Forwarded-For peut contenir plusieurs IPs (client, proxy1, proxy2)
-                // On prend la première (le client original)
-                return ip.contains(",") ? ip.split(",")[0].trim() : ip;
+                // Sans proxy de confiance configuré, on prend la première
+                return ClientIpResolver.firstHop(ip);
             }
         }
         return request.getRemoteAddr();
     }
 
     /**
-     * Extrait le user ID depuis Spring Security si disponible.
+     * Extrait le user ID via le {@link UserIdResolver} configuré.
      */
-    private void extractUserId() {
+    private String extractUserId(HttpServletRequest request) {
         try {
-            // Utilisation de reflection pour éviter la dépendance obligatoire
-            Class<?> securityContextHolderClass = Class.forName(
-                "org.springframework.security.core.context.SecurityContextHolder");
-            Object context = securityContextHolderClass.getMethod("getContext").invoke(null);
-            
-            if (context != null) {
-                Object authentication = context.getClass().getMethod("getAuthentication").invoke(context);
-                if (authentication != null) {
-                    Boolean isAuthenticated = (Boolean) authentication.getClass()
-                        .getMethod("isAuthenticated").invoke(authentication);
-                    Object principal = authentication.getClass()
-                        .getMethod("getPrincipal").invoke(authentication);
-                    
-                    if (Boolean.TRUE.equals(isAuthenticated) 
-                        && principal != null 
-                        && !"anonymousUser".equals(principal.toString())) {
-                        
-                        String name = (String) authentication.getClass()
-                            .getMethod("getName").invoke(authentication);
-                        if (name != null && !name.isBlank()) {
-                            MDC.put(MdcKeys.USER_ID, name);
-                        }
-                    }
-                }
+            String userId = userIdResolver.resolveUserId(request);
+            if (userId != null) {
+                MDC.put(MdcKeys.USER_ID, userId);
             }
-        } catch (ClassNotFoundException e) {
-            // Spring Security pas sur le classpath - ignorer silencieusement
-        } catch (Exception e) {
-            // Autre erreur - ignorer silencieusement
+            return userId;
+        } catch (RuntimeException e) {
+            // Le user ID est optionnel - ignorer silencieusement
+            return null;
         }
     }
 
@@ -200,6 +284,67 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
         this.correlationIdHeader = correlationIdHeader;
     }
 
+    /**
+     * Active l'événement DIGEST par requête.
+     */
+    public void setDigestEnabled(boolean digestEnabled) {
+        this.digestEnabled = digestEnabled;
+    }
+
+    /**
+     * Nombre maximal d'opérations détaillées dans le DIGEST.
+     */
+    public void setDigestCapacity(int digestCapacity) {
+        this.digestCapacity = digestCapacity;
+    }
+
+    /**
+     * Ajoute un header W3C {@code traceparent} aux appels sortants.
+     */
+    public void setTraceparentEnabled(boolean traceparentEnabled) {
+        this.traceparentEnabled = traceparentEnabled;
+    }
+
+    /**
+     * Active la capture des événements DEBUG par requête ({@link TailBuffer}).
+     * Nécessite le {@code TailCaptureFilter} Logback.
+     */
+    public void setTailEnabled(boolean tailEnabled) {
+        this.tailEnabled = tailEnabled;
+    }
+
+    /**
+     * Nombre maximal d'événements retenus par requête (les plus anciens sont remplacés).
+     */
+    public void setTailCapacity(int tailCapacity) {
+        this.tailCapacity = tailCapacity;
+    }
+
+    /**
+     * Durée au-delà de laquelle une requête réussie émet ses événements retenus.
+     */
+    public void setTailSlowThresholdMs(long tailSlowThresholdMs) {
+        this.tailSlowThresholdMs = tailSlowThresholdMs;
+    }
+
+    /**
+     * Ouvre une portée de détection N+1 par requête (DataSource instrumentées).
+     */
+    public void setJdbcEnabled(boolean jdbcEnabled) {
+        this.jdbcEnabled = jdbcEnabled;
+    }
+
+    /**
+     * Proxies de confiance (plages CIDR compilées au démarrage).
+     */
+    public void setTrustedProxies(CidrMatcher trustedProxies) {
+        this.clientIpResolver = new ClientIpResolver(trustedProxies);
+    }
+
+    public void setUserIdResolver(UserIdResolver userIdResolver) {
+        this.userIdResolver = userIdResolver != null ? userIdResolver : UserIdResolver.NONE;
+    }
+
     // Getters
     public boolean isIncludeClientIp() {
         return includeClientIp;
@@ -216,4 +361,32 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
     public String getCorrelationIdHeader() {
         return correlationIdHeader;
     }
+
+    public boolean isDigestEnabled() {
+        return digestEnabled;
+    }
+
+    public int getDigestCapacity() {
+        return digestCapacity;
+    }
+
+    public boolean isTraceparentEnabled() {
+        return traceparentEnabled;
+    }
+
+    public boolean isTailEnabled() {
+        return tailEnabled;
+    }
+
+    public int getTailCapacity() {
+        return tailCapacity;
+    }
+
+    public long getTailSlowThresholdMs() {
+        return tailSlowThresholdMs;
+    }
+
+    public UserIdResolver getUserIdResolver() {
+        return userIdResolver;
+    }
 }
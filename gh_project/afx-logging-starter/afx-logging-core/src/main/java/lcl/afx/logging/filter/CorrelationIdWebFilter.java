@@ -0,0 +1,251 @@
+package lcl.afx.logging.filter;
+
+import lcl.afx.logging.mdc.CorrelationContext;
+import lcl.afx.logging.mdc.MdcKeys;
+import lcl.afx.logging.mdc.MdcSnapshot;
+import lcl.afx.logging.user.ReactiveUserIdResolver;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Équivalent réactif (WebFlux) de {@link CorrelationIdFilter}.
+ *
+ * <p>Ce filtre:</p>
+ * <ul>
+ *   <li>Génère ou lit le correlation ID depuis les headers</li>
+ *   <li>Construit un {@link MdcSnapshot} immuable (correlation_id, transaction_id,
+ *       user_id, client_ip, request_uri, request_method)</li>
+ *   <li>Le place dans le {@code Context} Reactor sous la clé {@link #CONTEXT_KEY},
+ *       avec le {@link CorrelationContext} des appels sortants</li>
+ *   <li>Propage le correlation ID dans la réponse</li>
+ * </ul>
+ *
+ * <p>Aucun ThreadLocal n'est écrit par opérateur : le MDC n'est installé que
+ * autour des appels de log, via {@link ReactiveMdc}. Le filtre ne fait aucun
+ * appel bloquant (UUID généré sans {@code SecureRandom}).</p>
+ *
+ * <p>Le user ID est résolu par un {@link ReactiveUserIdResolver} (header ou
+ * claim JWT) ; la source Spring Security n'est pas supportée en réactif.</p>
+ */
+public class CorrelationIdWebFilter implements WebFilter, Ordered {
+
+    /**
+     * Clé du {@link MdcSnapshot} dans le {@code Context} Reactor.
+     */
+    public static final String CONTEXT_KEY = MdcSnapshot.class.getName();
+
+    // Configuration
+    private boolean includeClientIp = true;
+    private boolean includeRequestUri = true;
+    private boolean generateIfMissing = true;
+    private String correlationIdHeader = MdcKeys.HEADER_CORRELATION_ID;
+    private ClientIpResolver clientIpResolver = new ClientIpResolver(CidrMatcher.EMPTY);
+    private boolean traceparentEnabled = false;
+    private ReactiveUserIdResolver userIdResolver = ReactiveUserIdResolver.NONE;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // 1. Construire le contexte de la requête
+        MdcSnapshot snapshot = buildContext(exchange.getRequest());
+
+        // 2. Propager le correlation ID dans la réponse
+        String correlationId = snapshot.get(MdcKeys.CORRELATION_ID);
+        if (correlationId != null) {
+            exchange.getResponse().getHeaders().set(correlationIdHeader, correlationId);
+        }
+
+        // 3. Contexte des appels sortants (headers pré-construits)
+        String traceparent = traceparentEnabled
+            ? CorrelationContext.traceparent(
+                exchange.getRequest().getHeaders().getFirst(MdcKeys.HEADER_TRACEPARENT))
+            : null;
+        CorrelationContext correlationContext = CorrelationContext.of(correlationId,
+            snapshot.get(MdcKeys.TRANSACTION_ID), snapshot.get(MdcKeys.USER_ID), traceparent);
+
+        // 4. Continuer la chaîne avec les contextes dans le Context Reactor
+        return chain.filter(exchange)
+            .contextWrite(context -> context
+                .put(CONTEXT_KEY, snapshot)
+                .put(CorrelationContext.CONTEXT_KEY, correlationContext));
+    }
+
+    /**
+     * Construit le contexte immuable de la requête.
+     */
+    private MdcSnapshot buildContext(ServerHttpRequest request) {
+        Map<String, String> context = new HashMap<>(8);
+
+        // ══════════════════════════════════════════════════════════════════════
+        // Correlation ID : lire des headers ou générer
+        // ══════════════════════════════════════════════════════════════════════
+        String correlationId = request.getHeaders().getFirst(correlationIdHeader);
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = request.getHeaders().getFirst(MdcKeys.HEADER_REQUEST_ID);
+        }
+        if ((correlationId == null || correlationId.isBlank()) && generateIfMissing) {
+            correlationId = randomUuid();
+        }
+        if (correlationId != null) {
+            context.put(MdcKeys.CORRELATION_ID, correlationId);
+        }
+
+        // ══════════════════════════════════════════════════════════════════════
+        // Transaction ID (optionnel, depuis header)
+        // ══════════════════════════════════════════════════════════════════════
+        String transactionId = request.getHeaders().getFirst(MdcKeys.HEADER_TRANSACTION_ID);
+        if (transactionId != null && !transactionId.isBlank()) {
+            context.put(MdcKeys.TRANSACTION_ID, transactionId);
+        }
+
+        // ══════════════════════════════════════════════════════════════════════
+        // User ID (header ou claim JWT)
+        // ══════════════════════════════════════════════════════════════════════
+        String userId = userIdResolver.resolveUserId(request);
+        if (userId != null) {
+            context.put(MdcKeys.USER_ID, userId);
+        }
+
+        // ══════════════════════════════════════════════════════════════════════
+        // Client IP (proxy-aware)
+        // ══════════════════════════════════════════════════════════════════════
+        if (includeClientIp) {
+            String clientIp = extractClientIp(request);
+            if (clientIp != null) {
+                context.put(MdcKeys.CLIENT_IP, clientIp);
+            }
+        }
+
+        // ══════════════════════════════════════════════════════════════════════
+        // Request URI et Method
+        // ══════════════════════════════════════════════════════════════════════
+        if (includeRequestUri) {
+            context.put(MdcKeys.REQUEST_URI, request.getPath().value());
+            context.put(MdcKeys.REQUEST_METHOD, request.getMethod().name());
+        }
+
+        return MdcSnapshot.of(context);
+    }
+
+    /**
+     * Extrait l'IP client en tenant compte des proxies et load balancers.
+     */
+    private String extractClientIp(ServerHttpRequest request) {
+        String remoteAddr = remoteAddress(request);
+        if (clientIpResolver.isTrustedProxyMode()) {
+            return clientIpResolver.resolve(
+                request.getHeaders().getFirst(ClientIpResolver.X_FORWARDED_FOR),
+                request.getHeaders().getFirst(ClientIpResolver.X_REAL_IP),
+                remoteAddr);
+        }
+
+        for (String header : ClientIpResolver.LEGACY_HEADERS) {
+            String ip = request.getHeaders().getFirst(header);
+            if (ClientIpResolver.isPresent(ip)) {
+                return ClientIpResolver.firstHop(ip);
+            }
+        }
+        return remoteAddr;
+    }
+
+    private String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        return remoteAddress.getAddress() != null
+            ? remoteAddress.getAddress().getHostAddress()
+            : remoteAddress.getHostString();
+    }
+
+    /**
+     * UUID v4 sans {@code SecureRandom} (pas d'accès potentiellement bloquant
+     * à la source d'entropie sur l'event loop).
+     */
+    private static String randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // Setters pour configuration
+    // ══════════════════════════════════════════════════════════════════════════
+
+    public void setIncludeClientIp(boolean includeClientIp) {
+        this.includeClientIp = includeClientIp;
+    }
+
+    public void setIncludeRequestUri(boolean includeRequestUri) {
+        this.includeRequestUri = includeRequestUri;
+    }
+
+    public void setGenerateIfMissing(boolean generateIfMissing) {
+        this.generateIfMissing = generateIfMissing;
+    }
+
+    public void setCorrelationIdHeader(String correlationIdHeader) {
+        this.correlationIdHeader = correlationIdHeader;
+    }
+
+    /**
+     * Ajoute un header W3C {@code traceparent} aux appels sortants.
+     */
+    public void setTraceparentEnabled(boolean traceparentEnabled) {
+        this.traceparentEnabled = traceparentEnabled;
+    }
+
+    /**
+     * Proxies de confiance (plages CIDR compilées au démarrage).
+     */
+    public void setTrustedProxies(CidrMatcher trustedProxies) {
+        this.clientIpResolver = new ClientIpResolver(trustedProxies);
+    }
+
+    /**
+     * Stratégie d'extraction du user ID (résolue au démarrage).
+     */
+    public void setUserIdResolver(ReactiveUserIdResolver userIdResolver) {
+        this.userIdResolver = userIdResolver != null ? userIdResolver : ReactiveUserIdResolver.NONE;
+    }
+
+    // Getters
+    public boolean isIncludeClientIp() {
+        return includeClientIp;
+    }
+
+    public boolean isIncludeRequestUri() {
+        return includeRequestUri;
+    }
+
+    public boolean isGenerateIfMissing() {
+        return generateIfMissing;
+    }
+
+    public String getCorrelationIdHeader() {
+        return correlationIdHeader;
+    }
+
+    public boolean isTraceparentEnabled() {
+        return traceparentEnabled;
+    }
+
+    public ReactiveUserIdResolver getUserIdResolver() {
+        return userIdResolver;
+    }
+}
@@ -0,0 +1,74 @@
+package lcl.afx.logging.filter;
+
+import lcl.afx.logging.mdc.MdcSnapshot;
+import reactor.core.publisher.Signal;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Pont entre le {@code Context} Reactor et le MDC, limité aux appels de log.
+ *
+ * <p>Le MDC n'est installé que le temps de l'instruction de log puis le
+ * contexte précédent du thread est restauré : aucune écriture ThreadLocal
+ * n'est faite sur les autres opérateurs de la chaîne.</p>
+ *
+ * <pre>
+ * return transferRepository.save(transfer)
+ *     .doOnEach(ReactiveMdc.logOnNext(t -&gt; log.info("Virement enregistré {}", t.getId())))
+ *     .doOnEach(ReactiveMdc.logOnError(e -&gt; log.error("Échec du virement", e)));
+ * </pre>
+ */
+public final class ReactiveMdc {
+
+    private ReactiveMdc() {
+        // Utility class
+    }
+
+    /**
+     * Exécute l'instruction de log sur onNext avec le MDC de la requête.
+     */
+    public static <T> Consumer<Signal<T>> logOnNext(Consumer<T> logStatement) {
+        return signal -> {
+            if (signal.isOnNext()) {
+                withMdc(signal.getContextView(), () -> logStatement.accept(signal.get()));
+            }
+        };
+    }
+
+    /**
+     * Exécute l'instruction de log sur onError avec le MDC de la requête.
+     */
+    public static <T> Consumer<Signal<T>> logOnError(Consumer<Throwable> logStatement) {
+        return signal -> {
+            if (signal.isOnError()) {
+                withMdc(signal.getContextView(), () -> logStatement.accept(signal.getThrowable()));
+            }
+        };
+    }
+
+    /**
+     * Exécute l'instruction de log avec le MDC porté par le contexte Reactor.
+     */
+    public static void withMdc(ContextView context, Runnable logStatement) {
+        MdcSnapshot snapshot = snapshot(context);
+        if (snapshot.isEmpty()) {
+            logStatement.run();
+            return;
+        }
+        Map<String, String> previous = snapshot.install();
+        try {
+            logStatement.run();
+        } finally {
+            snapshot.restore(previous);
+        }
+    }
+
+    /**
+     * Contexte de la requête posé par {@link CorrelationIdWebFilter}.
+     */
+    public static MdcSnapshot snapshot(ContextView context) {
+        return context.getOrDefault(CorrelationIdWebFilter.CONTEXT_KEY, MdcSnapshot.EMPTY);
+    }
+}
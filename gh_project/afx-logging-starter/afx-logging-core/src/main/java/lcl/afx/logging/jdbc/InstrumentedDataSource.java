@@ -0,0 +1,214 @@
+package lcl.afx.logging.jdbc;
+
+import lcl.afx.logging.masking.DataMasker;
+import lcl.afx.logging.mdc.MdcKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * {@link DataSource} mesurant l'activité JDBC du thread appelant : requêtes et
+ * leur durée, lots ({@code executeBatch}) et leur taille, lignes lues,
+ * connexions obtenues et attente du pool.
+ *
+ * <p>Les compteurs sont cumulés dans {@link JdbcActivity} et rattachés à
+ * l'opération {@code @PaymentLog} englobante (lignes EXIT / SLOW) et au DIGEST
+ * de la requête. Le texte SQL n'est ni copié ni masqué, sauf pour une requête
+ * dépassant le seuil :</p>
+ *
+ * <pre>
+ * ⚠ SLOW SQL [SEPA_TRANSFER] 820ms > threshold 500ms sql=update account set balance=? where iban=?
+ * </pre>
+ *
+ * <p>Chaque requête préparée est aussi comptée par forme normalisée dans les
+ * portées de {@link QueryScopes} (détection N+1, seuil
+ * {@code nPlusOneThreshold}, 0 : désactivée).</p>
+ *
+ * <p>{@link #unwrap} donne accès à la source d'origine (pool Hikari, etc.).</p>
+ */
+public class InstrumentedDataSource implements DataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedDataSource.class);
+
+    private final DataSource delegate;
+    private final DataMasker dataMasker;
+
+    // Configuration
+    private long slowStatementThresholdMs = 500L;
+    private int maxSqlLength = 1000;
+    private int nPlusOneThreshold = 10;
+    private SqlShapes sqlShapes = new SqlShapes(2048, maxSqlLength);
+
+    /**
+     * @param dataMasker masquage du texte SQL des requêtes lentes (null : aucun)
+     */
+    public InstrumentedDataSource(DataSource delegate, DataMasker dataMasker) {
+        this.delegate = delegate;
+        this.dataMasker = dataMasker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection();
+        JdbcActivity.current().connection(System.nanoTime() - start);
+        return new InstrumentedConnection(connection, this);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection(username, password);
+        JdbcActivity.current().connection(System.nanoTime() - start);
+        return new InstrumentedConnection(connection, this);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ENREGISTREMENT (requêtes instrumentées)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Enregistre une exécution terminée.
+     *
+     * @param sql        texte SQL (référence, copié seulement si la requête est lente)
+     * @param batchSize  nombre de requêtes du lot, ou -1 hors {@code executeBatch}
+     */
+    void executed(String sql, long nanos, int batchSize) {
+        long timeMs = nanos / 1_000_000;
+        boolean slow = timeMs > slowStatementThresholdMs;
+        JdbcActivity activity = JdbcActivity.current();
+        if (batchSize >= 0) {
+            activity.batch(batchSize, nanos, slow);
+        } else {
+            activity.statement(nanos, slow);
+        }
+        // Lots exclus : un executeBatch de N lignes n'est pas un N+1
+        if (nPlusOneThreshold > 0 && batchSize < 0 && sql != null) {
+            QueryScopes scopes = QueryScopes.current();
+            if (scopes.getDepth() > 0) {
+                scopes.record(sqlShapes.of(sql), nPlusOneThreshold);
+            }
+        }
+        if (slow && log.isWarnEnabled()) {
+            log.warn("⚠ SLOW SQL [{}] {}ms > threshold {}ms{} sql={}",
+                MDC.get(MdcKeys.OPERATION), timeMs, slowStatementThresholdMs,
+                batchSize >= 0 ? " batch=" + batchSize : "", render(sql));
+        }
+    }
+
+    private String render(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String text = sql.length() > maxSqlLength
+            ? sql.substring(0, maxSqlLength) + "…(" + sql.length() + " caractères)"
+            : sql;
+        text = text.replaceAll("\\s+", " ").trim();
+        return dataMasker != null ? dataMasker.mask(text) : text;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // DÉLÉGATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    public DataSource getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        if (iface.isInstance(delegate)) {
+            return (T) delegate;
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // Setters pour configuration
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Durée au-delà de laquelle une requête est journalisée avec son texte SQL.
+     */
+    public void setSlowStatementThresholdMs(long slowStatementThresholdMs) {
+        this.slowStatementThresholdMs = slowStatementThresholdMs;
+    }
+
+    /**
+     * Longueur maximale du texte SQL journalisé.
+     */
+    public void setMaxSqlLength(int maxSqlLength) {
+        this.maxSqlLength = maxSqlLength;
+    }
+
+    /**
+     * Exécutions d'une même forme de requête à partir desquelles une requête
+     * HTTP ou une opération est signalée N+1 (0 : détection désactivée).
+     */
+    public void setNPlusOneThreshold(int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    /**
+     * Cache des formes normalisées (partageable entre sources de données).
+     */
+    public void setSqlShapes(SqlShapes sqlShapes) {
+        this.sqlShapes = sqlShapes;
+    }
+
+    public long getSlowStatementThresholdMs() {
+        return slowStatementThresholdMs;
+    }
+
+    public int getMaxSqlLength() {
+        return maxSqlLength;
+    }
+
+    public int getNPlusOneThreshold() {
+        return nPlusOneThreshold;
+    }
+
+    public SqlShapes getSqlShapes() {
+        return sqlShapes;
+    }
+}
@@ -0,0 +1,421 @@
+package lcl.afx.logging.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Requête mesurée : chaque exécution est enregistrée par
+ * {@link InstrumentedDataSource#executed} (durée, lot, forme SQL), les curseurs
+ * rendus comptent leurs lignes ({@link InstrumentedResultSet}). Les autres
+ * méthodes sont déléguées directement au driver.
+ */
+class InstrumentedStatement implements Statement {
+
+    private final Statement target;
+    private final InstrumentedDataSource dataSource;
+    private final Connection connection;
+    // Texte des requêtes préparées (null : texte passé à chaque exécution)
+    final String sql;
+    int pendingBatch;
+
+    InstrumentedStatement(Statement target, String sql, InstrumentedDataSource dataSource, Connection connection) {
+        this.target = target;
+        this.sql = sql;
+        this.dataSource = dataSource;
+        this.connection = connection;
+    }
+
+    /**
+     * Curseur dont les lignes lues sont comptées (null conservé).
+     */
+    final ResultSet resultSet(ResultSet resultSet) {
+        return resultSet != null ? new InstrumentedResultSet(resultSet, this) : null;
+    }
+
+    /**
+     * Enregistre une exécution hors lot démarrée à {@code start}.
+     */
+    final void executed(String text, long start) {
+        dataSource.executed(text, System.nanoTime() - start, -1);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // EXÉCUTIONS MESURÉES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return resultSet(target.executeQuery(sql));
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql, autoGeneratedKeys);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql, columnIndexes);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeUpdate(sql, columnNames);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql, autoGeneratedKeys);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql, columnIndexes);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.execute(sql, columnNames);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql, autoGeneratedKeys);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql, columnIndexes);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeUpdate(sql, columnNames);
+        } finally {
+            executed(sql, start);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // LOTS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        target.addBatch(sql);
+        pendingBatch++;
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        target.clearBatch();
+        pendingBatch = 0;
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        int size = pendingBatch;
+        pendingBatch = 0;
+        long start = System.nanoTime();
+        try {
+            return target.executeBatch();
+        } finally {
+            dataSource.executed(sql, System.nanoTime() - start, size);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        int size = pendingBatch;
+        pendingBatch = 0;
+        long start = System.nanoTime();
+        try {
+            return target.executeLargeBatch();
+        } finally {
+            dataSource.executed(sql, System.nanoTime() - start, size);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CURSEUR, CONNEXION, WRAPPER
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return resultSet(target.getResultSet());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(target) ? iface.cast(target) : target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(target) || target.isWrapperFor(iface);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // DÉLÉGATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public void close() throws SQLException {
+        target.close();
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return target.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        target.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return target.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        target.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        target.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return target.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        target.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        target.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return target.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        target.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        target.setCursorName(name);
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return target.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return target.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        target.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return target.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        target.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return target.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return target.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return target.getResultSetType();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return target.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return target.getGeneratedKeys();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return target.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return target.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        target.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return target.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        target.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return target.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return target.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        target.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return target.getLargeMaxRows();
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return target.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return target.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return target.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return target.enquoteNCharLiteral(val);
+    }
+}
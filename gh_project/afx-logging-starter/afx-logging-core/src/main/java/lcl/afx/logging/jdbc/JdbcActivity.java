@@ -0,0 +1,138 @@
+package lcl.afx.logging.jdbc;
+
+/**
+ * Compteurs JDBC cumulés du thread courant, alimentés par
+ * {@link InstrumentedDataSource}.
+ *
+ * <p>Jamais remis à zéro : une opération {@code @PaymentLog} ou une requête
+ * copie les compteurs à son début ({@link #copyTo}) et journalise la
+ * différence à sa fin ({@link #since}). Les copies sont faites dans des
+ * tableaux préalloués par l'appelant : aucun objet n'est créé par opération.</p>
+ *
+ * <pre>
+ * jdbc[statements=3 time=12ms batches=1(50) rows=120 connections=1 poolWait=0ms slow=0]
+ * </pre>
+ */
+public final class JdbcActivity {
+
+    /**
+     * Nombre de compteurs copiés par {@link #copyTo}.
+     */
+    public static final int FIELDS = 8;
+
+    private static final ThreadLocal<JdbcActivity> CURRENT = ThreadLocal.withInitial(JdbcActivity::new);
+
+    private long statements;
+    private long statementNanos;
+    private long batches;
+    private long batchedStatements;
+    private long rows;
+    private long connections;
+    private long connectionWaitNanos;
+    private long slowStatements;
+
+    private JdbcActivity() {
+    }
+
+    /**
+     * Compteurs du thread courant.
+     */
+    public static JdbcActivity current() {
+        return CURRENT.get();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ENREGISTREMENT (InstrumentedDataSource)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    void statement(long nanos, boolean slow) {
+        statements++;
+        statementNanos += nanos;
+        if (slow) {
+            slowStatements++;
+        }
+    }
+
+    void batch(int size, long nanos, boolean slow) {
+        batches++;
+        batchedStatements += size;
+        statement(nanos, slow);
+    }
+
+    void row() {
+        rows++;
+    }
+
+    void connection(long waitNanos) {
+        connections++;
+        connectionWaitNanos += waitNanos;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COPIE / DIFFÉRENCE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Copie les compteurs dans {@code target[offset .. offset + FIELDS)}.
+     */
+    public void copyTo(long[] target, int offset) {
+        target[offset] = statements;
+        target[offset + 1] = statementNanos;
+        target[offset + 2] = batches;
+        target[offset + 3] = batchedStatements;
+        target[offset + 4] = rows;
+        target[offset + 5] = connections;
+        target[offset + 6] = connectionWaitNanos;
+        target[offset + 7] = slowStatements;
+    }
+
+    /**
+     * Activité JDBC depuis une copie, ou null si aucune requête ni connexion.
+     */
+    public String since(long[] snapshot, int offset) {
+        long statementCount = statements - snapshot[offset];
+        long connectionCount = connections - snapshot[offset + 5];
+        if (statementCount == 0 && connectionCount == 0) {
+            return null;
+        }
+        return "jdbc[statements=" + statementCount
+            + " time=" + (statementNanos - snapshot[offset + 1]) / 1_000_000 + "ms"
+            + " batches=" + (batches - snapshot[offset + 2]) + "(" + (batchedStatements - snapshot[offset + 3]) + ")"
+            + " rows=" + (rows - snapshot[offset + 4])
+            + " connections=" + connectionCount
+            + " poolWait=" + (connectionWaitNanos - snapshot[offset + 6]) / 1_000_000 + "ms"
+            + " slow=" + (slowStatements - snapshot[offset + 7]) + "]";
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getBatchedStatements() {
+        return batchedStatements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getConnections() {
+        return connections;
+    }
+
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    public long getSlowStatements() {
+        return slowStatements;
+    }
+}
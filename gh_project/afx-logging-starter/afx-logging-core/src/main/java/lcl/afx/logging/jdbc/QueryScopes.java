@@ -0,0 +1,187 @@
+package lcl.afx.logging.jdbc;
+
+import lcl.afx.logging.jdbc.SqlShapes.SqlShape;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Détection N+1 : exécutions répétées d'une même forme de requête dans une
+ * requête HTTP ({@code CorrelationIdFilter}) ou une opération
+ * {@code @PaymentLog}.
+ *
+ * <p>Pile de portées par thread, ouvertes et fermées par le filtre et
+ * l'{@code OperationLogger} ; {@link InstrumentedDataSource} y compte chaque
+ * requête exécutée. À la fermeture d'une portée, une seule ligne WARN par
+ * forme ayant atteint le seuil, avec le nombre total d'exécutions et la
+ * première méthode applicative appelante (relevée au franchissement du seuil) :</p>
+ *
+ * <pre>
+ * ⚠ N+1 [SEPA_TRANSFER] 48 exécutions (seuil 10) caller=BeneficiaryService.load:57 sql=select * from beneficiary where account_id = ?
+ * </pre>
+ *
+ * <p>Une forme déjà signalée par une opération imbriquée ne l'est pas à
+ * nouveau par les portées englobantes. Ouvrir et fermer une portée sans
+ * requête SQL ne coûte qu'un incrément.</p>
+ */
+public final class QueryScopes {
+
+    static final int MAX_DEPTH = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(QueryScopes.class);
+
+    private static final ThreadLocal<QueryScopes> CURRENT = ThreadLocal.withInitial(QueryScopes::new);
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // Classes ignorées pour désigner l'appelant : JDK, frameworks, drivers, proxies
+    private static final String[] FRAMEWORK_PREFIXES = {
+        "java.", "javax.", "jakarta.", "jdk.", "sun.", "com.sun.", "org.springframework.", "org.hibernate.",
+        "org.aspectj.", "com.zaxxer.", "net.bytebuddy.", "org.apache.", "org.postgresql.", "oracle.",
+        "com.mysql.", "org.mariadb.", "org.h2.", "com.ibm.db2.", "lcl.afx.logging."
+    };
+
+    private final String[] names = new String[MAX_DEPTH];
+    private final Map<SqlShape, Counter>[] counters;
+    private final boolean[] used = new boolean[MAX_DEPTH];
+    private int depth;
+    private int overflow;
+
+    @SuppressWarnings("unchecked")
+    private QueryScopes() {
+        counters = new Map[MAX_DEPTH];
+    }
+
+    /**
+     * Portées du thread courant.
+     */
+    public static QueryScopes current() {
+        return CURRENT.get();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PORTÉES (CorrelationIdFilter, OperationLogger)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Ouvre une portée (nom de l'opération ou {@code "GET /api/..."}).
+     * Doit toujours être suivi de {@link #exit()}.
+     */
+    public void enter(String name) {
+        if (depth == MAX_DEPTH) {
+            overflow++;
+            return;
+        }
+        names[depth] = name;
+        used[depth] = false;
+        depth++;
+    }
+
+    /**
+     * Ferme la portée courante et signale les formes ayant atteint le seuil.
+     */
+    public void exit() {
+        if (overflow > 0) {
+            overflow--;
+            return;
+        }
+        if (depth == 0) {
+            return;
+        }
+        int top = --depth;
+        if (used[top]) {
+            report(top);
+            counters[top].clear();
+        }
+        names[top] = null;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COMPTAGE (InstrumentedDataSource)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Compte une exécution dans toutes les portées ouvertes.
+     */
+    void record(SqlShape shape, int threshold) {
+        for (int i = 0; i < depth; i++) {
+            Map<SqlShape, Counter> scope = counters[i];
+            if (scope == null) {
+                scope = new HashMap<>();
+                counters[i] = scope;
+            }
+            used[i] = true;
+            Counter counter = scope.get(shape);
+            if (counter == null) {
+                counter = new Counter(threshold);
+                scope.put(shape, counter);
+            }
+            if (++counter.count == counter.threshold && counter.caller == null) {
+                counter.caller = caller();
+            }
+        }
+    }
+
+    private void report(int top) {
+        for (Map.Entry<SqlShape, Counter> entry : counters[top].entrySet()) {
+            Counter counter = entry.getValue();
+            if (counter.count < counter.threshold || counter.reported) {
+                continue;
+            }
+            log.warn("⚠ N+1 [{}] {} exécutions (seuil {}) caller={} sql={}",
+                names[top], counter.count, counter.threshold, counter.caller, entry.getKey());
+            // Déjà signalée : pas de second WARN par les portées englobantes
+            for (int i = 0; i < top; i++) {
+                Counter parent = counters[i] != null ? counters[i].get(entry.getKey()) : null;
+                if (parent != null) {
+                    parent.reported = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Première méthode applicative de la pile d'appel (hors JDK, frameworks,
+     * drivers et proxies). Relevée une fois par forme et par portée.
+     */
+    static String caller() {
+        Optional<StackWalker.StackFrame> frame = WALKER.walk(frames -> frames
+            .filter(f -> isApplicationClass(f.getClassName()))
+            .findFirst());
+        return frame.map(f -> {
+            String className = f.getClassName();
+            return className.substring(className.lastIndexOf('.') + 1) + "." + f.getMethodName()
+                + ":" + f.getLineNumber();
+        }).orElse("unknown");
+    }
+
+    private static boolean isApplicationClass(String className) {
+        if (className.contains("$$") || className.contains("$Proxy")) {
+            return false;
+        }
+        for (String prefix : FRAMEWORK_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    private static final class Counter {
+        final int threshold;
+        int count;
+        String caller;
+        boolean reported;
+
+        Counter(int threshold) {
+            this.threshold = threshold;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package lcl.afx.logging.jdbc;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Forme normalisée des requêtes SQL : littéraux et listes {@code IN (...)}
+ * remplacés par {@code ?}, commentaires et espaces superflus retirés.
+ *
+ * <pre>
+ * SELECT * FROM account WHERE id = 42   →   select * from account where id = ?
+ * </pre>
+ *
+ * <p>La normalisation (expressions régulières) n'est faite qu'une fois par
+ * texte SQL distinct : les requêtes préparées (JPA, Spring Data) réutilisent
+ * le même texte et ne coûtent qu'une lecture de cache. Au-delà de
+ * {@code maxEntries} textes distincts (SQL construit par concaténation), les
+ * nouvelles formes sont calculées sans être mémorisées.</p>
+ */
+public final class SqlShapes {
+
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))(?:\\s*,\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ConcurrentHashMap<String, SqlShape> cache = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final int maxDisplayLength;
+
+    /**
+     * @param maxEntries       nombre maximal de textes SQL mémorisés
+     * @param maxDisplayLength longueur maximale de la forme journalisée
+     */
+    public SqlShapes(int maxEntries, int maxDisplayLength) {
+        this.maxEntries = maxEntries;
+        this.maxDisplayLength = maxDisplayLength;
+    }
+
+    /**
+     * Forme de la requête (mémorisée par texte SQL).
+     */
+    public SqlShape of(String sql) {
+        SqlShape shape = cache.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = new SqlShape(normalize(sql), maxDisplayLength);
+        if (cache.size() < maxEntries) {
+            SqlShape existing = cache.putIfAbsent(sql, shape);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return shape;
+    }
+
+    static String normalize(String sql) {
+        String text = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        text = LINE_COMMENT.matcher(text).replaceAll(" ");
+        text = STRING_LITERAL.matcher(text).replaceAll("?");
+        text = NUMBER_LITERAL.matcher(text).replaceAll("?");
+        text = IN_LIST.matcher(text).replaceAll("in (?)");
+        text = VALUES_ROWS.matcher(text).replaceAll("$1");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Forme normalisée d'une requête ; égalité par texte normalisé complet,
+     * rendu tronqué.
+     */
+    public static final class SqlShape {
+        private final String fingerprint;
+        private final String display;
+        private final int hash;
+
+        SqlShape(String fingerprint, int maxDisplayLength) {
+            this.fingerprint = fingerprint;
+            this.display = fingerprint.length() > maxDisplayLength
+                ? fingerprint.substring(0, maxDisplayLength) + "…"
+                : fingerprint;
+            this.hash = fingerprint.hashCode();
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other
+                || other instanceof SqlShape shape && hash == shape.hash && fingerprint.equals(shape.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return display;
+        }
+    }
+}
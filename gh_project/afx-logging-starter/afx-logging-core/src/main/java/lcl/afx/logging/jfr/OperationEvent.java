@@ -0,0 +1,76 @@
+package lcl.afx.logging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lcl.afx.logging.mdc.MdcKeys;
+import org.slf4j.MDC;
+
+/**
+ * Événement JFR d'une opération {@code @PaymentLog} : opération, identifiant
+ * du span, durée, résultat et correlation ID.
+ *
+ * <p>Démarré et terminé par {@code OperationLogger} ; hors enregistrement
+ * JFR, {@code begin} / {@code end} / {@code shouldCommit} sont sans effet et
+ * le coût se limite à une allocation de courte durée. Les champs ne sont
+ * renseignés que si l'événement est enregistré.</p>
+ *
+ * <pre>
+ * jcmd &lt;pid&gt; JFR.start name=afx settings=profile duration=10m filename=afx.jfr
+ * jfr print --events lcl.afx.PaymentOperation afx.jfr
+ * </pre>
+ */
+@Name("lcl.afx.PaymentOperation")
+@Label("AFX Payment Operation")
+@Category({"AFX", "Logging"})
+@Description("Opération @PaymentLog")
+@StackTrace(false)
+public class OperationEvent extends Event {
+
+    public static final String OK = "OK";
+    public static final String SLOW = "SLOW";
+    public static final String ERROR = "ERROR";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Operation ID")
+    String operationId;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Correlation ID")
+    String correlationId;
+
+    /**
+     * Démarre la mesure d'une opération.
+     */
+    public static OperationEvent start() {
+        OperationEvent event = new OperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termine la mesure et enregistre l'événement si JFR le retient.
+     *
+     * @param event événement de {@link #start()}, ou null (événements désactivés)
+     */
+    public static void finish(OperationEvent event, String operation, String operationId, String outcome) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.operationId = operationId;
+            event.outcome = outcome;
+            event.correlationId = MDC.get(MdcKeys.CORRELATION_ID);
+            event.commit();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package lcl.afx.logging.masking;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -18,10 +19,16 @@ import java.util.regex.Pattern;
  */
 public class DataMasker {
 
-    private final List<MaskingRule> rules;
+    // Masqueur des layouts Logback, instanciés avant le contexte Spring :
+    // remplacé par le bean DataMasker dès sa création (voir share)
+    private static volatile DataMasker shared = new DataMasker();
+
+    // Instantané copié à l'écriture : le masquage lit un seul champ volatile
+    private volatile MaskingRule[] rules;
+    private volatile boolean enabled = true;
 
     public DataMasker() {
-        this.rules = initializeDefaultRules();
+        this.rules = initializeDefaultRules().toArray(new MaskingRule[0]);
     }
 
     /**
@@ -31,7 +38,7 @@ public class DataMasker {
      * @return La chaîne avec les données sensibles masquées
      */
     public String mask(String input) {
-        if (input == null || input.isBlank()) {
+        if (input == null || input.isBlank() || !enabled) {
             return input;
         }
         String result = input;
@@ -122,8 +129,71 @@ public class DataMasker {
      * @param pattern Le pattern regex à détecter
      * @param replacement Le remplacement à appliquer
      */
-    public void addRule(Pattern pattern, String replacement) {
-        rules.add(new MaskingRule(pattern, replacement));
+    public synchronized void addRule(Pattern pattern, String replacement) {
+        MaskingRule[] current = rules;
+        MaskingRule[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = new MaskingRule(pattern, replacement);
+        rules = updated;
+    }
+
+    /**
+     * Retire les règles dont le pattern a cette expression.
+     *
+     * @return true si au moins une règle a été retirée
+     */
+    public synchronized boolean removeRule(String regex) {
+        MaskingRule[] current = rules;
+        MaskingRule[] updated = Arrays.stream(current)
+            .filter(rule -> !rule.pattern().pattern().equals(regex))
+            .toArray(MaskingRule[]::new);
+        rules = updated;
+        return updated.length != current.length;
+    }
+
+    /**
+     * Règles appliquées, dans l'ordre.
+     */
+    public List<MaskingRule> getRules() {
+        return List.of(rules);
+    }
+
+    /**
+     * Remplace l'ensemble des règles (ex: retour aux règles de démarrage).
+     */
+    public synchronized void setRules(List<MaskingRule> rules) {
+        this.rules = rules.toArray(new MaskingRule[0]);
+    }
+
+    /**
+     * Active le masquage (désactivable à chaud pour diagnostic, à réserver
+     * aux environnements hors production).
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // MASQUEUR PARTAGÉ (layouts Logback)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Masqueur utilisé par {@link MaskingPatternLayout} et {@link MaskingJsonLayout}.
+     */
+    public static DataMasker shared() {
+        return shared;
+    }
+
+    /**
+     * Publie le masqueur du contexte Spring auprès des layouts Logback : ses
+     * règles et son activation (pilotage à chaud compris) s'appliquent alors
+     * aussi aux logs formatés.
+     */
+    public static void share(DataMasker dataMasker) {
+        shared = dataMasker != null ? dataMasker : new DataMasker();
     }
 
     /**
@@ -0,0 +1,258 @@
+package lcl.afx.logging.masking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Sérialisation des entités JPA sans chargement paresseux : un proxy
+ * Hibernate non initialisé est écrit comme son identifiant, une collection
+ * persistante non initialisée comme {@code "<lazy>"}. Aucun accès ne
+ * déclenche de requête SQL (ni {@code LazyInitializationException}).
+ *
+ * <p>Détection par les API de Hibernate ({@code Hibernate.isInitialized},
+ * {@code LazyInitializer}) résolues par réflexion au chargement de la
+ * classe : pas de dépendance de compilation, Hibernate 5 et 6. Sans
+ * Hibernate sur le classpath, le module n'installe rien.</p>
+ */
+public final class LazyLoadingGuard {
+
+    public static final String LAZY = "<lazy>";
+
+    private static final Class<?> PROXY;
+    private static final Class<?> PERSISTENT_COLLECTION;
+    private static final MethodHandle IS_INITIALIZED;
+    private static final MethodHandle GET_INITIALIZER;
+    private static final MethodHandle IS_UNINITIALIZED;
+    private static final MethodHandle GET_IDENTIFIER;
+    private static final MethodHandle GET_IMPLEMENTATION;
+
+    static {
+        Class<?> proxy = null;
+        Class<?> collection = null;
+        MethodHandle isInitialized = null;
+        MethodHandle getInitializer = null;
+        MethodHandle isUninitialized = null;
+        MethodHandle getIdentifier = null;
+        MethodHandle getImplementation = null;
+        try {
+            ClassLoader loader = LazyLoadingGuard.class.getClassLoader();
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> hibernate = Class.forName("org.hibernate.Hibernate", false, loader);
+            Class<?> initializer = Class.forName("org.hibernate.proxy.LazyInitializer", false, loader);
+            proxy = Class.forName("org.hibernate.proxy.HibernateProxy", false, loader);
+            collection = Class.forName("org.hibernate.collection.spi.PersistentCollection", false, loader);
+            isInitialized = lookup.findStatic(hibernate, "isInitialized",
+                MethodType.methodType(boolean.class, Object.class));
+            // Types de retour variables selon la version (getIdentifier : Serializable en 5, Object en 6)
+            getInitializer = accessor(lookup, proxy, "getHibernateLazyInitializer", Object.class);
+            isUninitialized = accessor(lookup, initializer, "isUninitialized", boolean.class);
+            getIdentifier = accessor(lookup, initializer, "getIdentifier", Object.class);
+            getImplementation = accessor(lookup, initializer, "getImplementation", Object.class);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Hibernate absent (ou version non reconnue) : garde inactive
+            proxy = null;
+            collection = null;
+        }
+        PROXY = proxy;
+        PERSISTENT_COLLECTION = collection;
+        IS_INITIALIZED = isInitialized;
+        GET_INITIALIZER = getInitializer;
+        IS_UNINITIALIZED = isUninitialized;
+        GET_IDENTIFIER = getIdentifier;
+        GET_IMPLEMENTATION = getImplementation;
+    }
+
+    private LazyLoadingGuard() {
+    }
+
+    private static MethodHandle accessor(MethodHandles.Lookup lookup, Class<?> type, String name,
+                                         Class<?> returnType) throws ReflectiveOperationException {
+        return lookup.unreflect(type.getMethod(name)).asType(MethodType.methodType(returnType, Object.class));
+    }
+
+    /**
+     * Vrai si Hibernate est présent et la garde active.
+     */
+    public static boolean isActive() {
+        return PROXY != null;
+    }
+
+    /**
+     * Faux pour un proxy ou une collection persistante non initialisés ;
+     * vrai pour tout autre objet. Ne déclenche aucun chargement.
+     */
+    public static boolean isInitialized(Object value) {
+        if (PROXY == null || value == null
+                || !(PROXY.isInstance(value) || PERSISTENT_COLLECTION.isInstance(value))) {
+            return true;
+        }
+        try {
+            return (boolean) IS_INITIALIZED.invokeExact(value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * Module Jackson à enregistrer sur les ObjectMapper de log (sans effet
+     * si Hibernate est absent).
+     */
+    public static Module module() {
+        SimpleModule module = new SimpleModule("afx-lazy-loading-guard");
+        if (PROXY != null) {
+            module.setSerializers(new ProxySerializers());
+            module.setSerializerModifier(new CollectionModifier());
+        }
+        return module;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PROXIES (identifiant, ou entité réelle si déjà chargée)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static final class ProxySerializers extends SimpleSerializers {
+        private final JsonSerializer<Object> proxySerializer = new ProxySerializer();
+
+        @Override
+        public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+            return PROXY.isAssignableFrom(type.getRawClass()) ? proxySerializer : null;
+        }
+    }
+
+    private static final class ProxySerializer extends JsonSerializer<Object> {
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Object initializer;
+            try {
+                initializer = (Object) GET_INITIALIZER.invokeExact(value);
+                if ((boolean) IS_UNINITIALIZED.invokeExact(initializer)) {
+                    Object id = (Object) GET_IDENTIFIER.invokeExact(initializer);
+                    if (id != null) {
+                        provider.defaultSerializeValue(id, gen);
+                    } else {
+                        gen.writeString(LAZY);
+                    }
+                    return;
+                }
+                // Déjà chargée : l'entité réelle, sans les champs du proxy
+                provider.defaultSerializeValue((Object) GET_IMPLEMENTATION.invokeExact(initializer), gen);
+            } catch (IOException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                gen.writeString(LAZY);
+            }
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSer) throws IOException {
+            serialize(value, gen, provider);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COLLECTIONS PERSISTANTES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static final class CollectionModifier extends BeanSerializerModifier {
+
+        @Override
+        public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType,
+                                                            BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            return wrap(valueType, serializer);
+        }
+
+        @Override
+        public JsonSerializer<?> modifyMapSerializer(SerializationConfig config, MapType valueType,
+                                                     BeanDescription beanDesc, JsonSerializer<?> serializer) {
+            return wrap(valueType, serializer);
+        }
+
+        private static JsonSerializer<?> wrap(JavaType type, JsonSerializer<?> serializer) {
+            // Collections ordinaires : sérialiseur inchangé, aucun surcoût
+            return PERSISTENT_COLLECTION.isAssignableFrom(type.getRawClass())
+                ? new CollectionSerializer(serializer) : serializer;
+        }
+    }
+
+    private static final class CollectionSerializer extends JsonSerializer<Object>
+            implements ContextualSerializer, ResolvableSerializer {
+        private final JsonSerializer<Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        CollectionSerializer(JsonSerializer<?> delegate) {
+            this.delegate = (JsonSerializer<Object>) delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (isInitialized(value)) {
+                delegate.serialize(value, gen, provider);
+            } else {
+                gen.writeString(LAZY);
+            }
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSer) throws IOException {
+            if (isInitialized(value)) {
+                delegate.serializeWithType(value, gen, provider, typeSer);
+            } else {
+                gen.writeString(LAZY);
+            }
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return isInitialized(value) && delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                JsonSerializer<?> serializer = contextual.createContextual(provider, property);
+                if (serializer != delegate) {
+                    return new CollectionSerializer(serializer);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+    }
+}
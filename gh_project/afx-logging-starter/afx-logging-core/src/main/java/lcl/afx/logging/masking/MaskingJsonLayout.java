@@ -17,6 +17,9 @@ import java.util.Map;
 /**
  * Layout Logback personnalisé qui génère des logs au format JSON
  * avec masquage des données sensibles, compatible Elasticsearch/ELK.
+ *
+ * <p>Les règles sont celles de {@link DataMasker#shared()} : le bean
+ * {@code DataMasker} du starter une fois le contexte démarré.</p>
  * 
  * <p>Utilisation dans logback-spring.xml:</p>
  * <pre>
@@ -38,7 +41,6 @@ public class MaskingJsonLayout extends LayoutBase<ILoggingEvent> {
         DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.systemDefault());
 
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final DataMasker dataMasker = new DataMasker();
 
     // Configuration
     private String serviceName = "unknown-service";
@@ -81,7 +83,7 @@ public class MaskingJsonLayout extends LayoutBase<ILoggingEvent> {
                     ObjectNode contextNode = root.putObject("context");
                     mdc.forEach((key, value) -> {
                         // Masquer aussi les valeurs MDC
-                        String maskedValue = maskingEnabled ? dataMasker.mask(value) : value;
+                        String maskedValue = maskingEnabled ? DataMasker.shared().mask(value) : value;
                         contextNode.put(key, maskedValue);
                     });
                 }
@@ -92,7 +94,7 @@ public class MaskingJsonLayout extends LayoutBase<ILoggingEvent> {
             // ══════════════════════════════════════════════════════════════════
             String message = event.getFormattedMessage();
             if (message != null) {
-                root.put("message", maskingEnabled ? dataMasker.mask(message) : message);
+                root.put("message", maskingEnabled ? DataMasker.shared().mask(message) : message);
             }
 
             // ══════════════════════════════════════════════════════════════════
@@ -106,7 +108,7 @@ public class MaskingJsonLayout extends LayoutBase<ILoggingEvent> {
                 // Masquer aussi le message d'exception
                 if (throwable.getMessage() != null) {
                     exNode.put("message", maskingEnabled
-                        ? dataMasker.mask(throwable.getMessage())
+                        ? DataMasker.shared().mask(throwable.getMessage())
                         : throwable.getMessage());
                 }
 
@@ -6,6 +6,9 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 /**
  * Layout Logback personnalisé qui applique le masquage des données sensibles
  * sur les logs formatés en texte (console, fichier texte).
+ *
+ * <p>Les règles sont celles de {@link DataMasker#shared()} : le bean
+ * {@code DataMasker} du starter une fois le contexte démarré.</p>
  * 
  * <p>Utilisation dans logback-spring.xml:</p>
  * <pre>
@@ -20,7 +23,6 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
  */
 public class MaskingPatternLayout extends PatternLayout {
 
-    private final DataMasker dataMasker = new DataMasker();
     private boolean maskingEnabled = true;
 
     @Override
@@ -33,7 +35,7 @@ public class MaskingPatternLayout extends PatternLayout {
             return message;
         }
         
-        return dataMasker.mask(message);
+        return DataMasker.shared().mask(message);
     }
 
     /**
@@ -0,0 +1,223 @@
+package lcl.afx.logging.mdc;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * Contexte de corrélation immuable de la requête, avec ses headers sortants
+ * pré-construits.
+ *
+ * <p>Créé une fois par {@code CorrelationIdFilter} (ou placé dans le
+ * {@code Context} Reactor par {@code CorrelationIdWebFilter}), puis appliqué
+ * par les intercepteurs de propagation en une seule lecture, quel que soit
+ * le nombre d'appels sortants de la requête.</p>
+ *
+ * <p>Hors requête HTTP (tâche {@code @Async}, batch, listener), le contexte
+ * est reconstruit à partir du MDC.</p>
+ *
+ * <pre>
+ * CorrelationContext.current().forEachHeader(request.getHeaders()::set);
+ * </pre>
+ */
+public final class CorrelationContext {
+
+    /**
+     * Contexte vide (aucun header à propager).
+     */
+    public static final CorrelationContext EMPTY = new CorrelationContext(null, null, null, null);
+
+    /**
+     * Clé du contexte dans le {@code Context} Reactor.
+     */
+    public static final String CONTEXT_KEY = CorrelationContext.class.getName();
+
+    private static final ThreadLocal<CorrelationContext> CURRENT = new ThreadLocal<>();
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String correlationId;
+    private final String transactionId;
+    private final String userId;
+    private final String traceparent;
+
+    // Paires [nom, valeur] construites une fois
+    private final String[] headers;
+
+    private CorrelationContext(String correlationId, String transactionId,
+                               String userId, String traceparent) {
+        this.correlationId = correlationId;
+        this.transactionId = transactionId;
+        this.userId = userId;
+        this.traceparent = traceparent;
+        this.headers = buildHeaders();
+    }
+
+    /**
+     * Construit un contexte (valeurs null ignorées).
+     */
+    public static CorrelationContext of(String correlationId, String transactionId,
+                                        String userId, String traceparent) {
+        if (correlationId == null && transactionId == null && userId == null && traceparent == null) {
+            return EMPTY;
+        }
+        return new CorrelationContext(correlationId, transactionId, userId, traceparent);
+    }
+
+    /**
+     * Contexte du thread courant : celui installé par le filtre, ou à défaut
+     * reconstruit depuis le MDC.
+     *
+     * @return le contexte (jamais null)
+     */
+    public static CorrelationContext current() {
+        CorrelationContext context = CURRENT.get();
+        return context != null ? context : fromMdc();
+    }
+
+    /**
+     * Reconstruit un contexte depuis le MDC du thread courant.
+     */
+    public static CorrelationContext fromMdc() {
+        return of(MDC.get(MdcKeys.CORRELATION_ID), MDC.get(MdcKeys.TRANSACTION_ID),
+            MDC.get(MdcKeys.USER_ID), null);
+    }
+
+    /**
+     * Installe le contexte sur le thread courant.
+     *
+     * @return le contexte précédent, à passer à {@link #restore(CorrelationContext)}
+     */
+    public CorrelationContext install() {
+        CorrelationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Restaure le contexte précédent retourné par {@link #install()}.
+     */
+    public static void restore(CorrelationContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Applique les headers sortants pré-construits.
+     */
+    public void forEachHeader(BiConsumer<String, String> sink) {
+        for (int i = 0; i < headers.length; i += 2) {
+            sink.accept(headers[i], headers[i + 1]);
+        }
+    }
+
+    public boolean isEmpty() {
+        return headers.length == 0;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getTraceparent() {
+        return traceparent;
+    }
+
+    private String[] buildHeaders() {
+        int count = (correlationId != null ? 2 : 0) + (transactionId != null ? 2 : 0)
+            + (userId != null ? 2 : 0) + (traceparent != null ? 2 : 0);
+        String[] result = new String[count];
+        int i = 0;
+        if (correlationId != null) {
+            result[i++] = MdcKeys.HEADER_CORRELATION_ID;
+            result[i++] = correlationId;
+        }
+        if (transactionId != null) {
+            result[i++] = MdcKeys.HEADER_TRANSACTION_ID;
+            result[i++] = transactionId;
+        }
+        if (userId != null) {
+            result[i++] = MdcKeys.HEADER_USER_ID;
+            result[i++] = userId;
+        }
+        if (traceparent != null) {
+            result[i++] = MdcKeys.HEADER_TRACEPARENT;
+            result[i] = traceparent;
+        }
+        return result;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // W3C TRACE CONTEXT
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Construit le {@code traceparent} sortant ("00-&lt;trace-id&gt;-&lt;parent-id&gt;-&lt;flags&gt;").
+     *
+     * <p>Le trace-id et les flags du {@code traceparent} entrant sont conservés
+     * s'il est valide ; sinon un trace-id est généré (flags "01"). Le parent-id
+     * identifie ce service pour la durée de la requête.</p>
+     */
+    public static String traceparent(String inbound) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] value = new char[55];
+        value[0] = '0';
+        value[1] = '0';
+        value[2] = '-';
+        if (isValidTraceparent(inbound)) {
+            inbound.getChars(3, 35, value, 3);
+            value[52] = '-';
+            inbound.getChars(53, 55, value, 53);
+        } else {
+            writeHex(value, 3, random.nextLong() | 1L);
+            writeHex(value, 19, random.nextLong());
+            value[52] = '-';
+            value[53] = '0';
+            value[54] = '1';
+        }
+        value[35] = '-';
+        writeHex(value, 36, random.nextLong() | 1L);
+        return new String(value);
+    }
+
+    private static boolean isValidTraceparent(String value) {
+        if (value == null || value.length() != 55
+            || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return false;
+        }
+        boolean nonZeroTraceId = false;
+        for (int i = 0; i < 55; i++) {
+            if (i == 2 || i == 35 || i == 52) {
+                continue;
+            }
+            char c = value.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+            if (i >= 3 && i < 35 && c != '0') {
+                nonZeroTraceId = true;
+            }
+        }
+        // Version "ff" interdite, trace-id nul invalide
+        return nonZeroTraceId && !(value.charAt(0) == 'f' && value.charAt(1) == 'f');
+    }
+
+    private static void writeHex(char[] target, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
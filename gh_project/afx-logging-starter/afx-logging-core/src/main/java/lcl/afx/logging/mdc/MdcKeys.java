@@ -20,6 +20,7 @@ public final class MdcKeys {
     public static final String REQUEST_METHOD = "request_method";
     public static final String OPERATION = "operation";
     public static final String OPERATION_ID = "operation_id";
+    public static final String PARENT_OPERATION_ID = "parent_operation_id";
 
     // ══════════════════════════════════════════════════════════════════════════
     // HEADERS HTTP
@@ -28,4 +29,5 @@ public final class MdcKeys {
     public static final String HEADER_TRANSACTION_ID = "X-Transaction-ID";
     public static final String HEADER_USER_ID = "X-User-ID";
     public static final String HEADER_REQUEST_ID = "X-Request-ID";
+    public static final String HEADER_TRACEPARENT = "traceparent";
 }
@@ -0,0 +1,196 @@
+package lcl.afx.logging.mdc;
+
+import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Instantané immuable du MDC, partagé entre toutes les tâches soumises
+ * depuis un même contexte.
+ *
+ * <p>Avec Logback, la capture réutilise la vue en lecture seule maintenue
+ * par {@code LogbackMDCAdapter} (copy-on-write) : tant que le MDC du thread
+ * appelant n'est pas modifié, toutes les tâches partagent le même instantané,
+ * sans copie de HashMap par tâche à la soumission. L'installation sur le
+ * thread d'exécution passe par {@code MDC.setContextMap}, qui copie le
+ * contexte (une copie par exécution de tâche, y compris avec Logback).</p>
+ *
+ * <pre>
+ * MdcSnapshot snapshot = MdcSnapshot.capture();
+ * executor.execute(snapshot.wrap(task));
+ * </pre>
+ */
+public final class MdcSnapshot {
+
+    /**
+     * Instantané vide (MDC non renseigné).
+     */
+    public static final MdcSnapshot EMPTY = new MdcSnapshot(Collections.emptyMap());
+
+    private static final boolean LOGBACK_PRESENT = isLogbackPresent();
+
+    // Dernier instantané capturé par thread : réutilisé tant que le MDC n'a pas changé.
+    // Référence faible : un thread de pool ne retient pas le dernier contexte capturé.
+    private static final ThreadLocal<WeakReference<MdcSnapshot>> LAST_CAPTURED = new ThreadLocal<>();
+
+    private final Map<String, String> context;
+
+    private MdcSnapshot(Map<String, String> context) {
+        this.context = context;
+    }
+
+    /**
+     * Capture le MDC du thread courant.
+     *
+     * @return l'instantané (jamais null)
+     */
+    public static MdcSnapshot capture() {
+        Map<String, String> current = currentContext();
+        if (current == null || current.isEmpty()) {
+            LAST_CAPTURED.remove();
+            return EMPTY;
+        }
+        WeakReference<MdcSnapshot> lastRef = LAST_CAPTURED.get();
+        MdcSnapshot last = lastRef != null ? lastRef.get() : null;
+        if (last != null && last.context == current) {
+            return last;
+        }
+        // Avec Logback, la vue est déjà non modifiable : unmodifiableMap la retourne telle quelle
+        MdcSnapshot snapshot = new MdcSnapshot(Collections.unmodifiableMap(current));
+        LAST_CAPTURED.set(new WeakReference<>(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Construit un instantané à partir d'un contexte déjà connu
+     * (ex: contexte Reactor construit par {@code CorrelationIdWebFilter}).
+     */
+    public static MdcSnapshot of(Map<String, String> context) {
+        if (context == null || context.isEmpty()) {
+            return EMPTY;
+        }
+        return new MdcSnapshot(Collections.unmodifiableMap(context));
+    }
+
+    /**
+     * Installe l'instantané sur le thread courant ({@code MDC.setContextMap} :
+     * le contexte est copié par l'adaptateur MDC, Logback compris).
+     *
+     * <p>Toujours appliqué, même si le MDC courant est déjà cet instantané :
+     * une tâche exécutée sur le thread appelant ({@code CallerRunsPolicy},
+     * executor synchrone) ne doit pas laisser ses modifications du MDC à
+     * l'appelant.</p>
+     *
+     * @return le contexte précédent, à passer à {@link #restore(Map)}
+     */
+    public Map<String, String> install() {
+        // Avec Logback, vue en lecture seule non affectée par les modifications suivantes
+        Map<String, String> previous = currentContext();
+        if (context.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+        return previous;
+    }
+
+    /**
+     * Restaure le contexte précédent retourné par {@link #install()}.
+     */
+    public void restore(Map<String, String> previous) {
+        if (previous == null || previous.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(previous);
+        }
+    }
+
+    /**
+     * Enveloppe une tâche pour qu'elle s'exécute avec cet instantané.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            Map<String, String> previous = install();
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Enveloppe une tâche pour qu'elle s'exécute avec cet instantané.
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            Map<String, String> previous = install();
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Valeur d'une clé de l'instantané.
+     */
+    public String get(String key) {
+        return context.get(key);
+    }
+
+    public boolean isEmpty() {
+        return context.isEmpty();
+    }
+
+    public Map<String, String> asMap() {
+        return context;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ACCÈS AU MDC
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Contexte courant sans copie avec Logback (vue en lecture seule),
+     * copie classique sinon.
+     */
+    private static Map<String, String> currentContext() {
+        if (LOGBACK_PRESENT) {
+            MDCAdapter adapter = MDC.getMDCAdapter();
+            if (LogbackAccess.isLogbackAdapter(adapter)) {
+                return LogbackAccess.readOnlyMap(adapter);
+            }
+        }
+        return MDC.getCopyOfContextMap();
+    }
+
+    private static boolean isLogbackPresent() {
+        try {
+            Class.forName("ch.qos.logback.classic.util.LogbackMDCAdapter",
+                false, MdcSnapshot.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Isole les références à Logback (dépendance optionnelle).
+     */
+    private static final class LogbackAccess {
+
+        static boolean isLogbackAdapter(MDCAdapter adapter) {
+            return adapter instanceof ch.qos.logback.classic.util.LogbackMDCAdapter;
+        }
+
+        static Map<String, String> readOnlyMap(MDCAdapter adapter) {
+            return ((ch.qos.logback.classic.util.LogbackMDCAdapter) adapter).getPropertyMap();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package lcl.afx.logging.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Enregistre latence, classe de statut et volumes des appels HTTP sortants,
+ * par hôte et gabarit de route.
+ *
+ * <p>Alimenté par les intercepteurs de propagation (RestTemplate, RestClient,
+ * WebClient, Feign). Les statistiques sont exposées à Micrometer par
+ * {@link OutboundMetricsBinder} ; un appel dépassant son seuil émet une ligne SLOW :</p>
+ *
+ * <pre>
+ * ⚠ SLOW OUTBOUND [GET core-banking:8443/accounts/{id}] 1250ms > threshold 1000ms status=200
+ * </pre>
+ */
+public class OutboundCallRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundCallRecorder.class);
+
+    /**
+     * Statut enregistré quand aucune réponse HTTP n'a été reçue.
+     */
+    public static final int NO_RESPONSE = -1;
+
+    /**
+     * Route utilisée une fois {@code maxRoutes} atteint (borne de cardinalité).
+     */
+    public static final String OVERFLOW_ROUTE = "/**";
+
+    private final ConcurrentHashMap<String, OutboundCallStats> stats = new ConcurrentHashMap<>();
+    private volatile Consumer<OutboundCallStats> newStatsListener;
+
+    // Configuration
+    private long slowThresholdMs = 1000L;
+    private Map<String, Long> hostSlowThresholdsMs = Collections.emptyMap();
+    private int maxRoutes = 500;
+
+    /**
+     * Enregistre un appel terminé.
+     *
+     * @param method   méthode HTTP
+     * @param uri      URI appelée (hôte et port)
+     * @param route    gabarit d'URI fourni par le client, ou null pour le déduire du chemin
+     * @param status   statut HTTP, ou {@link #NO_RESPONSE}
+     * @param nanos    durée de l'appel
+     * @param sent     octets envoyés (0 si inconnu)
+     * @param received octets reçus (0 si inconnu)
+     */
+    public void record(String method, URI uri, String route, int status,
+                       long nanos, long sent, long received) {
+        String host = hostOf(uri);
+        route = route != null
+            ? RouteTemplates.pathOfTemplate(route)
+            : RouteTemplates.normalize(uri.getRawPath());
+        statsFor(method, host, route).record(status, nanos, sent, received);
+
+        long timeMs = nanos / 1_000_000;
+        long threshold = hostSlowThresholdsMs.getOrDefault(host, slowThresholdMs);
+        if (timeMs > threshold) {
+            log.warn("⚠ SLOW OUTBOUND [{} {}{}] {}ms > threshold {}ms status={}",
+                method, host, route, timeMs, threshold, status == NO_RESPONSE ? "IO_ERROR" : status);
+        }
+    }
+
+    private OutboundCallStats statsFor(String method, String host, String route) {
+        String key = method + ' ' + host + route;
+        OutboundCallStats existing = stats.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (stats.size() >= maxRoutes) {
+            route = OVERFLOW_ROUTE;
+            key = method + ' ' + host + route;
+        }
+        String finalRoute = route;
+        boolean[] created = new boolean[1];
+        OutboundCallStats result = stats.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return new OutboundCallStats(method, host, finalRoute);
+        });
+        Consumer<OutboundCallStats> listener = newStatsListener;
+        if (created[0] && listener != null) {
+            listener.accept(result);
+        }
+        return result;
+    }
+
+    private static String hostOf(URI uri) {
+        String host = uri.getHost();
+        if (host == null) {
+            return "unknown";
+        }
+        return uri.getPort() < 0 ? host : host + ':' + uri.getPort();
+    }
+
+    /**
+     * Statistiques par hôte / route (vue vivante).
+     */
+    public Collection<OutboundCallStats> getStats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    /**
+     * Notifié à chaque nouveau couple hôte / route (enregistrement des meters).
+     */
+    public void setNewStatsListener(Consumer<OutboundCallStats> newStatsListener) {
+        this.newStatsListener = newStatsListener;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // Setters pour configuration
+    // ══════════════════════════════════════════════════════════════════════════
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    /**
+     * Seuils SLOW par hôte ("host" ou "host:port"), prioritaires sur le seuil global.
+     */
+    public void setHostSlowThresholdsMs(Map<String, Long> hostSlowThresholdsMs) {
+        this.hostSlowThresholdsMs = hostSlowThresholdsMs != null
+            ? Map.copyOf(hostSlowThresholdsMs)
+            : Collections.emptyMap();
+    }
+
+    public void setMaxRoutes(int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    // Getters
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public Map<String, Long> getHostSlowThresholdsMs() {
+        return hostSlowThresholdsMs;
+    }
+
+    public int getMaxRoutes() {
+        return maxRoutes;
+    }
+}
@@ -0,0 +1,77 @@
+package lcl.afx.logging.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques cumulées des appels sortants vers un couple hôte / route.
+ */
+public final class OutboundCallStats {
+
+    /**
+     * Classes de statut : IO_ERROR (pas de réponse), puis 1xx à 5xx.
+     */
+    public static final String[] STATUS_CLASSES = {"IO_ERROR", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final String method;
+    private final String host;
+    private final String route;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLongArray statusCounts = new AtomicLongArray(STATUS_CLASSES.length);
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    OutboundCallStats(String method, String host, String route) {
+        this.method = method;
+        this.host = host;
+        this.route = route;
+    }
+
+    void record(int status, long nanos, long sent, long received) {
+        latency.record(nanos);
+        statusCounts.incrementAndGet(statusClassIndex(status));
+        if (sent > 0) {
+            bytesSent.add(sent);
+        }
+        if (received > 0) {
+            bytesReceived.add(received);
+        }
+    }
+
+    /**
+     * Index dans {@link #STATUS_CLASSES} (0 si pas de réponse HTTP).
+     */
+    static int statusClassIndex(int status) {
+        int statusClass = status / 100;
+        return statusClass >= 1 && statusClass <= 5 ? statusClass : 0;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getStatusCount(int statusClassIndex) {
+        return statusCounts.get(statusClassIndex);
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+}
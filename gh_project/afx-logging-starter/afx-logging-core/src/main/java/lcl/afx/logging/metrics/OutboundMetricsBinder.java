@@ -0,0 +1,86 @@
+package lcl.afx.logging.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expose les statistiques de {@link OutboundCallRecorder} à Micrometer.
+ *
+ * <p>Meters par hôte / méthode / route :</p>
+ * <ul>
+ *   <li>{@code afx.http.client.requests} : nombre et durée totale des appels</li>
+ *   <li>{@code afx.http.client.requests.max} et {@code .percentile} (phi=0.5, 0.95, 0.99)</li>
+ *   <li>{@code afx.http.client.responses} : appels par classe de statut (2xx, 5xx, IO_ERROR…)</li>
+ *   <li>{@code afx.http.client.bytes} : octets envoyés / reçus</li>
+ * </ul>
+ *
+ * <p>Les meters lisent les compteurs existants : l'enregistrement d'un appel
+ * ne passe jamais par Micrometer.</p>
+ */
+public class OutboundMetricsBinder implements MeterBinder {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final OutboundCallRecorder recorder;
+
+    public OutboundMetricsBinder(OutboundCallRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        recorder.setNewStatsListener(stats -> register(registry, stats));
+        for (OutboundCallStats stats : recorder.getStats()) {
+            register(registry, stats);
+        }
+    }
+
+    private void register(MeterRegistry registry, OutboundCallStats stats) {
+        Tags tags = Tags.of("host", stats.getHost(), "method", stats.getMethod(), "uri", stats.getRoute());
+        LatencyHistogram latency = stats.getLatency();
+
+        FunctionTimer.builder("afx.http.client.requests", latency,
+                LatencyHistogram::getCount, LatencyHistogram::getTotalNanos, TimeUnit.NANOSECONDS)
+            .description("Appels HTTP sortants")
+            .tags(tags)
+            .register(registry);
+
+        TimeGauge.builder("afx.http.client.requests.max", latency, TimeUnit.NANOSECONDS,
+                LatencyHistogram::getMaxNanos)
+            .tags(tags)
+            .register(registry);
+
+        for (double percentile : PERCENTILES) {
+            TimeGauge.builder("afx.http.client.requests.percentile", latency, TimeUnit.NANOSECONDS,
+                    h -> h.getPercentileNanos(percentile))
+                .tags(tags)
+                .tag("phi", String.valueOf(percentile))
+                .register(registry);
+        }
+
+        for (int i = 0; i < OutboundCallStats.STATUS_CLASSES.length; i++) {
+            int statusClass = i;
+            FunctionCounter.builder("afx.http.client.responses", stats, s -> s.getStatusCount(statusClass))
+                .tags(tags)
+                .tag("status", OutboundCallStats.STATUS_CLASSES[i])
+                .register(registry);
+        }
+
+        FunctionCounter.builder("afx.http.client.bytes", stats, OutboundCallStats::getBytesSent)
+            .baseUnit("bytes")
+            .tags(tags)
+            .tag("direction", "sent")
+            .register(registry);
+        FunctionCounter.builder("afx.http.client.bytes", stats, OutboundCallStats::getBytesReceived)
+            .baseUnit("bytes")
+            .tags(tags)
+            .tag("direction", "received")
+            .register(registry);
+    }
+}
@@ -0,0 +1,109 @@
+package lcl.afx.logging.metrics;
+
+/**
+ * Normalisation d'un chemin concret en gabarit de route
+ * ("/accounts/123/transfers/9f1c..." → "/accounts/{id}/transfers/{id}").
+ *
+ * <p>Utilisée quand le client HTTP ne fournit pas le gabarit d'URI : les
+ * segments numériques, UUID ou hexadécimaux longs sont remplacés par
+ * {@code {id}} pour borner la cardinalité des métriques.</p>
+ */
+public final class RouteTemplates {
+
+    private static final String ID = "{id}";
+
+    private RouteTemplates() {
+        // Utility class
+    }
+
+    /**
+     * Gabarit d'un chemin (query string ignorée).
+     */
+    public static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int end = path.indexOf('?');
+        if (end < 0) {
+            end = path.length();
+        }
+        if (!hasIdentifierSegment(path, end)) {
+            return end == path.length() ? path : path.substring(0, end);
+        }
+        StringBuilder route = new StringBuilder(end);
+        int start = 0;
+        while (start < end) {
+            int slash = path.indexOf('/', start);
+            int segmentEnd = slash < 0 || slash > end ? end : slash;
+            if (isIdentifier(path, start, segmentEnd)) {
+                route.append(ID);
+            } else {
+                route.append(path, start, segmentEnd);
+            }
+            if (segmentEnd < end) {
+                route.append('/');
+            }
+            start = segmentEnd + 1;
+        }
+        return route.toString();
+    }
+
+    /**
+     * Chemin d'un gabarit d'URI fourni par le client ("https://host/accounts/{id}?x={x}"
+     * → "/accounts/{id}").
+     */
+    public static String pathOfTemplate(String uriTemplate) {
+        int start = 0;
+        int scheme = uriTemplate.indexOf("://");
+        if (scheme >= 0) {
+            int slash = uriTemplate.indexOf('/', scheme + 3);
+            if (slash < 0) {
+                return "/";
+            }
+            start = slash;
+        }
+        int end = uriTemplate.indexOf('?', start);
+        if (end < 0) {
+            end = uriTemplate.length();
+        }
+        if (start == end) {
+            return "/";
+        }
+        return start == 0 && end == uriTemplate.length() ? uriTemplate : uriTemplate.substring(start, end);
+    }
+
+    private static boolean hasIdentifierSegment(String path, int end) {
+        int start = 0;
+        while (start < end) {
+            int slash = path.indexOf('/', start);
+            int segmentEnd = slash < 0 || slash > end ? end : slash;
+            if (isIdentifier(path, start, segmentEnd)) {
+                return true;
+            }
+            start = segmentEnd + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Segment numérique, UUID ou hexadécimal d'au moins 16 caractères.
+     */
+    static boolean isIdentifier(String path, int from, int to) {
+        int length = to - from;
+        if (length == 0) {
+            return false;
+        }
+        boolean digitsOnly = true;
+        boolean hexOrDash = true;
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            digitsOnly &= digit;
+            hexOrDash &= digit || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || c == '-';
+            if (!hexOrDash) {
+                return false;
+            }
+        }
+        return digitsOnly || length >= 16;
+    }
+}
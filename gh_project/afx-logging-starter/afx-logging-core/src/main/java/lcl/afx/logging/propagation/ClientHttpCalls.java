@@ -0,0 +1,45 @@
+package lcl.afx.logging.propagation;
+
+import lcl.afx.logging.metrics.OutboundCallRecorder;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Mesure commune aux intercepteurs RestTemplate et RestClient.
+ */
+final class ClientHttpCalls {
+
+    private ClientHttpCalls() {
+        // Utility class
+    }
+
+    /**
+     * Exécute la requête et enregistre l'appel.
+     *
+     * @param routeAttribute attribut portant le gabarit d'URI, ou null
+     */
+    static ClientHttpResponse execute(OutboundCallRecorder recorder, String routeAttribute,
+                                      HttpRequest request, byte[] body,
+                                      ClientHttpRequestExecution execution) throws IOException {
+        if (recorder == null) {
+            return execution.execute(request, body);
+        }
+        long start = System.nanoTime();
+        int status = OutboundCallRecorder.NO_RESPONSE;
+        long received = 0;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = response.getStatusCode().value();
+            received = Math.max(0, response.getHeaders().getContentLength());
+            return response;
+        } finally {
+            Object route = routeAttribute != null ? request.getAttributes().get(routeAttribute) : null;
+            recorder.record(request.getMethod().name(), request.getURI(),
+                route instanceof String template ? template : null,
+                status, System.nanoTime() - start, body.length, received);
+        }
+    }
+}
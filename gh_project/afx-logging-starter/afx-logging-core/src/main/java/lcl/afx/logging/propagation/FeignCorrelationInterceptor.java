@@ -1,34 +1,91 @@
 package lcl.afx.logging.propagation;
 
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import lcl.afx.logging.mdc.MdcKeys;
-import org.slf4j.MDC;
+import feign.Response;
+import lcl.afx.logging.mdc.CorrelationContext;
+import lcl.afx.logging.metrics.OutboundCallRecorder;
+
+import java.io.IOException;
+import java.net.URI;
 
 /**
  * Intercepteur Feign qui propage le correlation ID et autres
  * informations MDC dans les appels HTTP sortants.
  * 
- * <p>Ce bean est automatiquement détecté par Feign si présent dans le contexte Spring.</p>
+ * <p>Ce bean est automatiquement détecté par Feign si présent dans le contexte Spring.
+ * En tant que {@link Capability}, il enveloppe aussi le {@link Client} Feign pour
+ * mesurer les appels si un {@link OutboundCallRecorder} est configuré.</p>
  */
-public class FeignCorrelationInterceptor implements RequestInterceptor {
+public class FeignCorrelationInterceptor implements RequestInterceptor, Capability {
+
+    private OutboundCallRecorder recorder;
 
     @Override
     public void apply(RequestTemplate template) {
-        // Lire du MDC et ajouter aux headers sortants
-        String correlationId = MDC.get(MdcKeys.CORRELATION_ID);
-        if (correlationId != null) {
-            template.header(MdcKeys.HEADER_CORRELATION_ID, correlationId);
+        // Headers pré-construits par CorrelationIdFilter (une seule lecture)
+        CorrelationContext.current().forEachHeader(template::header);
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        OutboundCallRecorder callRecorder = recorder;
+        if (callRecorder == null) {
+            return client;
         }
+        return (request, options) -> execute(callRecorder, client, request, options);
+    }
 
-        String transactionId = MDC.get(MdcKeys.TRANSACTION_ID);
-        if (transactionId != null) {
-            template.header(MdcKeys.HEADER_TRANSACTION_ID, transactionId);
+    private static Response execute(OutboundCallRecorder recorder, Client client,
+                                    Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        int status = OutboundCallRecorder.NO_RESPONSE;
+        long received = 0;
+        try {
+            Response response = client.execute(request, options);
+            status = response.status();
+            Integer length = response.body() != null ? response.body().length() : null;
+            received = length != null ? Math.max(0, length) : 0;
+            return response;
+        } finally {
+            URI uri = uriOf(request);
+            if (uri != null) {
+                recorder.record(request.httpMethod().name(), uri, routeOf(request),
+                    status, System.nanoTime() - start, request.length(), received);
+            }
         }
+    }
 
-        String userId = MDC.get(MdcKeys.USER_ID);
-        if (userId != null) {
-            template.header(MdcKeys.HEADER_USER_ID, userId);
+    private static URI uriOf(Request request) {
+        try {
+            return URI.create(request.url());
+        } catch (IllegalArgumentException e) {
+            // URL non conforme : l'appel n'est pas mesuré
+            return null;
         }
     }
+
+    /**
+     * Gabarit déclaré sur la méthode du client Feign ("/accounts/{id}"), si connu.
+     */
+    private static String routeOf(Request request) {
+        RequestTemplate template = request.requestTemplate();
+        MethodMetadata metadata = template != null ? template.methodMetadata() : null;
+        return metadata != null && metadata.template() != null ? metadata.template().url() : null;
+    }
+
+    /**
+     * Active la mesure des appels sortants (latence, statut, volumes).
+     */
+    public void setRecorder(OutboundCallRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public OutboundCallRecorder getRecorder() {
+        return recorder;
+    }
 }
@@ -1,7 +1,7 @@
 package lcl.afx.logging.propagation;
 
-import lcl.afx.logging.mdc.MdcKeys;
-import org.slf4j.MDC;
+import lcl.afx.logging.mdc.CorrelationContext;
+import lcl.afx.logging.metrics.OutboundCallRecorder;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
@@ -11,7 +11,8 @@ import java.io.IOException;
 
 /**
  * Intercepteur RestTemplate qui propage le correlation ID et autres
- * informations MDC dans les appels HTTP sortants.
+ * informations MDC dans les appels HTTP sortants, et mesure ces appels
+ * si un {@link OutboundCallRecorder} est configuré.
  * 
  * <p>Utilisation:</p>
  * <pre>
@@ -25,26 +26,26 @@ import java.io.IOException;
  */
 public class RestTemplateCorrelationInterceptor implements ClientHttpRequestInterceptor {
 
+    private OutboundCallRecorder recorder;
+
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body,
                                          ClientHttpRequestExecution execution) throws IOException {
 
-        // Lire du MDC et ajouter aux headers sortants
-        String correlationId = MDC.get(MdcKeys.CORRELATION_ID);
-        if (correlationId != null) {
-            request.getHeaders().set(MdcKeys.HEADER_CORRELATION_ID, correlationId);
-        }
+        // Headers pré-construits par CorrelationIdFilter (une seule lecture)
+        CorrelationContext.current().forEachHeader(request.getHeaders()::set);
 
-        String transactionId = MDC.get(MdcKeys.TRANSACTION_ID);
-        if (transactionId != null) {
-            request.getHeaders().set(MdcKeys.HEADER_TRANSACTION_ID, transactionId);
-        }
+        return ClientHttpCalls.execute(recorder, null, request, body, execution);
+    }
 
-        String userId = MDC.get(MdcKeys.USER_ID);
-        if (userId != null) {
-            request.getHeaders().set(MdcKeys.HEADER_USER_ID, userId);
-        }
+    /**
+     * Active la mesure des appels sortants (latence, statut, volumes).
+     */
+    public void setRecorder(OutboundCallRecorder recorder) {
+        this.recorder = recorder;
+    }
 
-        return execution.execute(request, body);
+    public OutboundCallRecorder getRecorder() {
+        return recorder;
     }
 }
@@ -1,18 +1,17 @@
 package lcl.afx.logging.propagation;
 
-import lcl.afx.logging.mdc.MdcKeys;
-import org.slf4j.MDC;
+import lcl.afx.logging.mdc.CorrelationContext;
+import lcl.afx.logging.metrics.OutboundCallRecorder;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 import reactor.core.publisher.Mono;
 
-import java.util.Map;
-
 /**
  * Filtre WebClient (reactive) qui propage le correlation ID et autres
- * informations MDC dans les appels HTTP sortants.
+ * informations MDC dans les appels HTTP sortants, et mesure ces appels
+ * si un {@link OutboundCallRecorder} est configuré.
  * 
  * <p>Utilisation:</p>
  * <pre>
@@ -26,31 +25,75 @@ import java.util.Map;
  */
 public class WebClientCorrelationFilter implements ExchangeFilterFunction {
 
+    // Attribut posé par WebClient quand la requête est construite depuis un gabarit d'URI
+    private static final String URI_TEMPLATE_ATTRIBUTE =
+        "org.springframework.web.reactive.function.client.WebClient.uriTemplate";
+
+    private OutboundCallRecorder recorder;
+
     @Override
     public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
-        // Capturer le MDC du thread appelant (important en contexte réactif)
-        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        // Contexte du thread appelant (servlet, @Async, ou reconstruit depuis le MDC)
+        CorrelationContext context = CorrelationContext.current();
+        Mono<ClientResponse> exchange;
+        if (context.isEmpty()) {
+            // Serveur WebFlux : le contexte est porté par le Context Reactor
+            exchange = Mono.deferContextual(reactorContext -> next.exchange(withHeaders(request,
+                reactorContext.getOrDefault(CorrelationContext.CONTEXT_KEY, CorrelationContext.EMPTY))));
+        } else {
+            exchange = next.exchange(withHeaders(request, context));
+        }
 
-        ClientRequest.Builder builder = ClientRequest.from(request);
+        OutboundCallRecorder callRecorder = recorder;
+        return callRecorder != null ? measure(callRecorder, request, exchange) : exchange;
+    }
+
+    /**
+     * Mesure l'appel de l'abonnement à la réception des headers de réponse.
+     */
+    private Mono<ClientResponse> measure(OutboundCallRecorder callRecorder, ClientRequest request,
+                                         Mono<ClientResponse> exchange) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return exchange.doOnEach(signal -> {
+                if (signal.isOnNext()) {
+                    ClientResponse response = signal.get();
+                    record(callRecorder, request, response.statusCode().value(),
+                        System.nanoTime() - start, response.headers().contentLength().orElse(0L));
+                } else if (signal.isOnError()) {
+                    record(callRecorder, request, OutboundCallRecorder.NO_RESPONSE,
+                        System.nanoTime() - start, 0L);
+                }
+            });
+        });
+    }
+
+    private void record(OutboundCallRecorder callRecorder, ClientRequest request,
+                        int status, long nanos, long received) {
+        Object route = request.attribute(URI_TEMPLATE_ATTRIBUTE).orElse(null);
+        callRecorder.record(request.method().name(), request.url(),
+            route instanceof String template ? template : null,
+            status, nanos, Math.max(0, request.headers().getContentLength()), received);
+    }
 
-        if (mdcContext != null) {
-            String correlationId = mdcContext.get(MdcKeys.CORRELATION_ID);
-            if (correlationId != null) {
-                builder.header(MdcKeys.HEADER_CORRELATION_ID, correlationId);
-            }
-
-            String transactionId = mdcContext.get(MdcKeys.TRANSACTION_ID);
-            if (transactionId != null) {
-                builder.header(MdcKeys.HEADER_TRANSACTION_ID, transactionId);
-            }
-
-            String userId = mdcContext.get(MdcKeys.USER_ID);
-            if (userId != null) {
-                builder.header(MdcKeys.HEADER_USER_ID, userId);
-            }
+    private ClientRequest withHeaders(ClientRequest request, CorrelationContext context) {
+        if (context.isEmpty()) {
+            return request;
         }
+        ClientRequest.Builder builder = ClientRequest.from(request);
+        context.forEachHeader(builder::header);
+        return builder.build();
+    }
+
+    /**
+     * Active la mesure des appels sortants (latence, statut, volumes).
+     */
+    public void setRecorder(OutboundCallRecorder recorder) {
+        this.recorder = recorder;
+    }
 
-        return next.exchange(builder.build());
+    public OutboundCallRecorder getRecorder() {
+        return recorder;
     }
 
     /**
@@ -0,0 +1,28 @@
+package lcl.afx.logging.span;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Émet chaque span terminé sur une ligne compacte :
+ *
+ * <pre>
+ * ◇ SPAN [CHECK_IBAN] id=5f2a… parent=9c01… total=12ms self=3ms OK
+ * </pre>
+ */
+public class LogSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSpanExporter.class);
+
+    @Override
+    public void export(SpanData span) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        log.info("◇ SPAN [{}] id={} parent={} total={}ms self={}ms {}",
+            span.getName(), span.getSpanId(),
+            span.getParentSpanId() != null ? span.getParentSpanId() : "-",
+            span.getTotalNanos() / 1_000_000, span.getSelfNanos() / 1_000_000,
+            span.isSuccess() ? "OK" : "ERROR");
+    }
+}
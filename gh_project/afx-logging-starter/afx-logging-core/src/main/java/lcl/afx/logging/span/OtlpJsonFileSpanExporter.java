@@ -0,0 +1,171 @@
+package lcl.afx.logging.span;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exporte les spans dans un fichier local au format OTLP/JSON
+ * (une requête {@code ExportTraceServiceRequest} par ligne), lisible par le
+ * receiver "otlpjsonfile" de l'OpenTelemetry Collector.
+ *
+ * <p>Le thread de l'opération ne fait qu'un {@code offer} dans une file bornée ;
+ * l'écriture est faite par lots par un thread dédié. Si la file est pleine,
+ * le span est abandonné et compté.</p>
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OtlpJsonFileSpanExporter.class);
+
+    private static final int BATCH_SIZE = 512;
+
+    private final Path file;
+    private final String serviceName;
+    private final BlockingQueue<SpanData> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public OtlpJsonFileSpanExporter(Path file, String serviceName, int queueCapacity) {
+        this.file = file;
+        this.serviceName = serviceName != null ? serviceName : "unknown_service";
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.writerThread = new Thread(this::writeLoop, "afx-span-exporter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void export(SpanData span) {
+        if (!queue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Nombre de spans abandonnés (file pleine).
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ÉCRITURE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private void writeLoop() {
+        List<SpanData> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                SpanData first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Arrêt : vider la file avant de sortir
+                running = false;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Export OTLP des spans impossible vers {}: {}", file, e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<SpanData> batch) throws IOException {
+        StringBuilder json = new StringBuilder(256 + batch.size() * 320);
+        json.append("{\"resourceSpans\":[{\"resource\":{\"attributes\":[");
+        attribute(json, "service.name", serviceName);
+        json.append("]},\"scopeSpans\":[{\"scope\":{\"name\":\"afx-logging\"},\"spans\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendSpan(json, batch.get(i));
+        }
+        json.append("]}]}]}\n");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            writer.write(json.toString());
+        }
+    }
+
+    static void appendSpan(StringBuilder json, SpanData span) {
+        json.append("{\"traceId\":\"").append(span.getTraceId())
+            .append("\",\"spanId\":\"").append(span.getSpanId()).append('"');
+        if (span.getParentSpanId() != null) {
+            json.append(",\"parentSpanId\":\"").append(span.getParentSpanId()).append('"');
+        }
+        json.append(",\"name\":");
+        string(json, span.getName());
+        // kind 1 = SPAN_KIND_INTERNAL ; timestamps en chaîne (uint64 OTLP/JSON)
+        json.append(",\"kind\":1,\"startTimeUnixNano\":\"").append(span.getStartEpochNanos())
+            .append("\",\"endTimeUnixNano\":\"").append(span.getEndEpochNanos())
+            .append("\",\"attributes\":[");
+        json.append("{\"key\":\"afx.self_time_ns\",\"value\":{\"intValue\":\"")
+            .append(span.getSelfNanos()).append("\"}}");
+        if (span.getCorrelationId() != null) {
+            json.append(',');
+            attribute(json, "correlation_id", span.getCorrelationId());
+        }
+        // status 1 = STATUS_CODE_OK, 2 = STATUS_CODE_ERROR
+        json.append("],\"status\":{\"code\":").append(span.isSuccess() ? 1 : 2).append("}}");
+    }
+
+    private static void attribute(StringBuilder json, String key, String value) {
+        json.append("{\"key\":");
+        string(json, key);
+        json.append(",\"value\":{\"stringValue\":");
+        string(json, value);
+        json.append("}}");
+    }
+
+    private static void string(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
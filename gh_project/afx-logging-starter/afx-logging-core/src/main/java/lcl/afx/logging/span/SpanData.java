@@ -0,0 +1,81 @@
+package lcl.afx.logging.span;
+
+/**
+ * Span terminé, transmis aux {@link SpanExporter}.
+ *
+ * <p>Créé uniquement quand un exporteur est configuré.</p>
+ */
+public final class SpanData {
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final String correlationId;
+    private final long startEpochNanos;
+    private final long totalNanos;
+    private final long selfNanos;
+    private final boolean success;
+
+    SpanData(String traceId, String spanId, String parentSpanId, String name, String correlationId,
+             long startEpochNanos, long totalNanos, long selfNanos, boolean success) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.correlationId = correlationId;
+        this.startEpochNanos = startEpochNanos;
+        this.totalNanos = totalNanos;
+        this.selfNanos = selfNanos;
+        this.success = success;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * Span parent, ou null pour une opération racine sans contexte entrant.
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return startEpochNanos + totalNanos;
+    }
+
+    /**
+     * Durée totale, opérations imbriquées comprises.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Durée propre : durée totale moins celle des opérations imbriquées.
+     */
+    public long getSelfNanos() {
+        return selfNanos;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+}
@@ -0,0 +1,33 @@
+package lcl.afx.logging.span;
+
+import java.util.List;
+
+/**
+ * Destination des spans terminés.
+ *
+ * <p>Appelé sur le thread de l'opération : une implémentation qui fait des
+ * entrées/sorties doit les déporter (voir {@link OtlpJsonFileSpanExporter}).</p>
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+    void export(SpanData span);
+
+    /**
+     * Combine plusieurs exporteurs (null si la liste est vide).
+     */
+    static SpanExporter composite(List<SpanExporter> exporters) {
+        if (exporters == null || exporters.isEmpty()) {
+            return null;
+        }
+        if (exporters.size() == 1) {
+            return exporters.get(0);
+        }
+        SpanExporter[] targets = exporters.toArray(new SpanExporter[0]);
+        return span -> {
+            for (SpanExporter target : targets) {
+                target.export(span);
+            }
+        };
+    }
+}
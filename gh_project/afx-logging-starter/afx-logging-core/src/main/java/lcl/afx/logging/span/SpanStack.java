@@ -0,0 +1,172 @@
+package lcl.afx.logging.span;
+
+import lcl.afx.logging.mdc.CorrelationContext;
+import lcl.afx.logging.mdc.MdcKeys;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Pile des opérations {@code @PaymentLog} en cours sur le thread.
+ *
+ * <p>Chaque opération reçoit un identifiant de span et connaît son parent :
+ * le MDC (operation, operation_id, parent_operation_id) est restauré sur
+ * l'opération englobante à la sortie d'une opération imbriquée. Les durées
+ * des enfants sont cumulées dans le parent pour calculer le temps propre
+ * (self time) de chaque opération.</p>
+ *
+ * <p>Les tableaux sont préalloués et réutilisés par thread : aucun objet
+ * n'est créé par opération hors l'identifiant, sauf si le span est exporté.</p>
+ */
+public final class SpanStack {
+
+    static final int MAX_DEPTH = 64;
+
+    private static final ThreadLocal<SpanStack> STACK = ThreadLocal.withInitial(SpanStack::new);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String[] names = new String[MAX_DEPTH];
+    private final String[] spanIds = new String[MAX_DEPTH];
+    private final long[] startNanos = new long[MAX_DEPTH];
+    private final long[] childNanos = new long[MAX_DEPTH];
+    private int depth;
+    private int overflow;
+
+    // Opération racine courante (trace résolue seulement à l'export)
+    private long rootStartNanos;
+    private long rootEpochNanos;
+    private String traceId;
+    private String rootParentId;
+
+    private SpanStack() {
+    }
+
+    /**
+     * Pile du thread courant.
+     */
+    public static SpanStack current() {
+        return STACK.get();
+    }
+
+    /**
+     * Démarre une opération et positionne le MDC.
+     *
+     * @return l'identifiant du span (16 caractères hexadécimaux)
+     */
+    public String push(String name) {
+        String spanId = hex(ThreadLocalRandom.current().nextLong() | 1L);
+        if (depth == MAX_DEPTH) {
+            // Récursion anormale : l'opération n'est pas suivie
+            overflow++;
+            return spanId;
+        }
+        long now = System.nanoTime();
+        if (depth == 0) {
+            rootStartNanos = now;
+            rootEpochNanos = System.currentTimeMillis() * 1_000_000L;
+            traceId = null;
+            rootParentId = null;
+        }
+        names[depth] = name;
+        spanIds[depth] = spanId;
+        childNanos[depth] = 0;
+        startNanos[depth] = now;
+        depth++;
+        applyMdc();
+        return spanId;
+    }
+
+    /**
+     * Termine l'opération courante et restaure le MDC de l'opération englobante.
+     *
+     * @param export construire le {@link SpanData} du span terminé
+     * @return le span terminé, ou null si {@code export} est faux
+     */
+    public SpanData pop(boolean success, boolean export) {
+        if (overflow > 0) {
+            overflow--;
+            return null;
+        }
+        if (depth == 0) {
+            return null;
+        }
+        int index = --depth;
+        long total = System.nanoTime() - startNanos[index];
+        long self = total - childNanos[index];
+        if (index > 0) {
+            childNanos[index - 1] += total;
+        }
+        SpanData span = export ? toSpanData(index, total, self, success) : null;
+        names[index] = null;
+        spanIds[index] = null;
+        applyMdc();
+        return span;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Identifiant du span courant, ou null hors opération.
+     */
+    public String getCurrentSpanId() {
+        return depth > 0 ? spanIds[depth - 1] : null;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // MÉTHODES PRIVÉES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private void applyMdc() {
+        if (depth == 0) {
+            MDC.remove(MdcKeys.OPERATION);
+            MDC.remove(MdcKeys.OPERATION_ID);
+            MDC.remove(MdcKeys.PARENT_OPERATION_ID);
+            return;
+        }
+        MDC.put(MdcKeys.OPERATION, names[depth - 1]);
+        MDC.put(MdcKeys.OPERATION_ID, spanIds[depth - 1]);
+        if (depth > 1) {
+            MDC.put(MdcKeys.PARENT_OPERATION_ID, spanIds[depth - 2]);
+        } else {
+            MDC.remove(MdcKeys.PARENT_OPERATION_ID);
+        }
+    }
+
+    private SpanData toSpanData(int index, long total, long self, boolean success) {
+        if (traceId == null) {
+            resolveTrace();
+        }
+        String parent = index > 0 ? spanIds[index - 1] : rootParentId;
+        long startEpochNanos = rootEpochNanos + (startNanos[index] - rootStartNanos);
+        return new SpanData(traceId, spanIds[index], parent, names[index],
+            MDC.get(MdcKeys.CORRELATION_ID), startEpochNanos, total, self, success);
+    }
+
+    /**
+     * Rattache la racine au traceparent de la requête s'il existe,
+     * sinon génère un trace-id.
+     */
+    private void resolveTrace() {
+        String traceparent = CorrelationContext.current().getTraceparent();
+        if (traceparent != null && traceparent.length() == 55) {
+            traceId = traceparent.substring(3, 35);
+            rootParentId = traceparent.substring(36, 52);
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            traceId = hex(random.nextLong() | 1L) + hex(random.nextLong());
+            rootParentId = null;
+        }
+    }
+
+    private static String hex(long value) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,134 @@
+package lcl.afx.logging.tail;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tampon circulaire par requête des événements de log différés (DEBUG sous le
+ * niveau des loggers), émis seulement si la requête échoue ou est lente.
+ *
+ * <p>Créé par {@code CorrelationIdFilter} au début de la requête et alimenté
+ * par {@link TailCaptureFilter}, y compris pour les ENTRY / EXIT
+ * {@code @PaymentLog}. Les événements sont conservés non formatés (format et
+ * arguments bruts, MDC figé) : une requête réussie sous son seuil abandonne le
+ * tampon sans les formater ni les masquer.</p>
+ *
+ * <p>Au-delà de la capacité, les événements les plus anciens sont remplacés
+ * et comptés. Le tableau est préalloué et réutilisé par thread.</p>
+ */
+public final class TailBuffer {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final ThreadLocal<TailBuffer> POOL = new ThreadLocal<>();
+    private static final ThreadLocal<TailBuffer> CURRENT = new ThreadLocal<>();
+
+    private final ILoggingEvent[] events;
+    private int next;
+    private int size;
+    private int dropped;
+    private boolean errorLogged;
+
+    private TailBuffer(int capacity) {
+        this.events = new ILoggingEvent[capacity];
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CYCLE DE VIE (CorrelationIdFilter)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Démarre la capture pour la requête du thread courant.
+     */
+    public static TailBuffer begin(int capacity) {
+        TailBuffer buffer = POOL.get();
+        if (buffer == null || buffer.events.length != capacity) {
+            buffer = new TailBuffer(Math.max(1, capacity));
+            POOL.set(buffer);
+        }
+        buffer.next = 0;
+        buffer.size = 0;
+        buffer.dropped = 0;
+        buffer.errorLogged = false;
+        CURRENT.set(buffer);
+        return buffer;
+    }
+
+    /**
+     * Tampon de la requête en cours sur ce thread, ou null.
+     */
+    public static TailBuffer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Termine la capture (le tampon reste lisible jusqu'à {@link #flush()} ou
+     * {@link #discard()}).
+     */
+    public void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Émet les événements capturés, du plus ancien au plus récent, vers les
+     * appenders de leur logger (le niveau du logger n'est pas réévalué). Les
+     * messages sont formatés à ce moment, arguments dans leur état courant.
+     */
+    public void flush() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (factory instanceof LoggerContext context) {
+            int first = size < events.length ? 0 : next;
+            for (int i = 0; i < size; i++) {
+                ILoggingEvent event = events[(first + i) % events.length];
+                context.getLogger(event.getLoggerName()).callAppenders(event);
+            }
+        }
+        discard();
+    }
+
+    /**
+     * Abandonne les événements capturés sans les émettre.
+     */
+    public void discard() {
+        for (int i = 0; i < size; i++) {
+            events[i] = null;
+        }
+        next = 0;
+        size = 0;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CAPTURE (TailCaptureFilter)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    void add(ILoggingEvent event) {
+        if (size == events.length) {
+            dropped++;
+        } else {
+            size++;
+        }
+        events[next] = event;
+        next = (next + 1) % events.length;
+    }
+
+    void errorLogged() {
+        errorLogged = true;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Un événement ERROR a-t-il été journalisé pendant la requête ?
+     */
+    public boolean isErrorLogged() {
+        return errorLogged;
+    }
+}
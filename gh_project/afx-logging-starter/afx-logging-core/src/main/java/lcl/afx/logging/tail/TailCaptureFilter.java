@@ -0,0 +1,169 @@
+package lcl.afx.logging.tail;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.CallerData;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.List;
+
+/**
+ * Filtre Logback qui retient dans le {@link TailBuffer} de la requête les
+ * événements sous le niveau de leur logger, au lieu de les ignorer.
+ *
+ * <p>Un {@code TurboFilter} plutôt qu'un appender : il est consulté avant le
+ * test de niveau, alors qu'un appender ne reçoit jamais un DEBUG désactivé.
+ * Pendant une requête suivie, {@code isDebugEnabled()} répond vrai pour les
+ * loggers concernés, puis l'appel {@code debug(...)} est capturé et refusé aux
+ * appenders. Hors requête, ou au-dessus du niveau du logger, le filtre est
+ * neutre ; un ERROR journalisé pendant la requête est seulement noté (vidage
+ * du tampon en fin de requête).</p>
+ *
+ * <p>À la capture, seuls le MDC et le thread sont figés (copie de la map du
+ * MDC) ; le format et les arguments sont conservés bruts. Le formatage, et donc
+ * la sérialisation et le masquage des paramètres {@code @PaymentLog}, n'ont
+ * lieu qu'au vidage : un tampon abandonné ne coûte que ses allocations.
+ * L'appelant est résolu à la capture si {@code includeCallerData} (sinon
+ * absent : au vidage, la pile serait celle de {@code CorrelationIdFilter}).</p>
+ *
+ * <p>Installé par l'auto-configuration ({@link #install()}), ou dans
+ * logback-spring.xml :</p>
+ * <pre>
+ * &lt;turboFilter class="lcl.afx.logging.tail.TailCaptureFilter"&gt;
+ *     &lt;level&gt;DEBUG&lt;/level&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class TailCaptureFilter extends TurboFilter {
+
+    // Configuration
+    private Level level = Level.DEBUG;
+    private String[] loggers = {"lcl.afx.logging"};
+    private boolean includeCallerData = false;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel,
+                              String format, Object[] params, Throwable t) {
+        int levelInt = eventLevel.levelInt;
+        if (levelInt >= Level.ERROR_INT) {
+            if (format != null || t != null) {
+                TailBuffer buffer = TailBuffer.current();
+                if (buffer != null) {
+                    buffer.errorLogged();
+                }
+            }
+            return FilterReply.NEUTRAL;
+        }
+        // Chemin courant : événement actif ou sous le niveau capturé
+        if (levelInt >= logger.getEffectiveLevel().levelInt || levelInt < level.levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        TailBuffer buffer = TailBuffer.current();
+        if (buffer == null || !isCaptured(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (format == null && params == null && t == null) {
+            // isDebugEnabled() : l'appelant construit l'événement, capturé ci-dessous
+            return FilterReply.ACCEPT;
+        }
+        // Appel SLF4J direct : les cadres de pile de l'appelant suivent ceux de Logger
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, eventLevel, format, t, params);
+        // MDC et thread figés (l'opération courante est dépilée avant le
+        // vidage) ; message formaté au vidage seulement
+        event.getThreadName();
+        event.getMDCPropertyMap();
+        if (includeCallerData) {
+            event.getCallerData();
+        } else {
+            event.setCallerData(CallerData.EMPTY_CALLER_DATA_ARRAY);
+        }
+        buffer.add(event);
+        return FilterReply.DENY;
+    }
+
+    private boolean isCaptured(String loggerName) {
+        if (loggers.length == 0) {
+            return true;
+        }
+        for (String prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // INSTALLATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Ajoute le filtre au contexte Logback courant.
+     *
+     * @return false si SLF4J n'est pas relié à Logback
+     */
+    public boolean install() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return false;
+        }
+        setContext(context);
+        start();
+        context.addTurboFilter(this);
+        return true;
+    }
+
+    /**
+     * Retire le filtre du contexte Logback.
+     */
+    public void uninstall() {
+        if (getContext() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(this);
+        }
+        stop();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // Setters pour configuration
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Niveau minimal capturé (DEBUG par défaut, TRACE pour tout retenir).
+     */
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.DEBUG);
+    }
+
+    /**
+     * Préfixes des loggers capturés (vide : tous les loggers).
+     */
+    public void setLoggers(List<String> loggers) {
+        this.loggers = loggers.toArray(new String[0]);
+    }
+
+    /**
+     * Résout l'appelant (classe, méthode, ligne) de chaque événement capturé :
+     * une lecture de pile par événement, à n'activer que si le pattern l'affiche.
+     */
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public String getLevel() {
+        return level.toString();
+    }
+
+    public List<String> getLoggers() {
+        return List.of(loggers);
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+}
@@ -0,0 +1,31 @@
+package lcl.afx.logging.user;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lcl.afx.logging.mdc.MdcKeys;
+
+/**
+ * Lit le user ID depuis un header HTTP, typiquement posé par la gateway
+ * après authentification (par défaut {@code X-User-ID}).
+ */
+public class HeaderUserIdResolver implements UserIdResolver {
+
+    private final String headerName;
+
+    public HeaderUserIdResolver() {
+        this(MdcKeys.HEADER_USER_ID);
+    }
+
+    public HeaderUserIdResolver(String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    public String resolveUserId(HttpServletRequest request) {
+        String userId = request.getHeader(headerName);
+        return userId != null && !userId.isBlank() ? userId : null;
+    }
+
+    public String getHeaderName() {
+        return headerName;
+    }
+}
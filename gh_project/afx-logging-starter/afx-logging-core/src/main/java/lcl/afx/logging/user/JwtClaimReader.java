@@ -0,0 +1,212 @@
+package lcl.afx.logging.user;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecture d'un claim de premier niveau dans un JWT {@code Bearer}, commune aux
+ * résolveurs servlet ({@link JwtClaimUserIdResolver}) et réactif
+ * ({@link ReactiveUserIdResolver#jwtClaim(String)}).
+ *
+ * <p>Le token n'est PAS vérifié : il l'a déjà été par la gateway ou la chaîne
+ * Spring Security, la valeur ne sert qu'à enrichir les logs.</p>
+ *
+ * <p>Le payload base64url est décodé à la volée pendant la recherche du claim,
+ * sans copie du token ni parsing JSON : la seule allocation est la valeur retournée.
+ * Seuls les claims de premier niveau de type chaîne (sans échappement) ou numérique
+ * sont supportés ; les objets et tableaux imbriqués (ex: {@code act}, {@code cnf})
+ * sont parcourus sans que leurs clés soient comparées.</p>
+ */
+final class JwtClaimReader {
+
+    static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final String claimName;
+    // Nom du claim en UTF-8, sans guillemets
+    private final byte[] name;
+
+    JwtClaimReader(String claimName) {
+        this.claimName = claimName;
+        this.name = claimName.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Valeur du claim dans la valeur du header {@code Authorization}.
+     *
+     * @return null si le header n'est pas un Bearer JWT, si le claim est
+     *         absent ou si sa valeur n'est pas supportée
+     */
+    String read(String authorization) {
+        if (authorization == null
+            || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return null;
+        }
+        int payloadStart = authorization.indexOf('.', BEARER.length()) + 1;
+        if (payloadStart == 0) {
+            return null;
+        }
+        int payloadEnd = authorization.indexOf('.', payloadStart);
+        if (payloadEnd < 0) {
+            return null;
+        }
+        while (payloadEnd > payloadStart && authorization.charAt(payloadEnd - 1) == '=') {
+            payloadEnd--;
+        }
+        return extractClaim(authorization, payloadStart, payloadEnd);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // RECHERCHE DU CLAIM DANS LE PAYLOAD DÉCODÉ À LA VOLÉE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private String extractClaim(String token, int start, int end) {
+        int chars = end - start;
+        int length = (chars / 4) * 3 + Math.max(0, (chars % 4) - 1);
+
+        // Profondeur d'imbrication ({ et [) ; seules les clés du payload (profondeur 1) comptent
+        int depth = 0;
+        boolean expectKey = false;
+        for (int i = 0; i < length; i++) {
+            int b = byteAt(token, start, end, i);
+            if (b < 0) {
+                return null;
+            }
+            if (b == '"') {
+                if (depth == 1 && expectKey && matchesName(token, start, end, i + 1, length)) {
+                    int pos = skipSpaces(token, start, end, i + name.length + 2, length);
+                    if (pos < length && byteAt(token, start, end, pos) == ':') {
+                        pos = skipSpaces(token, start, end, pos + 1, length);
+                        return pos < length ? readValue(token, start, end, pos, length) : null;
+                    }
+                }
+                i = skipString(token, start, end, i + 1, length);
+                if (i < 0) {
+                    return null;
+                }
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+                if (depth == 1) {
+                    expectKey = b == '{';
+                }
+            } else if (b == '}' || b == ']') {
+                depth--;
+            } else if (depth == 1 && (b == ',' || b == ':')) {
+                // Après ',' vient une clé, après ':' une valeur
+                expectKey = b == ',';
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Le nom du claim, suivi du guillemet fermant, commence-t-il à {@code pos} ?
+     */
+    private boolean matchesName(String token, int start, int end, int pos, int length) {
+        if (pos + name.length >= length) {
+            return false;
+        }
+        for (int k = 0; k < name.length; k++) {
+            if (byteAt(token, start, end, pos + k) != name[k]) {
+                return false;
+            }
+        }
+        return byteAt(token, start, end, pos + name.length) == '"';
+    }
+
+    /**
+     * Position du guillemet fermant de la chaîne commençant à {@code pos}, ou -1.
+     */
+    private int skipString(String token, int start, int end, int pos, int length) {
+        while (pos < length) {
+            int b = byteAt(token, start, end, pos);
+            if (b < 0) {
+                return -1;
+            }
+            if (b == '\\') {
+                pos += 2;
+                continue;
+            }
+            if (b == '"') {
+                return pos;
+            }
+            pos++;
+        }
+        return -1;
+    }
+
+    private String readValue(String token, int start, int end, int pos, int length) {
+        boolean quoted = byteAt(token, start, end, pos) == '"';
+        int from = quoted ? pos + 1 : pos;
+        int to = from;
+        while (to < length) {
+            int b = byteAt(token, start, end, to);
+            if (b < 0 || (quoted && b == '\\')) {
+                return null;
+            }
+            if (quoted ? b == '"' : !(b == '-' || b == '.' || (b >= '0' && b <= '9'))) {
+                break;
+            }
+            to++;
+        }
+        if (to == from || (quoted && to >= length)) {
+            return null;
+        }
+        byte[] value = new byte[to - from];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = (byte) byteAt(token, start, end, from + i);
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private int skipSpaces(String token, int start, int end, int pos, int length) {
+        while (pos < length) {
+            int b = byteAt(token, start, end, pos);
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return pos;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Décode l'octet {@code index} du payload base64url, ou -1 si invalide.
+     */
+    private static int byteAt(String token, int start, int end, int index) {
+        int group = start + (index / 3) * 4;
+        int v0 = sextet(token, group, end);
+        int v1 = sextet(token, group + 1, end);
+        switch (index % 3) {
+            case 0:
+                return (v0 | v1) < 0 ? -1 : ((v0 << 2) | (v1 >> 4)) & 0xFF;
+            case 1: {
+                int v2 = sextet(token, group + 2, end);
+                return (v1 | v2) < 0 ? -1 : (((v1 & 0x0F) << 4) | (v2 >> 2)) & 0xFF;
+            }
+            default: {
+                int v2 = sextet(token, group + 2, end);
+                int v3 = sextet(token, group + 3, end);
+                return (v2 | v3) < 0 ? -1 : (((v2 & 0x03) << 6) | v3) & 0xFF;
+            }
+        }
+    }
+
+    private static int sextet(String token, int pos, int end) {
+        if (pos >= end) {
+            return -1;
+        }
+        char c = token.charAt(pos);
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 26;
+        if (c >= '0' && c <= '9') return c - '0' + 52;
+        if (c == '-' || c == '+') return 62;
+        if (c == '_' || c == '/') return 63;
+        return -1;
+    }
+
+    String getClaimName() {
+        return claimName;
+    }
+}
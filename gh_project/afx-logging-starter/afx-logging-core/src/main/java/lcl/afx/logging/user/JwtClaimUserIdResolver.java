@@ -0,0 +1,34 @@
+package lcl.afx.logging.user;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Extrait le user ID d'un claim du JWT porté par le header {@code Authorization: Bearer ...}.
+ *
+ * <p>Le token n'est PAS vérifié : il l'a déjà été par la gateway ou la chaîne
+ * Spring Security, la valeur ne sert qu'à enrichir les logs. Décodage et
+ * recherche du claim sans allocation intermédiaire ({@link JwtClaimReader}) ;
+ * seuls les claims de premier niveau de type chaîne (sans échappement) ou
+ * numérique sont supportés.</p>
+ */
+public class JwtClaimUserIdResolver implements UserIdResolver {
+
+    private final JwtClaimReader reader;
+
+    public JwtClaimUserIdResolver() {
+        this("sub");
+    }
+
+    public JwtClaimUserIdResolver(String claimName) {
+        this.reader = new JwtClaimReader(claimName);
+    }
+
+    @Override
+    public String resolveUserId(HttpServletRequest request) {
+        return reader.read(request.getHeader(JwtClaimReader.AUTHORIZATION));
+    }
+
+    public String getClaimName() {
+        return reader.getClaimName();
+    }
+}
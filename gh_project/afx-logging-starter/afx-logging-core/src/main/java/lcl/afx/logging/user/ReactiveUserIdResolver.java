@@ -0,0 +1,48 @@
+package lcl.afx.logging.user;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Équivalent réactif de {@link UserIdResolver}, appelé par
+ * {@code CorrelationIdWebFilter} sur l'event loop : les implémentations ne
+ * doivent ni bloquer ni allouer au-delà de la valeur retournée.
+ *
+ * <p>Seules les sources synchrones de la requête sont supportées (header, claim
+ * JWT). Le nom de l'utilisateur Spring Security n'est pas disponible : en
+ * WebFlux, le {@code ReactiveSecurityContextHolder} n'est renseigné qu'en aval
+ * du filtre, dans le {@code Context} Reactor de la chaîne de sécurité.</p>
+ */
+@FunctionalInterface
+public interface ReactiveUserIdResolver {
+
+    /**
+     * Résolveur qui ne renseigne jamais le user ID.
+     */
+    ReactiveUserIdResolver NONE = request -> null;
+
+    /**
+     * Extrait le user ID de la requête.
+     *
+     * @return le user ID, ou null si inconnu
+     */
+    String resolveUserId(ServerHttpRequest request);
+
+    /**
+     * User ID lu depuis un header HTTP posé par la gateway (ex: X-User-ID).
+     */
+    static ReactiveUserIdResolver header(String headerName) {
+        return request -> {
+            String userId = request.getHeaders().getFirst(headerName);
+            return userId != null && !userId.isBlank() ? userId : null;
+        };
+    }
+
+    /**
+     * User ID lu dans un claim du JWT {@code Authorization: Bearer ...},
+     * avec les mêmes règles que {@link JwtClaimUserIdResolver}.
+     */
+    static ReactiveUserIdResolver jwtClaim(String claimName) {
+        JwtClaimReader reader = new JwtClaimReader(claimName);
+        return request -> reader.read(request.getHeaders().getFirst(JwtClaimReader.AUTHORIZATION));
+    }
+}
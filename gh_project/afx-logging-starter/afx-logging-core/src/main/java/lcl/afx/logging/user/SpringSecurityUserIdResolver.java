@@ -0,0 +1,37 @@
+package lcl.afx.logging.user;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Extrait le user ID depuis le {@code SecurityContext} de Spring Security.
+ *
+ * <p>Une authentification non authentifiée, sans principal ou dont le
+ * principal est {@code anonymousUser} (principal par défaut du filtre
+ * anonyme de Spring Security) ne donne pas de user ID.</p>
+ *
+ * <p>Appels typés directs : cette classe ne doit être chargée que si
+ * Spring Security est présent (voir {@link UserIdResolver#springSecurityIfPresent()}).</p>
+ */
+public class SpringSecurityUserIdResolver implements UserIdResolver {
+
+    static final String SECURITY_CONTEXT_HOLDER =
+        "org.springframework.security.core.context.SecurityContextHolder";
+
+    private static final String ANONYMOUS_PRINCIPAL = "anonymousUser";
+
+    @Override
+    public String resolveUserId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal == null || ANONYMOUS_PRINCIPAL.equals(principal.toString())) {
+            return null;
+        }
+        String name = authentication.getName();
+        return name != null && !name.isBlank() ? name : null;
+    }
+}
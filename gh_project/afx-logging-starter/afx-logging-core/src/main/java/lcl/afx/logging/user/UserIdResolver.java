@@ -0,0 +1,47 @@
+package lcl.afx.logging.user;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Stratégie d'extraction du user ID pour le MDC ({@code user_id}).
+ *
+ * <p>Résolue une seule fois au démarrage et appelée par
+ * {@code CorrelationIdFilter} à chaque requête : les implémentations ne doivent
+ * ni utiliser la réflexion ni allouer au-delà de la valeur retournée.</p>
+ *
+ * <p>Implémentations fournies:</p>
+ * <ul>
+ *   <li>{@link SpringSecurityUserIdResolver} : nom de l'utilisateur authentifié</li>
+ *   <li>{@link HeaderUserIdResolver} : header HTTP (ex: X-User-ID posé par la gateway)</li>
+ *   <li>{@link JwtClaimUserIdResolver} : claim du JWT du header Authorization</li>
+ * </ul>
+ */
+@FunctionalInterface
+public interface UserIdResolver {
+
+    /**
+     * Résolveur qui ne renseigne jamais le user ID.
+     */
+    UserIdResolver NONE = request -> null;
+
+    /**
+     * Extrait le user ID de la requête.
+     *
+     * @return le user ID, ou null si inconnu
+     */
+    String resolveUserId(HttpServletRequest request);
+
+    /**
+     * Résolveur Spring Security si présent sur le classpath, {@link #NONE} sinon.
+     *
+     * <p>La présence de la classe n'est testée qu'une fois, à l'appel de cette méthode.</p>
+     */
+    static UserIdResolver springSecurityIfPresent() {
+        if (ClassUtils.isPresent(SpringSecurityUserIdResolver.SECURITY_CONTEXT_HOLDER,
+                UserIdResolver.class.getClassLoader())) {
+            return new SpringSecurityUserIdResolver();
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,101 @@
+package lcl.afx.logging.digest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestDigestTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDigest digest = RequestDigest.current();
+        if (digest != null) {
+            digest.end();
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // IMBRICATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void rendersNestingDepth() {
+        RequestDigest digest = RequestDigest.begin(8);
+        int transfer = digest.enter("SEPA_TRANSFER");
+        digest.exit(digest.enter("CHECK_IBAN"), true);
+        int cics = digest.enter("CALL_CICS");
+        digest.exit(cics, false);
+        digest.exit(transfer, false);
+
+        assertThat(digest.toString())
+            .matches("\\[SEPA_TRANSFER \\d+ms ERROR, \\.CHECK_IBAN \\d+ms OK, \\.CALL_CICS \\d+ms ERROR]");
+        assertThat(digest.getOperationCount()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsDepthWhenNestedOperationsOverflowCapacity() {
+        RequestDigest digest = RequestDigest.begin(2);
+        int root = digest.enter("ROOT");
+        int child = digest.enter("CHILD");
+        // Capacité atteinte : comptées, non enregistrées, mais la profondeur avance
+        int lost = digest.enter("GRAND_CHILD");
+        int deeper = digest.enter("GREAT_GRAND_CHILD");
+        assertThat(lost).isEqualTo(-1);
+        assertThat(deeper).isEqualTo(-1);
+
+        digest.exit(deeper, true);
+        digest.exit(lost, true);
+        digest.exit(child, true);
+        digest.exit(root, true);
+
+        assertThat(digest.getOperationCount()).isEqualTo(4);
+        assertThat(digest.toString()).matches("\\[ROOT \\d+ms OK, \\.CHILD \\d+ms OK, \\+2 more]");
+
+        // Profondeur revenue à zéro : une nouvelle requête repart de la racine
+        RequestDigest next = RequestDigest.begin(2);
+        next.exit(next.enter("NEXT"), true);
+        assertThat(next.toString()).matches("\\[NEXT \\d+ms OK]");
+    }
+
+    @Test
+    void doesNotUnderflowOnUnbalancedExit() {
+        RequestDigest digest = RequestDigest.begin(4);
+        digest.exit(-1, true);
+        digest.exit(digest.enter("ROOT"), true);
+
+        assertThat(digest.toString()).matches("\\[ROOT \\d+ms OK]");
+    }
+
+    @Test
+    void clampsDepthBeyondByteRange() {
+        RequestDigest digest = RequestDigest.begin(200);
+        for (int i = 0; i < 150; i++) {
+            digest.enter("OP" + i);
+        }
+
+        String rendered = digest.toString();
+
+        assertThat(rendered).contains(", " + ".".repeat(127) + "OP127 RUNNING");
+        assertThat(rendered).contains(", " + ".".repeat(127) + "OP149 RUNNING]");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CYCLE DE VIE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void reusesInstancePerThreadAndResetsIt() {
+        RequestDigest first = RequestDigest.begin(4);
+        first.enter("RUNNING_OP");
+        first.end();
+        assertThat(RequestDigest.current()).isNull();
+
+        RequestDigest second = RequestDigest.begin(4);
+
+        assertThat(second).isSameAs(first);
+        assertThat(RequestDigest.current()).isSameAs(second);
+        assertThat(second.getOperationCount()).isZero();
+        assertThat(second.toString()).isEqualTo("[]");
+    }
+}
@@ -0,0 +1,161 @@
+package lcl.afx.logging.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletInputStream;
+import lcl.afx.logging.masking.DataMasker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodyCaptureFilterTest {
+
+    private static final int FIVE_MB = 5 * 1024 * 1024;
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final ch.qos.logback.classic.Logger logger = context.getLogger(BodyCaptureFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final BodyCaptureFilter filter = new BodyCaptureFilter(new DataMasker());
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        appender.setContext(context);
+        appender.start();
+        logger.addAppender(appender);
+        filter.setMaxBytes(64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        logger.setLevel(previousLevel);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PLAFOND ET TOTAUX
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void capsMultiMegabyteBodyAndCountsEveryByte() throws Exception {
+        byte[] body = new byte[FIVE_MB];
+        Arrays.fill(body, (byte) 'a');
+        MockHttpServletRequest request = request("application/json", body);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            assertThat(drain(req.getInputStream())).isEqualTo(FIVE_MB);
+            res.setContentType("application/json");
+            res.getOutputStream().write(body);
+        });
+
+        String message = singleMessage();
+        assertThat(message).contains("requestBytes=" + FIVE_MB, "responseBytes=" + FIVE_MB);
+        assertThat(message.length()).isLessThan(400);
+        // Fenêtre de 64 octets dont le jeton final coupé (40 caractères au plus) est retiré
+        assertThat(message).contains("requestBody=" + "a".repeat(24) + "…[truncated] ");
+        assertThat(response.getContentAsByteArray()).hasSize(FIVE_MB);
+    }
+
+    @Test
+    void countsMultipartRequestWithoutCapturingIt() throws Exception {
+        byte[] body = "--boundary\r\nContent-Disposition: form-data; name=\"file\"\r\n\r\nPAN 4532015112830366\r\n--boundary--"
+            .getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = request("multipart/form-data; boundary=boundary", body);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> drain(req.getInputStream()));
+
+        assertThat(singleMessage())
+            .contains("requestBytes=" + body.length, "requestBody= ")
+            .doesNotContain("4532");
+    }
+
+    @Test
+    void countsBinaryResponseWithoutCapturingIt() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/statements/42.pdf"), response, (req, res) -> {
+            res.setContentType("application/pdf");
+            res.getOutputStream().write(new byte[10_000]);
+        });
+
+        assertThat(singleMessage()).contains("responseBytes=10000").endsWith("responseBody=");
+        assertThat(response.getContentAsByteArray()).hasSize(10_000);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // WRITER ET MASQUAGE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void flushesWriterBeforeLogging() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType("application/json");
+            res.setCharacterEncoding("UTF-8");
+            // Pas de flush : le PrintWriter bufferise encore le contenu à la sortie de la chaîne
+            res.getWriter().print("{\"status\":\"OK\",\"pan\":\"4532015112830366\"}");
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/cards/1"), response, chain);
+
+        assertThat(singleMessage())
+            .contains("responseBytes=40")
+            .endsWith("responseBody={\"status\":\"OK\",\"pan\":\"453201******0366\"}");
+        assertThat(response.getContentAsString()).contains("4532015112830366");
+    }
+
+    @Test
+    void masksAndTrimsTruncatedRequestBody() throws Exception {
+        filter.setMaxBytes(16);
+        MockHttpServletRequest request = request("application/json",
+            "{\"pan\":\"4532015112830366\",\"amount\":100}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> drain(req.getInputStream()));
+
+        assertThat(singleMessage())
+            .contains("requestBody={\"pan\":\"…[truncated]")
+            .doesNotContain("4532");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // HELPERS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static MockHttpServletRequest request(String contentType, byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transfers");
+        request.setContentType(contentType);
+        request.setContent(body);
+        return request;
+    }
+
+    private static int drain(ServletInputStream in) throws java.io.IOException {
+        byte[] chunk = new byte[8192];
+        int total = 0;
+        int count;
+        while ((count = in.read(chunk, 0, chunk.length)) > 0) {
+            total += count;
+        }
+        return total;
+    }
+
+    private String singleMessage() {
+        assertThat(appender.list).hasSize(1);
+        return appender.list.get(0).getFormattedMessage();
+    }
+}
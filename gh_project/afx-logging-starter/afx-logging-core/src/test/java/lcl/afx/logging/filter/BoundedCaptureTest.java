@@ -0,0 +1,95 @@
+package lcl.afx.logging.filter;
+
+import lcl.afx.logging.masking.DataMasker;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCaptureTest {
+
+    private final DataMasker masker = new DataMasker();
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PLAFOND
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void neverAllocatesBeyondMaxBytes() {
+        BoundedCapture capture = new BoundedCapture(4096);
+        byte[] chunk = new byte[8192];
+        for (int i = 0; i < 640; i++) {
+            capture.write(chunk, 0, chunk.length);
+        }
+
+        assertThat(capture.getTotalBytes()).isEqualTo(640L * 8192);
+        assertThat(capture.capacity()).isEqualTo(4096);
+        assertThat(capture.isTruncated()).isTrue();
+    }
+
+    @Test
+    void growsOnDemandUpToMaxBytes() {
+        BoundedCapture capture = new BoundedCapture(4096);
+        write(capture, "{\"id\":1}");
+
+        assertThat(capture.capacity()).isEqualTo(256);
+
+        for (int i = 0; i < 10_000; i++) {
+            capture.write('x');
+        }
+        assertThat(capture.capacity()).isEqualTo(4096);
+        assertThat(capture.getTotalBytes()).isEqualTo(10_008);
+    }
+
+    @Test
+    void stopCaptureKeepsCounting() {
+        BoundedCapture capture = new BoundedCapture(4096);
+        capture.stopCapture();
+        write(capture, "%PDF-1.7 binaire");
+
+        assertThat(capture.capacity()).isZero();
+        assertThat(capture.getTotalBytes()).isEqualTo(16);
+        assertThat(capture.render(StandardCharsets.UTF_8, masker)).isEmpty();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // RENDU MASQUÉ
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void masksCompleteWindow() {
+        BoundedCapture capture = new BoundedCapture(4096);
+        write(capture, "{\"pan\":\"4532015112830366\"}");
+
+        assertThat(capture.render(StandardCharsets.UTF_8, masker))
+            .isEqualTo("{\"pan\":\"453201******0366\"}");
+    }
+
+    @Test
+    void trimsPanCutByTruncation() {
+        BoundedCapture capture = new BoundedCapture(16);
+        write(capture, "{\"pan\":\"4532015112830366\",\"amount\":100}");
+
+        String rendered = capture.render(StandardCharsets.UTF_8, masker);
+
+        assertThat(rendered).isEqualTo("{\"pan\":\"…[truncated]");
+        assertThat(rendered).doesNotContain("4532");
+    }
+
+    @Test
+    void trimsIbanCutByTruncation() {
+        BoundedCapture capture = new BoundedCapture(24);
+        write(capture, "{\"iban\":\"FR7630006000011234567890189\"}");
+
+        String rendered = capture.render(StandardCharsets.UTF_8, masker);
+
+        assertThat(rendered).isEqualTo("{\"iban\":\"…[truncated]");
+        assertThat(rendered).doesNotContain("FR76");
+    }
+
+    private static void write(BoundedCapture capture, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        capture.write(bytes, 0, bytes.length);
+    }
+}
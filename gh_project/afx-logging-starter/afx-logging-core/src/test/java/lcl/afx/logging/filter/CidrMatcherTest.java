@@ -0,0 +1,144 @@
+package lcl.afx.logging.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CidrMatcherTest {
+
+    private final CidrMatcher matcher = CidrMatcher.compile(List.of(
+        "10.0.0.0/8", "192.168.1.42", "2001:db8::/32", "::1"));
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // IPV4
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void matchesIpv4RangesAndSingleAddresses() {
+        assertThat(matcher.matches("10.0.0.1")).isTrue();
+        assertThat(matcher.matches("10.255.255.255")).isTrue();
+        assertThat(matcher.matches("192.168.1.42")).isTrue();
+
+        assertThat(matcher.matches("11.0.0.1")).isFalse();
+        assertThat(matcher.matches("192.168.1.43")).isFalse();
+    }
+
+    @Test
+    void ignoresIpv4Port() {
+        assertThat(matcher.matches("10.1.2.3:8080")).isTrue();
+        assertThat(matcher.matches("11.1.2.3:8080")).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidIpv4() {
+        assertThat(matcher.matches("10.0.0")).isFalse();
+        assertThat(matcher.matches("10.0.0.256")).isFalse();
+        assertThat(matcher.matches("10.0.0.1.2")).isFalse();
+        assertThat(matcher.matches("10..0.1")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+        assertThat(matcher.matches((String) null)).isFalse();
+    }
+
+    @Test
+    void parsesIpv4WithoutAllocation() {
+        assertThat(CidrMatcher.parseIpv4("1.2.3.4", 0, 7)).isEqualTo(0x01020304L);
+        assertThat(CidrMatcher.parseIpv4("255.255.255.255", 0, 15)).isEqualTo(0xFFFFFFFFL);
+        assertThat(CidrMatcher.parseIpv4("1.2.3.a", 0, 7)).isEqualTo(-1);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // IPV6
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void matchesIpv6RangesAndSingleAddresses() {
+        assertThat(matcher.matches("2001:db8::1")).isTrue();
+        assertThat(matcher.matches("2001:0DB8:ffff:0:0:0:0:1")).isTrue();
+        assertThat(matcher.matches("::1")).isTrue();
+        assertThat(matcher.matches("0:0:0:0:0:0:0:1")).isTrue();
+
+        assertThat(matcher.matches("2001:db9::1")).isFalse();
+        assertThat(matcher.matches("::2")).isFalse();
+    }
+
+    @Test
+    void stripsBracketsPortAndZone() {
+        assertThat(matcher.matches("[::1]:8080")).isTrue();
+        assertThat(matcher.matches("[2001:db8::1]")).isTrue();
+        assertThat(matcher.matches("::1%lo0")).isTrue();
+        assertThat(matcher.matches("[::1")).isFalse();
+    }
+
+    @Test
+    void matchesIpv4MappedAgainstIpv4Ranges() {
+        assertThat(matcher.matches("::ffff:10.0.0.1")).isTrue();
+        assertThat(matcher.matches("::ffff:11.0.0.1")).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidIpv6() {
+        assertThat(matcher.matches("2001:db8::1::2")).isFalse();
+        assertThat(matcher.matches("2001:db8:1:2:3:4:5")).isFalse();
+        assertThat(matcher.matches("2001:db8:1:2:3:4:5:6:7")).isFalse();
+        assertThat(matcher.matches("2001:db8::12345")).isFalse();
+        assertThat(matcher.matches("2001:db8::g")).isFalse();
+    }
+
+    @Test
+    void matchesSubSequence() {
+        String header = "for=10.0.0.1;proto=https";
+
+        assertThat(matcher.matches(header, 4, 12)).isTrue();
+        assertThat(matcher.matches(header, 0, 12)).isFalse();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COMPILATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void emptyMatcherMatchesNothing() {
+        assertThat(CidrMatcher.compile(null)).isSameAs(CidrMatcher.EMPTY);
+        assertThat(CidrMatcher.compile(List.of())).isSameAs(CidrMatcher.EMPTY);
+        assertThat(CidrMatcher.EMPTY.isEmpty()).isTrue();
+        assertThat(CidrMatcher.EMPTY.matches("10.0.0.1")).isFalse();
+        assertThat(matcher.isEmpty()).isFalse();
+    }
+
+    @Test
+    void zeroPrefixMatchesWholeFamily() {
+        CidrMatcher any = CidrMatcher.compile(List.of("0.0.0.0/0"));
+
+        assertThat(any.matches("203.0.113.7")).isTrue();
+        assertThat(any.matches("2001:db8::1")).isFalse();
+    }
+
+    @Test
+    void growsTrieForManyRanges() {
+        List<String> ranges = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            ranges.add("172.16." + i + ".0/24");
+        }
+        CidrMatcher many = CidrMatcher.compile(ranges);
+
+        assertThat(many.matches("172.16.63.200")).isTrue();
+        assertThat(many.matches("172.16.64.1")).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidRanges() {
+        assertThatThrownBy(() -> CidrMatcher.compile(List.of("10.0.0.0/33")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CidrMatcher.compile(List.of("10.0.0.0/x")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CidrMatcher.compile(List.of("::1/129")))
+            .isInstanceOf(IllegalArgumentException.class);
+        // nom d'hôte : jamais résolu par DNS
+        assertThatThrownBy(() -> CidrMatcher.compile(List.of("proxy.example.com")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
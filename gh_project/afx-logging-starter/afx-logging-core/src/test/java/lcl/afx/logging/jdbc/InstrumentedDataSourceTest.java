@@ -0,0 +1,171 @@
+package lcl.afx.logging.jdbc;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbc.JdbcPreparedStatement;
+import org.h2.jdbc.JdbcResultSet;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedDataSourceTest {
+
+    private JdbcDataSource h2;
+    private InstrumentedDataSource dataSource;
+    private Connection connection;
+    private final long[] before = new long[JdbcActivity.FIELDS];
+
+    @BeforeEach
+    void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1");
+        dataSource = new InstrumentedDataSource(h2, null);
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table account (id int primary key, iban varchar(34))");
+        }
+        JdbcActivity.current().copyTo(before, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table account");
+        }
+        connection.close();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COMPTAGE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void countsStatementsAndRowsRead() throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement("insert into account values (?, ?)")) {
+            for (int i = 1; i <= 3; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "FR76" + i);
+                insert.executeUpdate();
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement("select iban from account order by id");
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                assertThat(rs.getString(1)).startsWith("FR76");
+            }
+        }
+
+        assertThat(activity()).contains("statements=4 ", "batches=0(0)", "rows=3 ", "connections=0 ");
+    }
+
+    @Test
+    void countsBatchOnceWithItsSize() throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement("insert into account values (?, ?)")) {
+            for (int i = 1; i <= 5; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "FR76" + i);
+                insert.addBatch();
+            }
+            assertThat(insert.executeBatch()).hasSize(5);
+        }
+
+        assertThat(activity()).contains("statements=1 ", "batches=1(5)");
+    }
+
+    @Test
+    void clearBatchResetsPendingSize() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.addBatch("insert into account values (1, 'FR761')");
+            statement.clearBatch();
+            statement.addBatch("insert into account values (2, 'FR762')");
+            statement.executeBatch();
+        }
+
+        assertThat(activity()).contains("batches=1(1)");
+    }
+
+    @Test
+    void countsRowsOfStatementResultSet() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into account values (1, 'FR761'), (2, 'FR762')");
+            assertThat(statement.execute("select * from account")).isTrue();
+            try (ResultSet rs = statement.getResultSet()) {
+                while (rs.next()) {
+                    rs.getInt("id");
+                }
+            }
+        }
+
+        assertThat(activity()).contains("statements=2 ", "rows=2 ");
+    }
+
+    @Test
+    void countsCallableStatementExecutions() throws Exception {
+        try (CallableStatement call = connection.prepareCall("call 1 + 1");
+             ResultSet rs = call.executeQuery()) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getInt(1)).isEqualTo(2);
+        }
+
+        assertThat(activity()).contains("statements=1 ", "rows=1 ");
+    }
+
+    @Test
+    void countsConnections() throws Exception {
+        dataSource.getConnection().close();
+
+        assertThat(activity()).contains("statements=0 ", "connections=1 ");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // UNWRAP / IDENTITÉ
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void unwrapReturnsDriverObjects() throws Exception {
+        assertThat(dataSource.unwrap(JdbcDataSource.class)).isSameAs(h2);
+        assertThat(dataSource.isWrapperFor(JdbcDataSource.class)).isTrue();
+
+        assertThat(connection).isNotInstanceOf(JdbcConnection.class);
+        assertThat(connection.isWrapperFor(JdbcConnection.class)).isTrue();
+        assertThat(connection.unwrap(JdbcConnection.class)).isInstanceOf(JdbcConnection.class);
+
+        try (PreparedStatement select = connection.prepareStatement("select * from account");
+             ResultSet rs = select.executeQuery()) {
+            assertThat(select.unwrap(JdbcPreparedStatement.class)).isInstanceOf(JdbcPreparedStatement.class);
+            assertThat(rs.unwrap(JdbcResultSet.class)).isInstanceOf(JdbcResultSet.class);
+            assertThat(rs.isWrapperFor(String.class)).isFalse();
+        }
+    }
+
+    @Test
+    void navigationReturnsInstrumentedObjects() throws Exception {
+        try (PreparedStatement select = connection.prepareStatement("select * from account");
+             ResultSet rs = select.executeQuery()) {
+            assertThat(select.getConnection()).isSameAs(connection);
+            assertThat(rs.getStatement()).isSameAs(select);
+        }
+        try (CallableStatement call = connection.prepareCall("call 1")) {
+            assertThat(call).isInstanceOf(InstrumentedCallableStatement.class);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // UTILITAIRES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Activité JDBC du thread depuis setUp.
+     */
+    private String activity() {
+        return JdbcActivity.current().since(before, 0);
+    }
+}
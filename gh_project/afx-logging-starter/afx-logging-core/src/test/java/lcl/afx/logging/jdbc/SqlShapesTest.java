@@ -0,0 +1,82 @@
+package lcl.afx.logging.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlShapesTest {
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // NORMALISATION
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void replacesLiteralsAndLowercases() {
+        assertThat(SqlShapes.normalize("SELECT * FROM account WHERE id = 42 AND iban = 'FR76 3000'"))
+            .isEqualTo("select * from account where id = ? and iban = ?");
+        assertThat(SqlShapes.normalize("update account set balance = -12.50 where name = 'l''ami'"))
+            .isEqualTo("update account set balance = ? where name = ?");
+    }
+
+    @Test
+    void keepsNumbersInsideIdentifiers() {
+        assertThat(SqlShapes.normalize("select col1, t2.x from table_2 t2 where t2.v = 3"))
+            .isEqualTo("select col1, t2.x from table_2 t2 where t2.v = ?");
+    }
+
+    @Test
+    void stripsCommentsAndWhitespace() {
+        assertThat(SqlShapes.normalize("/* hint */ select id\n  from account -- fin\n where id = ?"))
+            .isEqualTo("select id from account where id = ?");
+    }
+
+    @Test
+    void collapsesInListsAndValuesRows() {
+        assertThat(SqlShapes.normalize("select * from account where id IN (1, 2, 3)"))
+            .isEqualTo(SqlShapes.normalize("select * from account where id in (?)"));
+        assertThat(SqlShapes.normalize("insert into account values (1, 'a'), (2, 'b'), (3, 'c')"))
+            .isEqualTo("insert into account values (?, ?)");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CACHE / RENDU
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void cachesShapePerSqlText() {
+        SqlShapes shapes = new SqlShapes(10, 200);
+
+        SqlShapes.SqlShape first = shapes.of("select * from account where id = 1");
+        SqlShapes.SqlShape again = shapes.of("select * from account where id = 1");
+        SqlShapes.SqlShape other = shapes.of("select * from account where id = 2");
+
+        assertThat(again).isSameAs(first);
+        assertThat(other).isNotSameAs(first).isEqualTo(first).hasSameHashCodeAs(first);
+        assertThat(shapes.size()).isEqualTo(2);
+    }
+
+    @Test
+    void stopsCachingAboveMaxEntries() {
+        SqlShapes shapes = new SqlShapes(2, 200);
+
+        for (int i = 0; i < 5; i++) {
+            shapes.of("select * from account where id = " + i);
+        }
+        SqlShapes.SqlShape uncached = shapes.of("select * from account where id = 4");
+
+        assertThat(shapes.size()).isEqualTo(2);
+        assertThat(uncached.getFingerprint()).isEqualTo("select * from account where id = ?");
+    }
+
+    @Test
+    void truncatesDisplayButComparesFullFingerprint() {
+        SqlShapes shapes = new SqlShapes(10, 20);
+
+        SqlShapes.SqlShape shape = shapes.of("select id, iban from account where id = 1");
+        SqlShapes.SqlShape samePrefix = shapes.of("select id, iban from customer where id = 1");
+
+        assertThat(shape.toString()).isEqualTo("select id, iban from…");
+        assertThat(shape.getFingerprint()).isEqualTo("select id, iban from account where id = ?");
+        assertThat(samePrefix).hasToString(shape.toString()).isNotEqualTo(shape);
+    }
+}
@@ -0,0 +1,187 @@
+package lcl.afx.logging.masking;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import lcl.afx.logging.jdbc.InstrumentedDataSource;
+import lcl.afx.logging.jdbc.JdbcActivity;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyLoadingGuardTest {
+
+    private static SessionFactory sessionFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+        .registerModule(LazyLoadingGuard.module());
+
+    @BeforeAll
+    static void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:lazy;DB_CLOSE_DELAY=-1");
+        Configuration configuration = new Configuration()
+            .addAnnotatedClass(Client.class)
+            .addAnnotatedClass(Compte.class)
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        configuration.getProperties().put(AvailableSettings.DATASOURCE, new InstrumentedDataSource(h2, null));
+        sessionFactory = configuration.buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            Client client = new Client(1L, "Dupont");
+            session.persist(client);
+            session.persist(new Compte(10L, "FR7630006000011234567890189", client));
+            session.persist(new Compte(11L, "FR7630006000019876543210123", client));
+        });
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PROXIES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void writesUninitializedProxyAsIdWithoutSelect() throws Exception {
+        try (Session session = sessionFactory.openSession()) {
+            Compte compte = session.get(Compte.class, 10L);
+            assertThat(Hibernate.isInitialized(compte.getTitulaire())).isFalse();
+
+            long statements = JdbcActivity.current().getStatements();
+            String json = objectMapper.writeValueAsString(compte);
+
+            assertThat(json).contains("\"titulaire\":1");
+            assertThat(JdbcActivity.current().getStatements()).isEqualTo(statements);
+            assertThat(Hibernate.isInitialized(compte.getTitulaire())).isFalse();
+        }
+    }
+
+    @Test
+    void writesInitializedProxyAsEntity() throws Exception {
+        try (Session session = sessionFactory.openSession()) {
+            Client client = session.getReference(Client.class, 1L);
+            assertThat(objectMapper.writeValueAsString(client)).isEqualTo("1");
+
+            Hibernate.initialize(client);
+
+            assertThat(objectMapper.writeValueAsString(client))
+                .contains("\"id\":1", "\"nom\":\"Dupont\"", "\"comptes\":\"<lazy>\"")
+                .doesNotContain("hibernateLazyInitializer");
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COLLECTIONS PERSISTANTES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void writesUninitializedCollectionAsLazyWithoutSelect() throws Exception {
+        try (Session session = sessionFactory.openSession()) {
+            Client client = session.get(Client.class, 1L);
+            assertThat(Hibernate.isInitialized(client.getComptes())).isFalse();
+
+            long statements = JdbcActivity.current().getStatements();
+            String json = objectMapper.writeValueAsString(client);
+
+            assertThat(json).isEqualTo("{\"id\":1,\"nom\":\"Dupont\",\"comptes\":\"<lazy>\"}");
+            assertThat(JdbcActivity.current().getStatements()).isEqualTo(statements);
+            assertThat(Hibernate.isInitialized(client.getComptes())).isFalse();
+        }
+    }
+
+    @Test
+    void writesInitializedCollectionElements() throws Exception {
+        try (Session session = sessionFactory.openSession()) {
+            Client client = session.get(Client.class, 1L);
+            Hibernate.initialize(client.getComptes());
+
+            assertThat(objectMapper.writeValueAsString(client.getComptes()))
+                .contains("\"id\":10", "\"id\":11", "\"titulaire\":{\"id\":1,\"nom\":\"Dupont\"}");
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ENTITÉS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Entity(name = "Client")
+    public static class Client {
+        @Id
+        private Long id;
+        private String nom;
+        @OneToMany(mappedBy = "titulaire", fetch = FetchType.LAZY)
+        private List<Compte> comptes = new ArrayList<>();
+
+        protected Client() {
+        }
+
+        Client(Long id, String nom) {
+            this.id = id;
+            this.nom = nom;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getNom() {
+            return nom;
+        }
+
+        public List<Compte> getComptes() {
+            return comptes;
+        }
+    }
+
+    @Entity(name = "Compte")
+    public static class Compte {
+        @Id
+        private Long id;
+        private String iban;
+        @ManyToOne(fetch = FetchType.LAZY)
+        // Relation bidirectionnelle : pas de retour vers la collection une fois chargée
+        @JsonIgnoreProperties("comptes")
+        private Client titulaire;
+
+        protected Compte() {
+        }
+
+        Compte(Long id, String iban, Client titulaire) {
+            this.id = id;
+            this.iban = iban;
+            this.titulaire = titulaire;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getIban() {
+            return iban;
+        }
+
+        public Client getTitulaire() {
+            return titulaire;
+        }
+    }
+}
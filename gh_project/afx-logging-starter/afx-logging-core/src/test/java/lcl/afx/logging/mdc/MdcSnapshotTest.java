@@ -0,0 +1,109 @@
+package lcl.afx.logging.mdc;
+
+import lcl.afx.logging.async.MdcPropagatingExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdcSnapshotTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CAPTURE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void reusesSnapshotWhileMdcIsUnchanged() {
+        assertThat(MdcSnapshot.capture()).isSameAs(MdcSnapshot.EMPTY);
+
+        MDC.put(MdcKeys.CORRELATION_ID, "corr-1");
+        MdcSnapshot first = MdcSnapshot.capture();
+
+        assertThat(MdcSnapshot.capture()).isSameAs(first);
+        MDC.put(MdcKeys.USER_ID, "u1");
+        assertThat(MdcSnapshot.capture()).isNotSameAs(first);
+        assertThat(first.asMap()).containsOnlyKeys(MdcKeys.CORRELATION_ID);
+    }
+
+    @Test
+    void propagatesToWorkerThreadAndRestoresItsContext() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        try {
+            pool.submit(() -> MDC.put("worker", "stale")).get();
+            Executor executor = MdcPropagatingExecutor.wrap(pool);
+            MDC.put(MdcKeys.CORRELATION_ID, "corr-1");
+
+            String seen = CompletableFuture.supplyAsync(() -> MDC.get(MdcKeys.CORRELATION_ID), executor).get();
+            Map<String, String> after = pool.submit(MDC::getCopyOfContextMap).get();
+
+            assertThat(seen).isEqualTo("corr-1");
+            assertThat(after).containsExactly(Map.entry("worker", "stale"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // EXÉCUTION SUR LE THREAD APPELANT
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void callerRunsTaskDoesNotLeakMdcIntoCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            Executor executor = MdcPropagatingExecutor.wrap(pool);
+            // Seul thread du pool occupé : la tâche suivante s'exécute sur l'appelant
+            pool.execute(() -> awaitQuietly(release));
+            MDC.put(MdcKeys.CORRELATION_ID, "corr-1");
+            Thread caller = Thread.currentThread();
+            Thread[] ranOn = new Thread[1];
+
+            executor.execute(() -> {
+                ranOn[0] = Thread.currentThread();
+                MDC.put(MdcKeys.CORRELATION_ID, "changed-by-task");
+                MDC.put(MdcKeys.USER_ID, "task-user");
+            });
+
+            assertThat(ranOn[0]).isSameAs(caller);
+            assertThat(MDC.get(MdcKeys.CORRELATION_ID)).isEqualTo("corr-1");
+            assertThat(MDC.get(MdcKeys.USER_ID)).isNull();
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void synchronousExecutorRestoresCallerMdc() {
+        Executor executor = MdcPropagatingExecutor.wrap(Runnable::run);
+        MDC.put(MdcKeys.CORRELATION_ID, "corr-1");
+
+        executor.execute(MDC::clear);
+
+        assertThat(MDC.get(MdcKeys.CORRELATION_ID)).isEqualTo("corr-1");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
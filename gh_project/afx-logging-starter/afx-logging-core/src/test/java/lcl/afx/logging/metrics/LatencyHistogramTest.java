@@ -0,0 +1,83 @@
+package lcl.afx.logging.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class LatencyHistogramTest {
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // BUCKETS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void bucketsAreContiguousWithBoundedRelativeError() {
+        for (long micros = 0; micros < 1_000_000; micros += 1 + micros / 7) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            long upper = LatencyHistogram.upperBoundMicros(index);
+            long lower = index == 0 ? 0 : LatencyHistogram.upperBoundMicros(index - 1);
+
+            assertThat(micros).as("bucket %d de %d µs", index, micros).isGreaterThanOrEqualTo(lower).isLessThan(upper);
+            assertThat(upper - lower).isLessThanOrEqualTo(Math.max(1, lower / 4));
+        }
+    }
+
+    @Test
+    void clampsHugeValuesToLastBucket() {
+        assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE / 1_000)).isEqualTo(127);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // STATISTIQUES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void emptyHistogramReturnsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMean(TimeUnit.MILLISECONDS)).isZero();
+        assertThat(histogram.getPercentileNanos(0.99)).isZero();
+    }
+
+    @Test
+    void computesCountMeanAndMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(30));
+        histogram.record(-5);
+
+        assertThat(histogram.getCount()).isEqualTo(3);
+        assertThat(histogram.getTotalNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+        assertThat(histogram.getMaxNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+        assertThat(histogram.getMean(TimeUnit.MILLISECONDS)).isCloseTo(40.0 / 3, offset(1e-9));
+    }
+
+    @Test
+    void percentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+
+        long p50 = histogram.getPercentileNanos(0.50);
+        long p99 = histogram.getPercentileNanos(0.99);
+
+        assertThat(p50).isBetween(TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(63));
+        assertThat(p99).isBetween(TimeUnit.MILLISECONDS.toNanos(99), TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void percentileIsCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(1_234_567);
+
+        assertThat(histogram.getPercentileNanos(1.0)).isEqualTo(1_234_567);
+        assertThat(histogram.getPercentileNanos(0.0)).isEqualTo(1_234_567);
+    }
+}
@@ -0,0 +1,104 @@
+package lcl.afx.logging.span;
+
+import lcl.afx.logging.mdc.CorrelationContext;
+import lcl.afx.logging.mdc.MdcKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpanStackTest {
+
+    private final SpanStack stack = SpanStack.current();
+
+    @AfterEach
+    void tearDown() {
+        while (stack.getDepth() > 0) {
+            stack.pop(true, false);
+        }
+        CorrelationContext.restore(null);
+        MDC.clear();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PILE ET MDC
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void restoresParentOnPop() {
+        String root = stack.push("SEPA_TRANSFER");
+        assertThat(root).hasSize(16).matches("[0-9a-f]+");
+        assertThat(MDC.get(MdcKeys.PARENT_OPERATION_ID)).isNull();
+
+        String child = stack.push("CHECK_IBAN");
+        assertThat(MDC.get(MdcKeys.OPERATION)).isEqualTo("CHECK_IBAN");
+        assertThat(MDC.get(MdcKeys.OPERATION_ID)).isEqualTo(child);
+        assertThat(MDC.get(MdcKeys.PARENT_OPERATION_ID)).isEqualTo(root);
+
+        stack.pop(true, false);
+
+        assertThat(stack.getCurrentSpanId()).isEqualTo(root);
+        assertThat(MDC.get(MdcKeys.OPERATION)).isEqualTo("SEPA_TRANSFER");
+        assertThat(MDC.get(MdcKeys.OPERATION_ID)).isEqualTo(root);
+        assertThat(MDC.get(MdcKeys.PARENT_OPERATION_ID)).isNull();
+
+        stack.pop(true, false);
+
+        assertThat(stack.getDepth()).isZero();
+        assertThat(stack.getCurrentSpanId()).isNull();
+        assertThat(MDC.get(MdcKeys.OPERATION)).isNull();
+        assertThat(MDC.get(MdcKeys.OPERATION_ID)).isNull();
+    }
+
+    @Test
+    void exportsParentAndSelfTime() throws Exception {
+        String root = stack.push("SEPA_TRANSFER");
+        String child = stack.push("CALL_CICS");
+        Thread.sleep(20);
+
+        SpanData childSpan = stack.pop(false, true);
+        SpanData rootSpan = stack.pop(true, true);
+
+        assertThat(childSpan.getSpanId()).isEqualTo(child);
+        assertThat(childSpan.getParentSpanId()).isEqualTo(root);
+        assertThat(childSpan.isSuccess()).isFalse();
+        assertThat(rootSpan.getSpanId()).isEqualTo(root);
+        assertThat(rootSpan.getParentSpanId()).isNull();
+        assertThat(rootSpan.getTraceId()).isEqualTo(childSpan.getTraceId()).hasSize(32);
+        assertThat(rootSpan.getTotalNanos()).isGreaterThanOrEqualTo(childSpan.getTotalNanos());
+        assertThat(rootSpan.getSelfNanos()).isEqualTo(rootSpan.getTotalNanos() - childSpan.getTotalNanos());
+    }
+
+    @Test
+    void attachesRootToInboundTraceparent() {
+        String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        CorrelationContext.of("corr-1", null, null, traceparent).install();
+
+        stack.push("SEPA_TRANSFER");
+        SpanData span = stack.pop(true, true);
+
+        assertThat(span.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(span.getParentSpanId()).isEqualTo("00f067aa0ba902b7");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // DÉBORDEMENT
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void ignoresOperationsBeyondMaxDepth() {
+        for (int i = 0; i < SpanStack.MAX_DEPTH; i++) {
+            stack.push("OP" + i);
+        }
+        String deepest = stack.getCurrentSpanId();
+
+        stack.push("RECURSION");
+        assertThat(stack.getDepth()).isEqualTo(SpanStack.MAX_DEPTH);
+        assertThat(stack.getCurrentSpanId()).isEqualTo(deepest);
+
+        assertThat(stack.pop(true, true)).isNull();
+        assertThat(stack.getDepth()).isEqualTo(SpanStack.MAX_DEPTH);
+        assertThat(stack.pop(true, true).getName()).isEqualTo("OP" + (SpanStack.MAX_DEPTH - 1));
+    }
+}
@@ -0,0 +1,296 @@
+package lcl.afx.logging.tail;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import lcl.afx.logging.annotation.PaymentLog;
+import lcl.afx.logging.aspect.OperationDescriptor;
+import lcl.afx.logging.aspect.OperationLogger;
+import lcl.afx.logging.filter.CorrelationIdFilter;
+import lcl.afx.logging.masking.DataMasker;
+import lcl.afx.logging.mdc.CorrelationContext;
+import lcl.afx.logging.mdc.MdcKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TailCaptureFilterTest {
+
+    private static final Logger log = LoggerFactory.getLogger("lcl.afx.logging.tail.test");
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final ch.qos.logback.classic.Logger afx = context.getLogger("lcl.afx.logging");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final TailCaptureFilter filter = new TailCaptureFilter();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = afx.getLevel();
+        afx.setLevel(Level.INFO);
+        afx.setAdditive(false);
+        appender.setContext(context);
+        appender.start();
+        afx.addAppender(appender);
+        filter.install();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TailBuffer buffer = TailBuffer.current();
+        if (buffer != null) {
+            buffer.discard();
+            buffer.end();
+        }
+        filter.uninstall();
+        afx.detachAppender(appender);
+        afx.setAdditive(true);
+        afx.setLevel(previousLevel);
+        MDC.clear();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CAPTURE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void neutralOutsideRequest() {
+        assertThat(log.isDebugEnabled()).isFalse();
+        log.debug("ignored");
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void capturesEventsBelowLoggerLevel() {
+        TailBuffer buffer = TailBuffer.begin(8);
+        MDC.put(MdcKeys.CORRELATION_ID, "corr-1");
+
+        assertThat(log.isDebugEnabled()).isTrue();
+        log.debug("loaded beneficiary {}", 42);
+        log.info("visible");
+        MDC.remove(MdcKeys.CORRELATION_ID);
+
+        assertThat(messages()).containsExactly("visible");
+        assertThat(buffer.getSize()).isEqualTo(1);
+
+        buffer.end();
+        buffer.flush();
+
+        ILoggingEvent flushed = appender.list.get(1);
+        assertThat(flushed.getFormattedMessage()).isEqualTo("loaded beneficiary 42");
+        assertThat(flushed.getLevel()).isEqualTo(Level.DEBUG);
+        assertThat(flushed.getMDCPropertyMap()).containsEntry(MdcKeys.CORRELATION_ID, "corr-1");
+        assertThat(buffer.getSize()).isZero();
+    }
+
+    @Test
+    void formatsOnlyWhenFlushed() {
+        AtomicInteger renders = new AtomicInteger();
+        Object payload = new Object() {
+            @Override
+            public String toString() {
+                return "payload#" + renders.incrementAndGet();
+            }
+        };
+
+        TailBuffer buffer = TailBuffer.begin(8);
+        log.debug("params={}", payload);
+        buffer.discard();
+        assertThat(renders).hasValue(0);
+
+        log.debug("params={}", payload);
+        buffer.end();
+        assertThat(renders).hasValue(0);
+        buffer.flush();
+
+        assertThat(messages()).containsExactly("params=payload#1");
+    }
+
+    @Test
+    void keepsNewestEventsOnOverflow() {
+        TailBuffer buffer = TailBuffer.begin(3);
+        for (int i = 0; i < 5; i++) {
+            log.debug("event {}", i);
+        }
+
+        assertThat(buffer.getSize()).isEqualTo(3);
+        assertThat(buffer.getDropped()).isEqualTo(2);
+
+        buffer.end();
+        buffer.flush();
+
+        assertThat(messages()).containsExactly("event 2", "event 3", "event 4");
+    }
+
+    @Test
+    void notesErrorsWithoutCapturingThem() {
+        TailBuffer buffer = TailBuffer.begin(8);
+
+        log.error("boom");
+
+        assertThat(buffer.isErrorLogged()).isTrue();
+        assertThat(buffer.getSize()).isZero();
+        assertThat(messages()).containsExactly("boom");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // FIN DE REQUÊTE (CorrelationIdFilter)
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void discardsOnSuccess() throws Exception {
+        doFilter(0, () -> log.debug("detail"));
+
+        assertThat(messages()).isEmpty();
+    }
+
+    @Test
+    void flushesOnException() {
+        assertThatThrownBy(() -> doFilter(0, () -> {
+            log.debug("detail");
+            throw new IllegalStateException("KO");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(messages()).hasSize(2);
+        assertThat(messages().get(0)).startsWith("▼ TAIL GET /transfers").contains("reason=EXCEPTION events=1");
+        assertThat(messages().get(1)).isEqualTo("detail");
+    }
+
+    @Test
+    void flushesOnErrorLogged() throws Exception {
+        doFilter(0, () -> {
+            log.debug("detail");
+            log.error("downstream failed");
+        });
+
+        assertThat(messages()).hasSize(3);
+        assertThat(messages().get(1)).contains("reason=ERROR");
+        assertThat(messages().get(2)).isEqualTo("detail");
+    }
+
+    @Test
+    void flushesWhenSlow() throws Exception {
+        doFilter(5, () -> {
+            log.debug("detail");
+            sleep(20);
+        });
+
+        assertThat(messages()).hasSize(2);
+        assertThat(messages().get(0)).contains("reason=SLOW");
+    }
+
+    @Test
+    void restoresMdcWhenFlushFails() {
+        ListAppender<ILoggingEvent> failing = new ListAppender<>() {
+            @Override
+            public void doAppend(ILoggingEvent event) {
+                throw new IllegalStateException("appender KO");
+            }
+        };
+        afx.addAppender(failing);
+        try {
+            assertThatThrownBy(() -> doFilter(0, () -> {
+                log.debug("detail");
+                log.error("downstream failed");
+            })).isInstanceOf(IllegalStateException.class);
+        } finally {
+            afx.detachAppender(failing);
+        }
+
+        assertThat(MDC.get(MdcKeys.CORRELATION_ID)).isNull();
+        assertThat(CorrelationContext.current().getCorrelationId()).isNull();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // PAYLOAD @PaymentLog
+    // ══════════════════════════════════════════════════════════════════════════
+
+    static class TransferService {
+        @PaymentLog(operation = "SEPA_TRANSFER",
+            entryLevel = PaymentLog.LogLevel.DEBUG, exitLevel = PaymentLog.LogLevel.DEBUG)
+        public String transfer(String iban) {
+            return "PENDING";
+        }
+    }
+
+    @Test
+    void discardedBufferNeverMasksPayload() throws Exception {
+        AtomicInteger masked = new AtomicInteger();
+        OperationLogger operations = new OperationLogger(new DataMasker() {
+            @Override
+            public String mask(String input) {
+                masked.incrementAndGet();
+                return super.mask(input);
+            }
+        });
+        OperationDescriptor descriptor = operations.describe(
+            TransferService.class.getMethod("transfer", String.class), TransferService.class, null);
+
+        TailBuffer buffer = TailBuffer.begin(8);
+        runOperation(operations, descriptor);
+        buffer.end();
+        assertThat(buffer.getSize()).isEqualTo(2);
+        buffer.discard();
+        assertThat(masked).hasValue(0);
+
+        buffer = TailBuffer.begin(8);
+        runOperation(operations, descriptor);
+        buffer.end();
+        buffer.flush();
+
+        assertThat(messages()).hasSize(2);
+        assertThat(messages().get(0)).startsWith("▶ ENTRY [SEPA_TRANSFER] params=").doesNotContain("FR7630006000011234567890189");
+        assertThat(masked).hasPositiveValue();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // UTILITAIRES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private static void runOperation(OperationLogger operations, OperationDescriptor descriptor) {
+        assertThat(operations.begin(descriptor)).isTrue();
+        operations.entry(new Object[] {"FR7630006000011234567890189"});
+        operations.success("PENDING");
+    }
+
+    private void doFilter(long slowThresholdMs, Runnable body) throws Exception {
+        CorrelationIdFilter correlation = new CorrelationIdFilter();
+        correlation.setTailEnabled(true);
+        correlation.setTailSlowThresholdMs(slowThresholdMs > 0 ? slowThresholdMs : 60_000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transfers");
+        correlation.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                body.run();
+            }
+        });
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package lcl.afx.logging.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtClaimUserIdResolverTest {
+
+    private static final String HEADER = "eyJhbGciOiJSUzI1NiJ9";
+    private static final String SIGNATURE = "c2lnbmF0dXJl";
+
+    private final JwtClaimUserIdResolver resolver = new JwtClaimUserIdResolver();
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // CLAIMS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void readsStringClaim() {
+        assertThat(resolve("{\"iss\":\"gateway\",\"sub\":\"jdupont\",\"exp\":1700000000}")).isEqualTo("jdupont");
+        assertThat(resolve("{ \"sub\" : \"jdupont\" }")).isEqualTo("jdupont");
+        assertThat(resolve("{\"sub\":\"José\"}")).isEqualTo("José");
+    }
+
+    @Test
+    void readsNumericClaim() {
+        assertThat(resolve("{\"sub\":123456}")).isEqualTo("123456");
+        assertThat(new JwtClaimUserIdResolver("uid").resolveUserId(
+            request(token("{\"sub\":\"x\",\"uid\":-42.5}")))).isEqualTo("-42.5");
+    }
+
+    @Test
+    void ignoresBooleanAndNullClaims() {
+        assertThat(resolve("{\"sub\":true}")).isNull();
+        assertThat(resolve("{\"sub\":null}")).isNull();
+        assertThat(resolve("{\"sub\":{\"id\":\"x\"}}")).isNull();
+    }
+
+    @Test
+    void rejectsEscapedStringValue() {
+        assertThat(resolve("{\"sub\":\"j\\\"dupont\"}")).isNull();
+    }
+
+    @Test
+    void skipsEscapedQuotesInOtherStrings() {
+        assertThat(resolve("{\"name\":\"a \\\"sub\\\":\\\"fake\\\"\",\"sub\":\"jdupont\"}")).isEqualTo("jdupont");
+    }
+
+    @Test
+    void ignoresClaimNameInValuesAndNestedStructures() {
+        assertThat(resolve("{\"act\":{\"sub\":\"admin\"},\"sub\":\"jdupont\"}")).isEqualTo("jdupont");
+        assertThat(resolve("{\"aud\":[\"sub\",{\"sub\":\"admin\"}],\"sub\":\"jdupont\"}")).isEqualTo("jdupont");
+        assertThat(resolve("{\"scope\":\"sub\",\"other\":1}")).isNull();
+        assertThat(resolve("{\"act\":{\"sub\":\"admin\"}}")).isNull();
+    }
+
+    @Test
+    void doesNotMatchClaimPrefix() {
+        assertThat(resolve("{\"subject\":\"x\",\"sub\":\"jdupont\"}")).isEqualTo("jdupont");
+        assertThat(resolve("{\"su\":\"x\"}")).isNull();
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ENCODAGE / FORMAT DU TOKEN
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void acceptsMissingAndExtraPadding() {
+        for (String payload : new String[] {"{\"sub\":\"a\"}", "{\"sub\":\"ab\"}", "{\"sub\":\"abc\"}"}) {
+            String unpadded = encode(payload);
+            String padded = Base64.getUrlEncoder().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+            String expected = payload.substring(8, payload.length() - 2);
+
+            assertThat(resolver.resolveUserId(request("Bearer " + HEADER + "." + unpadded + "." + SIGNATURE)))
+                .isEqualTo(expected);
+            assertThat(resolver.resolveUserId(request("Bearer " + HEADER + "." + padded + "." + SIGNATURE)))
+                .isEqualTo(expected);
+            assertThat(resolver.resolveUserId(request("Bearer " + HEADER + "." + unpadded + "===." + SIGNATURE)))
+                .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void acceptsStandardBase64Alphabet() {
+        // "?" et ">" s'encodent en "/" et "+" dans l'alphabet standard
+        String payload = "{\"x\":\"??>>\",\"sub\":\"jdupont\"}";
+        String standard = Base64.getEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(standard).containsAnyOf("/", "+");
+        assertThat(resolver.resolveUserId(request("Bearer " + HEADER + "." + standard + "." + SIGNATURE)))
+            .isEqualTo("jdupont");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String payload = encode("{\"sub\":\"jdupont\"}");
+
+        assertThat(resolver.resolveUserId(request(null))).isNull();
+        assertThat(resolver.resolveUserId(request("Basic dXNlcjpwYXNz"))).isNull();
+        assertThat(resolver.resolveUserId(request("Bearer " + payload))).isNull();
+        assertThat(resolver.resolveUserId(request("Bearer " + HEADER + "." + payload))).isNull();
+        assertThat(resolver.resolveUserId(request("Bearer " + HEADER + ".." + SIGNATURE))).isNull();
+        assertThat(resolver.resolveUserId(request("Bearer " + HEADER + ".eyJz!WIiOiJ4In0." + SIGNATURE))).isNull();
+        assertThat(resolver.resolveUserId(request("Bearer " + HEADER + ".e." + SIGNATURE))).isNull();
+        // Payload tronqué au milieu de la valeur
+        assertThat(resolver.resolveUserId(request("Bearer " + HEADER + "." + payload.substring(0, 14) + "." + SIGNATURE)))
+            .isNull();
+    }
+
+    @Test
+    void bearerPrefixIsCaseInsensitive() {
+        assertThat(resolver.resolveUserId(request("bearer " + HEADER + "." + encode("{\"sub\":\"jdupont\"}") + "." + SIGNATURE)))
+            .isEqualTo("jdupont");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // UTILITAIRES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private String resolve(String payload) {
+        return resolver.resolveUserId(request(token(payload)));
+    }
+
+    private static String token(String payload) {
+        return "Bearer " + HEADER + "." + encode(payload) + "." + SIGNATURE;
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,53 @@
+package lcl.afx.logging.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringSecurityUserIdResolverTest {
+
+    private final SpringSecurityUserIdResolver resolver = new SpringSecurityUserIdResolver();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void returnsAuthenticatedUserName() {
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated("jdupont", "n/a", AuthorityUtils.NO_AUTHORITIES));
+
+        assertThat(resolver.resolveUserId(request)).isEqualTo("jdupont");
+    }
+
+    @Test
+    void ignoresAnonymousUser() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertThat(resolver.resolveUserId(request)).isNull();
+    }
+
+    @Test
+    void ignoresMissingOrUnauthenticatedAuthentication() {
+        assertThat(resolver.resolveUserId(request)).isNull();
+
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.unauthenticated("jdupont", "secret"));
+        assertThat(resolver.resolveUserId(request)).isNull();
+
+        TestingAuthenticationToken blank = new TestingAuthenticationToken(" ", "n/a");
+        blank.setAuthenticated(true);
+        SecurityContextHolder.getContext().setAuthentication(blank);
+        assertThat(resolver.resolveUserId(request)).isNull();
+    }
+}
@@ -0,0 +1,219 @@
+package lcl.afx.logging.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor qui indexe, à la compilation, les méthodes
+ * interceptées par l'aspect {@code @PaymentLog}.
+ *
+ * <p>Produit {@code META-INF/afx-logging.index}, une ligne par méthode :</p>
+ * <pre>
+ * lcl.afx.logging.annotation.PaymentLog=com.acme.PaymentService#executeTransfer(com.acme.TransferRequest)
+ * </pre>
+ *
+ * <p>Les règles reprennent le pointcut de {@code PaymentLoggingAspect} :
+ * méthodes annotées, plus méthodes publiques déclarées par une classe
+ * annotée, moins les méthodes {@code @NoLogging}. L'auto-configuration
+ * remplace alors la résolution des expressions AspectJ, bean par bean et
+ * méthode par méthode, par une simple recherche dans l'index.</p>
+ *
+ * <p>Compilation incrémentale : les entrées des classes non recompilées sont
+ * reprises de l'index existant, celles des classes supprimées sont écartées.
+ * Le processor est donc invoqué pour toute classe ({@code "*"}), même sans
+ * {@code @PaymentLog}, sans jamais réclamer d'annotation.</p>
+ */
+@SupportedAnnotationTypes("*")
+public class LoggingIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Emplacement de l'index (lu par l'auto-configuration)
+     */
+    public static final String INDEX_LOCATION = "META-INF/afx-logging.index";
+
+    static final String PAYMENT_LOG = "lcl.afx.logging.annotation.PaymentLog";
+    static final String NO_LOGGING = "lcl.afx.logging.annotation.NoLogging";
+
+    private final Set<String> entries = new TreeSet<>();
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        TypeElement paymentLog = processingEnv.getElementUtils().getTypeElement(PAYMENT_LOG);
+        if (paymentLog == null) {
+            return false;
+        }
+        // Toutes les classes compilées dans ce round, annotées ou non :
+        // leurs anciennes entrées sont remplacées
+        for (Element root : roundEnv.getRootElements()) {
+            collectTypes(root);
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(paymentLog)) {
+            if (element.getKind() == ElementKind.METHOD) {
+                ExecutableElement method = (ExecutableElement) element;
+                if (!hasAnnotation(method, NO_LOGGING)) {
+                    addEntry((TypeElement) method.getEnclosingElement(), method);
+                }
+            } else if (element.getKind().isClass()) {
+                indexPublicMethods((TypeElement) element);
+            }
+        }
+        return false;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COLLECTE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private void collectTypes(Element element) {
+        if (element instanceof TypeElement type) {
+            processedTypes.add(binaryName(type));
+            for (Element enclosed : type.getEnclosedElements()) {
+                collectTypes(enclosed);
+            }
+        }
+    }
+
+    /**
+     * Classe annotée : méthodes publiques qu'elle déclare (pointcut
+     * {@code @within(PaymentLog) && execution(public * *(..))}).
+     */
+    private void indexPublicMethods(TypeElement type) {
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.METHOD
+                    && enclosed.getModifiers().contains(Modifier.PUBLIC)
+                    && !hasAnnotation(enclosed, NO_LOGGING)) {
+                addEntry(type, (ExecutableElement) enclosed);
+            }
+        }
+    }
+
+    private void addEntry(TypeElement type, ExecutableElement method) {
+        StringBuilder entry = new StringBuilder(PAYMENT_LOG).append('=')
+            .append(binaryName(type)).append('#')
+            .append(method.getSimpleName()).append('(');
+        int i = 0;
+        for (VariableElement parameter : method.getParameters()) {
+            if (i++ > 0) {
+                entry.append(',');
+            }
+            entry.append(typeName(parameter.asType()));
+        }
+        entries.add(entry.append(')').toString());
+    }
+
+    /**
+     * Nom canonique du type effacé, sans annotations de type
+     * (identique à {@code Class#getCanonicalName()} côté runtime).
+     */
+    private String typeName(TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> typeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED -> ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+            case TYPEVAR, INTERSECTION, WILDCARD -> typeName(processingEnv.getTypeUtils().erasure(type));
+            default -> type.getKind().isPrimitive()
+                ? type.getKind().name().toLowerCase(Locale.ROOT)
+                : type.toString();
+        };
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement())
+                    .getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ÉCRITURE
+    // ══════════════════════════════════════════════════════════════════════════
+
+    private void writeIndex() {
+        Set<String> index = new TreeSet<>(entries);
+        mergePreviousIndex(index);
+        // Écrit même vide : le module est indexé, aucune méthode à intercepter
+        try {
+            FileObject resource = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = resource.openWriter()) {
+                // En-tête ASCII : le Filer écrit dans l'encodage de la compilation
+                writer.write("# afx-logging-processor : <annotation>=<class>#<method>(<parameters>)\n");
+                for (String entry : index) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Impossible d'écrire " + INDEX_LOCATION + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reprend les entrées d'un index précédent pour les classes qui n'ont
+     * pas été recompilées et existent toujours.
+     */
+    private void mergePreviousIndex(Set<String> index) {
+        try {
+            FileObject previous = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Reader reader = previous.openReader(true);
+                 BufferedReader lines = new BufferedReader(reader)) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    int eq = line.indexOf('=');
+                    int hash = line.indexOf('#', eq + 1);
+                    if (line.startsWith("#") || eq < 0 || hash < 0) {
+                        continue;
+                    }
+                    String type = line.substring(eq + 1, hash);
+                    if (!processedTypes.contains(type)
+                            && processingEnv.getElementUtils().getTypeElement(type.replace('$', '.')) != null) {
+                        index.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            // Pas d'index précédent (compilation complète)
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package lcl.afx.logging.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingIndexProcessorTest {
+
+    private static final String PAYMENT_LOG = "lcl.afx.logging.annotation.PaymentLog=";
+
+    /**
+     * Annotations du starter, redéclarées pour compiler les fixtures sans dépendance
+     */
+    static final Map<String, String> ANNOTATIONS = Map.of(
+        "lcl.afx.logging.annotation.PaymentLog", """
+            package lcl.afx.logging.annotation;
+            import java.lang.annotation.*;
+            @Retention(RetentionPolicy.RUNTIME)
+            @Target({ElementType.METHOD, ElementType.TYPE})
+            public @interface PaymentLog {
+                String operation() default "";
+            }
+            """,
+        "lcl.afx.logging.annotation.NoLogging", """
+            package lcl.afx.logging.annotation;
+            import java.lang.annotation.*;
+            @Retention(RetentionPolicy.RUNTIME)
+            @Target(ElementType.METHOD)
+            public @interface NoLogging {
+            }
+            """);
+
+    @TempDir
+    Path output;
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // INDEX GÉNÉRÉ
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Test
+    void indexesAnnotatedMethodsAndClasses() throws IOException {
+        compile(output, Map.of(
+            "com.acme.PaymentService", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                import java.util.List;
+                public class PaymentService {
+                    @PaymentLog(operation = "SEPA_TRANSFER")
+                    public void executeTransfer(String iban, long amount) {}
+                    @PaymentLog
+                    <T extends Number> List<T> batch(List<T> items, byte[][] raw, int... flags) { return items; }
+                    public void notAnnotated() {}
+                    public static class Inner {
+                        @PaymentLog
+                        public void nested(Inner other) {}
+                    }
+                }
+                """,
+            "com.acme.CardService", """
+                package com.acme;
+                import lcl.afx.logging.annotation.*;
+                @PaymentLog
+                public class CardService {
+                    public void block(String pan) {}
+                    @NoLogging
+                    public void health() {}
+                    void internal() {}
+                }
+                """));
+
+        assertThat(index(output)).containsExactly(
+            PAYMENT_LOG + "com.acme.CardService#block(java.lang.String)",
+            PAYMENT_LOG + "com.acme.PaymentService#batch(java.util.List,byte[][],int[])",
+            PAYMENT_LOG + "com.acme.PaymentService#executeTransfer(java.lang.String,long)",
+            PAYMENT_LOG + "com.acme.PaymentService$Inner#nested(com.acme.PaymentService.Inner)");
+    }
+
+    @Test
+    void writesEmptyIndexForModuleWithoutAnnotations() throws IOException {
+        compile(output, Map.of(
+            "com.acme.Plain", "package com.acme; public class Plain { public void run() {} }"));
+
+        assertThat(index(output)).isEmpty();
+    }
+
+    @Test
+    void mergesPreviousIndexOnIncrementalBuild() throws IOException {
+        compile(output, Map.of(
+            "com.acme.A", """
+                package com.acme;
+                public class A { @lcl.afx.logging.annotation.PaymentLog public void a() {} }
+                """,
+            "com.acme.B", """
+                package com.acme;
+                public class B { @lcl.afx.logging.annotation.PaymentLog public void b() {} }
+                """));
+
+        // Recompilation de B seul, sans annotation : A conservée, B retirée
+        compile(output, Map.of(
+            "com.acme.B", "package com.acme; public class B { public void b() {} }"));
+
+        assertThat(index(output)).containsExactly(PAYMENT_LOG + "com.acme.A#a()");
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // COMPILATION DES FIXTURES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Compile les sources (et les annotations) vers {@code output} avec le processor.
+     */
+    static void compile(Path output, Map<String, String> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> units = new ArrayList<>();
+        sources.forEach((name, code) -> units.add(source(name, code)));
+        ANNOTATIONS.forEach((name, code) -> {
+            if (!Files.exists(output.resolve(name.replace('.', '/') + ".class"))) {
+                units.add(source(name, code));
+            }
+        });
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                List.of("-d", output.toString(), "-classpath", output.toString()), null, units);
+            task.setProcessors(List.of(new LoggingIndexProcessor()));
+            assertThat(task.call()).as("%s", diagnostics.getDiagnostics()).isTrue();
+        }
+    }
+
+    static List<String> index(Path output) throws IOException {
+        return Files.readAllLines(output.resolve(LoggingIndexProcessor.INDEX_LOCATION)).stream()
+            .filter(line -> !line.startsWith("#"))
+            .toList();
+    }
+
+    private static JavaFileObject source(String name, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package lcl.afx.logging.weaving;
+
+import lcl.afx.logging.aspect.OperationDescriptor;
+import lcl.afx.logging.aspect.OperationLogger;
+import lcl.afx.logging.masking.DataMasker;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * Aspect {@code @PaymentLog} tissé à la compilation par ajc, sans proxy Spring.
+ *
+ * <p>Les appels internes ({@code this.autreMethode()}) sont journalisés, et
+ * aucun {@code JoinPoint} ni tableau d'arguments n'est alloué par appel :
+ * les advices before / after ne reçoivent que le {@code StaticPart} (constante
+ * de la classe tissée), le résultat ou l'exception. Les arguments ne sont
+ * copiés que pour les opérations dont le log ENTRY journalise les paramètres
+ * (pointcut {@code if()} évalué avant la création du {@code JoinPoint}).</p>
+ *
+ * <p>Un seul advice before s'applique à chaque appel ({@link #begin} ou
+ * {@link #beginWithArgs}, exclusifs) : il démarre l'opération et émet l'ENTRY.
+ * Les advices after, déclarés ensuite, ont priorité sur lui et l'englobent :
+ * une exception levée par l'ENTRY passe par {@link #failure}, qui dépile
+ * l'opération.</p>
+ *
+ * <p>Singleton AspectJ, hors du contexte Spring : l'auto-configuration
+ * (afx.logging.aspect.mode=compile-time) lui fournit l'{@link OperationLogger}
+ * configuré. Avant cela, un logger par défaut est utilisé.</p>
+ */
+@Aspect
+public class PaymentLoggingWeavingAspect {
+
+    private static volatile OperationLogger operationLogger = new OperationLogger(new DataMasker());
+
+    /**
+     * Remplace le logger utilisé par les classes tissées.
+     */
+    public static void setOperationLogger(OperationLogger logger) {
+        operationLogger = logger;
+    }
+
+    public static OperationLogger getOperationLogger() {
+        return operationLogger;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // POINTCUTS
+    // ══════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Méthodes annotées @PaymentLog
+     */
+    @Pointcut("execution(@lcl.afx.logging.annotation.PaymentLog * *(..))")
+    public void paymentLogMethod() {}
+
+    /**
+     * Méthodes publiques des classes annotées @PaymentLog
+     */
+    @Pointcut("@within(lcl.afx.logging.annotation.PaymentLog) && execution(public * *(..))")
+    public void paymentLogClass() {}
+
+    /**
+     * Méthodes annotées @NoLogging (à exclure)
+     */
+    @Pointcut("execution(@lcl.afx.logging.annotation.NoLogging * *(..))")
+    public void noLogging() {}
+
+    /**
+     * Combinaison : (méthode OU classe) ET PAS @NoLogging
+     */
+    @Pointcut("(paymentLogMethod() || paymentLogClass()) && !noLogging()")
+    public void loggableMethods() {}
+
+    /**
+     * Vrai si le log ENTRY de l'opération peut journaliser ses paramètres
+     * (sans effet de bord : évalué avant le démarrage de l'opération).
+     */
+    @Pointcut("if()")
+    public static boolean argsLogged(JoinPoint.StaticPart joinPoint) {
+        OperationLogger logger = operationLogger;
+        return logger.mayWantArgs(describe(logger, joinPoint));
+    }
+
+    // ══════════════════════════════════════════════════════════════════════════
+    // ADVICES
+    // ══════════════════════════════════════════════════════════════════════════
+
+    @Before("loggableMethods() && !argsLogged(JoinPoint.StaticPart)")
+    public void begin(JoinPoint.StaticPart joinPoint) {
+        OperationLogger logger = operationLogger;
+        if (logger.begin(describe(logger, joinPoint))) {
+            logger.entry(null);
+        }
+    }
+
+    @Before("loggableMethods() && argsLogged(JoinPoint.StaticPart)")
+    public void beginWithArgs(JoinPoint joinPoint) {
+        OperationLogger logger = operationLogger;
+        if (logger.begin(describe(logger, joinPoint.getStaticPart()))) {
+            logger.entry(logger.isArgsWanted() ? joinPoint.getArgs() : null);
+        }
+    }
+
+    @AfterReturning(pointcut = "loggableMethods()", returning = "result")
+    public void success(Object result) {
+        operationLogger.success(result);
+    }
+
+    @AfterThrowing(pointcut = "loggableMethods()", throwing = "error")
+    public void failure(Throwable error) {
+        operationLogger.failure(error);
+    }
+
+    private static OperationDescriptor describe(OperationLogger logger, JoinPoint.StaticPart joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        return logger.describe(signature.getMethod(), signature.getDeclaringType(),
+            signature.getParameterNames());
+    }
+}